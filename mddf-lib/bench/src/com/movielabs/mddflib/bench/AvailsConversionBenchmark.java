@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.bench;
+
+import java.io.File;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+import org.jdom2.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.movielabs.mddf.MddfContext.FILE_FMT;
+import com.movielabs.mddflib.avails.xlsx.XlsxBuilder;
+import com.movielabs.mddflib.avails.xml.AvailsSheet;
+import com.movielabs.mddflib.avails.xml.AvailsSheet.Version;
+import com.movielabs.mddflib.avails.xml.AvailsWrkBook;
+import com.movielabs.mddflib.avails.xml.XmlBuilder;
+import com.movielabs.mddflib.util.Translator;
+
+/**
+ * Measures the conversion of Avails between the XML and XLSX formats:
+ * <ul>
+ * <li><tt>makeXmlAsJDom</tt>: XLSX (v1.7.2) to XML using the
+ * <tt>XmlBuilder</tt>,</li>
+ * <li><tt>exportXlsx</tt>: XML to XLSX using the <tt>XlsxBuilder</tt>,
+ * including writing the file, and</li>
+ * <li><tt>translateAvails</tt>: XML v2.2.2 to XML v2.2 using the
+ * <tt>Translator</tt>, including writing the file.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class AvailsConversionBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	public int size;
+
+	private BenchFixtures.CountingLogger logger;
+	private Document availsDoc;
+	private File outputDir;
+	private File xlsxFile;
+	private AvailsSheet availsSheet;
+
+	@Setup
+	public void setUp() throws Exception {
+		logger = new BenchFixtures.CountingLogger();
+		availsDoc = BenchFixtures.makeAvails(size);
+		outputDir = BenchFixtures.makeTempDir();
+		xlsxFile = new File(outputDir, "source.xlsx");
+		XlsxBuilder converter = new XlsxBuilder(availsDoc.getRootElement(), Version.V1_7_2, logger);
+		converter.getWorkbook().export(xlsxFile.getPath());
+		AvailsWrkBook wrkBook = new AvailsWrkBook(xlsxFile, logger, false, false);
+		availsSheet = wrkBook.ingestSheet(0);
+	}
+
+	@TearDown
+	public void tearDown() {
+		BenchFixtures.delete(outputDir);
+	}
+
+	@Benchmark
+	public Document makeXmlAsJDom() {
+		XmlBuilder xBuilder = new XmlBuilder(logger, Version.V1_7_2);
+		xBuilder.setVersion("2.2.2");
+		return xBuilder.makeXmlAsJDom(availsSheet, "Benchmark", xlsxFile);
+	}
+
+	@Benchmark
+	public File exportXlsx() throws Exception {
+		File exported = new File(outputDir, "export.xlsx");
+		XlsxBuilder converter = new XlsxBuilder(availsDoc.getRootElement(), Version.V1_7_2, logger);
+		converter.getWorkbook().export(exported.getPath());
+		return exported;
+	}
+
+	@Benchmark
+	public int translateAvails() {
+		return Translator.translateAvails(availsDoc, EnumSet.of(FILE_FMT.AVAILS_2_2), outputDir, "translated", true,
+				logger);
+	}
+}
@@ -0,0 +1,217 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.bench;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jdom2.Attribute;
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.JDOMException;
+import org.jdom2.filter.Filters;
+import org.jdom2.input.SAXBuilder;
+import org.jdom2.located.LocatedJDOMFactory;
+import org.jdom2.output.Format;
+import org.jdom2.output.XMLOutputter;
+
+import com.movielabs.mddflib.logging.DefaultLogging;
+import com.movielabs.mddflib.logging.LogReference;
+
+/**
+ * Generates the documents used by the benchmarks. Documents of any size are
+ * produced by replicating a small, valid sample:
+ * <ul>
+ * <li>Avails: the single <tt>Avail</tt> in <tt>avail_template.xml</tt> is
+ * repeated with a unique ALID and ContentID for each copy.</li>
+ * <li>Manifest: each child of the <tt>Inventory</tt> in the base Manifest
+ * test artifact is repeated. IDs are not modified so the copies are not
+ * intended for cross-reference checks.</li>
+ * </ul>
+ * Documents are generated using the <tt>LocatedJDOMFactory</tt> so that they
+ * are equivalent to those produced by <tt>XmlIngester.getAsXml()</tt>.
+ */
+public class BenchFixtures {
+
+	public static final String MANIFEST_BASE = "test/resources/manifest/MMM_base_v1.6.xml";
+	private static final String AVAIL_TEMPLATE = "avail_template.xml";
+	private static final String TEMPLATE_ID = "bench-0001";
+
+	/**
+	 * A logger that counts, but otherwise discards, all log entries. This
+	 * keeps the cost of logging (and the growth of the log) out of the
+	 * measurements.
+	 */
+	public static class CountingLogger extends DefaultLogging {
+		private int count = 0;
+
+		@Override
+		protected void append(int level, int tag, String msg, File xmlFile, int line, String moduleID,
+				String details, LogReference srcRef) {
+			count++;
+		}
+
+		public int getCount() {
+			return count;
+		}
+	}
+
+	/**
+	 * @param availCnt
+	 * @return an Avails (v2.2.2) document containing <tt>availCnt</tt>
+	 *         <tt>Avail</tt> elements
+	 * @throws IOException
+	 * @throws JDOMException
+	 */
+	public static Document makeAvails(int availCnt) throws JDOMException, IOException {
+		Document xmlDoc;
+		InputStream inp = BenchFixtures.class.getResourceAsStream(AVAIL_TEMPLATE);
+		try {
+			xmlDoc = newBuilder().build(inp);
+		} finally {
+			inp.close();
+		}
+		Element rootEl = xmlDoc.getRootElement();
+		Element templateEl = rootEl.getChildren().get(0);
+		rootEl.removeContent(templateEl);
+		for (int i = 0; i < availCnt; i++) {
+			Element availEl = templateEl.clone();
+			setId(availEl, String.format("bench-%06d", i + 1));
+			rootEl.addContent(availEl);
+		}
+		return roundTrip(xmlDoc);
+	}
+
+	/**
+	 * Replace the template's ID in all attribute and text values.
+	 * 
+	 * @param availEl
+	 * @param id
+	 */
+	private static void setId(Element availEl, String id) {
+		List<Element> elList = new ArrayList<Element>();
+		for (Element nextEl : availEl.getDescendants(Filters.element())) {
+			elList.add(nextEl);
+		}
+		for (Element nextEl : elList) {
+			for (Attribute att : nextEl.getAttributes()) {
+				if (att.getValue().contains(TEMPLATE_ID)) {
+					att.setValue(att.getValue().replace(TEMPLATE_ID, id));
+				}
+			}
+			String text = nextEl.getText();
+			if (text.contains(TEMPLATE_ID)) {
+				nextEl.setText(text.replace(TEMPLATE_ID, id));
+			}
+		}
+	}
+
+	/**
+	 * @param copies
+	 * @return a Manifest in which each <tt>Inventory</tt> entry of the base
+	 *         test artifact occurs <tt>copies</tt> times
+	 * @throws IOException
+	 * @throws JDOMException
+	 */
+	public static Document makeManifest(int copies) throws JDOMException, IOException {
+		Document xmlDoc = newBuilder().build(new File(MANIFEST_BASE));
+		Element rootEl = xmlDoc.getRootElement();
+		Element inventoryEl = rootEl.getChild("Inventory", rootEl.getNamespace());
+		List<Element> originals = new ArrayList<Element>(inventoryEl.getChildren());
+		inventoryEl.removeContent();
+		/* copies must follow the original to retain the sequence required by the XSD */
+		for (Element nextEl : originals) {
+			inventoryEl.addContent(nextEl);
+			for (int i = 1; i < copies; i++) {
+				inventoryEl.addContent(nextEl.clone());
+			}
+		}
+		return roundTrip(xmlDoc);
+	}
+
+	/**
+	 * Save a document in a temporary file that is deleted on exit.
+	 * 
+	 * @param xmlDoc
+	 * @param prefix
+	 * @return
+	 * @throws IOException
+	 */
+	public static File save(Document xmlDoc, String prefix) throws IOException {
+		File outFile = File.createTempFile("mddf-" + prefix, ".xml");
+		outFile.deleteOnExit();
+		FileOutputStream out = new FileOutputStream(outFile);
+		try {
+			new XMLOutputter(Format.getPrettyFormat()).output(xmlDoc, out);
+		} finally {
+			out.close();
+		}
+		return outFile;
+	}
+
+	/**
+	 * @return a temporary directory that is deleted (along with its contents)
+	 *         by <tt>delete()</tt>
+	 * @throws IOException
+	 */
+	public static File makeTempDir() throws IOException {
+		File dir = File.createTempFile("mddf-bench", "");
+		if (!dir.delete() || !dir.mkdir()) {
+			throw new IOException("Unable to create " + dir);
+		}
+		return dir;
+	}
+
+	public static void delete(File target) {
+		if (target == null) {
+			return;
+		}
+		File[] children = target.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		target.delete();
+	}
+
+	/**
+	 * Re-parse a generated document so that line numbers reflect the
+	 * generated content.
+	 */
+	private static Document roundTrip(Document xmlDoc) throws JDOMException, IOException {
+		String xml = new XMLOutputter(Format.getPrettyFormat()).outputString(xmlDoc);
+		return newBuilder().build(new StringReader(xml));
+	}
+
+	private static SAXBuilder newBuilder() {
+		SAXBuilder builder = new SAXBuilder();
+		builder.setJDOMFactory(new LocatedJDOMFactory());
+		return builder;
+	}
+}
@@ -0,0 +1,121 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.movielabs.mddflib.logging.LogMgmt;
+import com.movielabs.mddflib.util.CMValidator;
+import com.movielabs.mddflib.util.xml.XmlIngester;
+
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+/**
+ * Measures the language tag (RFC5646) and controlled vocabulary checks of the
+ * <tt>CMValidator</tt> using an Avails. The checks are those used by the
+ * <tt>AvailValidator</tt> for the <tt>Transaction</tt> languages and the
+ * <tt>LicenseType</tt>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CMValidatorBenchmark {
+
+	/**
+	 * Provides access to the protected checks of the <tt>CMValidator</tt>.
+	 */
+	static class Checker extends CMValidator {
+
+		private JSONArray licenseTypes;
+
+		Checker(Element docRootEl, LogMgmt logger) {
+			super(true, logger);
+			curRootEl = docRootEl;
+			rootNS = availsNSpace;
+			logMsgSrcId = "Benchmark";
+			logMsgDefaultTag = LogMgmt.TAG_AVAIL;
+			JSONObject availVocab = (JSONObject) getVocabResource("avail", AVAIL_VER);
+			licenseTypes = availVocab.optJSONArray("LicenseType");
+		}
+
+		void checkLanguages() {
+			curFileIsValid = true;
+			Namespace primaryNS = availsNSpace;
+			validateLanguage(primaryNS, "Transaction", primaryNS, "AllowedLanguage");
+			validateLanguage(primaryNS, "Transaction", primaryNS, "AssetLanguage");
+			validateLanguage(primaryNS, "Transaction", primaryNS, "HoldbackLanguage");
+			validateLanguage(primaryNS);
+		}
+
+		void checkVocab() {
+			curFileIsValid = true;
+			validateVocab(availsNSpace, "Transaction", availsNSpace, "LicenseType", licenseTypes, null, true, false);
+		}
+
+		boolean isValid() {
+			return curFileIsValid;
+		}
+	}
+
+	@Param({ "10", "100", "1000" })
+	public int size;
+
+	private Checker checker;
+
+	@Setup
+	public void setUp() throws Exception {
+		Element rootEl = BenchFixtures.makeAvails(size).getRootElement();
+		XmlIngester.setAvailVersion(XmlIngester.identifyXsdVersion(rootEl));
+		checker = new Checker(rootEl, new BenchFixtures.CountingLogger());
+	}
+
+	@Benchmark
+	public boolean checkLangTag() {
+		checker.checkLanguages();
+		return checker.isValid();
+	}
+
+	@Benchmark
+	public boolean validateVocab() {
+		checker.checkVocab();
+		return checker.isValid();
+	}
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.bench;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.jdom2.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.movielabs.mddflib.util.xml.XmlIngester;
+
+/**
+ * Measures the cost of parsing an MDDF file into a JDOM document with
+ * <tt>XmlIngester.getAsXml()</tt>. The <tt>size</tt> is the number of
+ * <tt>Avail</tt> elements or, for a Manifest, the number of copies of each
+ * <tt>Inventory</tt> entry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class IngestBenchmark {
+
+	@Param({ "avails", "manifest" })
+	public String mddfType;
+
+	@Param({ "10", "100", "1000" })
+	public int size;
+
+	private File srcFile;
+
+	@Setup
+	public void setUp() throws Exception {
+		Document xmlDoc;
+		if (mddfType.equals("avails")) {
+			xmlDoc = BenchFixtures.makeAvails(size);
+		} else {
+			xmlDoc = BenchFixtures.makeManifest(size);
+		}
+		srcFile = BenchFixtures.save(xmlDoc, mddfType);
+	}
+
+	@Benchmark
+	public Document getAsXml() throws Exception {
+		return XmlIngester.getAsXml(srcFile);
+	}
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.movielabs.mddflib.util.xml.RatingSystem;
+
+/**
+ * Measures the look-ups performed by the <tt>CMValidator</tt> for each
+ * <tt>Rating</tt>. Each invocation checks a fixed mix of valid and invalid
+ * ratings for several rating systems. The CMR resource is loaded during the
+ * set-up so only the look-ups are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RatingSystemBenchmark {
+
+	private static final String[][] RATINGS = { { "MPAA", "PG-13" }, { "MPAA", "PG13" }, { "BBFC", "15" },
+			{ "FSK", "12" }, { "MOC", "E" }, { "CSA", "-10" }, { "MEKU", "K-12" }, { "FCO", "XYZ" } };
+	private static final String[] REGIONS = { "US", "GB", "DE", "FR" };
+
+	@Setup
+	public void setUp() {
+		for (String[] pair : RATINGS) {
+			RatingSystem.factory(pair[0]);
+		}
+	}
+
+	@Benchmark
+	public void lookup(Blackhole bh) {
+		for (String[] pair : RATINGS) {
+			RatingSystem ratingSys = RatingSystem.factory(pair[0]);
+			if (ratingSys == null) {
+				continue;
+			}
+			boolean isValid = ratingSys.isValid(pair[1]);
+			bh.consume(isValid);
+			if (isValid) {
+				bh.consume(ratingSys.isDeprecated(pair[1]));
+			}
+			for (String region : REGIONS) {
+				bh.consume(ratingSys.isUsedInRegion(region));
+			}
+			bh.consume(ratingSys.providesReasons());
+		}
+	}
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.bench;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.movielabs.mddflib.util.xml.StructureValidation;
+import com.movielabs.mddflib.util.xml.XmlIngester;
+import com.movielabs.mddflib.util.xml.XsdValidation;
+
+import net.sf.json.JSONObject;
+
+/**
+ * Measures schema (XSD) validation of a Manifest and the JSON-defined
+ * structure checks of an Avails. A Manifest is used for the XSD benchmark as
+ * the Avails schemas import the XML-DSig schema which, in turn, references a
+ * remote DTD.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ValidationBenchmark {
+
+	private static final String MODULE_ID = "Benchmark";
+
+	@Param({ "10", "100", "1000" })
+	public int size;
+
+	private BenchFixtures.CountingLogger logger;
+	private File manifestFile;
+	private Element manifestRootEl;
+	private String manifestXsd;
+	private XsdValidation xsdHelper;
+	private Element availsRootEl;
+	private StructureValidation structHelper;
+	private List<JSONObject> structRqmts;
+
+	@Setup
+	public void setUp() throws Exception {
+		logger = new BenchFixtures.CountingLogger();
+		Document manifestDoc = BenchFixtures.makeManifest(size);
+		manifestFile = BenchFixtures.save(manifestDoc, "manifest");
+		manifestRootEl = manifestDoc.getRootElement();
+		XmlIngester.setManifestVersion(XmlIngester.identifyXsdVersion(manifestRootEl));
+		manifestXsd = XsdValidation.defaultRsrcLoc + "manifest-v" + XmlIngester.MAN_VER + ".xsd";
+		xsdHelper = new XsdValidation(logger);
+
+		availsRootEl = BenchFixtures.makeAvails(size).getRootElement();
+		String availVer = XmlIngester.identifyXsdVersion(availsRootEl);
+		XmlIngester.setAvailVersion(availVer);
+		structHelper = new StructureValidation(logger, MODULE_ID);
+		JSONObject rqmtSet = XmlIngester.getMddfResource("structure_avail", availVer).getJSONObject("StrucRqmts");
+		structRqmts = new ArrayList<JSONObject>();
+		Iterator<?> keys = rqmtSet.keys();
+		while (keys.hasNext()) {
+			JSONObject rqmtSpec = rqmtSet.getJSONObject((String) keys.next());
+			if (rqmtSpec.has("targetPath")) {
+				structRqmts.add(rqmtSpec);
+			}
+		}
+	}
+
+	@Benchmark
+	public boolean validateXml() {
+		return xsdHelper.validateXml(manifestFile, manifestRootEl, manifestXsd, MODULE_ID);
+	}
+
+	@Benchmark
+	public boolean validateDocStructure() {
+		boolean isValid = true;
+		for (JSONObject rqmtSpec : structRqmts) {
+			isValid = structHelper.validateDocStructure(availsRootEl, rqmtSpec) && isValid;
+		}
+		return isValid;
+	}
+}
@@ -22,11 +22,42 @@
  */
 package com.movielabs.mddflib;
 
-import java.util.EnumSet;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.StartDocument;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
 
 import org.jdom2.Attribute;
 import org.jdom2.Document;
@@ -39,22 +70,120 @@ import org.jdom2.xpath.XPathFactory;
 import com.movielabs.mddflib.logging.LogMgmt;
 
 /**
+ * Replaces the values of potentially sensitive fields in an Avails (e.g.,
+ * prices and contract IDs) so that the file may be shared with a third party.
+ * <p>
+ * Two modes are supported. Given a JDOM <tt>Document</tt>, a modified copy is
+ * returned. Given an XML file, the file is read as a stream of StAX events and
+ * written to the output file with the replacements made on the fly. The
+ * streaming mode never builds a <tt>Document</tt> and therefore requires a
+ * constant amount of memory regardless of the size of the file. An entire
+ * directory of XML files may also be processed, in which case the files are
+ * processed in parallel.
+ * </p>
+ * 
  * @author L. Levin, Critical Architectures LLC
  *
  */
 public class Obfuscator {
-	public static enum Target {
-		Money("Term", "refered to as 'PriceValue' when formatted as Excel", ".//avails:Term/avails:Money"), ContractID(
-				"Transaction", "not supported in Excel formatted Avails", ".//avails:Transaction/avails:ContractID");
 
+	/**
+	 * Identifies a type of element whose value may be replaced. Each
+	 * <tt>Target</tt> is an element with a specific parent (i.e., the
+	 * <i>qualifier</i>). Beyond the pre-defined <tt>Target</tt>s, additional
+	 * sensitive fields may be added using <tt>define()</tt>.
+	 * 
+	 * @author L. Levin, Critical Architectures LLC
+	 *
+	 */
+	public static final class Target {
+		private static Map<String, Target> registry = new LinkedHashMap<String, Target>();
+
+		public static final Target Money = define("Money", "avails", "Term", "Money",
+				"refered to as 'PriceValue' when formatted as Excel");
+		public static final Target ContractID = define("ContractID", "avails", "Transaction", "ContractID",
+				"not supported in Excel formatted Avails");
+
+		private String name;
+		private String nsPrefix;
 		private String qualifier;
+		private String elementName;
 		private String toolTip;
 		String xpath;
 
-		private Target(String qualifier, String toolTip, String xpath) {
+		private Target(String name, String nsPrefix, String qualifier, String elementName, String toolTip) {
+			this.name = name;
+			this.nsPrefix = nsPrefix;
 			this.qualifier = qualifier;
+			this.elementName = elementName;
 			this.toolTip = toolTip;
-			this.xpath = xpath;
+			this.xpath = ".//" + nsPrefix + ":" + qualifier + "/" + nsPrefix + ":" + elementName;
+		}
+
+		/**
+		 * Add a new type of <tt>Target</tt>.
+		 * 
+		 * @param name
+		 *            unique name of the <tt>Target</tt>
+		 * @param nsPrefix
+		 *            prefix of the namespace (i.e., 'avails' or 'md') as bound
+		 *            on the root of the Avails
+		 * @param qualifier
+		 *            local name of the parent element
+		 * @param elementName
+		 *            local name of the element whose value is replaced
+		 * @param toolTip
+		 * @return
+		 * @throws IllegalArgumentException
+		 *             if a <tt>Target</tt> with the same name already exists
+		 *             or the namespace prefix is not supported
+		 */
+		public static synchronized Target define(String name, String nsPrefix, String qualifier, String elementName,
+				String toolTip) throws IllegalArgumentException {
+			if (!(nsPrefix.equals("avails") || nsPrefix.equals("md"))) {
+				throw new IllegalArgumentException("Unsupported namespace prefix '" + nsPrefix + "'");
+			}
+			if (registry.containsKey(name)) {
+				throw new IllegalArgumentException("Target '" + name + "' is already defined");
+			}
+			Target target = new Target(name, nsPrefix, qualifier, elementName, toolTip);
+			registry.put(name, target);
+			return target;
+		}
+
+		/**
+		 * Remove a <tt>Target</tt> added with <tt>define()</tt>. This is
+		 * intended for use by tests only.
+		 * 
+		 * @param name
+		 */
+		static synchronized void undefine(String name) {
+			registry.remove(name);
+		}
+
+		/**
+		 * @return all defined <tt>Target</tt>s in the order they were defined.
+		 */
+		public static synchronized List<Target> values() {
+			return Collections.unmodifiableList(new ArrayList<Target>(registry.values()));
+		}
+
+		/**
+		 * @param name
+		 * @return
+		 * @throws IllegalArgumentException
+		 *             if no <tt>Target</tt> has the specified name
+		 */
+		public static synchronized Target valueOf(String name) throws IllegalArgumentException {
+			Target target = registry.get(name);
+			if (target == null) {
+				throw new IllegalArgumentException("No Target named '" + name + "'");
+			}
+			return target;
+		}
+
+		public String name() {
+			return name;
 		}
 
 		/**
@@ -65,13 +194,41 @@ public class Obfuscator {
 		}
 
 		public String toString() {
-			return qualifier + "/" + this.name();
+			return qualifier + "/" + name;
+		}
+
+		/**
+		 * @param element
+		 * @param parent
+		 * @param nsUris
+		 *            namespace URIs keyed by prefix
+		 * @return <tt>true</tt> if an element with the specified name and
+		 *         parent is an instance of this <tt>Target</tt>
+		 */
+		boolean matches(QName element, QName parent, Map<String, String> nsUris) {
+			if ((parent == null) || !elementName.equals(element.getLocalPart())
+					|| !qualifier.equals(parent.getLocalPart())) {
+				return false;
+			}
+			String nsUri = nsUris.get(nsPrefix);
+			return (nsUri != null) && nsUri.equals(element.getNamespaceURI())
+					&& nsUri.equals(parent.getNamespaceURI());
 		}
 	}
 
+	private static final String MODULE_ID = "Obfuscator";
+
 	private static Namespace availsNSpace;
 	private static Namespace mdNSpace;
 	private static XPathFactory xpfac = XPathFactory.instance();
+	private static XMLInputFactory inputFactory;
+	private static XMLOutputFactory outputFactory = XMLOutputFactory.newInstance();
+	private static XMLEventFactory eventFactory = XMLEventFactory.newInstance();
+
+	static {
+		inputFactory = XMLInputFactory.newInstance();
+		inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+	}
 
 	/**
 	 * @param xmlDoc
@@ -85,6 +242,214 @@ public class Obfuscator {
 		return cleanXmlDoc;
 	}
 
+	/**
+	 * Copy an XML file, replacing the values of all instances of each
+	 * <tt>Target</tt> in the <tt>replacementMap</tt>. The file is processed
+	 * as a stream so the amount of memory required is independent of its size.
+	 * Other than the replaced values, the content is copied unchanged. If the
+	 * input can not be parsed the partially written output file is deleted.
+	 * 
+	 * @param inFile
+	 * @param outFile
+	 * @param replacementMap
+	 * @return the number of values that were replaced
+	 * @throws IOException
+	 * @throws XMLStreamException
+	 *             if the input is not well-formed XML
+	 */
+	public static int process(File inFile, File outFile, Map<Target, String> replacementMap)
+			throws IOException, XMLStreamException {
+		List<Target> targets = new ArrayList<Target>();
+		List<String> values = new ArrayList<String>();
+		Iterator<Target> tIt = replacementMap.keySet().iterator();
+		while (tIt.hasNext()) {
+			Target nextKey = tIt.next();
+			String replacementText = replacementMap.get(nextKey);
+			if ((replacementText != null) && (!replacementText.isEmpty())) {
+				targets.add(nextKey);
+				values.add(replacementText);
+			}
+		}
+		int count = 0;
+		boolean completed = false;
+		InputStream in = new BufferedInputStream(new FileInputStream(inFile));
+		OutputStream out = null;
+		XMLEventReader reader = null;
+		XMLEventWriter writer = null;
+		try {
+			out = new BufferedOutputStream(new FileOutputStream(outFile));
+			reader = inputFactory.createXMLEventReader(in);
+			Map<String, String> nsUris = null;
+			/* names of the current element and its ancestors */
+			Deque<QName> path = new ArrayDeque<QName>();
+			/* depth within the content of a Target being replaced */
+			int skipDepth = 0;
+			while (reader.hasNext()) {
+				XMLEvent event = reader.nextEvent();
+				if (event.isStartDocument()) {
+					StartDocument startDoc = (StartDocument) event;
+					String encoding = startDoc.encodingSet() ? startDoc.getCharacterEncodingScheme() : "UTF-8";
+					writer = outputFactory.createXMLEventWriter(out, encoding);
+					writer.add(event);
+					continue;
+				}
+				if (writer == null) {
+					writer = outputFactory.createXMLEventWriter(out, "UTF-8");
+				}
+				if (skipDepth > 0) {
+					if (event.isStartElement()) {
+						skipDepth++;
+					} else if (event.isEndElement()) {
+						skipDepth--;
+						if (skipDepth == 0) {
+							path.pop();
+							writer.add(event);
+						}
+					}
+					continue;
+				}
+				if (event.isStartElement()) {
+					StartElement startEl = event.asStartElement();
+					if (nsUris == null) {
+						nsUris = getNamespaces(startEl, targets);
+					}
+					QName parent = path.peek();
+					path.push(startEl.getName());
+					writer.add(event);
+					for (int i = 0; i < targets.size(); i++) {
+						if (targets.get(i).matches(startEl.getName(), parent, nsUris)) {
+							writer.add(eventFactory.createCharacters(values.get(i)));
+							skipDepth = 1;
+							count++;
+							break;
+						}
+					}
+				} else {
+					if (event.isEndElement()) {
+						path.pop();
+					}
+					writer.add(event);
+				}
+			}
+			writer.flush();
+			completed = true;
+		} finally {
+			if (reader != null) {
+				reader.close();
+			}
+			in.close();
+			if (writer != null) {
+				try {
+					writer.close();
+				} catch (XMLStreamException e) {
+					// the output stream will still be closed
+				}
+			}
+			if (out != null) {
+				out.close();
+			}
+			if (!completed) {
+				outFile.delete();
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Stream each XML file in the <tt>srcDir</tt> to a file with the same name
+	 * in the <tt>outDir</tt>. Files are processed in parallel. The outcome for
+	 * each file is logged once all files have been processed.
+	 * 
+	 * @param srcDir
+	 * @param outDir
+	 * @param replacementMap
+	 * @param logMgr
+	 * @return the number of files successfully processed
+	 * @throws IOException
+	 *             if the <tt>outDir</tt> can not be created
+	 */
+	public static int processDirectory(File srcDir, File outDir, final Map<Target, String> replacementMap,
+			LogMgmt logMgr) throws IOException {
+		File[] xmlFiles = srcDir.listFiles(new FileFilter() {
+			public boolean accept(File file) {
+				return file.isFile() && file.getName().toLowerCase().endsWith(".xml");
+			}
+		});
+		if ((xmlFiles == null) || (xmlFiles.length == 0)) {
+			return 0;
+		}
+		Arrays.sort(xmlFiles);
+		if (!outDir.isDirectory() && !outDir.mkdirs()) {
+			throw new IOException("Unable to create directory " + outDir.getPath());
+		}
+		int threads = Math.min(xmlFiles.length, Runtime.getRuntime().availableProcessors());
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+		for (final File inFile : xmlFiles) {
+			final File outFile = new File(outDir, inFile.getName());
+			results.add(pool.submit(new Callable<Integer>() {
+				public Integer call() throws Exception {
+					return process(inFile, outFile, replacementMap);
+				}
+			}));
+		}
+		pool.shutdown();
+		int processed = 0;
+		for (int i = 0; i < xmlFiles.length; i++) {
+			File inFile = xmlFiles[i];
+			try {
+				int cnt = results.get(i).get();
+				processed++;
+				String msg = "Obfuscated " + cnt + " values; output in " + new File(outDir, inFile.getName()).getPath();
+				logMgr.log(LogMgmt.LEV_INFO, LogMgmt.TAG_AVAIL, msg, inFile, -1, MODULE_ID, null, null);
+			} catch (ExecutionException e) {
+				logFailure(inFile, e.getCause(), logMgr);
+			} catch (InterruptedException e) {
+				pool.shutdownNow();
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		return processed;
+	}
+
+	/**
+	 * Log the reason a file could not be obfuscated.
+	 * 
+	 * @param inFile
+	 * @param cause
+	 * @param logMgr
+	 */
+	public static void logFailure(File inFile, Throwable cause, LogMgmt logMgr) {
+		if (cause instanceof XMLStreamException) {
+			XMLStreamException xse = (XMLStreamException) cause;
+			int ln = (xse.getLocation() == null) ? -1 : xse.getLocation().getLineNumber();
+			String errMsg = "Processing terminate due to invalid XML on or before line " + ln;
+			logMgr.log(LogMgmt.LEV_ERR, LogMgmt.TAG_N_A, errMsg, inFile, ln, MODULE_ID, xse.getMessage(), null);
+		} else {
+			String errMsg = "Processing terminate due to invalid XML file";
+			logMgr.log(LogMgmt.LEV_ERR, LogMgmt.TAG_N_A, errMsg, inFile, -1, MODULE_ID, String.valueOf(cause), null);
+		}
+	}
+
+	/**
+	 * @param rootEl
+	 * @param targets
+	 * @return the URI of each namespace used by the <tt>targets</tt>, keyed
+	 *         by prefix
+	 */
+	private static Map<String, String> getNamespaces(StartElement rootEl, List<Target> targets) {
+		Map<String, String> nsUris = new HashMap<String, String>();
+		NamespaceContext nsCtx = rootEl.getNamespaceContext();
+		for (Target target : targets) {
+			String uri = nsCtx.getNamespaceURI(target.nsPrefix);
+			if ((uri != null) && !uri.isEmpty()) {
+				nsUris.put(target.nsPrefix, uri);
+			}
+		}
+		return nsUris;
+	}
+
 	/**
 	 * @param xmlDoc
 	 * @param xpeMap
@@ -137,8 +502,7 @@ public class Obfuscator {
 			}
 		}
 		Map<Target, XPathExpression<?>> xpeMap = new HashMap<Target, XPathExpression<?>>();
-		EnumSet<Target> targetSet = EnumSet.allOf(Target.class);
-		Iterator<Target> tIt = targetSet.iterator();
+		Iterator<Target> tIt = Target.values().iterator();
 		while (tIt.hasNext()) {
 			Target next = tIt.next();
 			XPathExpression<Element> xpExpression = xpfac.compile(next.xpath, Filters.element(), null, availsNSpace,
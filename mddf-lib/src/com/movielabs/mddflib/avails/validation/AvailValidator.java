@@ -32,10 +32,12 @@ import net.sf.json.JSONObject;
 import org.jdom2.Element;
 import org.jdom2.JDOMException;
 import org.jdom2.Namespace;
-import com.movielabs.mddflib.avails.xml.Pedigree;
+import com.movielabs.mddflib.avails.xml.PedigreeMap;
 import com.movielabs.mddflib.logging.IssueLogger;
 import com.movielabs.mddflib.logging.LogMgmt;
 import com.movielabs.mddflib.logging.LogReference;
+import com.movielabs.mddflib.metrics.Metrics;
+import com.movielabs.mddflib.metrics.PhaseTimer;
 import com.movielabs.mddflib.util.CMValidator;
 import com.movielabs.mddflib.util.xml.SchemaWrapper;
 import com.movielabs.mddflib.util.xml.XsdValidation;
@@ -154,7 +156,7 @@ public class AvailValidator extends CMValidator implements IssueLogger {
 
 	static final LogReference AVAIL_RQMT_srcRef = LogReference.getRef("AVAIL", "avail01");
   
-	private Map<Object, Pedigree> pedigreeMap;
+	private PedigreeMap pedigreeMap;
 
 	private String availSchemaVer;
 
@@ -196,7 +198,7 @@ public class AvailValidator extends CMValidator implements IssueLogger {
 	 * @throws IOException
 	 * @throws JDOMException
 	 */
-	public boolean process(Element docRootEl, Map<Object, Pedigree> pedigreeMap, File xmlFile)
+	public boolean process(Element docRootEl, PedigreeMap pedigreeMap, File xmlFile)
 			throws IOException, JDOMException {
 		String msg = "Begining validation of Avails...";
 		loggingMgr.log(LogMgmt.LEV_DEBUG, LogMgmt.TAG_AVAIL, msg, curFile, logMsgSrcId);
@@ -221,7 +223,9 @@ public class AvailValidator extends CMValidator implements IssueLogger {
 			msg = "Schema validation check PASSED";
 			loggingMgr.log(LogMgmt.LEV_INFO, LogMgmt.TAG_AVAIL, msg, curFile, logMsgSrcId);
 			if (validateC) {
+				PhaseTimer timer = Metrics.start(Metrics.PHASE_CONSTRAINTS);
 				validateConstraints();
+				timer.stopAndCount(curRootEl);
 			}
 		}
 		// clean up and go home
@@ -267,7 +271,9 @@ public class AvailValidator extends CMValidator implements IssueLogger {
 		// Now do any defined in Avails spec..
 		validateAvailVocab();
 
+		PhaseTimer timer = Metrics.start(Metrics.PHASE_USAGE);
 		validateUsage();
+		timer.stop();
 	}
 
 	/**
@@ -487,10 +493,7 @@ public class AvailValidator extends CMValidator implements IssueLogger {
 		if (pedigreeMap == null) {
 			target = xmlElement;
 		} else {
-			Pedigree ped = pedigreeMap.get(xmlElement);
-			if (ped != null) {
-				target = ped.getSource();
-			}
+			target = pedigreeMap.getLocation(xmlElement);
 		}
 		loggingMgr.logIssue(tag, level, target, msg, explanation, srcRef, moduleId);
 	}
@@ -23,7 +23,6 @@
 package com.movielabs.mddflib.avails.xml;
 
 import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.DataFormatter;
 import org.apache.poi.ss.usermodel.Row;
 import org.jdom2.Element;
 import org.jdom2.Namespace;
@@ -46,7 +45,7 @@ public abstract class AbstractRowHelper {
 	protected XmlBuilder xb;
 	protected AvailsSheet sheet;
 	protected String workType = "";
-	protected DataFormatter dataF = new DataFormatter();
+	protected CellDecoder decoder;
 	protected Pedigree workTypePedigree;
 
 	public static AbstractRowHelper createHelper(AvailsSheet aSheet, Row row) {
@@ -68,6 +67,7 @@ public abstract class AbstractRowHelper {
 		super();
 		this.sheet = sheet;
 		this.row = row;
+		this.decoder = sheet.getCellDecoder();
 		/*
 		 * Need to save the current workType for use in Transaction/Terms
 		 */
@@ -115,6 +115,23 @@ public abstract class AbstractRowHelper {
 		return el;
 	}
 
+	/**
+	 * Create an XML element with the value of the cell that is the source of
+	 * the <tt>Pedigree</tt>.
+	 * 
+	 * @param name
+	 *            the name of the element
+	 * @param pg
+	 * @param ns
+	 * @return the created element
+	 */
+	Element mGenericElement(String name, Pedigree pg, Namespace ns) {
+		Element el = new Element(name, ns);
+		String formatted = xb.formatForType(name, ns, pg);
+		el.setText(formatted);
+		return el;
+	}
+
 	/**
 	 * Same as invoking
 	 * <tt>process(Element parentEl, String childName, Namespace ns, String cellKey, String separator) </tt>
@@ -167,14 +184,11 @@ public abstract class AbstractRowHelper {
 			return null;
 		}
 		Cell sourceCell = row.getCell(cellIdx);
-		String value = dataF.formatCellValue(sourceCell);
-		if (value == null) {
-			value = "";
-		}
 		if (sourceCell != null && (sourceCell.getCellType() == Cell.CELL_TYPE_FORMULA)) {
 			xb.appendToLog("Use of Excel Formulas not supported", LogMgmt.LEV_ERR, sourceCell);
 		}
-		Pedigree ped = new Pedigree(sourceCell, value);
+		/* the raw value is only formatted if needed */
+		Pedigree ped = new Pedigree(sourceCell, decoder);
 
 		return ped;
 	}
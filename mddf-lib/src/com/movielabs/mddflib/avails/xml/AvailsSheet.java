@@ -51,6 +51,7 @@ public class AvailsSheet {
 	private HashMap<String, Integer> headerMap;
 	private LogMgmt logger;
 	private Sheet excelSheet;
+	private CellDecoder decoder;
 	private Version version = Version.UNK;
 	private boolean noPrefix = true;
 	private boolean isForTV;
@@ -72,6 +73,7 @@ public class AvailsSheet {
 	public AvailsSheet(AvailsWrkBook parent, Sheet excelSheet) {
 		this.parent = parent;
 		this.excelSheet = excelSheet;
+		decoder = CellDecoder.forSheet(excelSheet);
 		logger = parent.getLogger();
 		this.name = excelSheet.getSheetName();
 		rows = new ArrayList<Row>();
@@ -175,6 +177,13 @@ public class AvailsSheet {
 		}
 	}
 
+	/**
+	 * @return the <tt>CellDecoder</tt> for cells in this sheet
+	 */
+	public CellDecoder getCellDecoder() {
+		return decoder;
+	}
+
 	/**
 	 * @return
 	 */
@@ -42,6 +42,8 @@ import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 import com.movielabs.mddflib.logging.LogMgmt;
+import com.movielabs.mddflib.metrics.Metrics;
+import com.movielabs.mddflib.metrics.PhaseTimer;
 
 /**
  * Wrapper for an Excel spreadsheet file comprising multiple individual sheets,
@@ -110,7 +112,9 @@ public class AvailsWrkBook {
 		this.exitOnError = exitOnError;
 		this.cleanupData = cleanupData;
 		sheets = new ArrayList<AvailsSheet>();
+		PhaseTimer timer = Metrics.start(Metrics.PHASE_XLSX_OPEN);
 		wrkBook = new XSSFWorkbook(file);
+		timer.stop();
 	}
 
 	public AvailsSheet ingestSheet(String sheetName) throws Exception {
@@ -119,7 +123,9 @@ public class AvailsWrkBook {
 			wrkBook.close();
 			throw new IllegalArgumentException(file + ":" + sheetName + " not found");
 		}
+		PhaseTimer timer = Metrics.start(Metrics.PHASE_XLSX_INGEST);
 		AvailsSheet as = new AvailsSheet(this, excelSheet);
+		timer.stop(as.getRowCount());
 		wrkBook.close();
 		return as;
 	}
@@ -145,7 +151,9 @@ public class AvailsWrkBook {
 			wrkBook.close();
 			throw new IllegalArgumentException(file + ": sheet number " + sheetNumber + " not found");
 		}
+		PhaseTimer timer = Metrics.start(Metrics.PHASE_XLSX_INGEST);
 		AvailsSheet as = new AvailsSheet(this, excelSheet);
+		timer.stop(as.getRowCount());
 		wrkBook.close();
 		return as;
 	}
@@ -0,0 +1,372 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.avails.xml;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+/**
+ * Converts the contents of a cell in an Avails spreadsheet to the lexical form
+ * required by the XML. Cells that Excel stores as a number with a date or time
+ * format, or as a boolean, are decoded directly from their native value
+ * rather than from the displayed text. This avoids formatting the value as a
+ * string only to then re-parse it and also handles cells whose display format
+ * differs from the one the text-based conversion expects (e.g., a date shown
+ * as <tt>m/d/yy</tt>). The text-based conversion is used for all other cells.
+ * <p>
+ * A <tt>CellDecoder</tt> is specific to a workbook (i.e., it uses the
+ * workbook's date system) and is not thread-safe.
+ * </p>
+ */
+public class CellDecoder {
+
+	private static final DateTimeFormatter DATE_TIME_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+	private static final LocalDate EPOCH_1900 = LocalDate.of(1899, 12, 30);
+	private static final LocalDate EPOCH_1904 = LocalDate.of(1904, 1, 1);
+	private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+
+	private boolean date1904;
+	private DataFormatter dataF = new DataFormatter();
+	/* results of DateUtil.isADateFormat() keyed by format string */
+	private Map<String, Boolean> dateFormats = new HashMap<String, Boolean>();
+
+	/**
+	 * @param excelSheet
+	 * @return a <tt>CellDecoder</tt> for cells in the <tt>excelSheet</tt>
+	 */
+	public static CellDecoder forSheet(Sheet excelSheet) {
+		Workbook wrkBook = excelSheet.getWorkbook();
+		boolean date1904 = (wrkBook instanceof XSSFWorkbook) && ((XSSFWorkbook) wrkBook).isDate1904();
+		return new CellDecoder(date1904);
+	}
+
+	/**
+	 * @param date1904
+	 *            <tt>true</tt> if dates are relative to 1904 rather than 1900
+	 */
+	public CellDecoder(boolean date1904) {
+		this.date1904 = date1904;
+	}
+
+	/**
+	 * Return the text of a cell as it is displayed by Excel.
+	 * 
+	 * @param cell
+	 * @return the text or an empty <tt>String</tt> if the cell is
+	 *         <tt>null</tt> or blank
+	 */
+	public String getText(Cell cell) {
+		if (cell == null) {
+			return "";
+		}
+		switch (cell.getCellTypeEnum()) {
+		case STRING:
+			return cell.getStringCellValue();
+		case BLANK:
+			return "";
+		default:
+			String value = dataF.formatCellValue(cell);
+			return (value == null) ? "" : value;
+		}
+	}
+
+	/**
+	 * Equivalent to <tt>getText(cell).isEmpty()</tt> but without formatting
+	 * the value.
+	 * 
+	 * @param cell
+	 * @return
+	 */
+	public boolean isEmpty(Cell cell) {
+		if (cell == null) {
+			return true;
+		}
+		switch (cell.getCellTypeEnum()) {
+		case STRING:
+			return cell.getStringCellValue().isEmpty();
+		case BLANK:
+			return true;
+		case NUMERIC:
+		case BOOLEAN:
+			return false;
+		default:
+			return getText(cell).isEmpty();
+		}
+	}
+
+	/**
+	 * @param cell
+	 * @return <tt>true</tt> if the cell is numeric and has a date or time
+	 *         format.
+	 */
+	public boolean isDate(Cell cell) {
+		if ((cell == null) || (cell.getCellTypeEnum() != CellType.NUMERIC)) {
+			return false;
+		}
+		if (!DateUtil.isValidExcelDate(cell.getNumericCellValue())) {
+			return false;
+		}
+		CellStyle style = cell.getCellStyle();
+		if (style == null) {
+			return false;
+		}
+		String format = style.getDataFormatString();
+		if (format == null) {
+			return false;
+		}
+		Boolean isDate = dateFormats.get(format);
+		if (isDate == null) {
+			isDate = DateUtil.isADateFormat(style.getDataFormat(), format);
+			dateFormats.put(format, isDate);
+		}
+		return isDate;
+	}
+
+	/**
+	 * Decode a cell with a native type that corresponds to the XSD
+	 * <tt>type</tt>. Dates without a time are completed as per
+	 * <tt>formatDateTime()</tt>.
+	 * 
+	 * @param type
+	 *            an XSD type (e.g., <tt>xs:dateTime</tt>)
+	 * @param cell
+	 * @param roundOff
+	 * @return the value in the lexical form of the <tt>type</tt> or
+	 *         <tt>null</tt> if the cell must be converted using its text.
+	 */
+	public String decode(String type, Cell cell, boolean roundOff) {
+		if (cell == null) {
+			return null;
+		}
+		switch (type) {
+		case "xs:dateTime":
+			if (isDate(cell)) {
+				LocalDateTime dateTime = toDateTime(cell.getNumericCellValue());
+				if (dateTime.toLocalTime().toSecondOfDay() == 0) {
+					return formatDateTime(dateTime.toLocalDate().toString(), roundOff);
+				}
+				return dateTime.format(DATE_TIME_FMT);
+			}
+			return null;
+		case "xs:date":
+			if (isDate(cell)) {
+				return toDateTime(cell.getNumericCellValue()).toLocalDate().toString();
+			}
+			return null;
+		case "xs:duration":
+			if (isDate(cell)) {
+				return toDuration(cell.getNumericCellValue());
+			}
+			return null;
+		case "xs:boolean":
+			if (cell.getCellTypeEnum() == CellType.BOOLEAN) {
+				return cell.getBooleanCellValue() ? "true" : "false";
+			}
+			return null;
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * @param excelDate
+	 *            days since the workbook's epoch
+	 * @return
+	 */
+	private LocalDateTime toDateTime(double excelDate) {
+		int days = (int) Math.floor(excelDate);
+		int seconds = (int) Math.round((excelDate - days) * SECONDS_PER_DAY);
+		if (seconds == SECONDS_PER_DAY) {
+			days++;
+			seconds = 0;
+		}
+		LocalDate date;
+		if (date1904) {
+			date = EPOCH_1904.plusDays(days);
+		} else if (days < 61) {
+			/* Excel treats 1900 as a leap year */
+			date = EPOCH_1900.plusDays(days + 1);
+		} else {
+			date = EPOCH_1900.plusDays(days);
+		}
+		return date.atStartOfDay().plusSeconds(seconds);
+	}
+
+	/**
+	 * @param excelTime
+	 *            a time expressed as a fraction of a day
+	 * @return
+	 */
+	private static String toDuration(double excelTime) {
+		long total = Math.round(excelTime * SECONDS_PER_DAY);
+		long hours = total / 3600;
+		int minutes = (int) ((total / 60) % 60);
+		int seconds = (int) (total % 60);
+		StringBuilder xmlValue = new StringBuilder("PT").append(hours).append('H');
+		appendTwoDigits(xmlValue, minutes).append('M');
+		if (seconds > 0) {
+			appendTwoDigits(xmlValue, seconds).append('S');
+		}
+		return xmlValue.toString();
+	}
+
+	private static StringBuilder appendTwoDigits(StringBuilder sb, int value) {
+		if (value < 10) {
+			sb.append('0');
+		}
+		return sb.append(value);
+	}
+
+	// ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+	// Text-based conversions...
+	// ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+
+	/**
+	 * Remove leading and trailing whitespace (i.e., any character matching the
+	 * regex <tt>\s</tt>).
+	 * 
+	 * @param input
+	 * @return
+	 */
+	public static String trim(String input) {
+		int start = 0;
+		int end = input.length();
+		while ((start < end) && isWhitespace(input.charAt(start))) {
+			start++;
+		}
+		while ((end > start) && isWhitespace(input.charAt(end - 1))) {
+			end--;
+		}
+		return ((start == 0) && (end == input.length())) ? input : input.substring(start, end);
+	}
+
+	private static boolean isWhitespace(char c) {
+		switch (c) {
+		case ' ':
+		case '\t':
+		case '\n':
+		case '\u000B':
+		case '\f':
+		case '\r':
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * @param input
+	 * @return <tt>true</tt> if the <tt>input</tt> starts with four digits and
+	 *         a '-' (i.e., <tt>YYYY-</tt>)
+	 */
+	public static boolean startsWithYear(String input) {
+		if (input.length() < 5) {
+			return false;
+		}
+		for (int i = 0; i < 4; i++) {
+			if (!isDigit(input.charAt(i))) {
+				return false;
+			}
+		}
+		return input.charAt(4) == '-';
+	}
+
+	/**
+	 * @param input
+	 * @return <tt>true</tt> if the <tt>input</tt> is of the form
+	 *         <tt>YYYY-MM-DD</tt>
+	 */
+	public static boolean isDate(String input) {
+		return (input.length() == 10) && startsWithYear(input) && isDigit(input.charAt(5))
+				&& isDigit(input.charAt(6)) && (input.charAt(7) == '-') && isDigit(input.charAt(8))
+				&& isDigit(input.charAt(9));
+	}
+
+	private static boolean isDigit(char c) {
+		return (c >= '0') && (c <= '9');
+	}
+
+	/**
+	 * Convert a date of the form <tt>YYYY-MM-DD</tt> to an
+	 * <tt>xs:dateTime</tt>. If <tt>roundOff</tt> is <tt>true</tt> the time
+	 * is set to the start of the day, otherwise the end of the day. Any other
+	 * input results in an empty string.
+	 * 
+	 * @param input
+	 * @param roundOff
+	 * @return
+	 */
+	public static String formatDateTime(String input, boolean roundOff) {
+		if (!isDate(input)) {
+			return "";
+		}
+		return roundOff ? input + "T00:00:00" : input + "T23:59:59";
+	}
+
+	/**
+	 * Convert a duration of the form <tt>hh</tt>, <tt>hh:mm</tt>, or
+	 * <tt>hh:mm:ss</tt> to an <tt>xs:duration</tt> (i.e.,
+	 * <tt>PThhHmmMssS</tt>).
+	 * 
+	 * @param input
+	 * @return
+	 */
+	public static String formatDuration(String input) {
+		/* single-character split() does not use a regex */
+		String parts[] = input.split(":");
+		String xmlValue = "PT" + parts[0] + "H";
+		if (parts.length > 1) {
+			xmlValue = xmlValue + parts[1] + "M";
+			if (parts.length > 2) {
+				xmlValue = xmlValue + parts[2] + "S";
+			}
+		}
+		return xmlValue;
+	}
+
+	/**
+	 * @param input
+	 * @return <tt>true</tt> or <tt>false</tt> for 'Yes' or 'No' respectively,
+	 *         otherwise <tt>null</tt>
+	 */
+	public static String formatBoolean(String input) {
+		if (input.equals("Yes")) {
+			return "true";
+		} else if (input.equals("No")) {
+			return "false";
+		}
+		return null;
+	}
+}
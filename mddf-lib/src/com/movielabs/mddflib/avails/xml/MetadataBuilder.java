@@ -26,11 +26,9 @@ import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.jdom2.Element;
-import org.jdom2.Namespace;
-import org.jdom2.filter.Filters;
-import org.jdom2.xpath.XPathExpression;
-import org.jdom2.xpath.XPathFactory;
 
 import com.movielabs.mddflib.avails.xml.AvailsSheet.Version;
 import com.movielabs.mddflib.logging.LogMgmt;
@@ -40,6 +38,13 @@ import net.sf.json.JSONArray;
 import net.sf.json.JSONObject;
 
 /**
+ * Constructs the Metadata for an Asset as specified by the
+ * <tt>MetadataMappings.json</tt> file. Rather than interpreting the JSON
+ * definitions for every row, the definition used for each combination of
+ * schema version and WorkType is <i>compiled</i> the first time it is needed
+ * into a tree of <tt>Step</tt> instances. The resulting plan is immutable and
+ * shared by all <tt>MetadataBuilder</tt> instances so that generating the
+ * Metadata for a row is a simple traversal of pre-computed steps.
  * 
  * @author L. Levin, Critical Architectures LLC
  *
@@ -49,15 +54,19 @@ public class MetadataBuilder {
 	private static final String REF_KEY = "#REF:";
 	public static final String ALT_ID_NAMESPACE_PREFIX = "org:mddf";
 	private static JSONObject mappings;
+	private static Map<String, LevelStep> planCache = new ConcurrentHashMap<String, LevelStep>();
 	private LogMgmt logger;
 	private int logMsgDefaultTag = LogMgmt.TAG_XLATE;
 	protected String logMsgSrcId = "MetadataBuilder";
-	protected XPathFactory xpfac = XPathFactory.instance();
 
 	private XmlBuilder xmlBldr;
 	private AbstractRowHelper row;
-	private JSONObject mapping4Version;
-	private JSONObject mapping4type;
+	private String schemaVer;
+	/**
+	 * Keys (i.e., System, Value, and Region) of the Ratings added to each
+	 * <tt>Ratings</tt> element of the Asset currently being processed.
+	 */
+	private Map<Element, Set<String>> ratingKeys = new IdentityHashMap<Element, Set<String>>();
 
 	static {
 		/*
@@ -87,8 +96,7 @@ public class MetadataBuilder {
 	public MetadataBuilder(Version xlsxVersion, LogMgmt logger, XmlBuilder xmlBldr) {
 		this.logger = logger;
 		this.xmlBldr = xmlBldr;
-		String schemaVer = "V" + xmlBldr.getVersion();
-		mapping4Version = mappings.getJSONObject(schemaVer);
+		schemaVer = "V" + xmlBldr.getVersion();
 		logger.log(LogMgmt.LEV_DEBUG, logMsgDefaultTag, "Using Schema Version " + schemaVer, null, logMsgSrcId);
 
 	}
@@ -99,97 +107,127 @@ public class MetadataBuilder {
 	 * @return
 	 */
 	public Element appendMData(AbstractRowHelper row, String assetWorkType) {
-		this.row = row;
 		/*
 		 * Need to determine what metadata structure to use based on the
 		 * Asset/WorkType
 		 */
+		String typeKey;
 		switch (assetWorkType) {
 		case "Season":
-			mapping4type = mapping4Version.getJSONObject("Season");
+			typeKey = "Season";
 			break;
 		case "Episode":
-			mapping4type = mapping4Version.getJSONObject("Episode");
+			typeKey = "Episode";
 			break;
 		case "Series":
+			typeKey = null;
 			break;
 		default:
 			// must be a Movie
-			mapping4type = mapping4Version.getJSONObject("Movies");
+			typeKey = "Movies";
 			break;
 		}
-		if (mapping4type != null) {
-			return buildMetadata();
+		LevelStep plan = null;
+		if (typeKey != null) {
+			plan = getPlan(typeKey);
+		}
+		if (plan == null) {
+			throw new UnsupportedOperationException("Invalid JSON: Unsupported Asset work-type: " + assetWorkType);
+		}
+		this.row = row;
+		try {
+			return plan.build(this);
+		} finally {
+			// clean up (i.e., garbage collection)
+			this.row = null;
+			ratingKeys.clear();
 		}
-		throw new UnsupportedOperationException("Invalid JSON: Unsupported Asset work-type: " + assetWorkType);
-
 	}
 
-	private Element buildMetadata() {
+	/**
+	 * Return the compiled plan for the specified WorkType, compiling the JSON
+	 * mappings if this is the first time it has been requested.
+	 * 
+	 * @param typeKey
+	 * @return the plan or <tt>null</tt> if the mappings do not define one
+	 */
+	private LevelStep getPlan(String typeKey) {
+		String planKey = schemaVer + "/" + typeKey;
+		LevelStep plan = planCache.get(planKey);
+		if (plan != null) {
+			return plan;
+		}
+		JSONObject mapping4Version = mappings.optJSONObject(schemaVer);
+		if (mapping4Version == null) {
+			return null;
+		}
+		JSONObject mapping4type = mapping4Version.optJSONObject(typeKey);
+		if (mapping4type == null || mapping4type.isNullObject()) {
+			return null;
+		}
 		/*
 		 * there should be a single key. The key will also serve as the name
 		 * assigned to the metadata element (e.g. key is
 		 * "{avail}EpisodeMetadata")
 		 */
-		Set<String> keys = mapping4type.keySet();
+		Set<?> keys = mapping4type.keySet();
 		if (keys.size() != 1) {
 			throw new UnsupportedOperationException("Invalid JSON: too many primary keys");
 		}
-		List<String> tempList = new ArrayList<String>(keys);
-		String mdKey = tempList.get(0);
-		Element mdEl = buildElement(mdKey);
-		JSONObject mdMappings = mapping4type.getJSONObject(mdKey);
-		processLevel(mdEl, mdMappings);
-
-		// --------------------
-		// clean up (i.e., garbage collection) and return
-		this.row = null;
-		this.mapping4type = null;
-		return mdEl;
+		String mdKey = (String) keys.iterator().next();
+		plan = new LevelStep(mdKey, compileLevel(mapping4Version, mapping4type.getJSONObject(mdKey)));
+		planCache.put(planKey, plan);
+		logger.log(LogMgmt.LEV_DEBUG, logMsgDefaultTag, "Compiled metadata mappings for " + planKey, null,
+				logMsgSrcId);
+		return plan;
 	}
 
+	// ######################################################################
+	// Compilation of the JSON mappings....
+
 	/**
-	 * @param parentEl
+	 * Each key defines an XML element to be created. To have valid XML they
+	 * must be processed in order so the steps are returned in the same sequence
+	 * as the keys.
+	 * 
+	 * @param mapping4Version
 	 * @param mdMappings
+	 * @return
 	 */
-	private void processLevel(Element parentEl, JSONObject mdMappings) {
-		/*
-		 * Each key defines an XML element to be created. To have valid XML they
-		 * must be processed in order.
-		 */
-		List<String> mdKeyList = new ArrayList<String>(mdMappings.keySet());
-		for (String nextKey : mdKeyList) {
-			logger.log(LogMgmt.LEV_DEBUG, logMsgDefaultTag, "processing JSON key " + nextKey, null, logMsgSrcId);
-
+	private static Step[] compileLevel(JSONObject mapping4Version, JSONObject mdMappings) {
+		List<Step> steps = new ArrayList<Step>();
+		for (Object keyObj : mdMappings.keySet()) {
+			String nextKey = (String) keyObj;
 			Object nextValue = mdMappings.get(nextKey);
 			if (nextValue instanceof String) {
 				String value = (String) nextValue;
 				if (value.startsWith(REF_KEY)) {
-					processReference(nextKey, value, parentEl);
+					steps.add(compileReference(mapping4Version, nextKey, value));
 				} else {
-					processString(nextKey, value, parentEl);
+					steps.add(new ColumnStep(nextKey, value));
 				}
 			} else if (nextValue instanceof JSONObject) {
-				processObject(nextKey, (JSONObject) nextValue, parentEl);
+				steps.add(compileObject(mapping4Version, nextKey, (JSONObject) nextValue));
 			} else if (nextValue instanceof JSONArray) {
 				JSONArray jArray = (JSONArray) nextValue;
 				Iterator<?> jit = jArray.iterator();
 				while (jit.hasNext()) {
 					Object nextInArray = jit.next();
 					if (nextInArray instanceof String) {
-						processString(nextKey, (String) nextInArray, parentEl);
+						steps.add(new ColumnStep(nextKey, (String) nextInArray));
 					} else if (nextInArray instanceof JSONObject) {
-						processObject(nextKey, (JSONObject) nextInArray, parentEl);
+						steps.add(compileObject(mapping4Version, nextKey, (JSONObject) nextInArray));
 					}
 				}
 			} else {
 				throw new UnsupportedOperationException("Invalid JSON: Unsupportable content under key=" + nextKey);
 			}
 		}
+		return steps.toArray(new Step[steps.size()]);
 	}
 
 	/**
-	 * Process a metadata sub-section whose definition is NOT defined as a
+	 * Compile a metadata sub-section whose definition is NOT defined as a
 	 * sub-component (i.e. child) of the section currently being processed. This
 	 * is analogous to an XML element defined in terms of <tt>type</tt> defined
 	 * elsewhere in an XSD.
@@ -197,38 +235,272 @@ public class MetadataBuilder {
 	 * Example:
 	 * <tt>"{avail}SeasonMetadata": "#REF:Season/{avail}SeasonMetadata"</tt>
 	 * <br/>
-	 * where <tt>Season/{avail}SeasonMetadata</tt> is the path.
+	 * where <tt>Season/{avail}SeasonMetadata</tt> is the path relative to the
+	 * root of <tt>mapping4Version</tt>.
 	 * </p>
 	 * 
+	 * @param mapping4Version
 	 * @param key
 	 *            is name of XML element to be created
-	 * @param path
-	 *            relative to the root of <tt>mapping4Version</tt>
-	 * @param parentEl
+	 * @param pathRef
+	 * @return
 	 */
-	private void processReference(String key, String pathRef, Element parentEl) {
-		String path = pathRef.replaceFirst(REF_KEY, "");
-		logger.log(LogMgmt.LEV_DEBUG, logMsgDefaultTag, "processing REF to " + path, null, logMsgSrcId);
+	private static Step compileReference(JSONObject mapping4Version, String key, String pathRef) {
+		String path = pathRef.substring(REF_KEY.length());
 		String[] parts = path.split("/");
 		JSONObject mappingsTarget = mapping4Version;
 		for (int i = 0; i < parts.length; i++) {
 			mappingsTarget = mappingsTarget.getJSONObject(parts[i]);
 		}
-		Element curEl = buildElement(key);
-		parentEl.addContent(curEl);
-		processLevel(curEl, mappingsTarget);
+		return new LevelStep(key, compileLevel(mapping4Version, mappingsTarget));
 	}
 
 	/**
-	 * Process a single-value mapping. An Attribute or child Element is added to
-	 * a parent element and then assigned a value. The <tt>xmlId</tt> is a
-	 * actually a key from the JSON <i>mappings</i> file and takes the form of
+	 * @param mapping4Version
+	 * @param curKey
+	 * @param curDefs
+	 * @return
+	 */
+	private static Step compileObject(JSONObject mapping4Version, String curKey, JSONObject curDefs) {
+		// is it a FUNCTION?
+		if (!curDefs.containsKey(FUNCTION_KEY)) {
+			// recursively process another level
+			return new LevelStep(curKey, compileLevel(mapping4Version, curDefs));
+		}
+		JSONObject functionDef = curDefs.getJSONObject(FUNCTION_KEY);
+		JSONObject functionArgs = functionDef.getJSONObject("args");
+		String funcName = functionDef.getString("name");
+		switch (funcName) {
+		case "altId":
+			return new AltIdStep(curKey, functionArgs.getString("col"));
+		case "contentRating":
+			return new RatingStep(functionArgs.getString("system"), functionArgs.getString("value"),
+					functionArgs.getString("reason"), functionArgs.getString("region"));
+		case "eidr":
+			return new EidrStep(curKey, functionArgs.getString("col"));
+		case "formatType":
+			String type = functionArgs.getString("type");
+			boolean rounding = false;
+			switch (type) {
+			case "xs:boolean":
+			case "xs:duration":
+				break;
+			case "xs:dateTime":
+				rounding = functionArgs.getString("roundOff").equals("true");
+				break;
+			default:
+				throw new UnsupportedOperationException("Invalid JSON: unsupported format type '" + type + "'");
+			}
+			return new FormatStep(curKey, functionArgs.getString("col"), type, rounding);
+		case "releaseHistory":
+			return new ReleaseHistoryStep(curKey, functionArgs.getString("col"), functionArgs.getString("type"));
+		default:
+			throw new UnsupportedOperationException("Invalid JSON: unsupported function '" + funcName + "'");
+		}
+	}
+
+	// ######################################################################
+	// Execution of a compiled plan....
+
+	/**
+	 * Identifies an XML element (or attribute) to be created. The
+	 * <tt>key</tt> is from the JSON <i>mappings</i> file and takes the form of
 	 * either <tt>{<i>namespace</i>}elementName</tt> or <tt>@attrbuteName</tt>.
 	 * Examples:
 	 * <uL>
 	 * <li>{avails}RunLength</li>
 	 * <li>@contentID</li>
 	 * </ul>
+	 */
+	private static final class XmlId {
+		static final int NS_NONE = 0;
+		static final int NS_AVAILS = 1;
+		static final int NS_MD = 2;
+
+		final String name;
+		final int nsId;
+		final boolean isAttribute;
+
+		XmlId(String key) {
+			isAttribute = key.startsWith("@");
+			if (!key.startsWith("{")) {
+				name = key;
+				nsId = NS_NONE;
+			} else {
+				if (key.startsWith("{avail}")) {
+					nsId = NS_AVAILS;
+				} else if (key.startsWith("{md}")) {
+					nsId = NS_MD;
+				} else {
+					throw new UnsupportedOperationException("Can not proceed due to malformed JSON; key=" + key);
+				}
+				name = key.substring(key.indexOf('}') + 1);
+			}
+		}
+
+		String getSchema() {
+			switch (nsId) {
+			case NS_AVAILS:
+				return "avails";
+			case NS_MD:
+				return "md";
+			default:
+				return null;
+			}
+		}
+	}
+
+	private static abstract class Step {
+		final XmlId xmlId;
+
+		Step(String key) {
+			xmlId = (key == null) ? null : new XmlId(key);
+		}
+
+		abstract void execute(MetadataBuilder mdBldr, Element parentEl);
+	}
+
+	/**
+	 * Creates an element and then executes the steps that add its content.
+	 */
+	private static final class LevelStep extends Step {
+		final Step[] children;
+
+		LevelStep(String key, Step[] children) {
+			super(key);
+			this.children = children;
+		}
+
+		Element build(MetadataBuilder mdBldr) {
+			Element curEl = mdBldr.buildElement(xmlId);
+			processChildren(mdBldr, curEl);
+			return curEl;
+		}
+
+		void execute(MetadataBuilder mdBldr, Element parentEl) {
+			Element curEl = mdBldr.buildElement(xmlId);
+			parentEl.addContent(curEl);
+			processChildren(mdBldr, curEl);
+		}
+
+		private void processChildren(MetadataBuilder mdBldr, Element curEl) {
+			for (int i = 0; i < children.length; i++) {
+				children[i].execute(mdBldr, curEl);
+			}
+		}
+	}
+
+	/**
+	 * A single-value mapping where the value is taken, as-is, from a cell.
+	 */
+	private static final class ColumnStep extends Step {
+		final String colKey;
+
+		ColumnStep(String key, String colKey) {
+			super(key);
+			this.colKey = colKey;
+		}
+
+		void execute(MetadataBuilder mdBldr, Element parentEl) {
+			mdBldr.processString(xmlId, colKey, parentEl);
+		}
+	}
+
+	private static final class AltIdStep extends Step {
+		final String colKey;
+		final String idPrefix;
+
+		AltIdStep(String key, String colKey) {
+			super(key);
+			this.colKey = colKey;
+			String[] srcId = colKey.split("/");
+			idPrefix = srcId[srcId.length - 1] + ":";
+		}
+
+		void execute(MetadataBuilder mdBldr, Element parentEl) {
+			mdBldr.func_altId(this, parentEl);
+		}
+	}
+
+	private static final class RatingStep extends Step {
+		final String rSysCol;
+		final String rValueCol;
+		final String rReasonCol;
+		final String rRegionCol;
+
+		RatingStep(String rSysCol, String rValueCol, String rReasonCol, String rRegionCol) {
+			super(null);
+			this.rSysCol = rSysCol;
+			this.rValueCol = rValueCol;
+			this.rReasonCol = rReasonCol;
+			this.rRegionCol = rRegionCol;
+		}
+
+		void execute(MetadataBuilder mdBldr, Element parentEl) {
+			mdBldr.func_contentRating(this, parentEl);
+		}
+	}
+
+	private static final class EidrStep extends Step {
+		final String colKey;
+
+		EidrStep(String key, String colKey) {
+			super(key);
+			this.colKey = colKey;
+		}
+
+		void execute(MetadataBuilder mdBldr, Element parentEl) {
+			mdBldr.func_eidr(this, parentEl);
+		}
+	}
+
+	private static final class FormatStep extends Step {
+		final String colKey;
+		final String type;
+		final boolean roundOff;
+
+		FormatStep(String key, String colKey, String type, boolean roundOff) {
+			super(key);
+			this.colKey = colKey;
+			this.type = type;
+			this.roundOff = roundOff;
+		}
+
+		void execute(MetadataBuilder mdBldr, Element parentEl) {
+			mdBldr.func_format(this, parentEl);
+		}
+	}
+
+	private static final class ReleaseHistoryStep extends Step {
+		final String colKey;
+		final String type;
+
+		ReleaseHistoryStep(String key, String colKey, String type) {
+			super(key);
+			this.colKey = colKey;
+			this.type = type;
+		}
+
+		void execute(MetadataBuilder mdBldr, Element parentEl) {
+			mdBldr.func_releaseHistory(this, parentEl);
+		}
+	}
+
+	/**
+	 * @param colKey
+	 * @return
+	 */
+	private Pedigree getPedigree(String colKey) {
+		Pedigree pg = row.getPedigreedData(colKey);
+		if (pg == null) {
+			throw new UnsupportedOperationException("Invalid JSON: unsupported column '" + colKey + "'");
+		}
+		return pg;
+	}
+
+	/**
+	 * Process a single-value mapping. An Attribute or child Element is added to
+	 * a parent element and then assigned a value.
 	 * 
 	 * @param xmlId
 	 *            name of an Attribute or Element to be added
@@ -237,14 +509,11 @@ public class MetadataBuilder {
 	 * @param mdEl
 	 *            parent element
 	 */
-	private void processString(String xmlId, String valueSrc, Element mdEl) {
+	private void processString(XmlId xmlId, String valueSrc, Element mdEl) {
 		// 'valueSrc' identifies a column in the spreadsheet row
-		Pedigree pg = row.getPedigreedData(valueSrc);
-		if (pg == null) {
-			throw new UnsupportedOperationException("Invalid JSON: unsupported column '" + valueSrc + "'");
-		}
+		Pedigree pg = getPedigree(valueSrc);
 		// key defines the name of the child element or attribute
-		if (xmlId.startsWith("@")) {
+		if (xmlId.isAttribute) {
 			// process as attribute
 			// TODO
 		} else {
@@ -260,77 +529,24 @@ public class MetadataBuilder {
 	}
 
 	/**
-	 * @param curKey
-	 * @param curDefs
+	 * @param step
 	 * @param parentEl
 	 */
-	private void processObject(String curKey, JSONObject curDefs, Element parentEl) {
-		// is it a FUNCTION?
-		if (curDefs.containsKey(FUNCTION_KEY)) {
-			JSONObject funcDef = curDefs.getJSONObject(FUNCTION_KEY);
-			processFunction(funcDef, curKey, parentEl);
-		} else {
-			// recursively process another level
-			Element curEl = buildElement(curKey);
-			parentEl.addContent(curEl);
-			processLevel(curEl, curDefs);
-		}
-	}
-
-	/**
-	 * @param functionDef
-	 * @param targetEl
-	 */
-	private void processFunction(JSONObject functionDef, String curKey, Element parentEl) {
-		String funcName = functionDef.getString("name");
-		switch (funcName) {
-		case "altId":
-			func_altId(functionDef, curKey, parentEl);
-			break;
-		case "contentRating":
-			func_contentRating(functionDef, curKey, parentEl);
-			break;
-		case "eidr":
-			func_eidr(functionDef, curKey, parentEl);
-			break;
-		case "formatType":
-			func_format(functionDef, curKey, parentEl);
-			break;
-		case "releaseHistory":
-			func_releaseHistory(functionDef, curKey, parentEl);
-			break;
-		default:
-			throw new UnsupportedOperationException("Invalid JSON: unsupported function '" + funcName + "'");
-		}
-
-	}
-
-	/**
-	 * @param functionDef
-	 * @param altIdEl
-	 */
-	protected void func_altId(JSONObject functionDef, String curKey, Element parentEl) {
-		JSONObject functionArgs = functionDef.getJSONObject("args");
-		String colKey = functionArgs.getString("col");
-		logger.log(LogMgmt.LEV_DEBUG, logMsgDefaultTag, "func_altId prcessing Col key " + colKey, null, logMsgSrcId);
-
-		Pedigree pg = row.getPedigreedData(colKey);
+	private void func_altId(AltIdStep step, Element parentEl) {
+		Pedigree pg = row.getPedigreedData(step.colKey);
 		if (pg == null) {
-			throw new UnsupportedOperationException("Invalid XLSX: unsupported column '" + colKey + "'");
+			throw new UnsupportedOperationException("Invalid XLSX: unsupported column '" + step.colKey + "'");
 		}
-		if (pg.isEmpty() && !isRequired(curKey)) {
+		if (pg.isEmpty() && !isRequired(step.xmlId)) {
 			return;
 		}
-		Element altIdEl = buildElement(curKey);
+		Element altIdEl = buildElement(step.xmlId);
 		parentEl.addContent(altIdEl);
 
-		String idValue = pg.getRawValue();
-		String namespace = ALT_ID_NAMESPACE_PREFIX;
-		String[] srcId = colKey.split("/");
-		idValue = srcId[srcId.length - 1] + ":" + idValue;
+		String idValue = step.idPrefix + pg.getRawValue();
 		xmlBldr.addToPedigree(altIdEl, pg);
 
-		Element nsEl = row.mGenericElement("Namespace", namespace, xmlBldr.getMdNSpace());
+		Element nsEl = row.mGenericElement("Namespace", ALT_ID_NAMESPACE_PREFIX, xmlBldr.getMdNSpace());
 		altIdEl.addContent(nsEl);
 		xmlBldr.addToPedigree(nsEl, pg);
 		Element idEl = row.mGenericElement("Identifier", idValue, xmlBldr.getMdNSpace());
@@ -339,12 +555,30 @@ public class MetadataBuilder {
 	}
 
 	/**
-	 * @param functionDef
-	 * @param targetEl
+	 * Record the addition of a Rating to a <tt>Ratings</tt> element. A Rating
+	 * is identified by its System, Value, and Region so the same System and
+	 * Value may be added once for each Region.
+	 * 
+	 * @param ratings
+	 * @param ratingSystem
+	 * @param ratingValue
+	 * @param region
+	 * @return <tt>false</tt> if a matching Rating has already been added
 	 */
-	private void func_contentRating(JSONObject functionDef, String curKey, Element parentEl) {
-		JSONObject functionArgs = functionDef.getJSONObject("args");
+	boolean addRatingKey(Element ratings, String ratingSystem, String ratingValue, String region) {
+		Set<String> existing = ratingKeys.get(ratings);
+		if (existing == null) {
+			existing = new HashSet<String>();
+			ratingKeys.put(ratings, existing);
+		}
+		return existing.add(ratingSystem + '\u0000' + ratingValue + '\u0000' + region);
+	}
 
+	/**
+	 * @param step
+	 * @param parentEl
+	 */
+	private void func_contentRating(RatingStep step, Element parentEl) {
 		Element ratings = parentEl.getChild("Ratings", xmlBldr.getAvailsNSpace());
 		boolean addToParent;
 		if (ratings == null) {
@@ -353,14 +587,8 @@ public class MetadataBuilder {
 		} else {
 			addToParent = false;
 		}
-		/* These are the source columns for the data items.. */
-		String rSysCol = functionArgs.getString("system");
-		String rValueCol = functionArgs.getString("value");
-		String rReasonCol = functionArgs.getString("reason");
-		String rRegionCol = functionArgs.getString("region");
-
-		String ratingSystem = row.getData(rSysCol);
-		String ratingValue = row.getData(rValueCol);
+		String ratingSystem = row.getData(step.rSysCol);
+		String ratingValue = row.getData(step.rValueCol);
 		/*
 		 * According to XML schema, both values are REQUIRED for a Rating. If
 		 * any has been specified than we add the Rating element and let XML
@@ -375,26 +603,17 @@ public class MetadataBuilder {
 		 * Before adding another rating to a pre-existing set we check for
 		 * uniqueness and ignore duplicates.
 		 */
-		Namespace mdNS = xmlBldr.getMdNSpace();
-		String mdPrefix = mdNS.getPrefix();
-		String xpath = "./" + mdPrefix + ":Rating[./" + mdPrefix + ":System='" + ratingSystem + "' and ./" + mdPrefix
-				+ ":Value='" + ratingValue + "']";
-		XPathExpression<Element> xpExpression = xpfac.compile(xpath, Filters.element(), null, xmlBldr.getAvailsNSpace(),
-				xmlBldr.getMdNSpace());
-		Element matching = xpExpression.evaluateFirst(ratings);
-		if (matching != null) {
+		if (!addRatingKey(ratings, ratingSystem, ratingValue, row.getData(step.rRegionCol))) {
 			// ignore pre-existing match
-			// System.out.println("ignore pre-existing match::
-			// "+ratingSystem+"-"+ratingValue);
 			return;
 		}
 
 		Element rat = new Element("Rating", xmlBldr.getMdNSpace());
 		ratings.addContent(rat);
 
-		row.addRegion(rat, "Region", xmlBldr.getMdNSpace(), rRegionCol);
-		Element rSysEl = row.process(rat, "System", xmlBldr.getMdNSpace(), rSysCol);
-		row.process(rat, "Value", xmlBldr.getMdNSpace(), rValueCol);
+		row.addRegion(rat, "Region", xmlBldr.getMdNSpace(), step.rRegionCol);
+		Element rSysEl = row.process(rat, "System", xmlBldr.getMdNSpace(), step.rSysCol);
+		row.process(rat, "Value", xmlBldr.getMdNSpace(), step.rValueCol);
 		/*
 		 * IF RatingSys provides defined reason codes then look for a comma
 		 * separated listed of codes ELSE allow any single string value (i.e.,
@@ -408,10 +627,10 @@ public class MetadataBuilder {
 		 * null rSystem!
 		 */
 		if (rSystem == null || !(rSystem.providesReasons())) {
-			row.process(rat, "Reason", xmlBldr.getMdNSpace(), rReasonCol, null);
+			row.process(rat, "Reason", xmlBldr.getMdNSpace(), step.rReasonCol, null);
 		} else {
 			// TODO???
-			Element[] reasonList = row.process(rat, "Reason", xmlBldr.getMdNSpace(), rReasonCol, ",");
+			Element[] reasonList = row.process(rat, "Reason", xmlBldr.getMdNSpace(), step.rReasonCol, ",");
 		}
 		if (addToParent) {
 			parentEl.addContent(ratings);
@@ -422,14 +641,12 @@ public class MetadataBuilder {
 	/**
 	 * Ensure all EIDR values are in URN format that is compatible with XML.
 	 * 
-	 * @param functionDef
-	 * @param curKey
+	 * @param step
 	 * @param parentEl
 	 */
-	private void func_eidr(JSONObject functionDef, String curKey, Element parentEl) {
-		JSONObject functionArgs = functionDef.getJSONObject("args");
-		Pedigree pg = row.getPedigreedData(functionArgs.getString("col"));
-		if (pg.isEmpty() && !isRequired(curKey)) {
+	private void func_eidr(EidrStep step, Element parentEl) {
+		Pedigree pg = getPedigree(step.colKey);
+		if (pg.isEmpty() && !isRequired(step.xmlId)) {
 			return;
 		}
 
@@ -444,7 +661,7 @@ public class MetadataBuilder {
 		default:
 			break;
 		}
-		Element targetEl = buildElement(curKey);
+		Element targetEl = buildElement(step.xmlId);
 		parentEl.addContent(targetEl);
 		targetEl.setText(idValue);
 	}
@@ -454,59 +671,36 @@ public class MetadataBuilder {
 	 * happens, for example, with durations where XSD specifies xs:duration
 	 * syntax.
 	 * 
-	 * @param input
-	 * @return
+	 * @param step
+	 * @param parentEl
 	 */
-	private void func_format(JSONObject functionDef, String curKey, Element parentEl) {
-		JSONObject functionArgs = functionDef.getJSONObject("args");
-		String colKey = functionArgs.getString("col");
-		Pedigree pg = row.getPedigreedData(colKey);
-		if (pg == null) {
-			throw new UnsupportedOperationException("Invalid JSON: unsupported column '" + colKey + "'");
-		}
-		if (pg.isEmpty() && !isRequired(curKey)) {
+	private void func_format(FormatStep step, Element parentEl) {
+		Pedigree pg = getPedigree(step.colKey);
+		if (pg.isEmpty() && !isRequired(step.xmlId)) {
 			return;
 		}
-		Element targetEl = buildElement(curKey);
+		Element targetEl = buildElement(step.xmlId);
 		parentEl.addContent(targetEl);
-		String type = functionArgs.getString("type");
-		String value = null;
-		switch (type) {
-		case "xs:boolean":
-			value = xmlBldr.formatBoolean(pg.getRawValue());
-			break;
-		case "xs:dateTime":
-			boolean rounding = functionArgs.getString("roundOff").equals("true");
-			value = xmlBldr.formatDateTime(pg.getRawValue(), rounding);
-			break;
-		case "xs:duration":
-			value = xmlBldr.formatDuration(pg.getRawValue());
-			break;
-		default:
-			throw new UnsupportedOperationException("Invalid JSON: unsupported format type '" + type + "'");
-		}
-		targetEl.setText(value);
+		targetEl.setText(xmlBldr.formatAs(step.type, null, pg, step.roundOff));
 	}
 
 	/**
-	 * @param functionDef
-	 * @param rHistoryEl
+	 * @param step
+	 * @param parentEl
 	 */
-	private void func_releaseHistory(JSONObject functionDef, String curKey, Element parentEl) {
-		JSONObject functionArgs = functionDef.getJSONObject("args");
-		Pedigree pg = row.getPedigreedData(functionArgs.getString("col"));
-		if (pg.isEmpty() && !isRequired(curKey)) {
+	private void func_releaseHistory(ReleaseHistoryStep step, Element parentEl) {
+		Pedigree pg = getPedigree(step.colKey);
+		if (pg.isEmpty() && !isRequired(step.xmlId)) {
 			return;
 		}
-		Element rHistoryEl = buildElement(curKey);
+		Element rHistoryEl = buildElement(step.xmlId);
 		parentEl.addContent(rHistoryEl);
 
-		Element rTypeEl = buildElement("{md}ReleaseType");
-		String type = functionArgs.getString("type");
-		rTypeEl.setText(type);
+		Element rTypeEl = new Element("ReleaseType", xmlBldr.getMdNSpace());
+		rTypeEl.setText(step.type);
 		rHistoryEl.addContent(rTypeEl);
 
-		Element dateEl = buildElement("{md}Date");
+		Element dateEl = new Element("Date", xmlBldr.getMdNSpace());
 		dateEl.setText(pg.getRawValue());
 		xmlBldr.addToPedigree(dateEl, pg);
 		rHistoryEl.addContent(dateEl);
@@ -516,35 +710,23 @@ public class MetadataBuilder {
 	 * @param xmlId
 	 * @return
 	 */
-	private boolean isRequired(String xmlId) {
-		String name = xmlId.split("}")[1];
-		String nsId = null;
-		if (xmlId.startsWith("{avail}")) {
-			nsId = "avails";
-		} else if (xmlId.startsWith("{md}")) {
-			nsId = "md";
-		}
-		return xmlBldr.isRequired(name, nsId);
+	private boolean isRequired(XmlId xmlId) {
+		return xmlBldr.isRequired(xmlId.name, xmlId.getSchema());
 	}
 
 	/**
-	 * @param key
+	 * @param xmlId
 	 * @return
 	 */
-	private Element buildElement(String key) {
-		if (!key.startsWith("{")) {
-			return new Element(key);
-		}
-		Namespace childNs = null;
-		if (key.startsWith("{avail}")) {
-			childNs = xmlBldr.getAvailsNSpace();
-		} else if (key.startsWith("{md}")) {
-			childNs = xmlBldr.getMdNSpace();
-		} else {
-			throw new UnsupportedOperationException("Can not proceed due to malformed JSON; key=" + key);
+	private Element buildElement(XmlId xmlId) {
+		switch (xmlId.nsId) {
+		case XmlId.NS_AVAILS:
+			return new Element(xmlId.name, xmlBldr.getAvailsNSpace());
+		case XmlId.NS_MD:
+			return new Element(xmlId.name, xmlBldr.getMdNSpace());
+		default:
+			return new Element(xmlId.name);
 		}
-		String name = key.split("}")[1];
-		return new Element(name, childNs);
 	}
 
 	/**
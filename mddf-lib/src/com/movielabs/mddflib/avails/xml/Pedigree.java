@@ -22,13 +22,19 @@
  */
 package com.movielabs.mddflib.avails.xml;
 
+import org.apache.poi.ss.usermodel.Cell;
+
 /**
  * Instantiates the linkage of a data value back to its original source. The
  * intent is to provide the logging components with a way to point the user to
  * the specific location in a file that specified a problematic value. The
  * <tt>source</tt> will normally be an XML Element but, in the case of Avails,
  * may also be a cell in a XLSX spreadsheet.
- * 
+ * <p>
+ * When the source is a cell, the raw (i.e., displayed) value is only
+ * determined if it is actually requested. A value that can be decoded directly
+ * from the cell's native type is therefore never formatted as text.
+ * </p>
  * 
  * @author L. Levin, Critical Architectures LLC
  *
@@ -36,6 +42,7 @@ package com.movielabs.mddflib.avails.xml;
 public class Pedigree {
 	private String rawValue;
 	private Object source;
+	private CellDecoder decoder = null;
 
 	/**
 	 * @param sourceCell
@@ -46,7 +53,20 @@ public class Pedigree {
 		this.rawValue = value;
 	}
 
+	/**
+	 * @param sourceCell
+	 * @param decoder
+	 *            used to obtain the raw value from the <tt>sourceCell</tt>
+	 */
+	Pedigree(Cell sourceCell, CellDecoder decoder) {
+		this.source = sourceCell;
+		this.decoder = decoder;
+	}
+
 	public String getRawValue() {
+		if ((rawValue == null) && (decoder != null)) {
+			rawValue = decoder.getText((Cell) source);
+		}
 		return rawValue;
 	}
 
@@ -57,8 +77,15 @@ public class Pedigree {
 		return source;
 	}
 
+	CellDecoder getDecoder() {
+		return decoder;
+	}
+
 	public boolean isEmpty() {
-		return rawValue.isEmpty();
+		if ((rawValue == null) && (decoder != null)) {
+			return decoder.isEmpty((Cell) source);
+		}
+		return getRawValue().isEmpty();
 	}
 
 }
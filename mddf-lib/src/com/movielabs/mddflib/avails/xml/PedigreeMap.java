@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.avails.xml;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Sheet;
+
+import com.movielabs.mddflib.logging.CellLocation;
+
+/**
+ * Links the XML constructs generated from an Avails spreadsheet back to the
+ * cells they were derived from. Only the location of each cell is retained
+ * (packed as a <tt>long</tt>) rather than the <tt>Pedigree</tt> or POI
+ * <tt>Cell</tt>, so that the workbook may be released as soon as the
+ * conversion is complete.
+ * <p>
+ * Keys are compared by identity (as is the case for JDOM <tt>Element</tt> and
+ * <tt>Attribute</tt> instances) and are stored in an open-addressed table in
+ * order to avoid the overhead of an entry object per key.
+ * </p>
+ */
+public class PedigreeMap {
+
+	private static final long NO_LOCATION = -1L;
+	private static final int MIN_CAPACITY = 64;
+
+	private Object[] keys;
+	private long[] locations;
+	private int size = 0;
+	private int mask;
+
+	public PedigreeMap() {
+		keys = new Object[MIN_CAPACITY];
+		locations = new long[MIN_CAPACITY];
+		mask = MIN_CAPACITY - 1;
+	}
+
+	/**
+	 * Link the <tt>content</tt> to the cell that is the source of the
+	 * <tt>Pedigree</tt>. If the source is not a <tt>Cell</tt> the
+	 * <tt>content</tt> is recorded as having no known location.
+	 * 
+	 * @param content
+	 * @param source
+	 */
+	public void put(Object content, Pedigree source) {
+		long location = NO_LOCATION;
+		if ((source != null) && (source.getSource() instanceof Cell)) {
+			Cell cell = (Cell) source.getSource();
+			Sheet sheet = cell.getSheet();
+			int sheetIdx = sheet.getWorkbook().getSheetIndex(sheet);
+			location = CellLocation.pack(sheetIdx, cell.getRowIndex(), cell.getColumnIndex());
+		}
+		put(content, location);
+	}
+
+	private void put(Object content, long location) {
+		int slot = find(content);
+		if (keys[slot] == null) {
+			keys[slot] = content;
+			size++;
+		}
+		locations[slot] = location;
+		if (size * 2 > keys.length) {
+			resize(keys.length * 2);
+		}
+	}
+
+	/**
+	 * @param content
+	 * @return the location of the cell the <tt>content</tt> was derived from
+	 *         or <tt>null</tt> if not known.
+	 */
+	public CellLocation getLocation(Object content) {
+		if (content == null) {
+			return null;
+		}
+		int slot = find(content);
+		if ((keys[slot] == null) || (locations[slot] == NO_LOCATION)) {
+			return null;
+		}
+		return CellLocation.unpack(locations[slot]);
+	}
+
+	public boolean containsKey(Object content) {
+		return (content != null) && (keys[find(content)] != null);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Return the slot containing the <tt>key</tt> or, if not present, the
+	 * empty slot where it should be added.
+	 * 
+	 * @param key
+	 * @return
+	 */
+	private int find(Object key) {
+		int slot = hash(key) & mask;
+		while ((keys[slot] != null) && (keys[slot] != key)) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private static int hash(Object key) {
+		int h = System.identityHashCode(key) * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private void resize(int capacity) {
+		Object[] oldKeys = keys;
+		long[] oldLocations = locations;
+		keys = new Object[capacity];
+		locations = new long[capacity];
+		mask = capacity - 1;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != null) {
+				int slot = find(oldKeys[i]);
+				keys[slot] = oldKeys[i];
+				locations[slot] = oldLocations[i];
+			}
+		}
+	}
+}
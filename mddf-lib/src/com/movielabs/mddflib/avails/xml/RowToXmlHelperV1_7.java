@@ -312,10 +312,10 @@ public class RowToXmlHelperV1_7 extends AbstractRowHelper {
 
 	protected Element addTerm(Element parent, String src, String termName, String subElName) {
 		Pedigree pg = getPedigreedData(src);
-		if ((pg != null) && (isSpecified(pg.getRawValue()))) {
+		if (isSpecified(pg)) {
 			Element termEl = new Element("Term", xb.getAvailsNSpace());
 			termEl.setAttribute("termName", termName);
-			Element childEl = mGenericElement(subElName, pg.getRawValue(), xb.getAvailsNSpace());
+			Element childEl = mGenericElement(subElName, pg, xb.getAvailsNSpace());
 			termEl.addContent(childEl);
 			xb.addToPedigree(childEl, pg);
 			xb.addToPedigree(termEl, pg);
@@ -370,15 +370,15 @@ public class RowToXmlHelperV1_7 extends AbstractRowHelper {
 		if (pg == null) {
 			return null;
 		}
-		String value = pg.getRawValue();
-		if (isSpecified(value) || xb.isRequired(childName, ns.getPrefix())) {
-			String[] valueSet;
+		if (isSpecified(pg) || xb.isRequired(childName, ns.getPrefix())) {
 			if (separator == null) {
-				valueSet = new String[1];
-				valueSet[0] = value;
-			} else {
-				valueSet = value.split(separator);
+				/* single value so may be decoded directly from the cell */
+				Element childEl = mGenericElement(childName, pg, ns);
+				parentEl.addContent(childEl);
+				xb.addToPedigree(childEl, pg);
+				return new Element[] { childEl };
 			}
+			String[] valueSet = pg.getRawValue().split(separator);
 			Element[] elementList = new Element[valueSet.length];
 			for (int i = 0; i < valueSet.length; i++) {
 				Element childEl = mGenericElement(childName, valueSet[i], ns);
@@ -427,14 +427,13 @@ public class RowToXmlHelperV1_7 extends AbstractRowHelper {
 	 */
 	protected boolean processCondition(Element parentEl, String childName, Namespace ns, String cellKey) {
 		Pedigree pg = getPedigreedData(cellKey);
-		String value = pg.getRawValue();
-		if (isSpecified(value)) {
+		if (isSpecified(pg)) {
 			Element condEl = null;
-			// does it start with 'yyyy' ?
-			if (value.matches("^[\\d]{4}-.*")) {
-				condEl = mGenericElement(childName, value, ns);
+			// is it a date or does it start with 'yyyy' ?
+			if (decoder.isDate((Cell) pg.getSource()) || CellDecoder.startsWithYear(pg.getRawValue())) {
+				condEl = mGenericElement(childName, pg, ns);
 			} else {
-				condEl = mGenericElement(childName + "Condition", value, ns);
+				condEl = mGenericElement(childName + "Condition", pg, ns);
 			}
 			parentEl.addContent(condEl);
 			xb.addToPedigree(condEl, pg);
@@ -454,11 +453,7 @@ public class RowToXmlHelperV1_7 extends AbstractRowHelper {
 			return null;
 		} else {
 			Cell cell = row.getCell(cellIdx);
-			String value = dataF.formatCellValue(cell);
-			if (value == null) {
-				value = "";
-			}
-			return value;
+			return decoder.getText(cell);
 		}
 	}
 
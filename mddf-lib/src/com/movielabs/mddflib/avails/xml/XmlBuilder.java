@@ -42,6 +42,8 @@ import com.movielabs.mddf.MddfContext;
 import com.movielabs.mddf.MddfContext.FILE_FMT;
 import com.movielabs.mddflib.avails.xml.AvailsSheet.Version;
 import com.movielabs.mddflib.logging.LogMgmt;
+import com.movielabs.mddflib.metrics.Metrics;
+import com.movielabs.mddflib.metrics.PhaseTimer;
 import com.movielabs.mddflib.util.xml.SchemaWrapper;
 
 /**
@@ -67,7 +69,7 @@ public class XmlBuilder {
 	private SchemaWrapper mdSchema;
 	private SchemaWrapper mdMecSchema;
 
-	private Map<Object, Pedigree> pedigreeMap = null;
+	private PedigreeMap pedigreeMap = null;
 	private Map<String, Element> availElRegistry = null;
 	private Element root;
 	private String shortDesc;
@@ -154,8 +156,9 @@ public class XmlBuilder {
 			logger.log(LogMgmt.LEV_ERR, LogMgmt.TAG_XLATE, msg, null, moduleId);
 			throw new IllegalStateException("The XSD version was not set or is unsupported.");
 		}
+		PhaseTimer timer = Metrics.start(Metrics.PHASE_XML_BUILD);
 		// initialize data structures...
-		pedigreeMap = new HashMap<Object, Pedigree>();
+		pedigreeMap = new PedigreeMap();
 		availElRegistry = new HashMap<String, Element>();
 		assetElRegistry = new HashMap<String, Element>();
 		avail2AssetMap = new HashMap<Element, List<Element>>();
@@ -197,6 +200,7 @@ public class XmlBuilder {
 		} catch (Exception e) {
 			msg = "Exception while ingesting XLSX: "+e.getLocalizedMessage();
 			logger.log(LogMgmt.LEV_FATAL, LogMgmt.TAG_XLATE, msg, srcXslxFile, moduleId);
+			timer.stop();
 			return null;
 		}
 
@@ -216,6 +220,7 @@ public class XmlBuilder {
 			finalizeAssetMetadata(nextAvailEl);
 			root.addContent(nextAvailEl);
 		}
+		timer.stopAndCount(root);
 		msg = "Completed ingesting XLSX file";
 		logger.log(LogMgmt.LEV_INFO, LogMgmt.TAG_XLATE, msg, srcXslxFile, moduleId);
 		return doc;
@@ -423,20 +428,61 @@ public class XmlBuilder {
 	 */
 	String formatForType(String elementName, Namespace ns, String inputValue)
 			throws IllegalStateException, IllegalArgumentException {
+		return formatAs(getType(elementName, ns), inputValue, null, elementName.startsWith("End"));
+	}
+
+	/**
+	 * Same as <tt>formatForType(String, Namespace, String)</tt> except that, if
+	 * the value is obtained from a cell with a native type matching that of
+	 * the element, the cell's value is decoded directly.
+	 * 
+	 * @param elementName
+	 * @param ns
+	 * @param pg
+	 * @return
+	 */
+	String formatForType(String elementName, Namespace ns, Pedigree pg)
+			throws IllegalStateException, IllegalArgumentException {
+		return formatAs(getType(elementName, ns), null, pg, elementName.startsWith("End"));
+	}
+
+	private String getType(String elementName, Namespace ns) throws IllegalStateException {
 		if (xsdVersion == null) {
 			throw new IllegalStateException("The XSD version was not set or is unsupported.");
 		}
+		String schema = ns.getPrefix();
+		return getSchema(schema).getType(elementName);
+	}
+
+	/**
+	 * Convert a value to the lexical form of an XSD <tt>type</tt>. The value
+	 * is decoded from the source cell of the <tt>pg</tt> if its native type
+	 * corresponds to the <tt>type</tt>. Otherwise the <tt>inputValue</tt> or,
+	 * if that is <tt>null</tt>, the raw value of the <tt>pg</tt> is used.
+	 * 
+	 * @param type
+	 * @param inputValue
+	 * @param pg
+	 * @param roundOff
+	 * @return
+	 */
+	String formatAs(String type, String inputValue, Pedigree pg, boolean roundOff) {
+		if ((pg != null) && (pg.getDecoder() != null)) {
+			String decoded = pg.getDecoder().decode(type, (Cell) pg.getSource(), roundOff);
+			if (decoded != null) {
+				return decoded;
+			}
+		}
+		if ((inputValue == null) && (pg != null)) {
+			inputValue = pg.getRawValue();
+		}
 		if (inputValue == null) {
 			inputValue = "";
 		}
 		/*
 		 * remove any leading or trailing whitespace
 		 */
-		String formattedValue = inputValue.replaceAll("[\\s]*$", "");
-		formattedValue = formattedValue.replaceAll("^[\\s]*", "");
-
-		String schema = ns.getPrefix();
-		String type = getSchema(schema).getType(elementName);
+		String formattedValue = CellDecoder.trim(inputValue);
 		switch (type) {
 		case "xs:string":
 		case "md:id-type":
@@ -452,7 +498,7 @@ public class XmlBuilder {
 		case "xs:date":
 			break;
 		case "xs:dateTime":
-			formattedValue = formatDateTime(formattedValue, elementName.startsWith("End"));
+			formattedValue = formatDateTime(formattedValue, roundOff);
 			break;
 		default:
 			// throw new IllegalArgumentException("Data type '" + type + "' not
@@ -467,47 +513,15 @@ public class XmlBuilder {
 	 * @return
 	 */
 	public String formatBoolean(String input) {
-		if (input.equals("Yes")) {
-			return "true";
-		} else if (input.equals("No")) {
-			return "false";
-		}
-		return null;
+		return CellDecoder.formatBoolean(input);
 	}
 
 	String formatDateTime(String input, boolean roundOff) {
-		String output = "";
-		if (input.matches("[\\d]{4}-[\\d]{2}-[\\d]{2}")) {
-			// if (elementName.startsWith("End")) {
-			if (!roundOff) {
-				output = input + "T23:59:59";
-			} else {
-				output = input + "T00:00:00";
-			}
-		}
-		return output;
+		return CellDecoder.formatDateTime(input, roundOff);
 	}
 
 	String formatDuration(String input) {
-		/**
-		 * Input is one of the following:
-		 * <ul>
-		 * <li>hh</li>
-		 * <li>hh:mm</li>
-		 * <li>hh:mm:ss</li>
-		 * </ul>
-		 * The output format is 'PThhHmmMssS'
-		 */
-		String parts[] = input.split(":");
-		String xmlValue = "PT" + parts[0] + "H";
-		if (parts.length > 1) {
-			xmlValue = xmlValue + parts[1] + "M";
-			if (parts.length > 2) {
-				xmlValue = xmlValue + parts[2] + "S";
-			}
-		}
-		return xmlValue;
-
+		return CellDecoder.formatDuration(input);
 	}
 
 	private SchemaWrapper getSchema(String schema) {
@@ -527,7 +541,7 @@ public class XmlBuilder {
 	 * 
 	 * @return the pedigreeMap
 	 */
-	public Map<Object, Pedigree> getPedigreeMap() {
+	public PedigreeMap getPedigreeMap() {
 		return pedigreeMap;
 	}
 
@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.logging;
+
+/**
+ * Identifies a cell in a spreadsheet by its (zero-based) sheet, row, and
+ * column indices. Unlike a POI <tt>Cell</tt>, a <tt>CellLocation</tt> does not
+ * reference the workbook it came from and may therefore be used as the target
+ * of a logged issue after the workbook has been released. The indices may also
+ * be packed into a single <tt>long</tt> for compact storage.
+ */
+public final class CellLocation {
+
+	private static final int COL_BITS = 16;
+	private static final int ROW_BITS = 32;
+	private static final long COL_MASK = (1L << COL_BITS) - 1;
+	private static final long ROW_MASK = (1L << ROW_BITS) - 1;
+
+	private final int sheetIdx;
+	private final int rowIdx;
+	private final int colIdx;
+
+	/**
+	 * @param sheetIdx
+	 * @param rowIdx
+	 * @param colIdx
+	 */
+	public CellLocation(int sheetIdx, int rowIdx, int colIdx) {
+		this.sheetIdx = sheetIdx;
+		this.rowIdx = rowIdx;
+		this.colIdx = colIdx;
+	}
+
+	/**
+	 * Pack the indices of a cell into a single non-negative <tt>long</tt>.
+	 * 
+	 * @param sheetIdx
+	 *            must be less than 32768
+	 * @param rowIdx
+	 * @param colIdx
+	 *            must be less than 65536
+	 * @return
+	 */
+	public static long pack(int sheetIdx, int rowIdx, int colIdx) {
+		return ((long) sheetIdx << (ROW_BITS + COL_BITS)) | ((rowIdx & ROW_MASK) << COL_BITS) | (colIdx & COL_MASK);
+	}
+
+	/**
+	 * @param packed
+	 *            a value returned by <tt>pack()</tt>
+	 * @return
+	 */
+	public static CellLocation unpack(long packed) {
+		int sheetIdx = (int) (packed >>> (ROW_BITS + COL_BITS));
+		int rowIdx = (int) ((packed >>> COL_BITS) & ROW_MASK);
+		int colIdx = (int) (packed & COL_MASK);
+		return new CellLocation(sheetIdx, rowIdx, colIdx);
+	}
+
+	public int getSheetIndex() {
+		return sheetIdx;
+	}
+
+	public int getRowIndex() {
+		return rowIdx;
+	}
+
+	public int getColumnIndex() {
+		return colIdx;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof CellLocation)) {
+			return false;
+		}
+		CellLocation other = (CellLocation) obj;
+		return (sheetIdx == other.sheetIdx) && (rowIdx == other.rowIdx) && (colIdx == other.colIdx);
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(pack(sheetIdx, rowIdx, colIdx));
+	}
+
+	@Override
+	public String toString() {
+		return "Sheet " + sheetIdx + ", Row " + rowIdx + ", Column " + colIdx;
+	}
+}
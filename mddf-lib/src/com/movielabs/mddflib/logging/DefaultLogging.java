@@ -26,14 +26,20 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.poi.ss.usermodel.Cell;
 import org.jdom2.located.Located;
 
+import com.movielabs.mddflib.metrics.Metrics;
+
 /**
  * Implements a basic logging capability not linked to a GUI. Intended usage is
  * to support logging functions when running from a CLI or as a cloud-based
@@ -77,7 +83,8 @@ public class DefaultLogging implements LogMgmt {
 				lineNum = ((Located) target).getLine();
 			} else if (target instanceof Cell) {
 				lineNum = ((Cell) target).getRowIndex();
-
+			} else if (target instanceof CellLocation) {
+				lineNum = ((CellLocation) target).getRowIndex();
 			}
 		}
 		log(level, tag, msg, curInputFile, lineNum, moduleId, explanation, srcRef);
@@ -109,6 +116,7 @@ public class DefaultLogging implements LogMgmt {
 
 	protected void append(int level, int tag, String msg, File xmlFile, int line, String moduleID, String details,
 			LogReference srcRef) {
+		Metrics.issueLogged(level);
 		if (level < minLevel) {
 			return;
 		}
@@ -203,6 +211,40 @@ public class DefaultLogging implements LogMgmt {
 		return fileFolder;
 	}
 
+	/**
+	 * Remove all entries associated with a file. This is used when a file is
+	 * to be re-validated or has been deleted. Entries logged using a
+	 * different path (e.g., absolute vs relative) for the same file are also
+	 * removed.
+	 * 
+	 * @param targetFile
+	 * @return the number of entries removed
+	 */
+	public int deleteEntries(File targetFile) {
+		Path targetPath = targetFile.getAbsoluteFile().toPath().normalize();
+		Set<LogEntryFolder> folders = new HashSet<LogEntryFolder>();
+		for (Map.Entry<File, LogEntryFolder> entry : fileFolderMap.entrySet()) {
+			if (entry.getKey().getAbsoluteFile().toPath().normalize().equals(targetPath)) {
+				folders.add(entry.getValue());
+			}
+		}
+		if (folders.isEmpty()) {
+			return 0;
+		}
+		int cnt = 0;
+		Iterator<LogEntryNode> entryIt = entryList.iterator();
+		while (entryIt.hasNext()) {
+			if (folders.contains(entryIt.next().getSrcFileNode())) {
+				entryIt.remove();
+				cnt++;
+			}
+		}
+		for (LogEntryFolder folder : folders) {
+			folder.deleteMsgs();
+		}
+		return cnt;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -22,29 +22,104 @@
 package com.movielabs.mddflib.logging;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.RandomAccess;
 
 import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.MutableTreeNode;
+import javax.swing.tree.TreeNode;
 
 import org.jdom2.Document;
 import org.jdom2.Element;
 
 import com.movielabs.mddf.MddfContext.FILE_FMT;
 import com.movielabs.mddf.MddfContext.MDDF_TYPE;
+import com.movielabs.mddflib.util.xml.DocumentHandle;
 
 /**
+ * A folder in the hierarchy of log entries.
+ * <p>
+ * The total number of messages in a folder (i.e., including those in any
+ * descendant folders) and the highest severity level are needed each time a
+ * folder is rendered. Rather than walking the sub-tree each time, the count is
+ * updated incrementally as messages and sub-folders are added or removed and
+ * the highest level is cached until a change is made to the sub-tree.
+ * </p>
+ * 
  * @author L. Levin, Critical Architectures LLC
  *
  */
 public class LogEntryFolder extends LogEntry {
 
+	/**
+	 * Read-only concatenation of the message lists of a folder and its
+	 * descendants. The size of each list is fixed when the view is created.
+	 * Since messages are only ever appended to a list (or the list replaced),
+	 * the view is unaffected by any subsequent changes to the folders.
+	 * 
+	 * @author L. Levin, Critical Architectures LLC
+	 *
+	 */
+	private static class MsgListView extends AbstractList<LogEntryNode> implements RandomAccess {
+		private List<List<LogEntryNode>> parts;
+		/* ends[i] is the index following the last entry from parts[i] */
+		private int[] ends;
+		/* part containing the most recently retrieved entry */
+		private int lastPart = 0;
+
+		MsgListView(List<List<LogEntryNode>> parts) {
+			this.parts = parts;
+			ends = new int[parts.size()];
+			int total = 0;
+			for (int i = 0; i < ends.length; i++) {
+				total = total + parts.get(i).size();
+				ends[i] = total;
+			}
+		}
+
+		@Override
+		public LogEntryNode get(int index) {
+			if ((index < 0) || (index >= size())) {
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+			}
+			int part = lastPart;
+			if ((index >= ends[part]) || ((part > 0) && (index < ends[part - 1]))) {
+				/* not sequential access so binary search for the part */
+				int low = 0;
+				int high = ends.length - 1;
+				while (low < high) {
+					int mid = (low + high) >>> 1;
+					if (ends[mid] <= index) {
+						low = mid + 1;
+					} else {
+						high = mid;
+					}
+				}
+				part = low;
+				lastPart = part;
+			}
+			int start = (part == 0) ? 0 : ends[part - 1];
+			return parts.get(part).get(index - start);
+		}
+
+		@Override
+		public int size() {
+			return (ends.length == 0) ? 0 : ends[ends.length - 1];
+		}
+	}
+
 	private ArrayList<LogEntryNode> msgList;
 	private int level;
 	private MDDF_TYPE mddfType;
 	private FILE_FMT mddfFormat;
-	private Document xmlDoc = null;
+	private DocumentHandle xmlHandle = null;
+	private int msgCnt = 0;
+	private int highestLevel = -1;
+	private boolean highestValid = false;
 	/**
 	 * @param label
 	 * @param severityLevel
@@ -87,6 +162,66 @@ public class LogEntryFolder extends LogEntry {
 	 */
 	public void addMsg(LogEntryNode entryNode) {
 		msgList.add(entryNode);
+		updateCount(this, 1);
+		invalidate(this);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see javax.swing.tree.DefaultMutableTreeNode#insert(javax.swing.tree.
+	 * MutableTreeNode, int)
+	 */
+	@Override
+	public void insert(MutableTreeNode newChild, int childIndex) {
+		super.insert(newChild, childIndex);
+		if (newChild instanceof LogEntryFolder) {
+			updateCount(this, ((LogEntryFolder) newChild).msgCnt);
+		}
+		invalidate(this);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see javax.swing.tree.DefaultMutableTreeNode#remove(int)
+	 */
+	@Override
+	public void remove(int childIndex) {
+		TreeNode child = getChildAt(childIndex);
+		super.remove(childIndex);
+		if (child instanceof LogEntryFolder) {
+			updateCount(this, -((LogEntryFolder) child).msgCnt);
+		}
+		invalidate(this);
+	}
+
+	/**
+	 * Adjust the message count of a folder and all of its ancestors.
+	 * 
+	 * @param folder
+	 * @param delta
+	 */
+	private static void updateCount(LogEntryFolder folder, int delta) {
+		TreeNode next = folder;
+		while (next instanceof LogEntryFolder) {
+			((LogEntryFolder) next).msgCnt += delta;
+			next = next.getParent();
+		}
+	}
+
+	/**
+	 * Discard the cached highest level of a folder and all of its ancestors.
+	 * If a folder's cached value is invalid, so are those of its ancestors.
+	 * 
+	 * @param folder
+	 */
+	private static void invalidate(LogEntryFolder folder) {
+		TreeNode next = folder;
+		while ((next instanceof LogEntryFolder) && ((LogEntryFolder) next).highestValid) {
+			((LogEntryFolder) next).highestValid = false;
+			next = next.getParent();
+		}
 	}
 
 	public void setFile(File myFile) {
@@ -98,7 +233,12 @@ public class LogEntryFolder extends LogEntry {
 			return myFile;
 		} else {
 			// Must be an intermediate-level folder so go to the top..
-			LogEntryFolder fileEntry = (LogEntryFolder) getPath()[1];
+			TreeNode[] path = getPath();
+			if (path.length < 2) {
+				// folder has not (yet) been added to a tree
+				return null;
+			}
+			LogEntryFolder fileEntry = (LogEntryFolder) path[1];
 			return fileEntry.myFile;
 		}
 	}
@@ -126,14 +266,34 @@ public class LogEntryFolder extends LogEntry {
 	}
 
 	/**
-	 * @param doc
+	 * Set the handle used to access the XML associated with the folder's file.
+	 * Only the handle is retained; the <tt>Document</tt> itself may be
+	 * reclaimed and later re-loaded on demand.
+	 * 
+	 * @param handle
 	 */
-	public void setXml(Document doc) {
-		xmlDoc = doc;
+	public void setXml(DocumentHandle handle) {
+		xmlHandle = handle;
 	}
 
-	public Document getXml() {
-		return xmlDoc;
+	public DocumentHandle getXmlHandle() {
+		return xmlHandle;
+	}
+
+	/**
+	 * Return the XML associated with the folder's file, re-loading it if
+	 * necessary.
+	 * 
+	 * @return the <tt>Document</tt> or <tt>null</tt> if none has been set
+	 * @throws IOException
+	 *             if the <tt>Document</tt> had to be re-loaded but the file
+	 *             has since been modified or could not be read.
+	 */
+	public Document getXml() throws IOException {
+		if (xmlHandle == null) {
+			return null;
+		}
+		return xmlHandle.getDocument();
 	}
 
 	public DefaultMutableTreeNode getChild(String id) {
@@ -148,17 +308,12 @@ public class LogEntryFolder extends LogEntry {
 	}
 
 	/**
+	 * Return the number of messages in this folder and all descendant folders.
+	 * 
 	 * @return
 	 */
 	public int getMsgCnt() {
-		int msgCnt = msgList.size();
-		Enumeration kinder = this.children();
-		while (kinder.hasMoreElements()) {
-			LogEntryFolder nextChild = (LogEntryFolder) kinder.nextElement();
-			msgCnt = msgCnt + nextChild.getMsgCnt();
-		}
 		return msgCnt;
-
 	}
 
 	/**
@@ -175,6 +330,32 @@ public class LogEntryFolder extends LogEntry {
 		return fullList;
 	}
 
+	/**
+	 * Return a read-only view of the messages in this folder and all
+	 * descendant folders. The order is the same as that of
+	 * <tt>getMsgList()</tt> but, unlike <tt>getMsgList()</tt>, the messages
+	 * are not copied. Messages added after the view is created are not
+	 * included.
+	 * 
+	 * @return
+	 */
+	public List<LogEntryNode> getMsgView() {
+		List<List<LogEntryNode>> parts = new ArrayList<List<LogEntryNode>>();
+		collectMsgLists(parts);
+		return new MsgListView(parts);
+	}
+
+	private void collectMsgLists(List<List<LogEntryNode>> parts) {
+		if (!msgList.isEmpty()) {
+			parts.add(msgList);
+		}
+		Enumeration kinder = this.children();
+		while (kinder.hasMoreElements()) {
+			LogEntryFolder nextChild = (LogEntryFolder) kinder.nextElement();
+			nextChild.collectMsgLists(parts);
+		}
+	}
+
 	/**
 	 * Recursively determine if this node or any of its descendants contains any
 	 * entries with a severity of <tt>LogMgmt.LEV_ERR</tt>.
@@ -214,6 +395,9 @@ public class LogEntryFolder extends LogEntry {
 	 * @return
 	 */
 	public int getHighestLevel() {
+		if (highestValid) {
+			return highestLevel;
+		}
 		int highest = -1;
 		/* is this a 'leaf' folder or intermediate? */
 		Enumeration kinder = this.children();
@@ -235,6 +419,8 @@ public class LogEntryFolder extends LogEntry {
 				highest = Math.max(highest, this.level);
 			}
 		}
+		highestLevel = highest;
+		highestValid = true;
 		return highest;
 	}
 
@@ -242,13 +428,24 @@ public class LogEntryFolder extends LogEntry {
 	 * 
 	 */
 	public void deleteMsgs() {
+		int removed = msgCnt;
+		clearMsgs();
+		if (getParent() instanceof LogEntryFolder) {
+			LogEntryFolder parentFolder = (LogEntryFolder) getParent();
+			updateCount(parentFolder, -removed);
+			invalidate(parentFolder);
+		}
+	}
+
+	private void clearMsgs() {
 		msgList = new ArrayList<LogEntryNode>();
+		msgCnt = 0;
+		highestValid = false;
 		Enumeration kinder = this.children();
 		while (kinder.hasMoreElements()) {
 			LogEntryFolder nextChild = (LogEntryFolder) kinder.nextElement();
-			nextChild.deleteMsgs();
+			nextChild.clearMsgs();
 		}
-
 	}
 
 }
@@ -0,0 +1,377 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.logging;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jdom2.located.Located;
+import org.jdom2.located.LocatedElement;
+
+/**
+ * A <tt>LogMgmt</tt> that passes all requests to another <tt>LogMgmt</tt>
+ * while also recording the entries that are logged. A recording may be saved
+ * and later <i>replayed</i> into any <tt>LogMgmt</tt>, resulting in the same
+ * sequence of <tt>log()</tt> and <tt>logIssue()</tt> invocations as the
+ * original. This allows the results of processing a file to be re-used without
+ * repeating the processing.
+ * <p>
+ * The recording is made relative to a specific source file. References to that
+ * file (whether as a <tt>File</tt> or as text in a message) are replaced when
+ * the recording is replayed for a different file with the same content.
+ * </p>
+ * <p>
+ * An issue logged against a construct within an XML file is recorded using
+ * only its line number. Issues logged against any other type of target (e.g.,
+ * a cell in a spreadsheet) can not be faithfully reproduced so, if any occur,
+ * the recording is marked as not replayable.
+ * </p>
+ */
+public class LogRecorder implements LogMgmt {
+
+	private static final String MAGIC = "MDDF-LOG-1";
+	private static final String SRC_PATH_VAR = "${src}";
+	private static final String SRC_ABS_VAR = "${srcAbs}";
+	/*
+	 * upper bound on the length of a saved string. Anything longer indicates
+	 * the recording is corrupt.
+	 */
+	private static final int MAX_STRING_BYTES = 16 * 1024 * 1024;
+
+	private static final int EV_LOG = 0;
+	private static final int EV_LOG_ISSUE = 1;
+	private static final int EV_CUR_FILE = 2;
+
+	/* how a File argument relates to the source file */
+	private static final int FILE_NONE = 0;
+	private static final int FILE_SRC = 1;
+	private static final int FILE_SRC_ABS = 2;
+	private static final int FILE_OTHER = 3;
+
+	private static class Event {
+		int type;
+		int level;
+		int tag;
+		String msg;
+		int fileMode;
+		String filePath;
+		int line;
+		String moduleId;
+		String details;
+		String refLabel;
+		String refUri;
+	}
+
+	private LogMgmt target;
+	private File srcFile;
+	private List<Event> events = new ArrayList<Event>();
+	private boolean replayable = true;
+
+	/**
+	 * Create a recorder for the processing of the <tt>srcFile</tt>. All
+	 * requests are passed to the <tt>target</tt>.
+	 * 
+	 * @param target
+	 * @param srcFile
+	 */
+	public LogRecorder(LogMgmt target, File srcFile) {
+		this.target = target;
+		this.srcFile = srcFile;
+	}
+
+	private LogRecorder() {
+	}
+
+	/**
+	 * @return <tt>true</tt> if the recording can be faithfully replayed
+	 */
+	public boolean isReplayable() {
+		return replayable;
+	}
+
+	/**
+	 * @return the number of entries recorded
+	 */
+	public int size() {
+		return events.size();
+	}
+
+	@Override
+	public void log(int level, int tag, String msg, File file, String moduleId) {
+		record(EV_LOG, level, tag, msg, file, -2, moduleId, null, null);
+		target.log(level, tag, msg, file, moduleId);
+	}
+
+	@Override
+	public void log(int level, int tag, String msg, File file, int lineNumber, String moduleId, String details,
+			LogReference srcRef) {
+		record(EV_LOG, level, tag, msg, file, lineNumber, moduleId, details, srcRef);
+		target.log(level, tag, msg, file, lineNumber, moduleId, details, srcRef);
+	}
+
+	@Override
+	public void logIssue(int tag, int level, Object issueTarget, String msg, String explanation, LogReference srcRef,
+			String moduleId) {
+		int line = -1;
+		if (issueTarget instanceof Located) {
+			line = ((Located) issueTarget).getLine();
+		} else if (issueTarget != null) {
+			replayable = false;
+		}
+		record(EV_LOG_ISSUE, level, tag, msg, null, line, moduleId, explanation, srcRef);
+		target.logIssue(tag, level, issueTarget, msg, explanation, srcRef, moduleId);
+	}
+
+	@Override
+	public void setCurrentFile(File file) {
+		record(EV_CUR_FILE, 0, 0, null, file, -1, null, null, null);
+		target.setCurrentFile(file);
+	}
+
+	private void record(int type, int level, int tag, String msg, File file, int line, String moduleId,
+			String details, LogReference srcRef) {
+		Event event = new Event();
+		event.type = type;
+		event.level = level;
+		event.tag = tag;
+		event.msg = toRelative(msg);
+		if (file == null) {
+			event.fileMode = FILE_NONE;
+		} else if (file.getPath().equals(srcFile.getPath())) {
+			event.fileMode = FILE_SRC;
+		} else if (file.getPath().equals(srcFile.getAbsolutePath())) {
+			event.fileMode = FILE_SRC_ABS;
+		} else {
+			event.fileMode = FILE_OTHER;
+			event.filePath = file.getPath();
+		}
+		event.line = line;
+		event.moduleId = moduleId;
+		event.details = toRelative(details);
+		if (srcRef != null) {
+			event.refLabel = srcRef.getLabel();
+			event.refUri = srcRef.getUri();
+		}
+		events.add(event);
+	}
+
+	private String toRelative(String text) {
+		if (text == null) {
+			return null;
+		}
+		/* replace the longer (absolute) form first */
+		text = text.replace(srcFile.getAbsolutePath(), SRC_ABS_VAR);
+		return text.replace(srcFile.getPath(), SRC_PATH_VAR);
+	}
+
+	private static String fromRelative(String text, File srcFile) {
+		if ((text == null) || (text.indexOf("${") < 0)) {
+			return text;
+		}
+		text = text.replace(SRC_ABS_VAR, srcFile.getAbsolutePath());
+		return text.replace(SRC_PATH_VAR, srcFile.getPath());
+	}
+
+	/**
+	 * Replay the recording. The <tt>srcFile</tt> replaces the file the
+	 * recording was made with.
+	 * 
+	 * @param logMgr
+	 * @param srcFile
+	 */
+	public void replay(LogMgmt logMgr, File srcFile) {
+		for (Event event : events) {
+			File file = null;
+			switch (event.fileMode) {
+			case FILE_SRC:
+				file = srcFile;
+				break;
+			case FILE_SRC_ABS:
+				file = new File(srcFile.getAbsolutePath());
+				break;
+			case FILE_OTHER:
+				file = new File(event.filePath);
+				break;
+			}
+			String msg = fromRelative(event.msg, srcFile);
+			String details = fromRelative(event.details, srcFile);
+			LogReference srcRef = null;
+			if ((event.refLabel != null) || (event.refUri != null)) {
+				srcRef = new LogReference(event.refLabel, event.refUri);
+			}
+			switch (event.type) {
+			case EV_CUR_FILE:
+				logMgr.setCurrentFile(file);
+				break;
+			case EV_LOG:
+				if (event.line == -2) {
+					logMgr.log(event.level, event.tag, msg, file, event.moduleId);
+				} else {
+					logMgr.log(event.level, event.tag, msg, file, event.line, event.moduleId, details, srcRef);
+				}
+				break;
+			case EV_LOG_ISSUE:
+				LocatedElement issueTarget = null;
+				if (event.line >= 0) {
+					issueTarget = new LocatedElement("replay");
+					issueTarget.setLine(event.line);
+				}
+				logMgr.logIssue(event.tag, event.level, issueTarget, msg, details, srcRef, event.moduleId);
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Save the recording.
+	 * 
+	 * @param out
+	 * @throws IOException
+	 */
+	public void write(DataOutputStream out) throws IOException {
+		out.writeUTF(MAGIC);
+		out.writeInt(events.size());
+		for (Event event : events) {
+			out.writeByte(event.type);
+			out.writeByte(event.level);
+			out.writeByte(event.tag);
+			out.writeByte(event.fileMode);
+			out.writeInt(event.line);
+			writeString(out, event.msg);
+			writeString(out, event.filePath);
+			writeString(out, event.moduleId);
+			writeString(out, event.details);
+			writeString(out, event.refLabel);
+			writeString(out, event.refUri);
+		}
+	}
+
+	/**
+	 * Load a recording that was saved using <tt>write()</tt>.
+	 * 
+	 * @param in
+	 * @return
+	 * @throws IOException
+	 *             if the input is not a valid recording
+	 */
+	public static LogRecorder read(DataInputStream in) throws IOException {
+		if (!in.readUTF().equals(MAGIC)) {
+			throw new IOException("Not a log recording");
+		}
+		LogRecorder recording = new LogRecorder();
+		int cnt = in.readInt();
+		if (cnt < 0) {
+			throw new IOException("Invalid log recording");
+		}
+		for (int i = 0; i < cnt; i++) {
+			Event event = new Event();
+			event.type = in.readByte();
+			event.level = in.readByte();
+			event.tag = in.readByte();
+			event.fileMode = in.readByte();
+			event.line = in.readInt();
+			event.msg = readString(in);
+			event.filePath = readString(in);
+			event.moduleId = readString(in);
+			event.details = readString(in);
+			event.refLabel = readString(in);
+			event.refUri = readString(in);
+			if ((event.level < 0) || (event.level >= LogMgmt.logLevels.length) || (event.tag < 0)
+					|| (event.tag >= LogMgmt.logTags.length)) {
+				throw new IOException("Invalid log recording");
+			}
+			recording.events.add(event);
+		}
+		return recording;
+	}
+
+	/*
+	 * DataOutputStream.writeUTF() is limited to 64K so strings are written as
+	 * length-prefixed UTF-8.
+	 */
+	private static void writeString(DataOutputStream out, String text) throws IOException {
+		if (text == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		int len = in.readInt();
+		if (len < 0) {
+			return null;
+		}
+		if (len > MAX_STRING_BYTES) {
+			throw new IOException("Invalid log recording");
+		}
+		byte[] bytes = new byte[len];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	// ...........................................................
+	// remaining LogMgmt functions are passed through unchanged
+
+	@Override
+	public void clearLog() {
+		target.clearLog();
+	}
+
+	@Override
+	public LogEntryFolder getFileFolder(File targetFile) {
+		return target.getFileFolder(targetFile);
+	}
+
+	@Override
+	public void saveAs(File outFile, String format) throws IOException {
+		target.saveAs(outFile, format);
+	}
+
+	@Override
+	public void setMinLevel(int level) {
+		target.setMinLevel(level);
+	}
+
+	@Override
+	public int getMinLevel() {
+		return target.getMinLevel();
+	}
+
+	@Override
+	public void setInfoIncluded(boolean flag) {
+		target.setInfoIncluded(flag);
+	}
+
+	@Override
+	public boolean isInfoIncluded() {
+		return target.isInfoIncluded();
+	}
+}
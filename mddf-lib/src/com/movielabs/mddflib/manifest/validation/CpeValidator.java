@@ -42,7 +42,10 @@ import org.jdom2.xpath.XPathExpression;
 
 import com.movielabs.mddflib.logging.LogMgmt;
 import com.movielabs.mddflib.logging.LogReference;
+import com.movielabs.mddflib.metrics.Metrics;
+import com.movielabs.mddflib.metrics.PhaseTimer;
 import com.movielabs.mddflib.manifest.validation.profiles.CpeIP1Validator;
+import com.movielabs.mddflib.manifest.validation.profiles.ProfileContext;
 import com.movielabs.mddflib.manifest.validation.profiles.ProfileValidator;
 
 /**
@@ -137,53 +140,59 @@ public class CpeValidator extends ManifestValidator implements ProfileValidator
 
 	public boolean process(Element docRootEl, File xmlManifestFile, String profileId, List<String> useCases)
 			throws JDOMException, IOException {
-		super.process(docRootEl, xmlManifestFile);
-		if (!curFileIsValid) {
-			String msg = "CPE validation terminated.. file is not a valid Media Manifest";
-			loggingMgr.log(LogMgmt.LEV_INFO, logMsgDefaultTag, msg, curFile, logMsgSrcId);
-			return curFileIsValid;
-		}
-		/*
-		 * Continue with additional checks for compliance with CPE-Manifest
-		 * spec.
-		 */
-		/*
-		 * Note that validateConstraints() will invoke validateMetadata() which
-		 * will in turn initialize the 'cid2MDataMap'.
-		 */
-		validateConstraints();
-		DefaultTreeModel infoModel = buildInfoModel();
-		validateModel(infoModel);
-		if (profileId == null || (profileId.isEmpty())) {
-			return curFileIsValid;
-		}
-		if (!curFileIsValid) {
-			String msg = "CPE validation terminated prior to Profile Validation.. file is not a valid CPE Manifest";
-			loggingMgr.log(LogMgmt.LEV_INFO, logMsgDefaultTag, msg, curFile, logMsgSrcId);
-			return curFileIsValid;
-		}
-		switch (profileId) {
-		case "IP-0":
+		try {
+			super.process(docRootEl, xmlManifestFile);
+			if (!curFileIsValid) {
+				String msg = "CPE validation terminated.. file is not a valid Media Manifest";
+				loggingMgr.log(LogMgmt.LEV_INFO, logMsgDefaultTag, msg, curFile, logMsgSrcId);
+				return curFileIsValid;
+			}
+			/*
+			 * Continue with additional checks for compliance with CPE-Manifest
+			 * spec.
+			 */
 			/*
-			 * Profile IP-0 assumes no specific interactivity guidance within
-			 * the Manifest and supports any content structure. This is used
-			 * when the Retailer determines where and how bonus material is
-			 * displayed. Validation is, therefore, not required (i.e., it is
-			 * equivalent to profile='none'.
+			 * Note that validateConstraints() will invoke validateMetadata() which
+			 * will in turn initialize the 'cid2MDataMap'.
 			 */
-			break;
-		case "IP-01":
-			String msg = "Profile ID 'IP-01' has been deprecated. 'IP-1' should be used instead.";
-			loggingMgr.log(LogMgmt.LEV_WARN, logMsgDefaultTag, msg, curFile, logMsgSrcId);
-		case "IP-1":
-			profileIP1Val.validateInfoModel(infoModel);
-			break;
-		default:
-			msg = "Unrecognized CPE Profile '" + profileId + "'";
-			loggingMgr.log(LogMgmt.LEV_ERR, logMsgDefaultTag, msg, curFile, logMsgSrcId);
-			return false;
+			PhaseTimer timer = Metrics.start(Metrics.PHASE_CONSTRAINTS);
+			validateConstraints();
+			timer.stopAndCount(curRootEl);
+			DefaultTreeModel infoModel = buildInfoModel();
+			validateModel(infoModel);
+			if (profileId == null || (profileId.isEmpty())) {
+				return curFileIsValid;
+			}
+			if (!curFileIsValid) {
+				String msg = "CPE validation terminated prior to Profile Validation.. file is not a valid CPE Manifest";
+				loggingMgr.log(LogMgmt.LEV_INFO, logMsgDefaultTag, msg, curFile, logMsgSrcId);
+				return curFileIsValid;
+			}
+			switch (profileId) {
+			case "IP-0":
+				/*
+				 * Profile IP-0 assumes no specific interactivity guidance within
+				 * the Manifest and supports any content structure. This is used
+				 * when the Retailer determines where and how bonus material is
+				 * displayed. Validation is, therefore, not required (i.e., it is
+				 * equivalent to profile='none'.
+				 */
+				break;
+			case "IP-01":
+				String msg = "Profile ID 'IP-01' has been deprecated. 'IP-1' should be used instead.";
+				loggingMgr.log(LogMgmt.LEV_WARN, logMsgDefaultTag, msg, curFile, logMsgSrcId);
+			case "IP-1":
+				profileIP1Val.validateInfoModel(infoModel);
+				break;
+			default:
+				msg = "Unrecognized CPE Profile '" + profileId + "'";
+				loggingMgr.log(LogMgmt.LEV_ERR, logMsgDefaultTag, msg, curFile, logMsgSrcId);
+				return false;
+			}
+			return curFileIsValid;
+		} finally {
+			releaseProfileContext();
 		}
-		return curFileIsValid;
 	}
 
 	/**
@@ -210,6 +219,7 @@ public class CpeValidator extends ManifestValidator implements ProfileValidator
 		 * be in the Inventory (i.e., Inventory/Metadata). The Metadata/Alias
 		 * mechanism may be used.
 		 */
+		ProfileContext context = getProfileContext(curRootEl);
 		XPathExpression<Element> xpe1 = xpfac.compile(".//" + manifestNSpace.getPrefix() + ":Experience",
 				Filters.element(), null, manifestNSpace);
 		List<Element> elementList = xpe1.evaluate(curRootEl);
@@ -227,10 +237,7 @@ public class CpeValidator extends ManifestValidator implements ProfileValidator
 			 * The referenced metadata must be in the Inventory (i.e.,
 			 * Inventory/Metadata).
 			 */
-			XPathExpression<Element> xpe2 = xpfac.compile(
-					".//" + manifestNSpace.getPrefix() + ":Metadata[@ContentID='" + cid + "']", Filters.element(), null,
-					manifestNSpace);
-			Element metaDataEl = xpe2.evaluateFirst(curRootEl);
+			Element metaDataEl = context.getMetadata(cid);
 			if (metaDataEl == null) {
 				String msg = "Missing required Metadata";
 				String details = "Experience CID must reference metadata in Inventory";
@@ -261,10 +268,7 @@ public class CpeValidator extends ManifestValidator implements ProfileValidator
 					} else {
 						// make sure Alias points to BasicMetadata in Inventory
 						String aliasedCid = aliasMDEl.getAttributeValue("ContentID", "not specified");
-						XPathExpression<Element> xpe3 = xpfac.compile(
-								".//" + manifestNSpace.getPrefix() + ":BasicMetadata[@ContentID='" + aliasedCid + "']",
-								Filters.element(), null, manifestNSpace);
-						basicMDEl = xpe3.evaluateFirst(curRootEl);
+						basicMDEl = context.getBasicMetadata(aliasedCid);
 						if (basicMDEl == null) {
 							String msg = "Metadata/Alias does not reference BasicMetadata in Inventory";
 							String details = "Experience CID must reference metadata in Inventory";
@@ -379,6 +383,7 @@ public class CpeValidator extends ManifestValidator implements ProfileValidator
 		if (mapsEl == null) {
 			return null;
 		}
+		ProfileContext context = getProfileContext(root);
 		List<Element> mapEList = mapsEl.getChildren("ALIDExperienceMap", manifestNSpace);
 		Object[] targets = mapEList.toArray();
 		for (int i = 0; i < targets.length; i++) {
@@ -388,10 +393,7 @@ public class CpeValidator extends ManifestValidator implements ProfileValidator
 			String expId = expIdEl.getTextNormalize();
 			if (!idSet.contains(expId)) {
 				idSet.add(expId);
-				XPathExpression<Element> xpExpression = xpfac.compile(
-						".//" + manifestNSpace.getPrefix() + ":Experience[@ExperienceID='" + expId + "']",
-						Filters.element(), null, manifestNSpace);
-				Element expEl = xpExpression.evaluateFirst(root);
+				Element expEl = context.getExperience(expId);
 				if (expEl != null) {
 					primaryExpSet.add(expEl);
 				} else {
@@ -443,14 +445,13 @@ public class CpeValidator extends ManifestValidator implements ProfileValidator
 		if (curExpEl == null) {
 			return;
 		}
+		ProfileContext context = getProfileContext(curRootEl);
 		List<Element> allChildList = curExpEl.getChildren("ExperienceChild", manifestNSpace);
 		// Recursively descend tree
 		for (int i = 0; i < allChildList.size(); i++) {
 			Element nextChildEl = allChildList.get(i);
 			String expXRef = nextChildEl.getChildTextNormalize("ExperienceID", manifestNSpace);
-			XPathExpression<Element> xpExpression = xpfac.compile(
-					".//manifest:Experience[@ExperienceID='" + expXRef + "']", Filters.element(), null, manifestNSpace);
-			Element childExpEl = xpExpression.evaluateFirst(curRootEl);
+			Element childExpEl = context.getExperience(expXRef);
 			if (childExpEl == null) {
 				String errMsg = "Unable to locate child experience; expId = " + expXRef;
 				loggingMgr.logIssue(LogMgmt.TAG_MODEL, LogMgmt.LEV_ERR, nextChildEl, errMsg, null, null, LOGMSG_ID);
@@ -596,10 +597,7 @@ public class CpeValidator extends ManifestValidator implements ProfileValidator
 		Element metaDataEl = cid2MDataMap.get(cid);
 		if (metaDataEl == null) {
 			// do it the hard way
-			XPathExpression<Element> xpExpression = xpfac.compile(".//manifest:Metadata[@ContentID='" + cid + "']",
-					Filters.element(), null, manifestNSpace);
-			List<Element> elementList = xpExpression.evaluate(curRootEl);
-			metaDataEl = elementList.get(0);
+			metaDataEl = getProfileContext(curRootEl).getMetadata(cid);
 		}
 		return metaDataEl;
 	}
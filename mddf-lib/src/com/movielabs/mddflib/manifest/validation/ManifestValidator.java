@@ -26,6 +26,7 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import net.sf.json.JSONArray;
@@ -38,7 +39,11 @@ import org.jdom2.xpath.XPathExpression;
 
 import com.movielabs.mddflib.logging.LogMgmt;
 import com.movielabs.mddflib.logging.LogReference;
+import com.movielabs.mddflib.manifest.validation.profiles.ProfileContext;
+import com.movielabs.mddflib.metrics.Metrics;
+import com.movielabs.mddflib.metrics.PhaseTimer;
 import com.movielabs.mddflib.util.CMValidator;
+import com.movielabs.mddflib.util.LocationCache;
 import com.movielabs.mddflib.util.PathUtilities;
 import com.movielabs.mddflib.util.xml.SchemaWrapper;
 import com.movielabs.mddflib.util.xml.XmlIngester;
@@ -103,6 +108,8 @@ public class ManifestValidator extends CMValidator {
 
 	public static final String LOGMSG_ID = "ManifestValidator";
 
+	private ProfileContext profileContext;
+
 	static {
 		id2typeMap = new HashMap<String, String>();
 		id2typeMap.put("AudioTrackID", "audtrackid");
@@ -131,6 +138,7 @@ public class ManifestValidator extends CMValidator {
 		curFileName = xmlManifestFile.getName();
 		curFileIsValid = true;
 		curRootEl = null;
+		profileContext = null;
 
 		String schemaVer = identifyXsdVersion(docRootEl);
 		loggingMgr.log(LogMgmt.LEV_INFO, logMsgDefaultTag, "Validating using Schema Version " + schemaVer, srcFile,
@@ -148,11 +156,41 @@ public class ManifestValidator extends CMValidator {
 		String msg = "Schema validation check PASSED";
 		loggingMgr.log(LogMgmt.LEV_INFO, LogMgmt.TAG_MANIFEST, msg, curFile, logMsgSrcId);
 		if (validateC) {
+			PhaseTimer timer = Metrics.start(Metrics.PHASE_CONSTRAINTS);
 			validateConstraints();
+			timer.stopAndCount(curRootEl);
 		}
 		return curFileIsValid;
 	}
 
+	/**
+	 * Return the <tt>ProfileContext</tt> for the Manifest with the specified
+	 * root element. The context is built the first time it is requested and is
+	 * then re-used for the remainder of the current validation.
+	 * 
+	 * @param docRootEl
+	 * @return
+	 */
+	public ProfileContext getProfileContext(Element docRootEl) {
+		/*
+		 * The Manifest namespace is version-specific. A change indicates the
+		 * document has been re-processed using a different schema version.
+		 */
+		if ((profileContext == null) || (profileContext.getRootElement() != docRootEl)
+				|| (profileContext.getManifestNSpace() != manifestNSpace)) {
+			profileContext = new ProfileContext(docRootEl, manifestNSpace);
+		}
+		return profileContext;
+	}
+
+	/**
+	 * Discard the <tt>ProfileContext</tt> (if any) so that it does not retain
+	 * the document once validation of the file has been completed.
+	 */
+	protected void releaseProfileContext() {
+		profileContext = null;
+	}
+
 	/**
 	 * Validate everything that is fully specified via the XSD.
 	 * 
@@ -281,11 +319,15 @@ public class ManifestValidator extends CMValidator {
 		// Now do any defined in Manifest spec..
 		validateManifestVocab();
 
+		PhaseTimer timer = Metrics.start(Metrics.CHECK_LOCATION);
 		validateLocations();
+		timer.stop();
 
 		validateMetadata();
 
+		timer = Metrics.start(Metrics.PHASE_USAGE);
 		validateUsage();
+		timer.stop();
 	}
 
 	/**
@@ -441,12 +483,17 @@ public class ManifestValidator extends CMValidator {
 	 */
 	protected void validateLocations() {
 		String pre = manifestNSpace.getPrefix();
-		String baseLoc = curFile.getAbsolutePath();
 		LogReference srcRef = LogReference.getRef("MMM", "1.5", "mmm_locType");
 		XPathExpression<Element> xpExp01 = xpfac.compile(".//" + pre + ":ContainerLocation", Filters.element(), null,
 				manifestNSpace);
 		List<Element> cLocElList = xpExp01.evaluate(curRootEl);
-		outterLoop: for (int i = 0; i < cLocElList.size(); i++) {
+		/*
+		 * First pass identifies the local paths. These are then checked as a
+		 * single batch so that each referenced directory is only accessed
+		 * once.
+		 */
+		Map<Element, String> localPaths = new LinkedHashMap<Element, String>();
+		for (int i = 0; i < cLocElList.size(); i++) {
 			Element clocEl = cLocElList.get(i);
 			String containerPath = clocEl.getTextNormalize();
 			if (containerPath.startsWith("file:")) {
@@ -455,24 +502,22 @@ public class ManifestValidator extends CMValidator {
 				logIssue(LogMgmt.TAG_MANIFEST, LogMgmt.LEV_NOTICE, clocEl, errMsg, details, srcRef, logMsgSrcId);
 				containerPath = containerPath.replace("file:/",".");
 				//curFileIsValid = false;
-				//continue outterLoop;
+				//continue;
 			}
 			if (!PathUtilities.isRelative(containerPath)) {
 				// We do not validate absolute or network-based URLs
-				continue outterLoop;
+				continue;
 			}
-			try {
-				String targetLoc = PathUtilities.convertToAbsolute(baseLoc, containerPath);
-				File target = new File(targetLoc);
-				if (!target.exists()) {
-					String errMsg = "Referenced container not found";
-					logIssue(LogMgmt.TAG_MANIFEST, LogMgmt.LEV_ERR, clocEl, errMsg, null, null, logMsgSrcId);
-					continue outterLoop;
-
-				}
-			} catch (IOException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
+			localPaths.put(clocEl, containerPath);
+		}
+		if (localPaths.isEmpty()) {
+			return;
+		}
+		Map<String, Boolean> found = LocationCache.checkExistence(curFile, localPaths.values());
+		for (Map.Entry<Element, String> entry : localPaths.entrySet()) {
+			if (!found.get(entry.getValue())) {
+				String errMsg = "Referenced container not found";
+				logIssue(LogMgmt.TAG_MANIFEST, LogMgmt.LEV_ERR, entry.getKey(), errMsg, null, null, logMsgSrcId);
 			}
 		}
 	}
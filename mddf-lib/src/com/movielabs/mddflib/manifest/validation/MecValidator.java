@@ -28,6 +28,8 @@ import java.util.List;
 import org.jdom2.Element;
 import org.jdom2.JDOMException;
 import com.movielabs.mddflib.logging.LogMgmt;
+import com.movielabs.mddflib.metrics.Metrics;
+import com.movielabs.mddflib.metrics.PhaseTimer;
 import com.movielabs.mddflib.util.CMValidator;
 import com.movielabs.mddflib.util.xml.SchemaWrapper;
 import com.movielabs.mddflib.util.xml.XsdValidation;
@@ -76,7 +78,9 @@ public class MecValidator extends CMValidator {
 			String msg = "Schema validation check PASSED";
 			loggingMgr.log(LogMgmt.LEV_INFO, logMsgDefaultTag, msg, curFile, logMsgSrcId);
 			if (validateC) {
+				PhaseTimer timer = Metrics.start(Metrics.PHASE_CONSTRAINTS);
 				validateConstraints();
+				timer.stopAndCount(curRootEl);
 			}
 		}
 		// clean up and go home
@@ -202,16 +202,12 @@ public class CpeIP1Validator {
 		loggingMgr.logIssue(LogMgmt.TAG_PROFILE, LogMgmt.LEV_DEBUG, expEl, msg, null, null, logMsgSrcId);
 		/* is one titled 'Featured' ? */
 		boolean found = false;
-		Element curRootEl = expEl.getDocument().getRootElement();
+		ProfileContext context = cpeValidator.getProfileContext(expEl.getDocument().getRootElement());
 		for (int i = 0; i < groupElList.size(); i++) {
 			if (!found) {
 				Element nextChildEl = groupElList.get(i);
 				String expXRef = nextChildEl.getChildTextNormalize("ExperienceID", XmlIngester.manifestNSpace);
-				XPathExpression<Element> xpExpression = xpfac.compile(
-						".//manifest:Experience[@ExperienceID='" + expXRef + "']", Filters.element(), null,
-						XmlIngester.manifestNSpace);
-				List<Element> elementList = xpExpression.evaluate(curRootEl);
-				Element childExpEl = elementList.get(0);
+				Element childExpEl = context.getExperience(expXRef);
 				Element basicMDEl = cpeValidator.getMetadataEl(childExpEl);
 				Element locMDEl = basicMDEl.getChild("LocalizedInfo", XmlIngester.mdNSpace);
 				String title1 = locMDEl.getChildTextNormalize("TitleSort", XmlIngester.mdNSpace);
@@ -316,66 +312,49 @@ public class CpeIP1Validator {
 		 * Make sure Audiovisual, App and Gallery instances in Experience
 		 * correspond exactly with the Presentations, Media Applications and
 		 * Galleries referenced in the TimedEventSequence. The easiest way to do
-		 * that is to compile a single XPathExpression to isolate a type of ID
-		 * (e.g. PresentationID) and then apply it twice: first in the context
-		 * of the Experience and then in the context of the TimedEventSequence.
+		 * that is to use the ProfileContext to isolate a type of ID (e.g.
+		 * PresentationID) twice: first in the context of the Experience and
+		 * then in the context of the TimedEventSequence.
 		 */
 		String tSeqId = tSeqList.get(0).getTextNormalize();
-		XPathExpression<Element> xpExpression = xpfac.compile(
-				".//manifest:TimedEventSequence[@TimedSequenceID='" + tSeqId + "']", Filters.element(), null,
-				XmlIngester.manifestNSpace);
-		Element curRootEl = expEl.getDocument().getRootElement();
-		List<Element> tsList = xpExpression.evaluate(curRootEl);
-		if (tsList.size() < 1) {
+		ProfileContext context = cpeValidator.getProfileContext(expEl.getDocument().getRootElement());
+		Element tSeqEl = context.getTimedEventSequence(tSeqId);
+		if (tSeqEl == null) {
 			String errMsg = "Experience references unknown TimedEvenetSequence";
 			loggingMgr.logIssue(LogMgmt.TAG_PROFILE, LogMgmt.LEV_ERR, expEl, errMsg, null, null, logMsgSrcId);
 			return false;
 		}
-		Element tSeqEl = tsList.get(0);
-		// Presentations...
 		/*
-		 * Slightly different than AppGroup, TextGroup, etc. The problem is
-		 * there is (usually) a Presentation as a child of the
-		 * TimedEvenetSequence and we want to exclude it and only collect the
-		 * Presentation elements that are the child of a TimedEvent.
+		 * Presentations, AppGroups, and TextGroups are all handled the same
+		 * way. Note that for Presentations there is (usually) a Presentation
+		 * as a child of the TimedEvenetSequence. The ProfileContext excludes
+		 * it and only provides the references that are the child of a
+		 * TimedEvent.
 		 */
-		XPathExpression<Element> xpEx1 = xpfac.compile(".//manifest:PresentationID", Filters.element(), null,
-				XmlIngester.manifestNSpace);
-		List<Element> expList = collectTabContent(tabGroupNode, xpEx1);
-		XPathExpression<Element> xpEx2 = xpfac.compile(".//manifest:TimedEvent/manifest:PresentationID",
-				Filters.element(), null, XmlIngester.manifestNSpace);
-		List<Element> tesList = xpEx2.evaluate(tSeqEl);
-		boolean matches = compareIdSets(expList, tesList);
-
-		// AppGroup...
-		xpExpression = xpfac.compile(".//manifest:AppGroupID", Filters.element(), null, XmlIngester.manifestNSpace);
-		expList = collectTabContent(tabGroupNode, xpExpression);
-		tesList = xpExpression.evaluate(tSeqEl);
-		matches = (compareIdSets(expList, tesList) && matches);
-
-		// TextGroup...
-		xpExpression = xpfac.compile(".//manifest:TextGroupID", Filters.element(), null, XmlIngester.manifestNSpace);
-		expList = collectTabContent(tabGroupNode, xpExpression);
-		tesList = xpExpression.evaluate(tSeqEl);
-		matches = (compareIdSets(expList, tesList) && matches);
-
+		boolean matches = true;
+		for (String refType : ProfileContext.CONTAINED_REF_TYPES) {
+			List<Element> expList = collectTabContent(tabGroupNode, context, refType);
+			List<Element> tesList = context.getContainedRefs(tSeqEl, refType);
+			matches = (compareIdSets(expList, tesList) && matches);
+		}
 		return matches;
 	}
 
 	/**
 	 * @param tabGroupNode
-	 * @param xpExpression
+	 * @param context
+	 * @param refType
 	 * @return
 	 */
-	private List<Element> collectTabContent(ExperienceNode tabGroupNode, XPathExpression<Element> xpExpression) {
+	private List<Element> collectTabContent(ExperienceNode tabGroupNode, ProfileContext context, String refType) {
 		List<Element> expList = new ArrayList<Element>();
 		Element tabGroupEl = tabGroupNode.getExpEl();
-		expList.addAll(xpExpression.evaluate(tabGroupEl));
+		expList.addAll(context.getContainedRefs(tabGroupEl, refType));
 		// Now include content from the children:
 		List<ExperienceNode> tabMemberNodes = tabGroupNode.getChildren();
 		for (ExperienceNode memberNode : tabMemberNodes) {
 			Element memberEl = memberNode.getExpEl();
-			expList.addAll(xpExpression.evaluate(memberEl));
+			expList.addAll(context.getContainedRefs(memberEl, refType));
 		}
 		return expList;
 	}
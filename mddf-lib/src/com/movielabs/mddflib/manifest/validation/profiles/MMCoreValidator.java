@@ -114,11 +114,15 @@ public class MMCoreValidator extends ManifestValidator implements ProfileValidat
 
 	public boolean process(Element docRootEl, File xmlManifestFile, String profileId, List<String> useCases)
 			throws JDOMException, IOException {
-		super.process(docRootEl, xmlManifestFile);
-		if (curFileIsValid) {
-			validateProfileConstraints();
+		try {
+			super.process(docRootEl, xmlManifestFile);
+			if (curFileIsValid) {
+				validateProfileConstraints();
+			}
+			return curFileIsValid;
+		} finally {
+			releaseProfileContext();
 		}
-		return curFileIsValid;
 	}
 
 	/**
@@ -181,9 +185,12 @@ public class MMCoreValidator extends ManifestValidator implements ProfileValidat
 		/*
 		 * Validate Experiences
 		 */
+		ProfileContext context = getProfileContext(curRootEl);
 		xpExpression = xpfac.compile("./manifest:Experiences/manifest:Experience", Filters.element(), null,
 				manifestNSpace);
 		List<Element> expElList = xpExpression.evaluate(curRootEl);
+		XPathExpression<Element> artRefXPath = xpfac.compile("../manifest:LocalizedInfo/manifest:ArtReference",
+				Filters.element(), null, manifestNSpace);
 		for (int i = 0; i < expElList.size(); i++) {
 			Element expEl = (Element) expElList.get(i);
 			if (expEl.getAttribute("ExperienceID") == null) {
@@ -199,9 +206,7 @@ public class MMCoreValidator extends ManifestValidator implements ProfileValidat
 				curFileIsValid = false;
 			} else {
 				/* Retrieve referenced Metadata. */
-				xpExpression = xpfac.compile("./manifest:Inventory/manifest:Metadata[@ContentID='" + cid + "']",
-						Filters.element(), null, manifestNSpace);
-				mdEl = xpExpression.evaluateFirst(curRootEl);
+				mdEl = context.getMetadata(cid);
 			}
 			if (mdEl != null) {
 				/*
@@ -210,9 +215,7 @@ public class MMCoreValidator extends ManifestValidator implements ProfileValidat
 				 * Additional instances may be included.
 				 * 
 				 */
-				xpExpression = xpfac.compile("../manifest:LocalizedInfo/manifest:ArtReference", Filters.element(), null,
-						manifestNSpace);
-				List<Element> artRefList = xpExpression.evaluate(mdEl);
+				List<Element> artRefList = artRefXPath.evaluate(mdEl);
 				boolean hasArtRefs = !artRefList.isEmpty();
 				if (hasArtRefs) {
 					Element pgIdEl = expEl.getChild("PictureGroupID", manifestNSpace);
@@ -327,9 +330,8 @@ public class MMCoreValidator extends ManifestValidator implements ProfileValidat
 			loggingMgr.logIssue(logMsgDefaultTag, LogMgmt.LEV_WARN, expSetEl, msg, null, srcRef, logMsgSrcId);
 		}
 		// Retrieve the 'feature' Experience
-		xpExpression = xpfac.compile("./manifest:Experience[@ExperienceID='" + featureId + "']", Filters.element(),
-				null, manifestNSpace);
-		Element featureExpEl = xpExpression.evaluateFirst(expSetEl);
+		ProfileContext context = getProfileContext(manifestRootEl);
+		Element featureExpEl = context.getExperience(featureId);
 		/*
 		 * Retrieve the 'trailer' Experience which will be singleton
 		 * ExperienceChild.
@@ -356,9 +358,7 @@ public class MMCoreValidator extends ManifestValidator implements ProfileValidat
 				isValid = false;
 			}
 			String trailerExpId = expChildEl.getChildTextNormalize("ExperienceID", manifestNSpace);
-			xpExpression = xpfac.compile("./manifest:Experience[@ExperienceID='" + trailerExpId + "']",
-					Filters.element(), null, manifestNSpace);
-			trailerExpEl = xpExpression.evaluateFirst(expSetEl);
+			trailerExpEl = context.getExperience(trailerExpId);
 		}
 		validateExperience(featureExpEl, srcRef);
 		if (trailerExpEl != null) {
@@ -446,10 +446,7 @@ public class MMCoreValidator extends ManifestValidator implements ProfileValidat
 			String msg = "Audiovisual uses PlayableSequenceID";
 			loggingMgr.logIssue(logMsgDefaultTag, LogMgmt.LEV_DEBUG, avEl, msg, null, null, logMsgSrcId);
 			String pSeqId = pSeqidEl.getTextNormalize();
-			XPathExpression<Element> xpExpression = xpfac.compile(
-					"./manifest:PlayableSequences/manifest:PlayableSequence[@PlayableSequenceID='" + pSeqId + "']",
-					Filters.element(), null, manifestNSpace);
-			Element targetPSeqEl = xpExpression.evaluateFirst(curRootEl);
+			Element targetPSeqEl = getProfileContext(curRootEl).getPlayableSequence(pSeqId);
 			if (targetPSeqEl == null) {
 				msg = "The referenced PlayableSequenceID does not exisit.";
 				loggingMgr.logIssue(LogMgmt.TAG_MANIFEST, LogMgmt.LEV_ERR, pSeqidEl, msg, null, null, logMsgSrcId);
@@ -459,7 +456,8 @@ public class MMCoreValidator extends ManifestValidator implements ProfileValidat
 				 * get PresentationID for each included Clips (i.e., there may
 				 * be 1 or more Clips)
 				 */
-				xpfac.compile("./manifest:Clip/manifest:PresentationID", Filters.element(), null, manifestNSpace);
+				XPathExpression<Element> xpExpression = xpfac.compile("./manifest:Clip/manifest:PresentationID",
+						Filters.element(), null, manifestNSpace);
 				List<Element> pidElList = xpExpression.evaluate(targetPSeqEl);
 			}
 
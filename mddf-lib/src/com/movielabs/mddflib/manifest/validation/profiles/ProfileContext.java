@@ -0,0 +1,296 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.manifest.validation.profiles;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+import org.jdom2.filter.Filters;
+
+/**
+ * Pre-resolved look-up tables for a single Manifest that are shared by all
+ * <tt>ProfileValidator</tt> implementations. The context is built with a
+ * single pass over the document and is then re-used by any subsequent profile
+ * checks on the same document. This avoids
+ * the need to compile and evaluate an XPath such as
+ * <tt>.//manifest:Experience[@ExperienceID='...']</tt> every time a
+ * cross-reference must be resolved.
+ * <p>
+ * The following are available:
+ * <ul>
+ * <li>ContentID &rarr; <tt>Inventory/Metadata</tt> and
+ * <tt>BasicMetadata</tt></li>
+ * <li>ExperienceID &rarr; <tt>Experience</tt></li>
+ * <li>TimedSequenceID &rarr; <tt>TimedEventSequence</tt></li>
+ * <li>PlayableSequenceID &rarr; <tt>PlayableSequence</tt></li>
+ * <li>PresentationID &rarr; all elements referencing the Presentation</li>
+ * <li>ExperienceID &rarr; parent <tt>Experience</tt> elements (i.e., group
+ * membership via <tt>ExperienceChild</tt>)</li>
+ * <li><tt>Experience</tt> or <tt>TimedEventSequence</tt> &rarr; the
+ * PresentationID, AppGroupID, and TextGroupID references it contains</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Note that the context reflects the state of the document at the time it was
+ * built. It is intended for use by validators and should not be used with a
+ * document that is being modified.
+ * </p>
+ * <p>
+ * A context holds references to elements throughout the document. It is
+ * therefore owned by the validator processing the document (see
+ * <tt>ManifestValidator.getProfileContext()</tt>) and is discarded when
+ * validation of the file is complete so as not to prevent the document from
+ * being released.
+ * </p>
+ */
+public class ProfileContext {
+
+	/**
+	 * The types of ID reference that are collected on a per-container (i.e.,
+	 * <tt>Experience</tt> or <tt>TimedEventSequence</tt>) basis.
+	 */
+	public static final String[] CONTAINED_REF_TYPES = { "PresentationID", "AppGroupID", "TextGroupID" };
+
+	private Element rootEl;
+	private Namespace manifestNSpace;
+	private Map<String, Element> cid2MetadataMap = new HashMap<String, Element>();
+	private Map<String, Element> cid2BasicMDataMap = new HashMap<String, Element>();
+	private Map<String, Element> expId2ExpMap = new HashMap<String, Element>();
+	private Map<String, Element> tSeqId2TSeqMap = new HashMap<String, Element>();
+	private Map<String, Element> pSeqId2PSeqMap = new HashMap<String, Element>();
+	private Map<String, List<Element>> presId2RefMap = new HashMap<String, List<Element>>();
+	private Map<String, List<Element>> expId2ParentMap = new HashMap<String, List<Element>>();
+	private Map<Element, Map<String, List<Element>>> containedRefMap = new HashMap<Element, Map<String, List<Element>>>();
+
+	/**
+	 * @param rootEl
+	 * @param manifestNSpace
+	 */
+	public ProfileContext(Element rootEl, Namespace manifestNSpace) {
+		this.rootEl = rootEl;
+		this.manifestNSpace = manifestNSpace;
+		index();
+	}
+
+	/**
+	 * Single pass over the document in document order. Where more than one
+	 * element has the same ID, the first one encountered is retained so as to
+	 * match the behavior of <tt>XPathExpression.evaluateFirst()</tt>.
+	 */
+	private void index() {
+		String nsUri = manifestNSpace.getURI();
+		for (Element nextEl : rootEl.getDescendants(Filters.element())) {
+			if (!nsUri.equals(nextEl.getNamespaceURI())) {
+				continue;
+			}
+			switch (nextEl.getName()) {
+			case "Metadata":
+				putFirst(cid2MetadataMap, nextEl.getAttributeValue("ContentID"), nextEl);
+				break;
+			case "BasicMetadata":
+				putFirst(cid2BasicMDataMap, nextEl.getAttributeValue("ContentID"), nextEl);
+				break;
+			case "Experience":
+				putFirst(expId2ExpMap, nextEl.getAttributeValue("ExperienceID"), nextEl);
+				break;
+			case "TimedEventSequence":
+				putFirst(tSeqId2TSeqMap, nextEl.getAttributeValue("TimedSequenceID"), nextEl);
+				break;
+			case "PlayableSequence":
+				putFirst(pSeqId2PSeqMap, nextEl.getAttributeValue("PlayableSequenceID"), nextEl);
+				break;
+			case "ExperienceChild":
+				String childId = nextEl.getChildTextNormalize("ExperienceID", manifestNSpace);
+				Element parentEl = nextEl.getParentElement();
+				if (childId != null && parentEl.getName().equals("Experience")) {
+					addTo(expId2ParentMap, childId, parentEl);
+				}
+				break;
+			case "PresentationID":
+				addTo(presId2RefMap, nextEl.getTextNormalize(), nextEl);
+				addContainedRef(nextEl);
+				break;
+			case "AppGroupID":
+			case "TextGroupID":
+				addContainedRef(nextEl);
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Associate an ID reference with the nearest enclosing
+	 * <tt>Experience</tt>. If the reference is instead part of a
+	 * <tt>TimedEventSequence</tt> it is only collected when it is the child of
+	 * a <tt>TimedEvent</tt>.
+	 *
+	 * @param refEl
+	 */
+	private void addContainedRef(Element refEl) {
+		Element parentEl = refEl.getParentElement();
+		boolean inTimedEvent = parentEl.getName().equals("TimedEvent");
+		for (Element ancestor = parentEl; ancestor != null; ancestor = ancestor.getParentElement()) {
+			String name = ancestor.getName();
+			if (name.equals("Experience") || (name.equals("TimedEventSequence") && inTimedEvent)) {
+				Map<String, List<Element>> refsByType = containedRefMap.get(ancestor);
+				if (refsByType == null) {
+					refsByType = new HashMap<String, List<Element>>();
+					containedRefMap.put(ancestor, refsByType);
+				}
+				addTo(refsByType, refEl.getName(), refEl);
+				return;
+			} else if (name.equals("TimedEventSequence")) {
+				return;
+			}
+		}
+	}
+
+	private static void putFirst(Map<String, Element> map, String key, Element value) {
+		if ((key != null) && !map.containsKey(key)) {
+			map.put(key, value);
+		}
+	}
+
+	private static void addTo(Map<String, List<Element>> map, String key, Element value) {
+		List<Element> list = map.get(key);
+		if (list == null) {
+			list = new ArrayList<Element>();
+			map.put(key, list);
+		}
+		list.add(value);
+	}
+
+	/**
+	 * @return the root element of the indexed Manifest
+	 */
+	public Element getRootElement() {
+		return rootEl;
+	}
+
+	/**
+	 * @return the Manifest namespace used when the context was built
+	 */
+	public Namespace getManifestNSpace() {
+		return manifestNSpace;
+	}
+
+	/**
+	 * @param contentId
+	 * @return the <tt>Metadata</tt> element with the specified ContentID or
+	 *         <tt>null</tt>
+	 */
+	public Element getMetadata(String contentId) {
+		return cid2MetadataMap.get(contentId);
+	}
+
+	/**
+	 * @param contentId
+	 * @return the <tt>BasicMetadata</tt> element with the specified ContentID
+	 *         or <tt>null</tt>
+	 */
+	public Element getBasicMetadata(String contentId) {
+		return cid2BasicMDataMap.get(contentId);
+	}
+
+	/**
+	 * @param experienceId
+	 * @return the <tt>Experience</tt> element with the specified ExperienceID
+	 *         or <tt>null</tt>
+	 */
+	public Element getExperience(String experienceId) {
+		return expId2ExpMap.get(experienceId);
+	}
+
+	/**
+	 * @param timedSequenceId
+	 * @return the <tt>TimedEventSequence</tt> element with the specified
+	 *         TimedSequenceID or <tt>null</tt>
+	 */
+	public Element getTimedEventSequence(String timedSequenceId) {
+		return tSeqId2TSeqMap.get(timedSequenceId);
+	}
+
+	/**
+	 * @param playableSequenceId
+	 * @return the <tt>PlayableSequence</tt> element with the specified
+	 *         PlayableSequenceID or <tt>null</tt>
+	 */
+	public Element getPlayableSequence(String playableSequenceId) {
+		return pSeqId2PSeqMap.get(playableSequenceId);
+	}
+
+	/**
+	 * Return all <tt>PresentationID</tt> elements, in document order, that
+	 * reference the specified Presentation.
+	 *
+	 * @param presentationId
+	 * @return an unmodifiable <tt>List</tt> (possibly empty)
+	 */
+	public List<Element> getPresentationRefs(String presentationId) {
+		return unmodifiable(presId2RefMap.get(presentationId));
+	}
+
+	/**
+	 * Return all <tt>Experience</tt> elements that include the specified
+	 * Experience as an <tt>ExperienceChild</tt> (i.e., the groups the
+	 * Experience is a member of).
+	 *
+	 * @param experienceId
+	 * @return an unmodifiable <tt>List</tt> (possibly empty)
+	 */
+	public List<Element> getParentExperiences(String experienceId) {
+		return unmodifiable(expId2ParentMap.get(experienceId));
+	}
+
+	/**
+	 * Return the ID references of the specified type that are contained in an
+	 * <tt>Experience</tt> or, in the case of a <tt>TimedEventSequence</tt>, in
+	 * its <tt>TimedEvent</tt> children. Supported types are those listed in
+	 * <tt>CONTAINED_REF_TYPES</tt>.
+	 *
+	 * @param containerEl
+	 *            an <tt>Experience</tt> or <tt>TimedEventSequence</tt>
+	 * @param refType
+	 *            e.g. <tt>PresentationID</tt>
+	 * @return an unmodifiable <tt>List</tt> (possibly empty) in document order
+	 */
+	public List<Element> getContainedRefs(Element containerEl, String refType) {
+		Map<String, List<Element>> refsByType = containedRefMap.get(containerEl);
+		if (refsByType == null) {
+			return Collections.emptyList();
+		}
+		return unmodifiable(refsByType.get(refType));
+	}
+
+	private static List<Element> unmodifiable(List<Element> list) {
+		if (list == null) {
+			return Collections.emptyList();
+		}
+		return Collections.unmodifiableList(list);
+	}
+}
@@ -31,6 +31,13 @@ import org.jdom2.JDOMException;
 import com.movielabs.mddflib.logging.LogMgmt;
 
 /**
+ * Interface for validators that check a Manifest for compliance with a
+ * specific profile. Implementations should resolve any cross-references via
+ * the shared <tt>ProfileContext</tt> for the document rather than by
+ * evaluating ad-hoc XPaths so that multiple profile checks on the same
+ * document do not each require additional full-document scans.
+ * 
+ * @see ProfileContext
  * @author L. Levin, Critical Architectures LLC
  *
  */
@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.metrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+
+/**
+ * <tt>MetricsSink</tt> that writes a CSV summary when closed. The file
+ * contains a row for each phase of each file followed by rows with the
+ * aggregated measurements for all files (identified by a <tt>File</tt> value
+ * of <tt>*</tt>).
+ */
+public class CsvMetricsSink implements MetricsSink {
+
+	private static final String HEADER = "File,Phase,Count,WallMillis,MaxWallMillis,CpuMillis,AllocatedBytes,Elements,Issues";
+
+	private final File csvFile;
+	private final MetricsRegistry registry = new MetricsRegistry();
+
+	public CsvMetricsSink(File csvFile) {
+		this.csvFile = csvFile;
+	}
+
+	public void record(PhaseSample sample) {
+		registry.record(sample);
+	}
+
+	public void fileCompleted(File file) {
+	}
+
+	public void close() throws IOException {
+		PrintWriter writer = new PrintWriter(csvFile, "UTF-8");
+		try {
+			writer.println(HEADER);
+			for (File file : registry.getFiles()) {
+				writeRows(writer, quote(file.getPath()), registry.getFileStats(file));
+			}
+			writeRows(writer, "*", registry.getPhaseStats());
+		} finally {
+			writer.close();
+		}
+		if (writer.checkError()) {
+			throw new IOException("Error writing " + csvFile.getPath());
+		}
+	}
+
+	private void writeRows(PrintWriter writer, String fileId, Map<String, PhaseStats> statsMap) {
+		for (PhaseStats stats : statsMap.values()) {
+			writer.println(fileId + "," + stats.getPhase() + "," + stats.getCount() + "," + stats.getWallMillis()
+					+ "," + stats.getMaxWallMillis() + "," + stats.getCpuMillis() + "," + stats.getAllocatedBytes()
+					+ "," + stats.getElementCount() + "," + stats.getIssueCount());
+		}
+	}
+
+	private String quote(String value) {
+		if (value.contains(",") || value.contains("\"")) {
+			return "\"" + value.replace("\"", "\"\"") + "\"";
+		}
+		return value;
+	}
+}
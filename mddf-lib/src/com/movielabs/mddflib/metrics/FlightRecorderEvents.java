@@ -0,0 +1,211 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.metrics;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Emits a Java Flight Recorder event for each measured phase. The event type
+ * (<tt>com.movielabs.mddf.Phase</tt>) includes the file, its MDDF format, the
+ * phase, and the number of elements processed and issues logged. The
+ * duration of the event is the wall-clock time of the phase.
+ * <p>
+ * The library targets Java 8 so the <tt>jdk.jfr</tt> API is accessed via
+ * reflection and the event type is defined at runtime using the
+ * <tt>EventFactory</tt>. A listener tracks whether any recording is running
+ * and events are only created while one is.
+ * </p>
+ */
+final class FlightRecorderEvents implements InvocationHandler {
+
+	static final String EVENT_NAME = "com.movielabs.mddf.Phase";
+
+	private final Object factory;
+	private final Method newEvent;
+	private final Method begin;
+	private final Method end;
+	private final Method set;
+	private final Method shouldCommit;
+	private final Method commit;
+	private final Method getFlightRecorder;
+	private final Method getRecordings;
+	private final Method getState;
+	private volatile boolean recording = false;
+
+	/**
+	 * @return a new instance or <tt>null</tt> if the Flight Recorder API is
+	 *         not supported by the JVM
+	 */
+	static FlightRecorderEvents create() {
+		try {
+			return new FlightRecorderEvents();
+		} catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+			return null;
+		}
+	}
+
+	private FlightRecorderEvents() throws ReflectiveOperationException {
+		List<Object> eventAnnotations = new ArrayList<Object>();
+		eventAnnotations.add(annotation("jdk.jfr.Name", EVENT_NAME));
+		eventAnnotations.add(annotation("jdk.jfr.Label", "MDDF Phase"));
+		eventAnnotations.add(annotation("jdk.jfr.Description", "Execution of a phase of MDDF validation or conversion"));
+		eventAnnotations.add(annotation("jdk.jfr.Category", new String[] { "MDDF" }));
+		eventAnnotations.add(annotation("jdk.jfr.StackTrace", Boolean.FALSE));
+		/* NOTE: the order must match the indices used in commit() */
+		List<Object> fields = new ArrayList<Object>();
+		fields.add(field(String.class, "file", "File", null, null));
+		fields.add(field(String.class, "format", "MDDF Format", null, null));
+		fields.add(field(String.class, "phase", "Phase", null, null));
+		fields.add(field(long.class, "elements", "Elements", null, null));
+		fields.add(field(long.class, "issues", "Issues", null, null));
+		fields.add(field(long.class, "cpuTime", "CPU Time", "jdk.jfr.Timespan", "NANOSECONDS"));
+		fields.add(field(long.class, "allocated", "Allocated", "jdk.jfr.DataAmount", "BYTES"));
+
+		Class<?> factoryClass = Class.forName("jdk.jfr.EventFactory");
+		factory = factoryClass.getMethod("create", List.class, List.class).invoke(null, eventAnnotations, fields);
+		newEvent = factoryClass.getMethod("newEvent");
+		Class<?> eventClass = Class.forName("jdk.jfr.Event");
+		begin = eventClass.getMethod("begin");
+		end = eventClass.getMethod("end");
+		set = eventClass.getMethod("set", int.class, Object.class);
+		shouldCommit = eventClass.getMethod("shouldCommit");
+		commit = eventClass.getMethod("commit");
+
+		Class<?> recorderClass = Class.forName("jdk.jfr.FlightRecorder");
+		getFlightRecorder = recorderClass.getMethod("getFlightRecorder");
+		getRecordings = recorderClass.getMethod("getRecordings");
+		getState = Class.forName("jdk.jfr.Recording").getMethod("getState");
+		Class<?> listenerClass = Class.forName("jdk.jfr.FlightRecorderListener");
+		Object listener = Proxy.newProxyInstance(FlightRecorderEvents.class.getClassLoader(),
+				new Class<?>[] { listenerClass }, this);
+		/* if the recorder is already initialized this will invoke the listener */
+		recorderClass.getMethod("addListener", listenerClass).invoke(null, listener);
+	}
+
+	private static Object annotation(String type, Object value) throws ReflectiveOperationException {
+		Constructor<?> constructor = Class.forName("jdk.jfr.AnnotationElement").getConstructor(Class.class,
+				Object.class);
+		return constructor.newInstance(Class.forName(type), value);
+	}
+
+	private static Object field(Class<?> type, String name, String label, String unitType, String unit)
+			throws ReflectiveOperationException {
+		List<Object> annotations = new ArrayList<Object>();
+		annotations.add(annotation("jdk.jfr.Label", label));
+		if (unitType != null) {
+			annotations.add(annotation(unitType, unit));
+		}
+		Constructor<?> constructor = Class.forName("jdk.jfr.ValueDescriptor").getConstructor(Class.class,
+				String.class, List.class);
+		return constructor.newInstance(type, name, annotations);
+	}
+
+	/**
+	 * Handles the callbacks from the Flight Recorder.
+	 */
+	public Object invoke(Object proxy, Method method, Object[] args) {
+		String name = method.getName();
+		if (name.equals("equals")) {
+			return (proxy == args[0]);
+		} else if (name.equals("hashCode")) {
+			return System.identityHashCode(proxy);
+		} else if (name.equals("toString")) {
+			return FlightRecorderEvents.class.getName();
+		}
+		/* recorderInitialized() or recordingStateChanged() */
+		boolean running = false;
+		try {
+			Object recorder = getFlightRecorder.invoke(null);
+			for (Object recording : (List<?>) getRecordings.invoke(recorder)) {
+				if ("RUNNING".equals(String.valueOf(getState.invoke(recording)))) {
+					running = true;
+					break;
+				}
+			}
+		} catch (ReflectiveOperationException e) {
+			running = false;
+		}
+		recording = running;
+		Metrics.updateEnabled();
+		return null;
+	}
+
+	/**
+	 * @return <tt>true</tt> if at least one recording is running
+	 */
+	boolean isRecording() {
+		return recording;
+	}
+
+	/**
+	 * @return a new event with its start time set or <tt>null</tt> if no
+	 *         recording is running
+	 */
+	Object begin() {
+		if (!recording) {
+			return null;
+		}
+		try {
+			Object event = newEvent.invoke(factory);
+			begin.invoke(event);
+			return event;
+		} catch (ReflectiveOperationException e) {
+			return null;
+		}
+	}
+
+	void end(Object event) {
+		try {
+			end.invoke(event);
+		} catch (ReflectiveOperationException e) {
+			// event will be discarded by commit()
+		}
+	}
+
+	void commit(Object event, PhaseSample sample) {
+		try {
+			if (!((Boolean) shouldCommit.invoke(event))) {
+				return;
+			}
+			String path = null;
+			if (sample.getFile() != null) {
+				path = sample.getFile().getPath();
+			}
+			set.invoke(event, 0, path);
+			set.invoke(event, 1, sample.getFormat());
+			set.invoke(event, 2, sample.getPhase());
+			set.invoke(event, 3, sample.getElementCount());
+			set.invoke(event, 4, sample.getIssueCount());
+			set.invoke(event, 5, sample.getCpuNanos());
+			set.invoke(event, 6, sample.getAllocatedBytes());
+			commit.invoke(event);
+		} catch (ReflectiveOperationException e) {
+			// discard the event
+		}
+	}
+}
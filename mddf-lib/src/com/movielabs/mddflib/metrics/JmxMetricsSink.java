@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.metrics;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * <tt>MetricsSink</tt> that exposes the aggregated measurements for each
+ * phase as an MBean registered with the platform MBean server. This allows a
+ * long-running process (e.g., a validation server or a <i>watch</i>) to be
+ * monitored with any JMX client. The MBeans are named
+ * <tt>com.movielabs.mddf:type=Metrics,phase={phase}</tt>.
+ */
+public class JmxMetricsSink implements MetricsSink {
+
+	public static final String DOMAIN = "com.movielabs.mddf";
+
+	private final Map<String, PhaseStats> phaseMap = new HashMap<String, PhaseStats>();
+	private final Map<String, ObjectName> registered = new HashMap<String, ObjectName>();
+	private final MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+
+	public void record(PhaseSample sample) {
+		PhaseStats stats;
+		synchronized (this) {
+			stats = phaseMap.get(sample.getPhase());
+			if (stats == null) {
+				stats = new PhaseStats(sample.getPhase());
+				phaseMap.put(sample.getPhase(), stats);
+				register(stats);
+			}
+		}
+		stats.add(sample);
+	}
+
+	private void register(PhaseStats stats) {
+		try {
+			ObjectName name = new ObjectName(DOMAIN + ":type=Metrics,phase=" + ObjectName.quote(stats.getPhase()));
+			if (mbs.isRegistered(name)) {
+				mbs.unregisterMBean(name);
+			}
+			mbs.registerMBean(stats, name);
+			registered.put(stats.getPhase(), name);
+		} catch (JMException e) {
+			// metrics will still be recorded but are not visible via JMX
+		}
+	}
+
+	public void fileCompleted(File file) {
+	}
+
+	/**
+	 * Unregister all MBeans.
+	 */
+	public synchronized void close() {
+		for (ObjectName name : registered.values()) {
+			try {
+				mbs.unregisterMBean(name);
+			} catch (JMException e) {
+				// already gone
+			}
+		}
+		registered.clear();
+		phaseMap.clear();
+	}
+}
@@ -0,0 +1,336 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.metrics;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.jdom2.Element;
+import org.jdom2.filter.Filters;
+
+import com.movielabs.mddflib.logging.LogMgmt;
+
+/**
+ * Entry point for the instrumentation of MDDF processing. Instrumented code
+ * obtains a <tt>PhaseTimer</tt> at the start of a phase and stops it at the
+ * end:
+ * 
+ * <pre>
+ * PhaseTimer timer = Metrics.start(Metrics.CHECK_RATINGS);
+ * ...
+ * timer.stop(ratingElList.size());
+ * </pre>
+ * <p>
+ * Recording is disabled until a <tt>MetricsSink</tt> is added or, if
+ * <tt>enableFlightRecorder()</tt> has been invoked, a Java Flight Recorder
+ * recording is started. While disabled, <tt>start()</tt> returns a shared inactive timer so the cost of the
+ * instrumentation is a single volatile read.
+ * </p>
+ * <p>
+ * Measurements are attributed to the file currently being processed by the
+ * thread (see <tt>beginFile()</tt>). CPU time and allocated bytes are
+ * measured for the current thread and are reported as -1 if the JVM does not
+ * support the measurement. The JVM's thread CPU time and allocated memory
+ * measurement are switched on when recording is first enabled.
+ * </p>
+ */
+public class Metrics {
+
+	/* Processing phases */
+	public static final String PHASE_FILE = "file";
+	public static final String PHASE_PARSE = "parse";
+	public static final String PHASE_XSD = "xsd";
+	public static final String PHASE_CONSTRAINTS = "constraints";
+	public static final String PHASE_USAGE = "usage";
+	public static final String PHASE_STRUCTURE = "structure";
+	public static final String PHASE_XLSX_OPEN = "xlsx.open";
+	public static final String PHASE_XLSX_INGEST = "xlsx.ingest";
+	public static final String PHASE_XML_BUILD = "xml.build";
+	public static final String PHASE_TRANSLATE = "translate";
+	/* Families of constraint checks */
+	public static final String CHECK_ID = "check.id";
+	public static final String CHECK_XREF = "check.xref";
+	public static final String CHECK_REQUIRED = "check.required";
+	public static final String CHECK_VOCAB = "check.vocab";
+	public static final String CHECK_RATINGS = "check.ratings";
+	public static final String CHECK_LANGUAGE = "check.language";
+	public static final String CHECK_CODES = "check.codes";
+	public static final String CHECK_LOCATION = "check.location";
+
+	private static final List<MetricsSink> sinks = new CopyOnWriteArrayList<MetricsSink>();
+	private static volatile boolean enabled = false;
+	private static final ThreadLocal<PhaseTimer> fileTimer = new ThreadLocal<PhaseTimer>();
+	private static final ThreadLocal<File> currentFile = new ThreadLocal<File>();
+	private static final ThreadLocal<String> currentFormat = new ThreadLocal<String>();
+	private static final ThreadLocal<long[]> issueCount = new ThreadLocal<long[]>() {
+		protected long[] initialValue() {
+			return new long[1];
+		}
+	};
+	private static volatile FlightRecorderEvents flightRecorder = null;
+
+	private static volatile ThreadMXBean threadBean = null;
+	private static volatile com.sun.management.ThreadMXBean allocBean = null;
+	private static boolean threadMeasurementChecked = false;
+
+	/**
+	 * Add a sink. Recording is enabled while at least one sink is registered.
+	 * 
+	 * @param sink
+	 */
+	public static void addSink(MetricsSink sink) {
+		sinks.add(sink);
+		updateEnabled();
+	}
+
+	/**
+	 * Remove a sink. The sink is <b>not</b> closed.
+	 * 
+	 * @param sink
+	 */
+	public static void removeSink(MetricsSink sink) {
+		sinks.remove(sink);
+		updateEnabled();
+	}
+
+	/**
+	 * Emit a Java Flight Recorder event for each phase while a flight
+	 * recording is in progress. Measurements are only made while a recording
+	 * is running so there is no additional cost at other times. The events
+	 * are defined at runtime so this has no effect if the JVM does not
+	 * include the <tt>jdk.jfr</tt> API (e.g., older Java 8 releases).
+	 * 
+	 * @return <tt>true</tt> if the events have been registered with the
+	 *         Flight Recorder
+	 */
+	public static synchronized boolean enableFlightRecorder() {
+		if (flightRecorder == null) {
+			flightRecorder = FlightRecorderEvents.create();
+			/* a recording may already be in progress */
+			updateEnabled();
+		}
+		return (flightRecorder != null);
+	}
+
+	static void updateEnabled() {
+		FlightRecorderEvents jfr = flightRecorder;
+		boolean recording = !sinks.isEmpty() || ((jfr != null) && jfr.isRecording());
+		if (recording) {
+			enableThreadMeasurement();
+		}
+		enabled = recording;
+	}
+
+	/**
+	 * Enable the JVM's measurement of per-thread CPU time and allocated
+	 * memory. These are JVM-wide settings so they are only changed once
+	 * recording has been requested, not when this class is loaded.
+	 */
+	private static synchronized void enableThreadMeasurement() {
+		if (threadMeasurementChecked) {
+			return;
+		}
+		threadMeasurementChecked = true;
+		try {
+			ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+			if (bean.isCurrentThreadCpuTimeSupported()) {
+				if (!bean.isThreadCpuTimeEnabled()) {
+					bean.setThreadCpuTimeEnabled(true);
+				}
+				threadBean = bean;
+			}
+			if (bean instanceof com.sun.management.ThreadMXBean) {
+				com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+				if (sunBean.isThreadAllocatedMemorySupported()) {
+					if (!sunBean.isThreadAllocatedMemoryEnabled()) {
+						sunBean.setThreadAllocatedMemoryEnabled(true);
+					}
+					allocBean = sunBean;
+				}
+			}
+		} catch (UnsupportedOperationException | SecurityException e) {
+			// measurements will be reported as -1
+		}
+	}
+
+	/**
+	 * @return <tt>true</tt> if measurements are being recorded
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Start measuring a phase.
+	 * 
+	 * @param phase
+	 * @return
+	 */
+	public static PhaseTimer start(String phase) {
+		if (!enabled) {
+			return PhaseTimer.NO_OP;
+		}
+		return new PhaseTimer(phase, currentFile.get());
+	}
+
+	/**
+	 * Indicate the current thread is starting to process a file. All phases
+	 * executed by the thread until <tt>endFile()</tt> is invoked will be
+	 * attributed to the file. The time taken to process the entire file is
+	 * recorded as the <tt>file</tt> phase.
+	 * 
+	 * @param file
+	 */
+	public static void beginFile(File file) {
+		if (!enabled) {
+			return;
+		}
+		currentFile.set(file);
+		currentFormat.remove();
+		fileTimer.set(new PhaseTimer(PHASE_FILE, file));
+	}
+
+	/**
+	 * Identify the MDDF format of the file currently being processed by the
+	 * thread. The format will be included in the measurements of all phases
+	 * that complete before <tt>endFile()</tt> is invoked.
+	 * 
+	 * @param format
+	 */
+	public static void setFileFormat(String format) {
+		if (!enabled) {
+			return;
+		}
+		currentFormat.set(format);
+	}
+
+	/**
+	 * Notification that a log entry has been created. Any warnings or errors
+	 * are included in the issue count of the phase(s) currently being
+	 * executed by the thread.
+	 * 
+	 * @param level
+	 */
+	public static void issueLogged(int level) {
+		if (!enabled) {
+			return;
+		}
+		if ((level == LogMgmt.LEV_WARN) || (level == LogMgmt.LEV_ERR) || (level == LogMgmt.LEV_FATAL)) {
+			issueCount.get()[0]++;
+		}
+	}
+
+	/**
+	 * Indicate the current thread has finished processing the file passed to
+	 * <tt>beginFile()</tt>.
+	 */
+	public static void endFile() {
+		PhaseTimer timer = fileTimer.get();
+		File file = currentFile.get();
+		if (timer != null) {
+			timer.stop();
+		}
+		fileTimer.remove();
+		currentFile.remove();
+		currentFormat.remove();
+		if (timer == null) {
+			return;
+		}
+		for (MetricsSink sink : sinks) {
+			sink.fileCompleted(file);
+		}
+	}
+
+	/**
+	 * Count the elements in the sub-tree with the specified root (including
+	 * the root).
+	 * 
+	 * @param rootEl
+	 * @return
+	 */
+	public static long countElements(Element rootEl) {
+		if (rootEl == null) {
+			return 0;
+		}
+		long count = 1;
+		Iterator<Element> it = rootEl.getDescendants(Filters.element());
+		while (it.hasNext()) {
+			it.next();
+			count++;
+		}
+		return count;
+	}
+
+	static void publish(PhaseSample sample, Object jfrEvent) {
+		for (MetricsSink sink : sinks) {
+			sink.record(sample);
+		}
+		if (jfrEvent != null) {
+			flightRecorder.commit(jfrEvent, sample);
+		}
+	}
+
+	/**
+	 * @return a new (started) flight recorder event or <tt>null</tt> if no
+	 *         recording is in progress
+	 */
+	static Object beginEvent() {
+		FlightRecorderEvents jfr = flightRecorder;
+		if (jfr == null) {
+			return null;
+		}
+		return jfr.begin();
+	}
+
+	static void endEvent(Object jfrEvent) {
+		if (jfrEvent != null) {
+			flightRecorder.end(jfrEvent);
+		}
+	}
+
+	static String fileFormat() {
+		return currentFormat.get();
+	}
+
+	static long issueCount() {
+		return issueCount.get()[0];
+	}
+
+	static long cpuTime() {
+		if (threadBean == null) {
+			return -1;
+		}
+		return threadBean.getCurrentThreadCpuTime();
+	}
+
+	static long allocatedBytes() {
+		if (allocBean == null) {
+			return -1;
+		}
+		return allocBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.metrics;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * In-memory <tt>MetricsSink</tt> that aggregates measurements by phase, both
+ * for each file and for all files.
+ */
+public class MetricsRegistry implements MetricsSink {
+
+	private final Map<String, PhaseStats> totals = new TreeMap<String, PhaseStats>();
+	private final Map<File, Map<String, PhaseStats>> perFile = new LinkedHashMap<File, Map<String, PhaseStats>>();
+
+	public void record(PhaseSample sample) {
+		synchronized (this) {
+			getStats(totals, sample.getPhase()).add(sample);
+			if (sample.getFile() != null) {
+				Map<String, PhaseStats> fileStats = perFile.get(sample.getFile());
+				if (fileStats == null) {
+					fileStats = new TreeMap<String, PhaseStats>();
+					perFile.put(sample.getFile(), fileStats);
+				}
+				getStats(fileStats, sample.getPhase()).add(sample);
+			}
+		}
+	}
+
+	private PhaseStats getStats(Map<String, PhaseStats> statsMap, String phase) {
+		PhaseStats stats = statsMap.get(phase);
+		if (stats == null) {
+			stats = new PhaseStats(phase);
+			statsMap.put(phase, stats);
+		}
+		return stats;
+	}
+
+	public void fileCompleted(File file) {
+	}
+
+	public void close() {
+	}
+
+	/**
+	 * Discard all measurements.
+	 */
+	public synchronized void reset() {
+		totals.clear();
+		perFile.clear();
+	}
+
+	/**
+	 * @return aggregated measurements for all files, keyed and sorted by phase
+	 */
+	public synchronized Map<String, PhaseStats> getPhaseStats() {
+		return Collections.unmodifiableMap(new TreeMap<String, PhaseStats>(totals));
+	}
+
+	/**
+	 * @param file
+	 * @return measurements for a single file, keyed and sorted by phase
+	 */
+	public synchronized Map<String, PhaseStats> getFileStats(File file) {
+		Map<String, PhaseStats> fileStats = perFile.get(file);
+		if (fileStats == null) {
+			return Collections.emptyMap();
+		}
+		return Collections.unmodifiableMap(new TreeMap<String, PhaseStats>(fileStats));
+	}
+
+	/**
+	 * @return the files for which measurements have been recorded in the
+	 *         order they were processed
+	 */
+	public synchronized List<File> getFiles() {
+		return new ArrayList<File>(perFile.keySet());
+	}
+
+	/**
+	 * @return a table summarizing the aggregated measurements for each phase
+	 */
+	public String getSummary() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("%-16s %8s %10s %10s %10s %10s %12s %8s%n", "Phase", "Count", "Wall ms", "Max ms",
+				"CPU ms", "Alloc MB", "Elements", "Issues"));
+		for (PhaseStats stats : getPhaseStats().values()) {
+			sb.append(String.format("%-16s %8d %10d %10d %10d %10.1f %12d %8d%n", stats.getPhase(), stats.getCount(),
+					stats.getWallMillis(), stats.getMaxWallMillis(), stats.getCpuMillis(),
+					stats.getAllocatedBytes() / (1024.0 * 1024.0), stats.getElementCount(), stats.getIssueCount()));
+		}
+		return sb.toString();
+	}
+}
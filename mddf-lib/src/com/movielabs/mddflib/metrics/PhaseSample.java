@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.metrics;
+
+import java.io.File;
+
+/**
+ * The measurements made during a single execution of a processing phase.
+ * Times are inclusive of any nested phases (e.g., the <tt>constraints</tt>
+ * phase includes all of the <tt>check.*</tt> phases).
+ */
+public class PhaseSample {
+
+	private final String phase;
+	private final File file;
+	private final String format;
+	private final long wallNanos;
+	private final long cpuNanos;
+	private final long allocatedBytes;
+	private final long elementCnt;
+	private final long issueCnt;
+
+	public PhaseSample(String phase, File file, String format, long wallNanos, long cpuNanos, long allocatedBytes,
+			long elementCnt, long issueCnt) {
+		this.phase = phase;
+		this.file = file;
+		this.format = format;
+		this.wallNanos = wallNanos;
+		this.cpuNanos = cpuNanos;
+		this.allocatedBytes = allocatedBytes;
+		this.elementCnt = elementCnt;
+		this.issueCnt = issueCnt;
+	}
+
+	/**
+	 * @return the name of the phase (e.g., <tt>xsd</tt> or
+	 *         <tt>check.ratings</tt>)
+	 */
+	public String getPhase() {
+		return phase;
+	}
+
+	/**
+	 * @return the file being processed or <tt>null</tt> if the phase was not
+	 *         executed in the context of a specific file.
+	 */
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * @return the MDDF format of the file (e.g., <tt>MANIFEST_1_6</tt>) or
+	 *         <tt>null</tt> if it has not been identified.
+	 */
+	public String getFormat() {
+		return format;
+	}
+
+	public long getWallNanos() {
+		return wallNanos;
+	}
+
+	/**
+	 * @return the CPU time used by the thread or -1 if not supported by the
+	 *         JVM
+	 */
+	public long getCpuNanos() {
+		return cpuNanos;
+	}
+
+	/**
+	 * @return the bytes allocated by the thread or -1 if not supported by the
+	 *         JVM
+	 */
+	public long getAllocatedBytes() {
+		return allocatedBytes;
+	}
+
+	/**
+	 * @return the number of elements processed (zero if not applicable)
+	 */
+	public long getElementCount() {
+		return elementCnt;
+	}
+
+	/**
+	 * @return the number of warnings and errors logged during the phase
+	 */
+	public long getIssueCount() {
+		return issueCnt;
+	}
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.metrics;
+
+/**
+ * Aggregated measurements for all executions of a phase.
+ */
+public class PhaseStats implements PhaseStatsMBean {
+
+	private final String phase;
+	private long count = 0;
+	private long wallNanos = 0;
+	private long maxWallNanos = 0;
+	private long cpuNanos = 0;
+	private long allocatedBytes = 0;
+	private long elementCnt = 0;
+	private long issueCnt = 0;
+
+	public PhaseStats(String phase) {
+		this.phase = phase;
+	}
+
+	public synchronized void add(PhaseSample sample) {
+		count++;
+		wallNanos += sample.getWallNanos();
+		maxWallNanos = Math.max(maxWallNanos, sample.getWallNanos());
+		if (sample.getCpuNanos() > 0) {
+			cpuNanos += sample.getCpuNanos();
+		}
+		if (sample.getAllocatedBytes() > 0) {
+			allocatedBytes += sample.getAllocatedBytes();
+		}
+		elementCnt += sample.getElementCount();
+		issueCnt += sample.getIssueCount();
+	}
+
+	public String getPhase() {
+		return phase;
+	}
+
+	public synchronized long getCount() {
+		return count;
+	}
+
+	public synchronized long getWallNanos() {
+		return wallNanos;
+	}
+
+	public synchronized long getWallMillis() {
+		return wallNanos / 1000000;
+	}
+
+	public synchronized long getMaxWallMillis() {
+		return maxWallNanos / 1000000;
+	}
+
+	public synchronized long getCpuNanos() {
+		return cpuNanos;
+	}
+
+	public synchronized long getCpuMillis() {
+		return cpuNanos / 1000000;
+	}
+
+	public synchronized long getAllocatedBytes() {
+		return allocatedBytes;
+	}
+
+	public synchronized long getElementCount() {
+		return elementCnt;
+	}
+
+	public synchronized long getIssueCount() {
+		return issueCnt;
+	}
+}
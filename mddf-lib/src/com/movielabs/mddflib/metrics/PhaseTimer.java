@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.metrics;
+
+import java.io.File;
+
+import org.jdom2.Element;
+
+/**
+ * Measures a single execution of a processing phase. Instances are obtained
+ * via <tt>Metrics.start()</tt> and the measurements are passed to the
+ * registered sinks when <tt>stop()</tt> is invoked. When recording is
+ * disabled a shared, inactive, instance is returned and <tt>stop()</tt> does
+ * nothing.
+ */
+public final class PhaseTimer {
+
+	static final PhaseTimer NO_OP = new PhaseTimer();
+
+	private final boolean active;
+	private final String phase;
+	private final File file;
+	private final long startWall;
+	private final long startCpu;
+	private final long startAlloc;
+	private final long startIssues;
+	private final Object jfrEvent;
+
+	private PhaseTimer() {
+		active = false;
+		phase = null;
+		file = null;
+		startWall = 0;
+		startCpu = 0;
+		startAlloc = 0;
+		startIssues = 0;
+		jfrEvent = null;
+	}
+
+	PhaseTimer(String phase, File file) {
+		active = true;
+		this.phase = phase;
+		this.file = file;
+		startCpu = Metrics.cpuTime();
+		startAlloc = Metrics.allocatedBytes();
+		startIssues = Metrics.issueCount();
+		jfrEvent = Metrics.beginEvent();
+		startWall = System.nanoTime();
+	}
+
+	/**
+	 * @return <tt>true</tt> if measurements are being recorded
+	 */
+	public boolean isActive() {
+		return active;
+	}
+
+	public void stop() {
+		stop(0);
+	}
+
+	/**
+	 * @param elementCnt
+	 *            number of elements processed during the phase
+	 */
+	public void stop(long elementCnt) {
+		if (!active) {
+			return;
+		}
+		long wall = System.nanoTime() - startWall;
+		Metrics.endEvent(jfrEvent);
+		publish(wall, elementCnt);
+	}
+
+	/**
+	 * Stop the timer and record the number of elements in the document or
+	 * sub-tree with the specified root. The elements are counted after the
+	 * timer has been stopped.
+	 * 
+	 * @param rootEl
+	 */
+	public void stopAndCount(Element rootEl) {
+		if (!active) {
+			return;
+		}
+		long wall = System.nanoTime() - startWall;
+		Metrics.endEvent(jfrEvent);
+		publish(wall, Metrics.countElements(rootEl));
+	}
+
+	private void publish(long wall, long elementCnt) {
+		long cpu = -1;
+		if (startCpu >= 0) {
+			cpu = Metrics.cpuTime() - startCpu;
+		}
+		long alloc = -1;
+		if (startAlloc >= 0) {
+			alloc = Metrics.allocatedBytes() - startAlloc;
+		}
+		long issues = Metrics.issueCount() - startIssues;
+		Metrics.publish(new PhaseSample(phase, file, Metrics.fileFormat(), wall, cpu, alloc, elementCnt, issues),
+				jfrEvent);
+	}
+}
@@ -0,0 +1,19 @@
+/**
+ * Provides instrumentation of the processing of MDDF files. The time (wall
+ * clock and CPU), bytes allocated, and number of elements processed are
+ * recorded for each processing <i>phase</i> (e.g., parsing, schema
+ * validation, XLSX ingest) and each family of constraint checks (e.g.,
+ * ratings, languages, controlled vocabularies).
+ * <p>
+ * Measurements are passed to one or more <tt>MetricsSink</tt> instances. An
+ * in-memory registry, JMX MBeans, and a CSV summary are provided. Recording
+ * is disabled until a sink is added and, while disabled, the instrumented
+ * code incurs no measurable overhead.
+ * </p>
+ * <p>
+ * Measurements may also be emitted as Java Flight Recorder events (see
+ * <tt>Metrics.enableFlightRecorder()</tt>). Events are only generated while
+ * a recording is in progress.
+ * </p>
+ */
+package com.movielabs.mddflib.metrics;
@@ -38,12 +38,17 @@ import org.jdom2.filter.Filters;
 import org.jdom2.xpath.XPathExpression;
 
 import com.movielabs.mddf.MddfContext;
+import com.movielabs.mddflib.metrics.Metrics;
+import com.movielabs.mddflib.metrics.PhaseTimer;
 import com.movielabs.mddflib.logging.LogMgmt;
 import com.movielabs.mddflib.logging.LogReference;
 import com.movielabs.mddflib.util.xml.RatingSystem;
+import com.movielabs.mddflib.util.xml.RequiredValueIndex;
 import com.movielabs.mddflib.util.xml.SchemaWrapper;
 import com.movielabs.mddflib.util.xml.StructureValidation;
+import com.movielabs.mddflib.util.xml.VocabSet;
 import com.movielabs.mddflib.util.xml.XsdValidation;
+import com.movielabs.mddflib.util.xml.XsdLimits;
 import com.movielabs.mddflib.util.xml.XmlIngester;
 
 /**
@@ -105,46 +110,57 @@ public class CMValidator extends XmlIngester {
 
 	protected static HashMap<String, String> id2typeMap;
 
-	protected static Properties iso3166_1_codes;
-
 	protected static HashSet<String> specialRatings = new HashSet<String>();
 
-	private static JSONArray iso639_2;
-
-	private static JSONArray iso639_3;
-
-	private static JSONArray unM49;
-
-	private static JSONArray rfc5646Variant;
-
-	private static JSONArray rfc5646Script;
-
 	static {
 		specialRatings.add("ALL");
 		specialRatings.add("UNRATED");
 		specialRatings.add("ADULT");
 		specialRatings.add("PROSCRIBED");
-		try {
-			/*
-			 * Language codes are in their own file
-			 */
-			JSONObject jsonRsrc = getMddfResource("rfc5646");
-			JSONObject rfc5646 = jsonRsrc.getJSONObject("rfc5646");
-			iso639_2 = rfc5646.getJSONArray("iso639-2");
-			iso639_3 = rfc5646.getJSONArray("iso639-3");
-			unM49 = rfc5646.getJSONArray("UN-M49");
-			rfc5646Variant = rfc5646.getJSONArray("variant");
-			rfc5646Script = rfc5646.getJSONArray("script");
-			/*
-			 * ISO region/country codes are simple so we use Properties
-			 */
-			String iso3166RsrcPath = MddfContext.RSRC_PATH + "ISO3166-1.properties";
-			iso3166_1_codes = loadProperties(iso3166RsrcPath);
-		} catch (Exception e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
+	}
+
+	/**
+	 * Holder for the RFC5646 language subtag registries. These are only
+	 * loaded the first time a language tag is checked.
+	 */
+	private static class LangCodes {
+		static VocabSet iso639_2;
+		static VocabSet iso639_3;
+		static VocabSet unM49;
+		static VocabSet rfc5646Variant;
+		static VocabSet rfc5646Script;
+
+		static {
+			try {
+				/*
+				 * Language codes are in their own file
+				 */
+				JSONObject jsonRsrc = getMddfResource("rfc5646");
+				JSONObject rfc5646 = jsonRsrc.getJSONObject("rfc5646");
+				iso639_2 = getVocabSet(rfc5646.getJSONArray("iso639-2"));
+				iso639_3 = getVocabSet(rfc5646.getJSONArray("iso639-3"));
+				unM49 = getVocabSet(rfc5646.getJSONArray("UN-M49"));
+				rfc5646Variant = getVocabSet(rfc5646.getJSONArray("variant"));
+				rfc5646Script = getVocabSet(rfc5646.getJSONArray("script"));
+			} catch (Exception e) {
+				e.printStackTrace();
+			}
 		}
+	}
 
+	/**
+	 * Holder for the ISO 3166-1 region/country codes. These are simple so we
+	 * use Properties.
+	 */
+	private static class RegionCodes {
+		static final Properties iso3166_1 = loadProperties(MddfContext.RSRC_PATH + "ISO3166-1.properties");
+	}
+
+	/**
+	 * @return the ISO 3166-1 region/country codes
+	 */
+	protected static Properties getIso3166Codes() {
+		return RegionCodes.iso3166_1;
 	}
 
 	protected Namespace rootNS;
@@ -182,6 +198,16 @@ public class CMValidator extends XmlIngester {
 		logMsgSrcId = LOGMSG_ID;
 	}
 
+	/**
+	 * Set the limits on the number of schema errors that are individually
+	 * logged for a file.
+	 * 
+	 * @param limits
+	 */
+	public void setXsdLimits(XsdLimits limits) {
+		xsdHelper.setLimits(limits);
+	}
+
 	/**
 	 * Validate everything that is not fully specified via the XSD.
 	 */
@@ -286,31 +312,41 @@ public class CMValidator extends XmlIngester {
 	 * @param targetSchema
 	 */
 	protected void validateNotEmpty(SchemaWrapper targetSchema) {
-		List<XPathExpression<?>> reqElXpList = targetSchema.getReqElList();
-		for (XPathExpression<?> xpExp : reqElXpList) {
-			List<?> elementList = xpExp.evaluate(curRootEl);
-			for (Object next : elementList) {
-				String value = null;
-				String label = null;
-				Element targetEl = null;
-				if (next instanceof Element) {
-					targetEl = (Element) next;
-					value = targetEl.getTextNormalize();
-					label = targetEl.getName();
-				} else if (next instanceof Attribute) {
-					Attribute targetAtt = (Attribute) next;
-					value = targetAtt.getValue();
-					targetEl = targetAtt.getParent();
-					label = targetEl.getName() + "->" + targetAtt.getName();
+		RequiredValueIndex reqIndex = targetSchema.getRequiredValueIndex();
+		if (reqIndex.isEmpty()) {
+			return;
+		}
+		PhaseTimer timer = Metrics.start(Metrics.CHECK_REQUIRED);
+		for (Element targetEl : curRootEl.getDescendants(Filters.element())) {
+			int ruleCnt = reqIndex.getElementRuleCount(targetEl, curRootEl);
+			if (ruleCnt > 0) {
+				String value = targetEl.getTextNormalize();
+				if (value.isEmpty()) {
+					reportEmpty(targetEl, targetEl.getName(), ruleCnt);
 				}
-
-				if ((value == null) || (value.isEmpty())) {
-					String msg = label + " not specified. A value must be provided";
-					logIssue(logMsgDefaultTag, LogMgmt.LEV_ERR, targetEl, msg, null, null, logMsgSrcId);
-					curFileIsValid = false;
+			}
+			for (String attName : reqIndex.getRequiredAttributes(targetEl, curRootEl)) {
+				String value = targetEl.getAttributeValue(attName);
+				if ((value != null) && value.isEmpty()) {
+					reportEmpty(targetEl, targetEl.getName() + "->" + attName, 1);
 				}
 			}
 		}
+		timer.stopAndCount(curRootEl);
+	}
+
+	/**
+	 * @param targetEl
+	 * @param label
+	 * @param count
+	 *            number of times the requirement is defined by the schema
+	 */
+	private void reportEmpty(Element targetEl, String label, int count) {
+		String msg = label + " not specified. A value must be provided";
+		for (int i = 0; i < count; i++) {
+			logIssue(logMsgDefaultTag, LogMgmt.LEV_ERR, targetEl, msg, null, null, logMsgSrcId);
+		}
+		curFileIsValid = false;
 	}
 
 	// ..................
@@ -336,6 +372,7 @@ public class CMValidator extends XmlIngester {
 	 */
 	protected HashSet<String> validateId(String idElement, String idAttribute, boolean reqUniqueness,
 			boolean chkSyntax) {
+		PhaseTimer timer = Metrics.start(Metrics.CHECK_ID);
 		XPathExpression<Element> xpExpression = xpfac.compile(".//" + rootNS.getPrefix() + ":" + idElement,
 				Filters.element(), null, rootNS);
 		HashSet<String> idSet = new HashSet<String>();
@@ -350,6 +387,7 @@ public class CMValidator extends XmlIngester {
 		 * XPaths.
 		 */
 		HashMap<String, Element> id2XmlMap = new HashMap<String, Element>();
+		IdParser idParser = new IdParser();
 
 		List<Element> elementList = xpExpression.evaluate(curRootEl);
 		for (int i = 0; i < elementList.size(); i++) {
@@ -406,23 +444,16 @@ public class CMValidator extends XmlIngester {
 					 * Validate identifier structure conforms with Sec 2.1 of
 					 * Common Metadata spec (v2.4)
 					 */
-
-					String idSyntaxPattern = "[\\S-[:]]+:[\\S-[:]]+:[\\S-[:]]+:[\\S]+$";
-					if (!idValue.matches(idSyntaxPattern)) {
+					if (!idParser.parse(idValue)) {
 						String msg = "ID syntax does not conform to recommendations.";
 						String details = "Best Practice is use of 'md:<type>:<scheme>:<SSID> syntax";
 						LogReference srcRef = LogReference.getRef("MMM-BP", "mmbp01.3");
 						logIssue(LogMgmt.TAG_MD, LogMgmt.LEV_WARN, targetEl, msg, details, srcRef, logMsgSrcId);
 						// curFileIsValid = false;
 					} else {
-						String[] idParts = idValue.split(":");
-						String idNid = idParts[0];
-						String idType = idParts[1];
-						String idScheme = idParts[2];
-						String idSSID = idValue.split(":" + idScheme + ":")[1];
-						validateIdScheme(idScheme, targetEl);
-						validateIdSsid(idSSID, idScheme, targetEl);
-						validateIdType(idType, idAttribute, targetEl);
+						validateIdScheme(idParser, targetEl);
+						validateIdSsid(idParser, targetEl);
+						validateIdType(idParser, idAttribute, targetEl);
 					}
 				}
 			}
@@ -430,15 +461,17 @@ public class CMValidator extends XmlIngester {
 		idSets.put(idElement, idSet);
 		id2XmlMappings.put(idElement, id2XmlMap);
 		idXRefCounts.put(idElement, idXRefCounter);
+		timer.stop(elementList.size());
 		return idSet;
 	}
 
 	/**
-	 * @param idType
+	 * @param id
+	 *            the parsed identifier
 	 * @param idAttribute
 	 * @param targetEl
 	 */
-	protected void validateIdType(String idType, String idAttribute, Element targetEl) {
+	protected void validateIdType(IdParser id, String idAttribute, Element targetEl) {
 		/*
 		 * Check syntax of the 'type' as defined in Manifest/Avails Delivery
 		 * Best Practices (BP-META-MMMD) Section 3.1.7
@@ -447,7 +480,7 @@ public class CMValidator extends XmlIngester {
 		if (type == null) {
 			type = idAttribute.toLowerCase();
 		}
-		if (!idType.equals(type)) {
+		if (!id.typeEquals(type)) {
 			LogReference srcRef = LogReference.getRef("MMM-BP", "mmbp01.3");
 			String msg = "ID <type> does not conform to recommendation (i.e. '" + type + "')";
 			logIssue(LogMgmt.TAG_BEST, LogMgmt.LEV_NOTICE, targetEl, msg, null, srcRef, logMsgSrcId);
@@ -456,11 +489,12 @@ public class CMValidator extends XmlIngester {
 	}
 
 	/**
-	 * @param idSchema
+	 * @param id
+	 *            the parsed identifier
 	 * @param targetEl
 	 */
-	protected void validateIdScheme(String idScheme, Element targetEl) {
-		if (!idScheme.startsWith("eidr")) {
+	protected void validateIdScheme(IdParser id, Element targetEl) {
+		if (!id.schemeStartsWith("eidr")) {
 			String msg = "Use of EIDR-based identifiers is recommended";
 			String details = "Best Practice is to derive IDs from an EIDR-base ALID";
 			LogReference srcRef = LogReference.getRef("MMM-BP", "mmbp01.1");
@@ -468,40 +502,59 @@ public class CMValidator extends XmlIngester {
 		}
 	}
 
-	protected void validateIdSsid(String idSSID, String idScheme, Element targetEl) {
-		String idPattern = null;
+	/**
+	 * Verify the SSID of an identifier that uses one of the EIDR-based schemes.
+	 * In addition to the syntax, the EIDR check character is verified.
+	 * 
+	 * @param id
+	 *            the parsed identifier
+	 * @param targetEl
+	 */
+	protected void validateIdSsid(IdParser id, Element targetEl) {
 		LogReference srcRef = null;
-		switch (idScheme) {
-		case "eidr":
+		String msg;
+		switch (id.getSchemeType()) {
+		case IdParser.SCHEME_EIDR:
 			srcRef = LogReference.getRef("MMM-BP", "mmbp01.2");
-			String msg = "Use of EIDR-x or EIDR-s identifiers is recommended";
+			msg = "Use of EIDR-x or EIDR-s identifiers is recommended";
 			logIssue(LogMgmt.TAG_BEST, LogMgmt.LEV_NOTICE, targetEl, msg, null, srcRef, logMsgSrcId);
 
 			srcRef = null;
-			idPattern = "10\\.[\\d]{4}/[\\dA-F]{4}-[\\dA-F]{4}-[\\dA-F]{4}-[\\dA-F]{4}-[\\dA-F]{4}-[\\dA-Z]";
 			break;
-		case "eidr-s":
+		case IdParser.SCHEME_EIDR_S:
 			srcRef = LogReference.getRef("EIDR-IDF", "eidr01-s");
-			idPattern = "[\\dA-F]{4}-[\\dA-F]{4}-[\\dA-F]{4}-[\\dA-F]{4}-[\\dA-F]{4}-[\\dA-Z]";
 			break;
-		case "eidr-x":
+		case IdParser.SCHEME_EIDR_X:
 			srcRef = LogReference.getRef("EIDR-IDF", "eidr01-x");
-			idPattern = "[\\dA-F]{4}-[\\dA-F]{4}-[\\dA-F]{4}-[\\dA-F]{4}-[\\dA-F]{4}-[\\dA-Z]:[\\S]+";
 			break;
-		case "eidr-urn":
+		case IdParser.SCHEME_EIDR_URN:
 			srcRef = LogReference.getRef("EIDR-IDF", "eidr01-urn");
-			idPattern = "urn:eidr:10\\.5240:[\\dA-F]{4}-[\\dA-F]{4}-[\\dA-F]{4}-[\\dA-F]{4}-[\\dA-F]{4}-[\\dA-Z]";
 			break;
 		default:
-			msg = "ID uses scheme '" + idScheme + "', SSID format will not be verified";
-			logIssue(LogMgmt.TAG_MD, LogMgmt.LEV_INFO, targetEl, msg, "ssid='" + idSSID + "'", null, logMsgSrcId);
+			msg = "ID uses scheme '" + id.getScheme() + "', SSID format will not be verified";
+			logIssue(LogMgmt.TAG_MD, LogMgmt.LEV_INFO, targetEl, msg, "ssid='" + id.getSsid() + "'", null,
+					logMsgSrcId);
 			return;
 		}
-		boolean match = idSSID.matches(idPattern);
-		if (!match) {
-			String msg = "Invalid SSID syntax for " + idScheme + " scheme";
-			logIssue(LogMgmt.TAG_MD, LogMgmt.LEV_ERR, targetEl, msg, "ssid='" + idSSID + "'", srcRef, logMsgSrcId);
+		switch (id.checkSsid()) {
+		case INVALID_SYNTAX:
+			msg = "Invalid SSID syntax for " + id.getScheme() + " scheme";
+			logIssue(LogMgmt.TAG_MD, LogMgmt.LEV_ERR, targetEl, msg, "ssid='" + id.getSsid() + "'", srcRef,
+					logMsgSrcId);
 			curFileIsValid = false;
+			break;
+		case INVALID_CHECK:
+			/*
+			 * Syntax is OK so this is reported as INFO. The ID may still be
+			 * used consistently within the file but will not be resolvable
+			 * via the EIDR registry.
+			 */
+			msg = "Incorrect EIDR check character for " + id.getScheme() + " SSID";
+			String details = "ssid='" + id.getSsid() + "'; check character is computed using ISO 7064 Mod 37,36";
+			logIssue(LogMgmt.TAG_MD, LogMgmt.LEV_INFO, targetEl, msg, details, srcRef, logMsgSrcId);
+			break;
+		default:
+			break;
 		}
 	}
 
@@ -522,6 +575,7 @@ public class CMValidator extends XmlIngester {
 	 * @param targetElType
 	 */
 	protected void validateXRef(String xpath, String targetElType) {
+		PhaseTimer timer = Metrics.start(Metrics.CHECK_XREF);
 		HashSet<String> idSet = idSets.get(targetElType);
 		Map<String, XrefCounter> idXRefCounter = idXRefCounts.get(targetElType);
 		XPathExpression<Element> xpExpression = xpfac.compile(xpath, Filters.element(), null, manifestNSpace);
@@ -544,6 +598,7 @@ public class CMValidator extends XmlIngester {
 				count.increment();
 			}
 		}
+		timer.stop(elementList.size());
 	}
 
 	/**
@@ -629,6 +684,7 @@ public class CMValidator extends XmlIngester {
 	 * @return
 	 */
 	protected void validateRatings() {
+		PhaseTimer timer = Metrics.start(Metrics.CHECK_RATINGS);
 		XPathExpression<Element> xpExp01 = xpfac.compile(".//md:Rating", Filters.element(), null, mdNSpace);
 		List<Element> ratingElList = xpExp01.evaluate(curRootEl);
 		rLoop: for (int i = 0; i < ratingElList.size(); i++) {
@@ -690,7 +746,7 @@ public class CMValidator extends XmlIngester {
 			} else {
 				region = target.getText();
 				/* Is it valid ISO-3166-1 code? */
-				if (!iso3166_1_codes.containsKey(region)) {
+				if (!getIso3166Codes().containsKey(region)) {
 					String msg = "Invalid code for country";
 					String explanation = "A country should be specified as a ISO 3166-1 Alpha-2 code";
 					logIssue(LogMgmt.TAG_CR, LogMgmt.LEV_ERR, target, msg, explanation, srcRef, logMsgSrcId);
@@ -723,6 +779,7 @@ public class CMValidator extends XmlIngester {
 				}
 			}
 		}
+		timer.stop(ratingElList.size());
 	}
 
 	/**
@@ -754,6 +811,7 @@ public class CMValidator extends XmlIngester {
 	 * @see validateLanguage(Namespace primaryNS)
 	 */
 	protected void validateLanguage(Namespace primaryNS, String primaryEl, Namespace childNS, String child) {
+		PhaseTimer timer = Metrics.start(Metrics.CHECK_LANGUAGE);
 		XPathExpression<Element> xpExpression = xpfac.compile(".//" + primaryNS.getPrefix() + ":" + primaryEl,
 				Filters.element(), null, primaryNS);
 		List<Element> elementList = xpExpression.evaluate(curRootEl);
@@ -785,6 +843,7 @@ public class CMValidator extends XmlIngester {
 				}
 			}
 		}
+		timer.stop(elementList.size());
 	}
 
 	/**
@@ -795,6 +854,7 @@ public class CMValidator extends XmlIngester {
 	 *            used only for log messages
 	 */
 	protected void validateLanguage(Namespace primaryNS) {
+		PhaseTimer timer = Metrics.start(Metrics.CHECK_LANGUAGE);
 		XPathExpression<Attribute> xpExpression = xpfac.compile("//@language", Filters.attribute(), null, primaryNS);
 		List<Attribute> attList = xpExpression.evaluate(curRootEl);
 		int tag4log = getLogTag(primaryNS, null);
@@ -805,6 +865,7 @@ public class CMValidator extends XmlIngester {
 				reportLangError(targetAtt.getParent(), tag4log, text);
 			}
 		}
+		timer.stop(attList.size());
 	}
 
 	private boolean checkLangTag(String text) {
@@ -838,10 +899,10 @@ public class CMValidator extends XmlIngester {
 		String subTag = langSubfields[0];
 		switch (subTag.length()) {
 		case 2:
-			passed = iso639_2.contains(subTag);
+			passed = LangCodes.iso639_2.contains(subTag, true);
 			break;
 		case 3:
-			passed = iso639_3.contains(subTag);
+			passed = LangCodes.iso639_3.contains(subTag, true);
 			break;
 		default:
 			passed = false;
@@ -862,14 +923,14 @@ public class CMValidator extends XmlIngester {
 		switch (subTag.length()) {
 		case 2:
 		case 3:
-			passed = iso3166_1_codes.containsKey(subTag.toUpperCase());
+			passed = getIso3166Codes().containsKey(subTag.toUpperCase());
 			foundRegion = true;
 			break;
 		case 4:
-			passed = rfc5646Script.contains(subTag);
+			passed = LangCodes.rfc5646Script.contains(subTag, true);
 			break;
 		default:
-			passed = rfc5646Variant.contains(subTag);
+			passed = LangCodes.rfc5646Variant.contains(subTag, true);
 		}
 		if (!passed) {
 			return false;
@@ -885,9 +946,9 @@ public class CMValidator extends XmlIngester {
 		subTag = langSubfields[2];
 		boolean foundVariant = false;
 		if ((subTag.length() == 2) && !foundRegion) {
-			passed = iso3166_1_codes.containsKey(subTag.toUpperCase());
+			passed = getIso3166Codes().containsKey(subTag.toUpperCase());
 		} else {
-			passed = rfc5646Variant.contains(subTag);
+			passed = LangCodes.rfc5646Variant.contains(subTag, true);
 			foundVariant = true;
 		}
 		if (!passed) {
@@ -904,7 +965,7 @@ public class CMValidator extends XmlIngester {
 		if (foundVariant) {
 			passed = false;
 		} else {
-			passed = rfc5646Variant.contains(langSubfields[3]);
+			passed = LangCodes.rfc5646Variant.contains(langSubfields[3], true);
 		}
 		return passed;
 	}
@@ -923,7 +984,7 @@ public class CMValidator extends XmlIngester {
 
 	protected boolean validateRegion(Namespace primaryNS, String primaryEl, Namespace childNS, String child) { 
 		LogReference srcRef = LogReference.getRef("CM", "cm_regions");
-		return validateCode(primaryNS, primaryEl, childNS, child, iso3166_1_codes, srcRef, false);
+		return validateCode(primaryNS, primaryEl, childNS, child, getIso3166Codes(), srcRef, false);
 	}
 	
 	/**
@@ -934,6 +995,7 @@ public class CMValidator extends XmlIngester {
 	 *            used only for log messages
 	 */
 	protected boolean validateRegion(Namespace primaryNS) {
+		PhaseTimer timer = Metrics.start(Metrics.CHECK_CODES);
 		boolean allOK = true;
 		String errMsg = "Unrecognized value for @region attribute";
 		LogReference srcRef = LogReference.getRef("CM",   "cm_regions");
@@ -943,17 +1005,19 @@ public class CMValidator extends XmlIngester {
 		for (int i = 0; i < attList.size(); i++) {
 			Attribute targetAtt = (Attribute) attList.get(i);
 			String text = targetAtt.getValue();
-			if (!iso3166_1_codes.containsKey(text)) {
+			if (!getIso3166Codes().containsKey(text)) {
 				logIssue(tag4log, LogMgmt.LEV_ERR, targetAtt.getParent(), errMsg, null, srcRef, logMsgSrcId);
 				allOK = false;
 				curFileIsValid = false;
 			}
 		}
+		timer.stop(attList.size());
 		return allOK;
 	}
 
 	protected boolean validateCode(Namespace primaryNS, String primaryEl, Namespace childNS, String child,
 			Properties codes, LogReference srcRef, boolean caseSensitive) {
+		PhaseTimer timer = Metrics.start(Metrics.CHECK_CODES);
 		boolean allOK = true;
 		int tag4log = getLogTag(primaryNS, childNS);
 		XPathExpression<Element> xpExpression = xpfac.compile(".//" + primaryNS.getPrefix() + ":" + primaryEl,
@@ -988,6 +1052,7 @@ public class CMValidator extends XmlIngester {
 				}
 			}
 		}
+		timer.stop(elementList.size());
 		return allOK;
 	}
 
@@ -1016,61 +1081,54 @@ public class CMValidator extends XmlIngester {
 			 */
 			return;
 		}
+		PhaseTimer timer = Metrics.start(Metrics.CHECK_VOCAB);
+		VocabSet vocabSet = getVocabSet(expected);
 		XPathExpression<Element> xpExpression = xpfac.compile(".//" + primaryNS.getPrefix() + ":" + primaryEl,
 				Filters.element(), null, primaryNS);
 		List<Element> elementList = xpExpression.evaluate(curRootEl);
 		int tag4log = getLogTag(primaryNS, childNS);
-		String optionsString = expected.toString().toLowerCase();
+		boolean isAttribute = child.startsWith("@");
+		String targetAttb = isAttribute ? child.substring(1) : null;
 		for (int i = 0; i < elementList.size(); i++) {
 			String text = null;
-			String errMsg = null;
 			Element logMsgEl = null;
 			Element targetEl = (Element) elementList.get(i);
-			if (!child.startsWith("@")) {
+			if (!isAttribute) {
 				Element subElement = targetEl.getChild(child, childNS);
 				logMsgEl = subElement;
 				if (subElement != null) {
 					text = subElement.getTextNormalize();
-					errMsg = "Unrecognized value '" + text + "' for " + primaryEl + "/" + child;
 				}
 			} else {
-				String targetAttb = child.replaceFirst("@", "");
 				text = targetEl.getAttributeValue(targetAttb);
 				logMsgEl = targetEl;
+			}
+			if (text == null || vocabSet.contains(text, caseSensitive)) {
+				continue;
+			}
+			/* Only build the message strings when there is something to report */
+			String errMsg;
+			if (!isAttribute) {
+				errMsg = "Unrecognized value '" + text + "' for " + primaryEl + "/" + child;
+			} else {
 				errMsg = "Unrecognized value '" + text + "' for attribute " + child;
 			}
-			if (text != null) {
-				int logLevel;
-				String explanation;
-				if (strict) {
-					logLevel = LogMgmt.LEV_ERR;
-					explanation = "Value specified does not match one of the allowed strings.";
-					if (caseSensitive) {
-						explanation = explanation + " Note that string-matching is case-sensitive";
-					}
-				} else {
-					logLevel = LogMgmt.LEV_WARN;
-					explanation = "Value specified doesn't match one of the recommended strings. Others may be used if all parties agree";
-				}
-				boolean matched = true;
+			int logLevel;
+			String explanation;
+			if (strict) {
+				logLevel = LogMgmt.LEV_ERR;
+				explanation = "Value specified does not match one of the allowed strings.";
 				if (caseSensitive) {
-					if (!expected.contains(text)) {
-						logIssue(tag4log, logLevel, logMsgEl, errMsg, explanation, srcRef, logMsgSrcId);
-						matched = false;
-
-					}
-				} else {
-					String checkString = "\"" + text.toLowerCase() + "\"";
-					if (!optionsString.contains(checkString)) {
-						logIssue(tag4log, logLevel, logMsgEl, errMsg, explanation, srcRef, logMsgSrcId);
-						matched = false;
-					}
-				}
-				if (!matched && strict) {
-					curFileIsValid = false;
+					explanation = explanation + " Note that string-matching is case-sensitive";
 				}
+				curFileIsValid = false;
+			} else {
+				logLevel = LogMgmt.LEV_WARN;
+				explanation = "Value specified doesn't match one of the recommended strings. Others may be used if all parties agree";
 			}
+			logIssue(tag4log, logLevel, logMsgEl, errMsg, explanation, srcRef, logMsgSrcId);
 		}
+		timer.stop(elementList.size());
 	}
 
 	/**
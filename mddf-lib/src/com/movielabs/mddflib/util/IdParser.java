@@ -0,0 +1,355 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.util;
+
+/**
+ * Single-pass parser for identifiers conforming to the
+ * <tt>md:&lt;type&gt;:&lt;scheme&gt;:&lt;SSID&gt;</tt> syntax recommended by
+ * the <i>Manifest/Avails Delivery Best Practices (BP-META-MMMD)</i>. Parsing
+ * records the boundaries of each field rather than extracting them as
+ * sub-strings so that a single instance may be re-used to examine any number of
+ * identifiers without allocating any new objects. The <tt>String</tt> form of a
+ * field is only created if requested (e.g., when generating a log entry).
+ * <p>
+ * The SSID of an identifier using one of the EIDR-based schemes may also be
+ * verified. This includes checking that the EIDR's check character is the one
+ * computed using the ISO 7064 Mod 37,36 algorithm.
+ * </p>
+ * <p>
+ * Instances are not thread-safe.
+ * </p>
+ */
+public class IdParser {
+
+	/**
+	 * Result of verifying an identifier's SSID.
+	 */
+	public enum SsidStatus {
+		/** SSID conforms to the requirements of the scheme */
+		VALID,
+		/** SSID does not have the syntax required by the scheme */
+		INVALID_SYNTAX,
+		/** SSID is syntactically correct but has an incorrect check character */
+		INVALID_CHECK,
+		/** Scheme is not one for which the SSID can be verified */
+		UNVERIFIED
+	}
+
+	public static final int SCHEME_OTHER = 0;
+	public static final int SCHEME_EIDR = 1;
+	public static final int SCHEME_EIDR_S = 2;
+	public static final int SCHEME_EIDR_X = 3;
+	public static final int SCHEME_EIDR_URN = 4;
+
+	private static final String[] EIDR_SCHEMES = { null, "eidr", "eidr-s", "eidr-x", "eidr-urn" };
+	private static final String EIDR_URN_PREFIX = "urn:eidr:10.5240:";
+	private static final String ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+	private CharSequence id = null;
+	private int length;
+	private int typeStart;
+	private int schemeStart;
+	private int ssidStart;
+	private int scheme;
+	private boolean conforms = false;
+
+	/**
+	 * Parse an identifier. Any previously parsed identifier is discarded.
+	 * 
+	 * @param id
+	 * @return <tt>true</tt> if the identifier conforms to the
+	 *         <tt>md:&lt;type&gt;:&lt;scheme&gt;:&lt;SSID&gt;</tt> syntax
+	 */
+	public boolean parse(CharSequence id) {
+		this.id = id;
+		conforms = false;
+		scheme = SCHEME_OTHER;
+		if (id == null) {
+			return false;
+		}
+		length = id.length();
+		int field = 0;
+		int fieldStart = 0;
+		for (int i = 0; i < length; i++) {
+			char c = id.charAt(i);
+			if (isWhitespace(c)) {
+				return false;
+			}
+			if ((c == ':') && (field < 3)) {
+				if (i == fieldStart) {
+					// empty field
+					return false;
+				}
+				field++;
+				fieldStart = i + 1;
+				switch (field) {
+				case 1:
+					typeStart = fieldStart;
+					break;
+				case 2:
+					schemeStart = fieldStart;
+					break;
+				case 3:
+					ssidStart = fieldStart;
+					break;
+				}
+			}
+		}
+		if ((field < 3) || (ssidStart >= length)) {
+			return false;
+		}
+		for (int i = 1; i < EIDR_SCHEMES.length; i++) {
+			if (fieldEquals(schemeStart, ssidStart - 1, EIDR_SCHEMES[i])) {
+				scheme = i;
+				break;
+			}
+		}
+		conforms = true;
+		return true;
+	}
+
+	/**
+	 * @return <tt>true</tt> if the most recently parsed identifier conforms to
+	 *         the <tt>md:&lt;type&gt;:&lt;scheme&gt;:&lt;SSID&gt;</tt> syntax
+	 */
+	public boolean conforms() {
+		return conforms;
+	}
+
+	/**
+	 * @return one of the <tt>SCHEME_xxx</tt> values
+	 */
+	public int getSchemeType() {
+		return scheme;
+	}
+
+	/**
+	 * @param type
+	 * @return <tt>true</tt> if the identifier's <i>type</i> field matches the
+	 *         specified value
+	 */
+	public boolean typeEquals(String type) {
+		return conforms && fieldEquals(typeStart, schemeStart - 1, type);
+	}
+
+	/**
+	 * @param prefix
+	 * @return <tt>true</tt> if the identifier's <i>scheme</i> field starts with
+	 *         the specified value
+	 */
+	public boolean schemeStartsWith(String prefix) {
+		int schemeEnd = ssidStart - 1;
+		return conforms && (schemeEnd - schemeStart >= prefix.length())
+				&& fieldEquals(schemeStart, schemeStart + prefix.length(), prefix);
+	}
+
+	public String getNid() {
+		return conforms ? id.subSequence(0, typeStart - 1).toString() : null;
+	}
+
+	public String getType() {
+		return conforms ? id.subSequence(typeStart, schemeStart - 1).toString() : null;
+	}
+
+	public String getScheme() {
+		return conforms ? id.subSequence(schemeStart, ssidStart - 1).toString() : null;
+	}
+
+	public String getSsid() {
+		return conforms ? id.subSequence(ssidStart, length).toString() : null;
+	}
+
+	/**
+	 * Verify the SSID of the most recently parsed identifier conforms to the
+	 * requirements of an EIDR-based scheme. The supported schemes are:
+	 * <ul>
+	 * <li><tt>eidr</tt>: a DOI (e.g., <tt>10.5240/XXXX-XXXX-XXXX-XXXX-XXXX-C</tt>)</li>
+	 * <li><tt>eidr-s</tt>: the DOI's suffix (e.g.,
+	 * <tt>XXXX-XXXX-XXXX-XXXX-XXXX-C</tt>)</li>
+	 * <li><tt>eidr-x</tt>: the DOI's suffix followed by ':' and an extension</li>
+	 * <li><tt>eidr-urn</tt>: a URN (e.g.,
+	 * <tt>urn:eidr:10.5240:XXXX-XXXX-XXXX-XXXX-XXXX-C</tt>)</li>
+	 * </ul>
+	 * 
+	 * @return
+	 */
+	public SsidStatus checkSsid() {
+		if (!conforms) {
+			return SsidStatus.INVALID_SYNTAX;
+		}
+		int pos = ssidStart;
+		switch (scheme) {
+		case SCHEME_EIDR:
+			if (!fieldEquals(pos, pos + 3, "10.") || !isDigits(pos + 3, 4) || (charAt(pos + 7) != '/')) {
+				return SsidStatus.INVALID_SYNTAX;
+			}
+			return checkEidrSuffix(pos + 8, true);
+		case SCHEME_EIDR_S:
+			return checkEidrSuffix(pos, true);
+		case SCHEME_EIDR_X:
+			SsidStatus status = checkEidrSuffix(pos, false);
+			int extStart = pos + 26;
+			if ((status != SsidStatus.INVALID_SYNTAX)
+					&& ((charAt(extStart) != ':') || (extStart + 1 >= length))) {
+				return SsidStatus.INVALID_SYNTAX;
+			}
+			return status;
+		case SCHEME_EIDR_URN:
+			int prefixEnd = pos + EIDR_URN_PREFIX.length();
+			if ((prefixEnd > length) || !fieldEquals(pos, prefixEnd, EIDR_URN_PREFIX)) {
+				return SsidStatus.INVALID_SYNTAX;
+			}
+			return checkEidrSuffix(prefixEnd, true);
+		default:
+			return SsidStatus.UNVERIFIED;
+		}
+	}
+
+	/**
+	 * Check for an EIDR DOI suffix (i.e. five groups of four upper-case
+	 * hexadecimal digits followed by the check character) starting at
+	 * <tt>start</tt>.
+	 * 
+	 * @param start
+	 * @param atEnd
+	 *            if <tt>true</tt> the suffix must end the identifier
+	 * @return
+	 */
+	private SsidStatus checkEidrSuffix(int start, boolean atEnd) {
+		int end = start + 26;
+		if ((end > length) || (atEnd && (end != length))) {
+			return SsidStatus.INVALID_SYNTAX;
+		}
+		int p = 36;
+		for (int group = 0; group < 5; group++) {
+			int groupStart = start + (group * 5);
+			for (int i = groupStart; i < groupStart + 4; i++) {
+				int value = hexValue(id.charAt(i));
+				if (value < 0) {
+					return SsidStatus.INVALID_SYNTAX;
+				}
+				p = mod37_36Step(p, value);
+			}
+			if (id.charAt(groupStart + 4) != '-') {
+				return SsidStatus.INVALID_SYNTAX;
+			}
+		}
+		int checkValue = ALPHABET.indexOf(id.charAt(end - 1));
+		if (checkValue < 0) {
+			return SsidStatus.INVALID_SYNTAX;
+		}
+		if (checkValue != ((37 - p) % 36)) {
+			return SsidStatus.INVALID_CHECK;
+		}
+		return SsidStatus.VALID;
+	}
+
+	/**
+	 * Compute the check character for an EIDR DOI suffix using the ISO 7064 Mod
+	 * 37,36 algorithm. Any '-' characters are ignored.
+	 * 
+	 * @param suffix
+	 *            e.g. <tt>E6CA-AB58-E298-7BA0-E574</tt>
+	 * @return the check character or <tt>0</tt> if the <tt>suffix</tt>
+	 *         contains an invalid character
+	 */
+	public static char computeEidrCheck(CharSequence suffix) {
+		int p = 36;
+		for (int i = 0; i < suffix.length(); i++) {
+			char c = suffix.charAt(i);
+			if (c == '-') {
+				continue;
+			}
+			int value = ALPHABET.indexOf(c);
+			if (value < 0) {
+				return 0;
+			}
+			p = mod37_36Step(p, value);
+		}
+		return ALPHABET.charAt((37 - p) % 36);
+	}
+
+	private static int mod37_36Step(int p, int value) {
+		int s = (p + value) % 36;
+		if (s == 0) {
+			s = 36;
+		}
+		return (s * 2) % 37;
+	}
+
+	private static int hexValue(char c) {
+		if (c >= '0' && c <= '9') {
+			return c - '0';
+		} else if (c >= 'A' && c <= 'F') {
+			return c - 'A' + 10;
+		}
+		return -1;
+	}
+
+	/**
+	 * Matches the characters in the regular expression class <tt>\s</tt>.
+	 * 
+	 * @param c
+	 * @return
+	 */
+	private static boolean isWhitespace(char c) {
+		return (c == ' ') || (c == '\t') || (c == '\n') || (c == '\u000B') || (c == '\f') || (c == '\r');
+	}
+
+	private boolean isDigits(int start, int count) {
+		if (start + count > length) {
+			return false;
+		}
+		for (int i = start; i < start + count; i++) {
+			char c = id.charAt(i);
+			if (c < '0' || c > '9') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private char charAt(int pos) {
+		return (pos < length) ? id.charAt(pos) : 0;
+	}
+
+	/**
+	 * @param start
+	 * @param end
+	 *            (exclusive)
+	 * @param value
+	 * @return <tt>true</tt> if the characters from <tt>start</tt> to
+	 *         <tt>end</tt> are the same as the <tt>value</tt>
+	 */
+	private boolean fieldEquals(int start, int end, String value) {
+		if ((end - start) != value.length() || (end > length)) {
+			return false;
+		}
+		for (int i = 0; i < value.length(); i++) {
+			if (id.charAt(start + i) != value.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
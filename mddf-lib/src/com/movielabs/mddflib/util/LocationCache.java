@@ -0,0 +1,232 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch verification that local files referenced by an MDDF file (e.g., a
+ * Manifest's <tt>ContainerLocation</tt>) actually exist. Rather than checking
+ * each reference individually, the referenced paths are de-duplicated and the
+ * directories containing them are listed once. Directory listings are cached
+ * so that a run validating many files that reference the same folders will
+ * only access each folder once. This is significant when the files reside on
+ * a network mount.
+ * <p>
+ * The cache is not automatically invalidated. Callers processing a new set of
+ * files (i.e., a new <i>run</i>) should invoke <tt>clear()</tt> beforehand.
+ * </p>
+ * <p>
+ * <b>NOTE</b>: paths are resolved lexically (i.e., '..' is removed without
+ * first resolving symbolic links) and compared to the names in the directory
+ * listing. If a name is not found in the listing (e.g., because the file
+ * system is case-insensitive) the result is confirmed with an explicit check
+ * of the individual path so that results are consistent with
+ * <tt>File.exists()</tt>.
+ * </p>
+ */
+public class LocationCache {
+
+	private static final int MAX_THREADS = 8;
+	private static final Set<String> NO_LISTING = Collections.emptySet();
+
+	private static Map<Path, Set<String>> dirListings = new ConcurrentHashMap<Path, Set<String>>();
+	private static Map<Path, Boolean> pathCache = new ConcurrentHashMap<Path, Boolean>();
+	private static ThreadLocal<Map<Path, Boolean>> recording = new ThreadLocal<Map<Path, Boolean>>();
+
+	/**
+	 * Discard all cached directory listings.
+	 */
+	public static void clear() {
+		dirListings.clear();
+		pathCache.clear();
+	}
+
+	/**
+	 * Start recording the results of all checks made by the current thread.
+	 * This allows a caller to determine which parts of the file system a
+	 * validation depended on.
+	 */
+	public static void startRecording() {
+		recording.set(new LinkedHashMap<Path, Boolean>());
+	}
+
+	/**
+	 * Stop recording and return the results of all checks made by the current
+	 * thread since <tt>startRecording()</tt> was invoked.
+	 * 
+	 * @return a <tt>Map</tt> with an entry for each (absolute) path that was
+	 *         checked indicating if it exists
+	 */
+	public static Map<Path, Boolean> stopRecording() {
+		Map<Path, Boolean> checked = recording.get();
+		recording.remove();
+		if (checked == null) {
+			return Collections.emptyMap();
+		}
+		return checked;
+	}
+
+	/**
+	 * Determine which of the <tt>relPaths</tt> identify an existing file or
+	 * directory. Each path is resolved relative to the <tt>base</tt>. If the
+	 * <tt>base</tt> is a file, its parent directory is used. Any directories
+	 * not already in the cache are listed in parallel.
+	 *
+	 * @param base
+	 * @param relPaths
+	 * @return a <tt>Map</tt> with an entry for each of the <tt>relPaths</tt>
+	 *         indicating if it exists
+	 */
+	public static Map<String, Boolean> checkExistence(File base, Collection<String> relPaths) {
+		File baseDir = base.getAbsoluteFile();
+		if (!baseDir.isDirectory()) {
+			baseDir = baseDir.getParentFile();
+		}
+		Path basePath = baseDir.toPath();
+		/* De-duplicate and resolve... */
+		Map<String, Path> resolved = new HashMap<String, Path>();
+		Set<Path> unlisted = new HashSet<Path>();
+		for (String relPath : relPaths) {
+			if (resolved.containsKey(relPath)) {
+				continue;
+			}
+			Path target = null;
+			try {
+				target = basePath.resolve(relPath).normalize();
+			} catch (InvalidPathException e) {
+				// can't possibly exist
+			}
+			resolved.put(relPath, target);
+			if ((target != null) && (target.getParent() != null) && !dirListings.containsKey(target.getParent())) {
+				unlisted.add(target.getParent());
+			}
+		}
+		listDirectories(unlisted);
+		Map<String, Boolean> results = new HashMap<String, Boolean>();
+		Map<Path, Boolean> checked = recording.get();
+		for (Map.Entry<String, Path> entry : resolved.entrySet()) {
+			boolean found = exists(entry.getValue());
+			results.put(entry.getKey(), found);
+			if ((checked != null) && (entry.getValue() != null)) {
+				checked.put(entry.getValue(), found);
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * @param dirSet
+	 */
+	private static void listDirectories(Set<Path> dirSet) {
+		if (dirSet.isEmpty()) {
+			return;
+		} else if (dirSet.size() == 1) {
+			Path dir = dirSet.iterator().next();
+			dirListings.put(dir, list(dir));
+			return;
+		}
+		ExecutorService pool = Executors.newFixedThreadPool(Math.min(dirSet.size(), MAX_THREADS));
+		for (final Path dir : dirSet) {
+			pool.execute(new Runnable() {
+				public void run() {
+					dirListings.put(dir, list(dir));
+				}
+			});
+		}
+		pool.shutdown();
+		try {
+			pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Return the names of all entries in a directory. An empty set is returned
+	 * if the directory does not exist or can not be read.
+	 *
+	 * @param dir
+	 * @return
+	 */
+	private static Set<String> list(Path dir) {
+		try {
+			BasicFileAttributes attrs = Files.readAttributes(dir, BasicFileAttributes.class);
+			if (!attrs.isDirectory()) {
+				return NO_LISTING;
+			}
+		} catch (IOException e) {
+			return NO_LISTING;
+		}
+		Set<String> names = new HashSet<String>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+			for (Path entry : stream) {
+				names.add(entry.getFileName().toString());
+			}
+		} catch (IOException e) {
+			return NO_LISTING;
+		}
+		return names;
+	}
+
+	/**
+	 * @param target
+	 * @return
+	 */
+	private static boolean exists(Path target) {
+		if (target == null) {
+			return false;
+		}
+		Path parent = target.getParent();
+		if (parent != null) {
+			Set<String> listing = dirListings.get(parent);
+			if ((listing != null) && listing.contains(target.getFileName().toString())) {
+				return true;
+			}
+		}
+		/* Not in the listing so confirm with an explicit check. */
+		Boolean found = pathCache.get(target);
+		if (found == null) {
+			found = Files.exists(target);
+			pathCache.put(target, found);
+		}
+		return found;
+	}
+}
@@ -49,6 +49,8 @@ import com.movielabs.mddf.MddfContext.FILE_FMT;
 import com.movielabs.mddflib.avails.xlsx.XlsxBuilder;
 import com.movielabs.mddflib.avails.xml.AvailsSheet.Version;
 import com.movielabs.mddflib.logging.LogMgmt;
+import com.movielabs.mddflib.metrics.Metrics;
+import com.movielabs.mddflib.metrics.PhaseTimer;
 import com.movielabs.mddflib.util.xml.XmlIngester;
 
 /**
@@ -154,6 +156,7 @@ public class Translator {
 	 */
 	public static int translateAvails(Document xmlDoc, EnumSet<FILE_FMT> selections, String dirPath, String outFileName,
 			boolean appendVersion, LogMgmt logMgr) throws UnsupportedOperationException {
+		PhaseTimer timer = Metrics.start(Metrics.PHASE_TRANSLATE);
 		Iterator<FILE_FMT> selIt = selections.iterator();
 		int outputCnt = 0;
 		while (selIt.hasNext()) {
@@ -185,6 +188,7 @@ public class Translator {
 				}
 			}
 		}
+		timer.stopAndCount(xmlDoc.getRootElement());
 		return outputCnt;
 	}
 
@@ -0,0 +1,243 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.util.xml;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+import org.jdom2.Document;
+
+/**
+ * A lightweight reference to the XML <tt>Document</tt> obtained from a source
+ * file. Rather than retaining the <tt>Document</tt> (which, with location
+ * information, may be many times larger than the file) only the file's path,
+ * modification time, size, and a digest of its content are kept. The
+ * <tt>Document</tt> itself is held via a <tt>SoftReference</tt> (or,
+ * optionally, a <tt>WeakReference</tt>) so that it may be reclaimed by the
+ * garbage collector when memory is needed. If it has been reclaimed, the
+ * <tt>Document</tt> is re-created on demand using a <tt>Loader</tt>.
+ * <p>
+ * A <tt>Document</tt> is only re-created if the source file is unchanged.
+ * When the modification time or size differ from those recorded when the
+ * handle was created, the content digest is used to determine if the file was
+ * actually modified.
+ * </p>
+ */
+public class DocumentHandle {
+
+	/**
+	 * Re-creates the <tt>Document</tt> for a source file.
+	 */
+	public static interface Loader {
+		/**
+		 * @param srcFile
+		 * @return the <tt>Document</tt> or <tt>null</tt> if it could not be
+		 *         created
+		 * @throws Exception
+		 */
+		public Document load(File srcFile) throws Exception;
+	}
+
+	/**
+	 * Loader for files that are XML.
+	 */
+	public static final Loader XML_LOADER = new Loader() {
+		public Document load(File srcFile) throws Exception {
+			return XmlIngester.getAsXml(srcFile);
+		}
+	};
+
+	private static final String DIGEST_ALG = "SHA-256";
+
+	private File srcFile;
+	private Loader loader;
+	private boolean weak;
+	private long lastModified;
+	private long length;
+	private byte[] digest;
+	private Reference<Document> cache;
+
+	/**
+	 * Create a handle for a <tt>Document</tt> that was obtained from an XML
+	 * file. The <tt>Document</tt> is softly referenced.
+	 * 
+	 * @param srcFile
+	 * @param doc
+	 * @throws IOException
+	 *             if the source file can not be read
+	 */
+	public DocumentHandle(File srcFile, Document doc) throws IOException {
+		this(srcFile, doc, XML_LOADER, false);
+	}
+
+	/**
+	 * @param srcFile
+	 *            the file from which the <tt>doc</tt> was obtained
+	 * @param doc
+	 * @param loader
+	 *            used to re-create the <tt>doc</tt> from the <tt>srcFile</tt>
+	 * @param weak
+	 *            if <tt>true</tt> the <tt>doc</tt> is weakly referenced and
+	 *            will be reclaimed as soon as it is no longer in use elsewhere.
+	 * @throws IOException
+	 *             if the source file can not be read
+	 */
+	public DocumentHandle(File srcFile, Document doc, Loader loader, boolean weak) throws IOException {
+		this.srcFile = srcFile.getAbsoluteFile();
+		this.loader = loader;
+		this.weak = weak;
+		lastModified = this.srcFile.lastModified();
+		length = this.srcFile.length();
+		digest = computeDigest(this.srcFile);
+		setCache(doc);
+	}
+
+	public File getFile() {
+		return srcFile;
+	}
+
+	public long getLastModified() {
+		return lastModified;
+	}
+
+	/**
+	 * @return the digest of the source file's content as a hex string
+	 */
+	public String getContentHash() {
+		StringBuilder hash = new StringBuilder();
+		for (byte b : digest) {
+			hash.append(String.format("%02x", b));
+		}
+		return hash.toString();
+	}
+
+	/**
+	 * @return <tt>true</tt> if the <tt>Document</tt> is available without
+	 *         having to re-load it.
+	 */
+	public boolean isCached() {
+		return (cache != null) && (cache.get() != null);
+	}
+
+	/**
+	 * Discard the cached <tt>Document</tt>.
+	 */
+	public void release() {
+		cache = null;
+	}
+
+	/**
+	 * Determine if the source file has been modified since the handle was
+	 * created. The content is only examined if the file's modification time or
+	 * size have changed.
+	 * 
+	 * @return
+	 * @throws IOException
+	 *             if the source file can not be read
+	 */
+	public synchronized boolean isModified() throws IOException {
+		if (!srcFile.isFile()) {
+			return true;
+		}
+		if ((srcFile.lastModified() == lastModified) && (srcFile.length() == length)) {
+			return false;
+		}
+		if (!Arrays.equals(digest, computeDigest(srcFile))) {
+			return true;
+		}
+		/* only the time-stamp changed */
+		lastModified = srcFile.lastModified();
+		length = srcFile.length();
+		return false;
+	}
+
+	/**
+	 * Return the <tt>Document</tt>, re-loading it from the source file if the
+	 * cached instance has been reclaimed.
+	 * 
+	 * @return
+	 * @throws IOException
+	 *             if the source file was modified, can not be read, or the
+	 *             <tt>Document</tt> could not be re-created from it.
+	 */
+	public synchronized Document getDocument() throws IOException {
+		Document doc = (cache == null) ? null : cache.get();
+		if (doc != null) {
+			return doc;
+		}
+		if (isModified()) {
+			throw new IOException("File " + srcFile.getName() + " has been modified or removed since it was validated");
+		}
+		try {
+			doc = loader.load(srcFile);
+		} catch (IOException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new IOException("Unable to reload " + srcFile.getName() + ": " + e.getMessage(), e);
+		}
+		if (doc == null) {
+			throw new IOException("Unable to reload " + srcFile.getName());
+		}
+		setCache(doc);
+		return doc;
+	}
+
+	private void setCache(Document doc) {
+		if (doc == null) {
+			cache = null;
+		} else if (weak) {
+			cache = new WeakReference<Document>(doc);
+		} else {
+			cache = new SoftReference<Document>(doc);
+		}
+	}
+
+	private static byte[] computeDigest(File file) throws IOException {
+		MessageDigest md;
+		try {
+			md = MessageDigest.getInstance(DIGEST_ALG);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+		InputStream in = new BufferedInputStream(Files.newInputStream(file.toPath()));
+		try {
+			byte[] chunk = new byte[64 * 1024];
+			int cnt;
+			while ((cnt = in.read(chunk)) > 0) {
+				md.update(chunk, 0, cnt);
+			}
+		} finally {
+			in.close();
+		}
+		return md.digest();
+	}
+}
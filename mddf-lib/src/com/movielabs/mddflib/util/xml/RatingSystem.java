@@ -62,21 +62,33 @@ public class RatingSystem {
 	private Element ratingSystemEl;
 	private String ratingSysId;
 
-	static {
-		String xmlRsrc = "CMR_Ratings_" + MddfContext.CUR_RATINGS_VER + ".xml";
-		String rsrcPath = MddfContext.RSRC_PATH + xmlRsrc;
-		SAXBuilder builder = new SAXBuilder();
-		builder.setJDOMFactory(new LocatedJDOMFactory());
-		InputStream inp = RatingSystem.class.getResourceAsStream(rsrcPath);
-		if (inp != null) {
-			try {
-				InputStreamReader isr = new InputStreamReader(inp, "UTF-8");
-				Document cmrDoc = builder.build(isr);
-				cmrRootEl = cmrDoc.getRootElement();
-			} catch (Exception e) {
-				e.printStackTrace();
+	/**
+	 * Parse the CMR Ratings resource. This is deferred until a
+	 * <tt>RatingSystem</tt> is first requested as the file is large and is not
+	 * needed unless the MDDF file being processed contains ratings. Caller
+	 * must hold the lock on the <tt>cache</tt>.
+	 * 
+	 * @return the root element of the CMR Ratings resource (may be
+	 *         <tt>null</tt> if the resource could not be loaded)
+	 */
+	private static Element getCmrRootEl() {
+		if (cmrRootEl == null) {
+			String xmlRsrc = "CMR_Ratings_" + MddfContext.CUR_RATINGS_VER + ".xml";
+			String rsrcPath = MddfContext.RSRC_PATH + xmlRsrc;
+			SAXBuilder builder = new SAXBuilder();
+			builder.setJDOMFactory(new LocatedJDOMFactory());
+			InputStream inp = RatingSystem.class.getResourceAsStream(rsrcPath);
+			if (inp != null) {
+				try {
+					InputStreamReader isr = new InputStreamReader(inp, "UTF-8");
+					Document cmrDoc = builder.build(isr);
+					cmrRootEl = cmrDoc.getRootElement();
+				} catch (Exception e) {
+					e.printStackTrace();
+				}
 			}
 		}
+		return cmrRootEl;
 	}
 
 	public static RatingSystem factory(String ratingSysId) {
@@ -100,7 +112,7 @@ public class RatingSystem {
 		String queryPath = idXPath + "[text()='" + ratingSysId + "']";
 		XPathExpression<Element> xpExpression = xpfac.compile(queryPath, Filters.element(), null, mdcrNSpace);
 
-		Element systemEl = xpExpression.evaluateFirst(cmrRootEl);
+		Element systemEl = xpExpression.evaluateFirst(getCmrRootEl());
 		if (systemEl == null) {
 			throw new IllegalArgumentException("Unrecognized RatingSystem '" + ratingSysId + "'");
 		}
@@ -0,0 +1,173 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.util.xml;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+
+import org.jdom2.Element;
+
+/**
+ * An immutable look-up structure identifying the Elements and attributes that
+ * a schema REQUIRES to provide a value. It is the QName-keyed equivalent of the
+ * XPaths returned by <tt>SchemaWrapper.getReqElList()</tt> and allows a single
+ * pass over a document to determine, for each Element encountered, whether it
+ * (or any of its attributes) must be checked.
+ * <p>
+ * Two types of rule are supported:
+ * <ul>
+ * <li>a required Element, optionally restricted to a specific parent Element
+ * (i.e., <tt>.//md:Parent/md:Child</tt> vs <tt>.//md:Child</tt>)</li>
+ * <li>a required attribute of a specific Element (i.e.,
+ * <tt>.//md:Owner/@attribute</tt>)</li>
+ * </ul>
+ * If the schema defines the same rule more than once (e.g., an Element that is
+ * declared in several types) it is retained once for each definition so that
+ * results are consistent with evaluating each of the XPaths.
+ * </p>
+ * <p>
+ * Instances should be obtained via
+ * <tt>SchemaWrapper.getRequiredValueIndex()</tt>.
+ * </p>
+ */
+public class RequiredValueIndex {
+
+	/**
+	 * Place-holder used when a required Element may have any parent.
+	 */
+	private static final QName ANY_PARENT = new QName("*");
+
+	private final String nsUri;
+	private final Map<QName, List<QName>> reqElements = new HashMap<QName, List<QName>>();
+	private final Map<QName, List<String>> reqAttributes = new HashMap<QName, List<String>>();
+
+	/**
+	 * @param nsUri
+	 *            the target namespace of the schema
+	 */
+	RequiredValueIndex(String nsUri) {
+		this.nsUri = nsUri;
+	}
+
+	/**
+	 * @param elName
+	 * @param parentName
+	 *            may be <tt>null</tt> if the Element can have any parent
+	 */
+	void addElement(String elName, String parentName) {
+		QName key = new QName(nsUri, elName);
+		List<QName> parents = reqElements.get(key);
+		if (parents == null) {
+			parents = new ArrayList<QName>(1);
+			reqElements.put(key, parents);
+		}
+		parents.add((parentName == null) ? ANY_PARENT : new QName(nsUri, parentName));
+	}
+
+	/**
+	 * @param ownerName
+	 * @param attName
+	 */
+	void addAttribute(String ownerName, String attName) {
+		QName key = new QName(nsUri, ownerName);
+		List<String> attList = reqAttributes.get(key);
+		if (attList == null) {
+			attList = new ArrayList<String>(1);
+			reqAttributes.put(key, attList);
+		}
+		attList.add(attName);
+	}
+
+	/**
+	 * @return the namespace URI shared by all indexed Elements
+	 */
+	public String getNamespaceURI() {
+		return nsUri;
+	}
+
+	/**
+	 * Return the number of rules that require the <tt>targetEl</tt> to have a
+	 * value. The <tt>contextEl</tt> is the Element a corresponding XPath would
+	 * be evaluated against (typically the document root). It is used to
+	 * replicate the semantics of <tt>.//</tt> in that neither the
+	 * <tt>targetEl</tt> nor a required parent may be the <tt>contextEl</tt>.
+	 * 
+	 * @param targetEl
+	 * @param contextEl
+	 * @return 0 if the Element is not required to have a value
+	 */
+	public int getElementRuleCount(Element targetEl, Element contextEl) {
+		if (targetEl == contextEl || !nsUri.equals(targetEl.getNamespaceURI())) {
+			return 0;
+		}
+		List<QName> parents = reqElements.get(new QName(nsUri, targetEl.getName()));
+		if (parents == null) {
+			return 0;
+		}
+		Element parentEl = targetEl.getParentElement();
+		QName parentQName = null;
+		if ((parentEl != null) && (parentEl != contextEl)) {
+			parentQName = new QName(parentEl.getNamespaceURI(), parentEl.getName());
+		}
+		int count = 0;
+		for (QName next : parents) {
+			if ((next == ANY_PARENT) || next.equals(parentQName)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Return the names of any attributes of the <tt>targetEl</tt> that are
+	 * required to have a value. As with <tt>getElementRuleCount()</tt>, a name
+	 * may appear more than once if the schema defines the requirement more
+	 * than once.
+	 * 
+	 * @param targetEl
+	 * @param contextEl
+	 * @return an unmodifiable <tt>List</tt> (possibly empty)
+	 */
+	public List<String> getRequiredAttributes(Element targetEl, Element contextEl) {
+		if (targetEl == contextEl || !nsUri.equals(targetEl.getNamespaceURI())) {
+			return Collections.emptyList();
+		}
+		List<String> attList = reqAttributes.get(new QName(nsUri, targetEl.getName()));
+		if (attList == null) {
+			return Collections.emptyList();
+		}
+		return Collections.unmodifiableList(attList);
+	}
+
+	/**
+	 * @return <tt>true</tt> if the schema does not require any values
+	 */
+	public boolean isEmpty() {
+		return reqElements.isEmpty() && reqAttributes.isEmpty();
+	}
+}
@@ -0,0 +1,584 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.util.xml;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.zip.CRC32;
+
+import com.movielabs.mddf.MddfContext;
+
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+/**
+ * Thread-safe registry of the resources (i.e., the JSON and properties files
+ * in <tt>MddfContext.RSRC_PATH</tt>) used to validate MDDF files. Each resource
+ * is read and parsed only once and the result is then shared by all callers.
+ * Controlled vocabularies are additionally compiled into immutable
+ * <tt>VocabSet</tt> instances.
+ * <p>
+ * Resources are normally loaded on demand. Applications that would rather pay
+ * the cost up-front (e.g., an interactive tool that is idle while the user
+ * selects a file) may invoke <tt>warmUp()</tt> or <tt>warmUpAsync()</tt>.
+ * </p>
+ * <p>
+ * Parsing the larger JSON resources is comparatively slow. To reduce start-up
+ * time, a <i>snapshot</i> containing the parsed form of all JSON resources may
+ * be generated (see <tt>main()</tt>). The snapshot is used if either the
+ * system property <tt>mddf.rsrc.snapshot</tt> identifies a snapshot file or a
+ * snapshot has been packaged with the library as the resource
+ * <tt>mddf-rsrc.snapshot</tt>. Each entry in a snapshot includes a checksum of
+ * the resource it was created from. Entries that no longer match the current
+ * version of a resource are ignored and the resource is parsed as usual.
+ * </p>
+ * <p>
+ * <b>NOTE:</b> the objects returned are shared and must be treated as
+ * read-only.
+ * </p>
+ */
+public class ResourceRegistry {
+
+	public static final String SNAPSHOT_PROPERTY = "mddf.rsrc.snapshot";
+	public static final String SNAPSHOT_RSRC = MddfContext.RSRC_PATH + "mddf-rsrc.snapshot";
+	private static final String SNAPSHOT_MAGIC = "MDDF-RSRC-1";
+
+	private static final Map<String, JsonEntry> jsonRegistry = new ConcurrentHashMap<String, JsonEntry>();
+	private static final Map<String, Properties> propRegistry = new ConcurrentHashMap<String, Properties>();
+	private static final Map<JSONArray, VocabSet> vocabRegistry = Collections
+			.synchronizedMap(new IdentityHashMap<JSONArray, VocabSet>());
+	private static final Object loadLock = new Object();
+	private static volatile boolean snapshotChecked = false;
+	private static volatile long loadTime = 0;
+	private static volatile int loadCount = 0;
+	private static volatile String fingerprint = null;
+
+	/**
+	 * A parsed JSON resource along with the checksum of its source.
+	 */
+	private static class JsonEntry {
+		final JSONObject json;
+		final long checksum;
+
+		JsonEntry(JSONObject json, long checksum) {
+			this.json = json;
+			this.checksum = checksum;
+		}
+	}
+
+	/**
+	 * Only the classes used by <tt>json-lib</tt> to represent a parsed resource
+	 * may be instantiated when a snapshot is read. The list is restricted to the
+	 * exact classes written by <tt>saveSnapshot()</tt> so that a modified
+	 * snapshot can not be used to instantiate arbitrary (e.g.,
+	 * <tt>commons-collections</tt> transformer) classes.
+	 */
+	private static class SnapshotInputStream extends ObjectInputStream {
+
+		private static final Set<String> PERMITTED = new HashSet<String>(Arrays.asList("net.sf.json.JSONObject",
+				"net.sf.json.JSONArray", "net.sf.json.JSONNull",
+				"org.apache.commons.collections.map.ListOrderedMap", "java.util.ArrayList", "java.util.HashMap",
+				"java.lang.String", "java.lang.Number", "java.lang.Boolean", "java.lang.Integer", "java.lang.Long",
+				"java.lang.Double", "java.lang.Float", "java.lang.Short", "java.lang.Byte", "java.lang.Character",
+				"java.math.BigInteger", "java.math.BigDecimal"));
+
+		SnapshotInputStream(InputStream in) throws IOException {
+			super(in);
+		}
+
+		@Override
+		protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+			if (!PERMITTED.contains(desc.getName())) {
+				throw new InvalidClassException(desc.getName(), "not permitted in an MDDF resource snapshot");
+			}
+			return super.resolveClass(desc);
+		}
+
+		@Override
+		protected Class<?> resolveProxyClass(String[] interfaces) throws IOException, ClassNotFoundException {
+			throw new InvalidClassException("proxy", "not permitted in an MDDF resource snapshot");
+		}
+	}
+
+	/**
+	 * Generate a snapshot of all JSON resources.
+	 * 
+	 * @param args
+	 *            the path of the snapshot file to create
+	 */
+	public static void main(String[] args) {
+		if (args.length != 1) {
+			System.out.println("Usage: ResourceRegistry <snapshotFile>");
+			return;
+		}
+		int count = warmUp();
+		try {
+			saveSnapshot(new File(args[0]));
+		} catch (IOException e) {
+			e.printStackTrace();
+			return;
+		}
+		System.out.println("Snapshot of " + count + " resources saved to " + args[0]);
+	}
+
+	/**
+	 * Return the parsed form of a JSON resource.
+	 * 
+	 * @param rsrcPath
+	 * @return
+	 * @throws IOException
+	 *             if the resource can not be found or read
+	 * @throws net.sf.json.JSONException
+	 *             if the resource is not valid JSON
+	 */
+	public static JSONObject getJSON(String rsrcPath) throws IOException {
+		checkForSnapshot();
+		JsonEntry entry = jsonRegistry.get(rsrcPath);
+		if (entry == null) {
+			synchronized (loadLock) {
+				entry = jsonRegistry.get(rsrcPath);
+				if (entry == null) {
+					long start = System.nanoTime();
+					byte[] raw = readResource(rsrcPath);
+					entry = new JsonEntry(parseJSON(raw), checksum(raw));
+					jsonRegistry.put(rsrcPath, entry);
+					recordLoad(start);
+				}
+			}
+		}
+		return entry.json;
+	}
+
+	/**
+	 * Return the contents of a properties resource.
+	 * 
+	 * @param rsrcPath
+	 * @return the <tt>Properties</tt> or <tt>null</tt> if the resource can not
+	 *         be found or read
+	 */
+	public static Properties getProperties(String rsrcPath) {
+		Properties props = propRegistry.get(rsrcPath);
+		if (props == null) {
+			synchronized (loadLock) {
+				props = propRegistry.get(rsrcPath);
+				if (props == null) {
+					long start = System.nanoTime();
+					props = new Properties();
+					InputStream inStream = ResourceRegistry.class.getResourceAsStream(rsrcPath);
+					if (inStream == null) {
+						return null;
+					}
+					try {
+						props.load(inStream);
+						inStream.close();
+					} catch (IOException e) {
+						e.printStackTrace();
+						return null;
+					}
+					propRegistry.put(rsrcPath, props);
+					recordLoad(start);
+				}
+			}
+		}
+		return props;
+	}
+
+	/**
+	 * Return the compiled form of a controlled vocabulary. The <tt>vocab</tt>
+	 * should be one of the arrays contained in a resource obtained from the
+	 * registry. Since those resources are only parsed once, each vocabulary is
+	 * only compiled once per schema version. Look-ups are based on the
+	 * identity of the <tt>vocab</tt> so the cost of retrieving a previously
+	 * compiled set does not depend on the number of terms.
+	 * 
+	 * @param vocab
+	 * @return a <tt>VocabSet</tt> or <tt>null</tt> if <tt>vocab</tt> is
+	 *         <tt>null</tt>
+	 */
+	public static VocabSet getVocabSet(JSONArray vocab) {
+		if (vocab == null) {
+			return null;
+		}
+		synchronized (vocabRegistry) {
+			VocabSet vocabSet = vocabRegistry.get(vocab);
+			if (vocabSet == null) {
+				vocabSet = new VocabSet(vocab);
+				vocabRegistry.put(vocab, vocabSet);
+			}
+			return vocabSet;
+		}
+	}
+
+	/**
+	 * Parse a JSON resource without adding it to the registry.
+	 * 
+	 * @param rsrcPath
+	 * @return
+	 * @throws IOException
+	 */
+	public static JSONObject parseJSON(String rsrcPath) throws IOException {
+		return parseJSON(readResource(rsrcPath));
+	}
+
+	/**
+	 * Load all resources and compile all controlled vocabularies. Any resource
+	 * that can not be loaded is skipped.
+	 * 
+	 * @return the number of resources loaded
+	 */
+	public static int warmUp() {
+		int count = 0;
+		for (String rsrcPath : listResources(true)) {
+			if (rsrcPath.endsWith(".properties")) {
+				if (getProperties(rsrcPath) != null) {
+					count++;
+				}
+				continue;
+			}
+			try {
+				JSONObject json = getJSON(rsrcPath);
+				String rsrcName = rsrcPath.substring(rsrcPath.lastIndexOf("/") + 1);
+				if (rsrcName.startsWith("vocab_") || rsrcName.startsWith("rfc5646")) {
+					compileVocabs(json);
+				}
+				count++;
+			} catch (Exception e) {
+				e.printStackTrace();
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Invoke <tt>warmUp()</tt> using a background (i.e. daemon) thread.
+	 * 
+	 * @return the thread performing the warm-up
+	 */
+	public static Thread warmUpAsync() {
+		Thread worker = new Thread(new Runnable() {
+			public void run() {
+				warmUp();
+			}
+		}, "mddf-rsrc-warmup");
+		worker.setDaemon(true);
+		worker.setPriority(Thread.MIN_PRIORITY);
+		worker.start();
+		return worker;
+	}
+
+	/**
+	 * Save the parsed form of all JSON resources currently in the registry.
+	 * Use <tt>warmUp()</tt> beforehand to ensure all resources are included.
+	 * 
+	 * @param snapshotFile
+	 * @throws IOException
+	 */
+	public static void saveSnapshot(File snapshotFile) throws IOException {
+		OutputStream out = new BufferedOutputStream(new FileOutputStream(snapshotFile));
+		ObjectOutputStream objOut = new ObjectOutputStream(out);
+		try {
+			List<Map.Entry<String, JsonEntry>> entries = new ArrayList<Map.Entry<String, JsonEntry>>(
+					jsonRegistry.entrySet());
+			objOut.writeUTF(SNAPSHOT_MAGIC);
+			objOut.writeInt(entries.size());
+			for (Map.Entry<String, JsonEntry> entry : entries) {
+				objOut.writeUTF(entry.getKey());
+				objOut.writeLong(entry.getValue().checksum);
+				objOut.writeObject(entry.getValue().json);
+			}
+		} finally {
+			objOut.close();
+		}
+	}
+
+	/**
+	 * Add the contents of a snapshot to the registry. Entries that do not
+	 * match the current version of the corresponding resource are ignored.
+	 * 
+	 * @param snapshotFile
+	 * @return the number of resources added
+	 * @throws IOException
+	 *             if the file can not be read or is not a valid snapshot
+	 */
+	public static int loadSnapshot(File snapshotFile) throws IOException {
+		return loadSnapshot(new FileInputStream(snapshotFile));
+	}
+
+	private static int loadSnapshot(InputStream in) throws IOException {
+		ObjectInputStream objIn = new SnapshotInputStream(new BufferedInputStream(in));
+		int count = 0;
+		try {
+			if (!SNAPSHOT_MAGIC.equals(objIn.readUTF())) {
+				throw new IOException("Not a valid MDDF resource snapshot");
+			}
+			int size = objIn.readInt();
+			for (int i = 0; i < size; i++) {
+				String rsrcPath = objIn.readUTF();
+				long checksum = objIn.readLong();
+				Object json = objIn.readObject();
+				byte[] raw;
+				try {
+					raw = readResource(rsrcPath);
+				} catch (IOException e) {
+					continue;
+				}
+				if ((json instanceof JSONObject) && (checksum(raw) == checksum)) {
+					synchronized (loadLock) {
+						if (!jsonRegistry.containsKey(rsrcPath)) {
+							jsonRegistry.put(rsrcPath, new JsonEntry((JSONObject) json, checksum));
+							loadCount++;
+							count++;
+						}
+					}
+				}
+			}
+		} catch (ClassNotFoundException e) {
+			throw new IOException("Not a valid MDDF resource snapshot", e);
+		} finally {
+			objIn.close();
+		}
+		return count;
+	}
+
+	/**
+	 * Load a snapshot, if one is available, the first time the registry is
+	 * used.
+	 */
+	private static void checkForSnapshot() {
+		if (snapshotChecked) {
+			return;
+		}
+		synchronized (loadLock) {
+			if (snapshotChecked) {
+				return;
+			}
+			snapshotChecked = true;
+			long start = System.nanoTime();
+			String snapshotPath = System.getProperty(SNAPSHOT_PROPERTY);
+			try {
+				if (snapshotPath != null) {
+					loadSnapshot(new File(snapshotPath));
+				} else {
+					InputStream in = ResourceRegistry.class.getResourceAsStream(SNAPSHOT_RSRC);
+					if (in != null) {
+						loadSnapshot(in);
+					}
+				}
+			} catch (IOException e) {
+				System.err.println("Unable to use MDDF resource snapshot: " + e.getLocalizedMessage());
+			}
+			loadTime += System.nanoTime() - start;
+		}
+	}
+
+	/**
+	 * Discard all registered resources, returning the registry to its initial
+	 * state. Intended for testing only.
+	 */
+	static void reset() {
+		synchronized (loadLock) {
+			jsonRegistry.clear();
+			propRegistry.clear();
+			synchronized (vocabRegistry) {
+				vocabRegistry.clear();
+			}
+			snapshotChecked = false;
+			loadTime = 0;
+			loadCount = 0;
+		}
+	}
+
+	/**
+	 * Caller must hold the <tt>loadLock</tt>.
+	 * 
+	 * @param start
+	 */
+	private static void recordLoad(long start) {
+		loadTime += System.nanoTime() - start;
+		loadCount++;
+	}
+
+	/**
+	 * @return the total time (in nanoseconds) spent loading resources
+	 */
+	public static long getLoadTime() {
+		return loadTime;
+	}
+
+	/**
+	 * @return the number of resources that have been loaded
+	 */
+	public static int getLoadCount() {
+		return loadCount;
+	}
+
+	/**
+	 * Compile every array in a vocabulary resource. Vocabularies are either
+	 * top-level arrays or are grouped within a top-level object.
+	 * 
+	 * @param json
+	 */
+	private static void compileVocabs(JSONObject json) {
+		Iterator<?> keyIt = json.keys();
+		while (keyIt.hasNext()) {
+			Object value = json.get(keyIt.next());
+			if (value instanceof JSONArray) {
+				getVocabSet((JSONArray) value);
+			} else if (value instanceof JSONObject) {
+				compileVocabs((JSONObject) value);
+			}
+		}
+	}
+
+	/**
+	 * Identify all JSON and properties resources in
+	 * <tt>MddfContext.RSRC_PATH</tt>. Resources may be either in a directory or
+	 * in a jar file.
+	 * 
+	 * @return
+	 */
+	static List<String> listResources(boolean registryOnly) {
+		List<String> rsrcList = new ArrayList<String>();
+		URL anchor = ResourceRegistry.class.getResource(MddfContext.RSRC_PATH + "rfc5646.json");
+		if (anchor == null) {
+			return rsrcList;
+		}
+		try {
+			URLConnection conn = anchor.openConnection();
+			if (conn instanceof JarURLConnection) {
+				JarFile jar = ((JarURLConnection) conn).getJarFile();
+				String prefix = MddfContext.RSRC_PATH.substring(1);
+				Enumeration<JarEntry> entries = jar.entries();
+				while (entries.hasMoreElements()) {
+					String name = entries.nextElement().getName();
+					if (name.startsWith(prefix) && name.length() > prefix.length()
+							&& name.indexOf('/', prefix.length()) < 0 && (!registryOnly || isRegistryRsrc(name))) {
+						rsrcList.add("/" + name);
+					}
+				}
+			} else if (anchor.getProtocol().equals("file")) {
+				File[] files = new File(anchor.toURI()).getParentFile().listFiles();
+				if (files != null) {
+					for (File file : files) {
+						if (file.isFile() && (!registryOnly || isRegistryRsrc(file.getName()))) {
+							rsrcList.add(MddfContext.RSRC_PATH + file.getName());
+						}
+					}
+				}
+			}
+		} catch (IOException | URISyntaxException e) {
+			e.printStackTrace();
+		}
+		Collections.sort(rsrcList);
+		return rsrcList;
+	}
+
+	/**
+	 * Return a value identifying the current version of the MDDF resources
+	 * (i.e., schemas, vocabularies, rating systems, etc.). The value is a
+	 * checksum of the name and content of every resource and will therefore
+	 * change if any resource is added, removed, or modified. It is intended
+	 * for use as part of a key when caching the results of processing that
+	 * depends on the resources.
+	 * 
+	 * @return
+	 */
+	public static String getFingerprint() {
+		if (fingerprint == null) {
+			CRC32 crc = new CRC32();
+			for (String rsrcPath : listResources(false)) {
+				crc.update(rsrcPath.getBytes(StandardCharsets.UTF_8));
+				try {
+					crc.update(readResource(rsrcPath));
+				} catch (IOException e) {
+					crc.update(0);
+				}
+			}
+			fingerprint = Long.toHexString(crc.getValue());
+		}
+		return fingerprint;
+	}
+
+	private static boolean isRegistryRsrc(String name) {
+		return name.endsWith(".json") || name.endsWith(".properties");
+	}
+
+	private static byte[] readResource(String rsrcPath) throws IOException {
+		InputStream inp = ResourceRegistry.class.getResourceAsStream(rsrcPath);
+		if (inp == null) {
+			throw new FileNotFoundException("Resource " + rsrcPath + " not found");
+		}
+		try {
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+			byte[] chunk = new byte[16 * 1024];
+			int cnt;
+			while ((cnt = inp.read(chunk)) > 0) {
+				buffer.write(chunk, 0, cnt);
+			}
+			return buffer.toByteArray();
+		} finally {
+			inp.close();
+		}
+	}
+
+	private static JSONObject parseJSON(byte[] raw) {
+		return JSONObject.fromObject(new String(raw, StandardCharsets.UTF_8));
+	}
+
+	private static long checksum(byte[] raw) {
+		CRC32 crc = new CRC32();
+		crc.update(raw, 0, raw.length);
+		return crc.getValue();
+	}
+}
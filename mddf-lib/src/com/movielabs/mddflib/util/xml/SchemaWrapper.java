@@ -81,6 +81,7 @@ public class SchemaWrapper {
 	private XPathFactory xpfac = XPathFactory.instance();
 	private Namespace nSpace;
 	private ArrayList<XPathExpression<?>> reqElXpList;
+	private RequiredValueIndex reqValueIndex;
 	private HashMap<String, SchemaWrapper> otherSchemas = new HashMap<String, SchemaWrapper>();
 	private int anonSeqNum = 0;
 	private String xsdRsrc;
@@ -811,6 +812,7 @@ public class SchemaWrapper {
 
 	private void buildReqElList() {
 		reqElXpList = new ArrayList<XPathExpression<?>>();
+		reqValueIndex = new RequiredValueIndex(nSpace.getURI());
 		XPathExpression<Element> xpExpression = xpfac.compile(".//xs:element", Filters.element(), null, xsNSpace);
 		List<Element> elementList = xpExpression.evaluate(rootEl);
 		for (int i = 0; i < elementList.size(); i++) {
@@ -856,6 +858,7 @@ public class SchemaWrapper {
 				 * complexType
 				 */
 				Element parent = getNamedAncestor(target);
+				String parentName = null;
 				if (parent == null) {
 					targetXPath = ".//" + getPrefix() + ":" + name;
 				} else {
@@ -865,13 +868,14 @@ public class SchemaWrapper {
 					XPathExpression<Element> xpe2 = xpfac.compile(xp, Filters.element(), null, xsNSpace);
 					List<Element> referencingList = xpe2.evaluate(rootEl);
 					for (Element refEl : referencingList) {
-						String parentName = refEl.getAttributeValue("name");
+						parentName = refEl.getAttributeValue("name");
 						targetXPath = ".//" + getPrefix() + ":" + parentName + "/" + getPrefix() + ":" + name;
 					}
 				}
 				if (targetXPath != null) {
 					XPathExpression<Element> targetXpE = xpfac.compile(targetXPath, Filters.element(), null, nSpace);
 					reqElXpList.add(targetXpE);
+					reqValueIndex.addElement(name, parentName);
 				}
 			}
 		}
@@ -880,6 +884,7 @@ public class SchemaWrapper {
 		elementList = xpExpression.evaluate(rootEl);
 		for (int i = 0; i < elementList.size(); i++) {
 			String targetXPath = null;
+			String elName = null;
 			Element target = (Element) elementList.get(i);
 			String attName = target.getAttributeValue("name");
 			/*
@@ -890,7 +895,7 @@ public class SchemaWrapper {
 			 */
 			Element parent = getNamedAncestor(target);
 			if (parent.getName().contains("element")) {
-				String elName = parent.getAttributeValue("name");
+				elName = parent.getAttributeValue("name");
 				targetXPath = ".//" + getPrefix() + ":" + elName + "/@" + attName;
 			} else {
 				// dealing with a complex-type so its more indirect
@@ -900,13 +905,14 @@ public class SchemaWrapper {
 				List<Element> innerList = xpExpression.evaluate(rootEl);
 				for (int j = 0; j < innerList.size(); j++) {
 					Element ownerEl = (Element) innerList.get(j);
-					String elName = ownerEl.getAttributeValue("name");
+					elName = ownerEl.getAttributeValue("name");
 					targetXPath = ".//" + getPrefix() + ":" + elName + "/@" + attName;
 				}
 			}
 			if (targetXPath != null) {
 				XPathExpression<Attribute> targetXpE = xpfac.compile(targetXPath, Filters.attribute(), null, nSpace);
 				reqElXpList.add(targetXpE);
+				reqValueIndex.addAttribute(elName, attName);
 			}
 		}
 	}
@@ -935,6 +941,17 @@ public class SchemaWrapper {
 		return reqElXpList;
 	}
 
+	/**
+	 * Return the Elements and attributes that are required to have a value in
+	 * a form suitable for use with a single pass over a document. The index is
+	 * equivalent to the XPaths returned by <tt>getReqElList()</tt>.
+	 * 
+	 * @return the required value index
+	 */
+	public RequiredValueIndex getRequiredValueIndex() {
+		return reqValueIndex;
+	}
+
 	/**
 	 * @return the targetNamespace
 	 */
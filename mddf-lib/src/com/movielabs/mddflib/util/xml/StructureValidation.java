@@ -36,6 +36,8 @@ import org.jdom2.xpath.XPathFactory;
 import com.movielabs.mddflib.logging.IssueLogger;
 import com.movielabs.mddflib.logging.LogMgmt;
 import com.movielabs.mddflib.logging.LogReference;
+import com.movielabs.mddflib.metrics.Metrics;
+import com.movielabs.mddflib.metrics.PhaseTimer;
 
 import net.sf.json.JSONArray;
 import net.sf.json.JSONObject;
@@ -169,6 +171,7 @@ public class StructureValidation {
 	}
 
 	public boolean validateDocStructure(Element rootEl, JSONObject rqmt) {
+		PhaseTimer timer = Metrics.start(Metrics.PHASE_STRUCTURE);
 		String rootPath = rqmt.getString("targetPath");
 		XPathExpression<?> xpExp = resolveXPath(rootPath);
 		List<Element> targetElList = (List<Element>) xpExp.evaluate(rootEl);
@@ -180,6 +183,7 @@ public class StructureValidation {
 				isOk = validateConstraint(nextTargetEl, constraint) && isOk;
 			}
 		}
+		timer.stop(targetElList.size());
 		return isOk;
 	}
 
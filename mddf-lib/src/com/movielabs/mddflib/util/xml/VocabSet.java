@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.util.xml;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import net.sf.json.JSONArray;
+
+/**
+ * An immutable, pre-compiled form of a controlled vocabulary (i.e., one of the
+ * <tt>JSONArray</tt> entries in a <tt>vocab_*_v*.json</tt> resource). Terms
+ * are held in two hash sets: one containing the terms exactly as specified
+ * and one containing their lower-case form. Checking a value is therefore a
+ * single hash look-up regardless of the size of the vocabulary.
+ * <p>
+ * Instances should be obtained via <tt>XmlIngester.getVocabSet()</tt> so that
+ * each vocabulary is compiled only once per schema version.
+ * </p>
+ */
+public class VocabSet {
+
+	private final Set<String> exactTerms;
+	private final Set<String> foldedTerms;
+
+	/**
+	 * @param vocab
+	 */
+	VocabSet(JSONArray vocab) {
+		Set<String> exact = new HashSet<String>(vocab.size() * 2);
+		Set<String> folded = new HashSet<String>(vocab.size() * 2);
+		for (int i = 0; i < vocab.size(); i++) {
+			String term = vocab.getString(i);
+			exact.add(term);
+			folded.add(term.toLowerCase());
+		}
+		exactTerms = Collections.unmodifiableSet(exact);
+		foldedTerms = Collections.unmodifiableSet(folded);
+	}
+
+	/**
+	 * Determine if the <tt>value</tt> is one of the terms in the vocabulary.
+	 * 
+	 * @param value
+	 * @param caseSensitive
+	 * @return
+	 */
+	public boolean contains(String value, boolean caseSensitive) {
+		if (caseSensitive) {
+			return exactTerms.contains(value);
+		} else {
+			return foldedTerms.contains(value.toLowerCase());
+		}
+	}
+
+	public boolean isEmpty() {
+		return exactTerms.isEmpty();
+	}
+
+	public int size() {
+		return exactTerms.size();
+	}
+}
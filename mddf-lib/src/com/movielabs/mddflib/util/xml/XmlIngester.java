@@ -27,11 +27,9 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.nio.file.Path;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
 import org.jdom2.Document;
@@ -50,7 +48,10 @@ import com.movielabs.mddf.MddfContext.FILE_FMT;
 import com.movielabs.mddflib.logging.IssueLogger;
 import com.movielabs.mddflib.logging.LogMgmt;
 import com.movielabs.mddflib.logging.LogReference;
+import com.movielabs.mddflib.metrics.Metrics;
+import com.movielabs.mddflib.metrics.PhaseTimer;
 import net.sf.json.JSON;
+import net.sf.json.JSONArray;
 import net.sf.json.JSONObject;
 import net.sf.json.JSONSerializer;
 
@@ -78,8 +79,6 @@ public abstract class XmlIngester implements IssueLogger {
 
 	protected static XPathFactory xpfac = XPathFactory.instance();
 
-	private static Map<String, JSONObject> rsrcCache = new HashMap<String, JSONObject>();
-
 	protected static File srcFile;
 	protected static File sourceFolder;
 
@@ -105,18 +104,12 @@ public abstract class XmlIngester implements IssueLogger {
 
 	public static JSONObject getMddfResource(String rsrcId) {
 		String rsrcPath = MddfContext.RSRC_PATH + rsrcId + ".json";
-		JSONObject rsrc = rsrcCache.get(rsrcPath);
-		if (rsrc == null) {
-			try {
-				rsrc = loadJSON(rsrcPath);
-			} catch (Exception e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
-				return null;
-			}
-			rsrcCache.put(rsrcPath, rsrc);
+		try {
+			return ResourceRegistry.getJSON(rsrcPath);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return null;
 		}
-		return rsrc;
 	}
 
 	/**
@@ -141,44 +134,44 @@ public abstract class XmlIngester implements IssueLogger {
 			break;
 		}
 		String rsrcPath = MddfContext.RSRC_PATH + "vocab_" + key + ".json";
-		JSONObject rsrc = (JSONObject) rsrcCache.get(rsrcPath);
-		if (rsrc == null) {
-			try {
-				rsrc = loadJSON(rsrcPath);
-			} catch (Exception e) {
-				System.out.println("Missing MDDF Resc " + rsrcPath);
-				e.printStackTrace();
-				return null;
-			}
-			rsrcCache.put(rsrcPath, rsrc);
+		JSONObject rsrc;
+		try {
+			rsrc = ResourceRegistry.getJSON(rsrcPath);
+		} catch (Exception e) {
+			System.out.println("Missing MDDF Resc " + rsrcPath);
+			e.printStackTrace();
+			return null;
 		}
 		Object jsonRsrc = rsrc.get(rsrcId);
 		return jsonRsrc;
 	}
 
+	/**
+	 * Return the compiled form of a controlled vocabulary obtained via
+	 * <tt>getVocabResource()</tt>.
+	 * 
+	 * @param vocab
+	 * @return a <tt>VocabSet</tt> or <tt>null</tt> if <tt>vocab</tt> is
+	 *         <tt>null</tt>
+	 * @see ResourceRegistry#getVocabSet(JSONArray)
+	 */
+	protected static VocabSet getVocabSet(JSONArray vocab) {
+		return ResourceRegistry.getVocabSet(vocab);
+	}
+
 	protected static JSONObject loadJSON(String rsrcPath) throws JDOMException, IOException {
-		InputStream inp = XmlIngester.class.getResourceAsStream(rsrcPath);
-		InputStreamReader isr = new InputStreamReader(inp, "UTF-8");
-		BufferedReader reader = new BufferedReader(isr);
-		StringBuilder builder = new StringBuilder();
-		String line;
-		while ((line = reader.readLine()) != null) {
-			builder.append(line);
-		}
-		String input = builder.toString();
-		return JSONObject.fromObject(input);
+		return ResourceRegistry.parseJSON(rsrcPath);
 	}
 
+	/**
+	 * Return the contents of a properties resource. The <tt>Properties</tt> are
+	 * shared and must not be modified.
+	 * 
+	 * @param rsrcPath
+	 * @return
+	 */
 	protected static Properties loadProperties(String rsrcPath) {
-		Properties props = new Properties();
-		InputStream inStream = XmlIngester.class.getResourceAsStream(rsrcPath);
-		try {
-			props.load(inStream);
-		} catch (IOException e) {
-			e.printStackTrace();
-			return null;
-		}
-		return props;
+		return ResourceRegistry.getProperties(rsrcPath);
 	}
 
 	protected static String readFile(String file) throws IOException {
@@ -220,12 +213,15 @@ public abstract class XmlIngester implements IssueLogger {
 		SAXBuilder builder = new SAXBuilder();
 		builder.setJDOMFactory(new LocatedJDOMFactory());
 		Document xmlDoc;
+		PhaseTimer timer = Metrics.start(Metrics.PHASE_PARSE);
 		try {
 			xmlDoc = builder.build(isr);
 		} catch (JDOMException e) {
+			timer.stop();
 			SAXParseException cause = (SAXParseException) e.getCause();
 			throw cause;
 		}
+		timer.stopAndCount(xmlDoc.getRootElement());
 		return xmlDoc;
 	}
 
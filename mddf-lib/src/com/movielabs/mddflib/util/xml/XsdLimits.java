@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.util.xml;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The limits on the number of schema errors that <tt>XsdValidation</tt> will
+ * log individually for a single file. A <i>sample limit</i> bounds the number
+ * of occurrences of any one type of error that are logged. It may be set for
+ * specific rules (identified by the <tt>cvc</tt> code of the Xerces message)
+ * with a default that applies to all other rules. A <i>total limit</i> bounds
+ * the number of errors logged regardless of type. Errors that are not logged
+ * are still counted and are reported in summary form.
+ * <p>
+ * A limit of zero or less removes the limit.
+ * </p>
+ */
+public class XsdLimits {
+
+	/**
+	 * Default maximum number of times any one type of schema error is logged.
+	 */
+	public static final int DEFAULT_SAMPLE_LIMIT = 100;
+	/**
+	 * Default maximum number of schema errors logged for a single file.
+	 */
+	public static final int DEFAULT_TOTAL_LIMIT = 2000;
+
+	private int sampleLimit = DEFAULT_SAMPLE_LIMIT;
+	private int totalLimit = DEFAULT_TOTAL_LIMIT;
+	private Map<String, Integer> ruleLimits = new TreeMap<String, Integer>();
+
+	/**
+	 * Set the sample limit used for any rule that does not have its own limit.
+	 * 
+	 * @param limit
+	 */
+	public void setSampleLimit(int limit) {
+		sampleLimit = limit;
+	}
+
+	/**
+	 * Set the sample limit for a specific rule.
+	 * 
+	 * @param cvcCode
+	 *            the code identifying the rule (e.g.,
+	 *            <tt>cvc-complex-type.2.4.a</tt>)
+	 * @param limit
+	 */
+	public void setSampleLimit(String cvcCode, int limit) {
+		ruleLimits.put(cvcCode, limit);
+	}
+
+	/**
+	 * @return the sample limit used for any rule that does not have its own
+	 *         limit.
+	 */
+	public int getSampleLimit() {
+		return sampleLimit;
+	}
+
+	/**
+	 * @param cvcCode
+	 * @return the sample limit for the rule
+	 */
+	public int getSampleLimit(String cvcCode) {
+		Integer limit = ruleLimits.get(cvcCode);
+		return (limit == null) ? sampleLimit : limit;
+	}
+
+	/**
+	 * Set the sample limits using a comma-separated list in which each item is
+	 * either a number, which sets the default limit, or has the form
+	 * <tt>cvcCode=number</tt>. For example,
+	 * <tt>50,cvc-datatype-valid.1.2.1=10</tt>.
+	 * 
+	 * @param spec
+	 * @throws IllegalArgumentException
+	 *             if the <tt>spec</tt> is not valid
+	 */
+	public void setSampleLimits(String spec) {
+		for (String item : spec.split(",")) {
+			item = item.trim();
+			if (item.isEmpty()) {
+				continue;
+			}
+			int split = item.indexOf('=');
+			try {
+				if (split < 0) {
+					setSampleLimit(Integer.parseInt(item));
+				} else {
+					setSampleLimit(item.substring(0, split).trim(), Integer.parseInt(item.substring(split + 1).trim()));
+				}
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Invalid schema error limit '" + item + "'");
+			}
+		}
+	}
+
+	/**
+	 * @param limit
+	 */
+	public void setTotalLimit(int limit) {
+		totalLimit = limit;
+	}
+
+	/**
+	 * @return the maximum number of schema errors logged per file
+	 */
+	public int getTotalLimit() {
+		return totalLimit;
+	}
+
+	/**
+	 * Returns all limits in a form suitable for use as a key identifying the
+	 * configuration.
+	 */
+	@Override
+	public String toString() {
+		return sampleLimit + "/" + totalLimit + "/" + ruleLimits;
+	}
+}
@@ -25,6 +25,9 @@ package com.movielabs.mddflib.util.xml;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.xml.XMLConstants;
@@ -41,6 +44,8 @@ import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
 
 import com.movielabs.mddflib.logging.LogMgmt;
+import com.movielabs.mddflib.metrics.Metrics;
+import com.movielabs.mddflib.metrics.PhaseTimer;
 
 /**
  * A 'helper' class that supports the validation of an XML file against an XSD
@@ -52,6 +57,24 @@ import com.movielabs.mddflib.logging.LogMgmt;
 public class XsdValidation {
 	public static String defaultRsrcLoc;
 	private static int logMsgDefaultTag = LogMgmt.TAG_XSD;
+	/*
+	 * Bounds the memory used to look up previously seen (un-normalized)
+	 * messages.
+	 */
+	private static final int MAX_RAW_KEYS = 5000;
+
+	private static final String MSG_TYPE_1 = "Invalid content was found starting with element";
+	private static final String MSG_TYPE_2 = "is a simple type, so it cannot have attributes";
+	// "The content of element '[\\w]+:[\\w]+' is not complete.";
+	private static final Pattern MSG_TYPE_3 = Pattern.compile("'([a-z]+:)?+\\w+' is not complete");
+	private static final Pattern CVC_CODE = Pattern.compile("(cvc-[a-zA-Z0-9.\\-]+): ");
+	private static final Pattern ELEMENT = Pattern.compile("[Ee]lement '([^']+)'");
+	private static final Pattern TYPE = Pattern.compile("type '([^']+)'");
+	private static final Pattern ATTRIBUTE = Pattern.compile("[Aa]ttribute '([^']+)'");
+	private static final Pattern LAST_QUOTED = Pattern.compile("'([^']*)'[^']*$");
+	private static final Pattern PRIMARY = Pattern.compile("([a-z]+:)?+\\w+'");
+	private static final Pattern SECONDARY = Pattern
+			.compile("\"(http:/){1}(/[a-zA-Z\\d\\.]+)+\":?([a-zA-Z\\d]+)");
 
 	static {
 		/*
@@ -65,13 +88,30 @@ public class XsdValidation {
 	}
 
 	private LogMgmt loggingMgr;
-	// ++++++++++++++++++++++++++++++++++++++++++++++++++++++
-	private Validator validator;
+	private XsdLimits limits = new XsdLimits();
 
 	public XsdValidation(LogMgmt loggingMgr) {
 		this.loggingMgr = loggingMgr;
 	}
 
+	/**
+	 * Set the limits on the number of schema errors that are individually
+	 * logged for a file.
+	 * 
+	 * @param limits
+	 */
+	public void setLimits(XsdLimits limits) {
+		this.limits = limits;
+	}
+
+	/**
+	 * @return the limits on the number of schema errors that are individually
+	 *         logged for a file.
+	 */
+	public XsdLimits getLimits() {
+		return limits;
+	}
+
 	/**
 	 * Validate everything that is fully specified via the identified XSD.
 	 * 
@@ -84,6 +124,15 @@ public class XsdValidation {
 	 * @return
 	 */
 	public boolean validateXml(File srcFile, Element docRootEl, String xsdLocation, String moduleId) {
+		PhaseTimer timer = Metrics.start(Metrics.PHASE_XSD);
+		try {
+			return runValidation(srcFile, docRootEl, xsdLocation, moduleId);
+		} finally {
+			timer.stopAndCount(docRootEl);
+		}
+	}
+
+	private boolean runValidation(File srcFile, Element docRootEl, String xsdLocation, String moduleId) {
 		// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 		SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
 		URL xsdUrl = getClass().getClassLoader().getResource(xsdLocation);
@@ -107,7 +156,7 @@ public class XsdValidation {
 		XsdErrorHandler errHandler = new XsdErrorHandler(srcFile);
 		// now do actual validation
 		try {
-			validator = schema.newValidator();
+			Validator validator = schema.newValidator();
 			validator.setErrorHandler(errHandler);
 			/*
 			 * This block of code handles a problem associated with supporting
@@ -139,6 +188,8 @@ public class XsdValidation {
 			String msg = "Validation error -::" + getExceptionCause(e);
 			loggingMgr.log(LogMgmt.LEV_ERR, logMsgDefaultTag, msg, srcFile, -1, moduleId, genericTooltip, null);
 			return (false);
+		} finally {
+			errHandler.logSummary();
 		}
 		if (errHandler.errCount == 0) {
 			loggingMgr.log(LogMgmt.LEV_INFO, logMsgDefaultTag, "XML is valid", srcFile, -1, moduleId, null, null);
@@ -162,22 +213,57 @@ public class XsdValidation {
 
 	// ###################################################################
 
+	/**
+	 * A group of schema errors that are considered to be repetitions of the
+	 * same problem.
+	 */
+	private static class IssueGroup {
+		String message;
+		int level;
+		int limit;
+		int count = 0;
+		int firstLine;
+	}
+
+	/**
+	 * The normalized form of a raw SAX message along with the group it
+	 * belongs to.
+	 */
+	private static class RawIssue {
+		final String message;
+		final IssueGroup group;
+
+		RawIssue(String message, IssueGroup group) {
+			this.message = message;
+			this.group = group;
+		}
+	}
+
 	// ###################################################################
 
 	/**
 	 * Custom error handler used while validating xml against xsd. This class
-	 * serves two purposes:
+	 * serves three purposes:
 	 * <ol>
 	 * <li>it allows validation to continue even after an error or warning
 	 * condition, thereby allowing the entire XML file to be checked in one
-	 * pass, and</li>
-	 * <li>it provides condensed and easy to read versions of the error message.
-	 * </li>
+	 * pass,</li>
+	 * <li>it provides condensed and easy to read versions of the error message,
+	 * and</li>
+	 * <li>it groups repetitions of the same error so that a file with a
+	 * systematic problem (e.g., an Avails generated by faulty software) does
+	 * not result in an unbounded number of log entries.</li>
 	 * </ol>
+	 * The raw SAX message is used as a first-level key so that, in the typical
+	 * case of an error repeated many times, the message is only normalized
+	 * once.
 	 */
 	public class XsdErrorHandler implements ErrorHandler {
 		int errCount = 0;
+		private int loggedCount = 0;
 		private File srcFile;
+		private Map<String, RawIssue> rawMsgMap = new HashMap<String, RawIssue>();
+		private Map<String, IssueGroup> groupMap = new LinkedHashMap<String, IssueGroup>();
 
 		/**
 		 * @param srcFile
@@ -204,51 +290,131 @@ public class XsdValidation {
 
 		private void handleMessage(int level, SAXParseException exception) throws SAXException {
 			int lineNumber = exception.getLineNumber();
-			Element invalidElement = (Element) validator
-					.getProperty("http://apache.org/xml/properties/dom/current-element-node");
-			System.out.println("Invalid element: " + invalidElement);
-			String message = parseSaxMessage(exception);
+			RawIssue issue = getIssue(level, exception.getMessage());
+			IssueGroup group = issue.group;
+			group.count++;
+			if (group.count == 1) {
+				group.firstLine = lineNumber;
+			}
+			String message = issue.message;
 			String explanation = "XML at line: " + lineNumber + " does not comply with schema :: " + message;
-			loggingMgr.log(level, LogMgmt.TAG_XSD, message, srcFile, lineNumber, "XmlIngester", explanation, null);
 			if (level == LogMgmt.LEV_FATAL) {
+				loggingMgr.log(level, LogMgmt.TAG_XSD, message, srcFile, lineNumber, "XmlIngester", explanation, null);
 				throw new SAXException(explanation);
 			}
+			int totalLimit = limits.getTotalLimit();
+			if (((group.limit > 0) && (group.count > group.limit))
+					|| ((totalLimit > 0) && (loggedCount >= totalLimit))) {
+				return;
+			}
+			loggingMgr.log(level, LogMgmt.TAG_XSD, message, srcFile, lineNumber, "XmlIngester", explanation, null);
+			loggedCount++;
+		}
+
+		/**
+		 * Return the normalized message and group for a raw SAX message. The
+		 * message is specific to the occurrence while the group is shared by
+		 * all repetitions of the same problem and is only used for counting.
+		 * 
+		 * @param level
+		 * @param rawMsg
+		 * @return
+		 */
+		private RawIssue getIssue(int level, String rawMsg) {
+			String rawKey = level + rawMsg;
+			RawIssue issue = rawMsgMap.get(rawKey);
+			if (issue != null) {
+				return issue;
+			}
+			String message = parseSaxMessage(rawMsg);
+			Matcher m = CVC_CODE.matcher(rawMsg);
+			String cvcCode = m.lookingAt() ? m.group(1) : "";
+			/*
+			 * Group by the cvc code, the element (or, if the message does not
+			 * identify one, the type), and the expected content. An attribute
+			 * name is included so that different attributes on the same
+			 * element are not merged. A message that does not identify an
+			 * element (e.g., "'x' is not a valid value for 'integer'") ends
+			 * with the datatype that was violated.
+			 */
+			String target = find(ELEMENT, rawMsg);
+			if (target == null) {
+				target = find(TYPE, rawMsg) + "|" + find(LAST_QUOTED, rawMsg);
+			}
+			String groupKey = level + "|" + cvcCode + "|" + target + "|" + find(ATTRIBUTE, rawMsg) + "|"
+					+ getSecondary(rawMsg);
+			IssueGroup group = groupMap.get(groupKey);
+			if (group == null) {
+				group = new IssueGroup();
+				group.level = level;
+				group.limit = limits.getSampleLimit(cvcCode);
+				group.message = message;
+				groupMap.put(groupKey, group);
+			}
+			issue = new RawIssue(message, group);
+			if (rawMsgMap.size() < MAX_RAW_KEYS) {
+				rawMsgMap.put(rawKey, issue);
+			}
+			return issue;
+		}
+
+		/**
+		 * Log a summary for each type of error that occurred more often than
+		 * was individually reported.
+		 */
+		void logSummary() {
+			int unlisted = 0;
+			for (IssueGroup group : groupMap.values()) {
+				int logged = (group.limit > 0) ? Math.min(group.count, group.limit) : group.count;
+				if (group.count > logged) {
+					String msg = group.message + " :: " + (group.count - logged)
+							+ " additional occurrences not listed";
+					String explanation = "The error first occurs at line " + group.firstLine + " and occurs "
+							+ group.count + " times in total";
+					loggingMgr.log(LogMgmt.LEV_INFO, LogMgmt.TAG_XSD, msg, srcFile, group.firstLine, "XmlIngester",
+							explanation, null);
+				}
+				unlisted += group.count;
+			}
+			unlisted = unlisted - loggedCount;
+			int totalLimit = limits.getTotalLimit();
+			if ((totalLimit > 0) && (loggedCount >= totalLimit) && (unlisted > 0)) {
+				String msg = "Schema error limit reached; " + unlisted + " problems were not listed individually";
+				loggingMgr.log(LogMgmt.LEV_INFO, LogMgmt.TAG_XSD, msg, srcFile, -1, "XmlIngester", null, null);
+			}
 		}
 
 		/**
 		 * Return a shortened and simplified message
 		 * 
-		 * @param exception
+		 * @param message
 		 * @return
 		 */
-		private String parseSaxMessage(SAXParseException exception) {
-			String msgType1 = "Invalid content was found starting with element";
-			String msgType2 = "is a simple type, so it cannot have attributes";
-			String msgType3 = "'([a-z]+:)?+\\w+' is not complete";
-			// "The content of element '[\\w]+:[\\w]+' is not complete.";
-			String message = exception.getMessage();
+		private String parseSaxMessage(String message) {
 			String primary = getPrimary(message);
-			String secondary = getSecondary(message);
-			if (message.contains(msgType1)) {
-				return "Invalid content begining with " + primary + "; expected " + secondary;
+			if (message.contains(MSG_TYPE_1)) {
+				return "Invalid content begining with " + primary + "; expected " + getSecondary(message);
 			}
-			if (message.contains(msgType2)) {
+			if (message.contains(MSG_TYPE_2)) {
 				return "A " + primary + " may not have attributes";
 			}
-			Pattern p = Pattern.compile(msgType3);
-			Matcher m = p.matcher(message);
-			if (m.find()) {
-				return "Incomplete " + primary + "; Missing child " + secondary;
+			if (MSG_TYPE_3.matcher(message).find()) {
+				return "Incomplete " + primary + "; Missing child " + getSecondary(message);
 			}
 			// final default handling...
-			// System.out.println("\n" + message);
-			String msg = message.replaceFirst("cvc-[a-zA-Z0-9.\\-]+: ", "");
-			return msg;
+			return CVC_CODE.matcher(message).replaceFirst("");
+		}
+
+		private String find(Pattern pattern, String text) {
+			Matcher m = pattern.matcher(text);
+			if (m.find()) {
+				return m.group(1);
+			}
+			return null;
 		}
 
 		private String getPrimary(String text) {
-			Pattern p = Pattern.compile("([a-z]+:)?+\\w+'");
-			Matcher m = p.matcher(text);
+			Matcher m = PRIMARY.matcher(text);
 			if (m.find()) {
 				return m.group();
 			}
@@ -257,16 +423,12 @@ public class XsdValidation {
 		}
 
 		private String getSecondary(String text) {
-			String uriPrefixRegex = "\"(http:/){1}(/[a-zA-Z\\d\\.]+)+\":?";
-			String elementName = "[a-zA-Z\\d]+";
-			Pattern p = Pattern.compile(uriPrefixRegex + elementName);
-			Matcher m = p.matcher(text);
+			Matcher m = SECONDARY.matcher(text);
 			String result = "";
 			boolean hasAnother = m.find();
 			String sep = "";
 			while (hasAnother) {
-				String next = m.group();
-				next = next.replaceFirst(uriPrefixRegex, "");
+				String next = m.group(3);
 				hasAnother = m.find();
 				if (hasAnother) {
 					result = result + sep + next;
@@ -277,8 +439,7 @@ public class XsdValidation {
 				}
 				sep = ", ";
 			}
-
-			return result.replaceAll("\"", "");
+			return result.replace("\"", "");
 		}
 	}
 
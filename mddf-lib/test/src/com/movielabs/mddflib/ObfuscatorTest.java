@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.movielabs.mddflib.Obfuscator.Target;
+
+/**
+ * JUnit test for the streaming mode of
+ * <tt>com.movielabs.mddflib.Obfuscator</tt>.
+ */
+public class ObfuscatorTest {
+
+	private static final String AVAILS = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+			+ "<avails:AvailList xmlns:avails=\"http://www.movielabs.com/schema/avails/v2.2/avails\""
+			+ " xmlns:md=\"http://www.movielabs.com/schema/md/v2.5/md\">\n"
+			+ "  <avails:Avail>\n"
+			+ "    <avails:Licensor><md:DisplayName>Studio</md:DisplayName></avails:Licensor>\n"
+			+ "    <avails:Asset><avails:Metadata><md:AltIdentifier><md:Namespace>ORG</md:Namespace>"
+			+ "<md:Identifier>ID-9</md:Identifier></md:AltIdentifier></avails:Metadata></avails:Asset>\n"
+			+ "    <avails:Transaction>\n"
+			+ "      <avails:ContractID>C-1234</avails:ContractID>\n"
+			+ "      <avails:Term termName=\"WSP\"><avails:Money currency=\"USD\">4.99</avails:Money></avails:Term>\n"
+			+ "      <!-- not a Term so must not be altered -->\n"
+			+ "      <avails:Other><avails:Money>1.99</avails:Money></avails:Other>\n"
+			+ "    </avails:Transaction>\n"
+			+ "  </avails:Avail>\n"
+			+ "</avails:AvailList>\n";
+
+	private File inFile;
+	private File outFile;
+
+	@Before
+	public void setUp() throws Exception {
+		inFile = File.createTempFile("ObfuscatorTest", ".xml");
+		outFile = File.createTempFile("ObfuscatorTest", ".out.xml");
+		Files.write(inFile.toPath(), AVAILS.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		inFile.delete();
+		outFile.delete();
+	}
+
+	private String read(File file) throws Exception {
+		return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void testReplacements() throws Exception {
+		Map<Target, String> replacementMap = new HashMap<Target, String>();
+		replacementMap.put(Target.Money, "0.00");
+		replacementMap.put(Target.ContractID, "");
+		assertEquals(1, Obfuscator.process(inFile, outFile, replacementMap));
+		String result = read(outFile);
+		assertTrue(result.contains("<avails:Money currency=\"USD\">0.00</avails:Money>"));
+		assertTrue(result.contains("<avails:Money>1.99</avails:Money>"));
+		/* an empty replacement value is ignored */
+		assertTrue(result.contains("<avails:ContractID>C-1234</avails:ContractID>"));
+		assertTrue(result.contains("<!-- not a Term so must not be altered -->"));
+	}
+
+	@Test
+	public void testDefinedTarget() throws Exception {
+		Target altId = Target.define("TestAltID", "md", "AltIdentifier", "Identifier", "test only");
+		try {
+			assertSame(altId, Target.valueOf("TestAltID"));
+			assertTrue(Target.values().contains(altId));
+			try {
+				Target.define("TestAltID", "md", "AltIdentifier", "Identifier", "test only");
+				fail("Expected an IllegalArgumentException for a duplicate name");
+			} catch (IllegalArgumentException e) {
+				// expected
+			}
+			Map<Target, String> replacementMap = new HashMap<Target, String>();
+			replacementMap.put(altId, "Anonymous");
+			assertEquals(1, Obfuscator.process(inFile, outFile, replacementMap));
+			assertTrue(read(outFile).contains("<md:Identifier>Anonymous</md:Identifier>"));
+		} finally {
+			Target.undefine("TestAltID");
+		}
+		assertFalse(Target.values().contains(altId));
+	}
+
+	@Test
+	public void testMalformed() throws Exception {
+		Files.write(inFile.toPath(), "<a><b></a>".getBytes(StandardCharsets.UTF_8));
+		Map<Target, String> replacementMap = new HashMap<Target, String>();
+		replacementMap.put(Target.Money, "0.00");
+		try {
+			Obfuscator.process(inFile, outFile, replacementMap);
+			fail("Expected an XMLStreamException");
+		} catch (XMLStreamException e) {
+			// expected
+		}
+		assertFalse(outFile.exists());
+	}
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.avails.xml;
+
+import static org.junit.Assert.*;
+
+import org.jdom2.Element;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.movielabs.mddflib.avails.xml.AvailsSheet.Version;
+import com.movielabs.mddflib.testsupport.InstrumentedLogger;
+
+/**
+ * JUnit test of the de-duplication of Ratings by <tt>MetadataBuilder</tt>.
+ * Ratings are identified by System, Value, and Region.
+ *
+ */
+public class MetadataBuilderTest {
+
+	private MetadataBuilder mdBuilder;
+	private Element ratings;
+
+	@Before
+	public void setUp() throws Exception {
+		InstrumentedLogger logger = new InstrumentedLogger();
+		XmlBuilder xmlBuilder = new XmlBuilder(logger, Version.V1_7_2);
+		assertTrue(xmlBuilder.setVersion("2.3"));
+		mdBuilder = new MetadataBuilder(Version.V1_7_2, logger, xmlBuilder);
+		ratings = new Element("Ratings");
+	}
+
+	@Test
+	public void testDuplicate() {
+		assertTrue(mdBuilder.addRatingKey(ratings, "MPAA", "PG-13", "US"));
+		assertFalse(mdBuilder.addRatingKey(ratings, "MPAA", "PG-13", "US"));
+		assertTrue(mdBuilder.addRatingKey(ratings, "MPAA", "R", "US"));
+	}
+
+	/**
+	 * The same System and Value in different Regions are both kept.
+	 */
+	@Test
+	public void testDifferentRegions() {
+		assertTrue(mdBuilder.addRatingKey(ratings, "MPAA", "PG-13", "US"));
+		assertTrue(mdBuilder.addRatingKey(ratings, "MPAA", "PG-13", "PR"));
+		assertFalse(mdBuilder.addRatingKey(ratings, "MPAA", "PG-13", "PR"));
+	}
+
+	/**
+	 * Ratings are tracked separately for each <tt>Ratings</tt> element.
+	 */
+	@Test
+	public void testSeparateRatings() {
+		assertTrue(mdBuilder.addRatingKey(ratings, "MPAA", "PG-13", "US"));
+		assertTrue(mdBuilder.addRatingKey(new Element("Ratings"), "MPAA", "PG-13", "US"));
+	}
+
+	@Test
+	public void testApostrophe() {
+		assertTrue(mdBuilder.addRatingKey(ratings, "Custom", "Parents' Guidance", "GB"));
+		assertFalse(mdBuilder.addRatingKey(ratings, "Custom", "Parents' Guidance", "GB"));
+		assertTrue(mdBuilder.addRatingKey(ratings, "Custom", "Parents' Guidance", "IE"));
+		assertTrue(mdBuilder.addRatingKey(ratings, "Custom", "'", "GB"));
+	}
+}
@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.tests.avails;
+
+import static org.junit.Assert.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.movielabs.mddflib.avails.xml.CellDecoder;
+
+/**
+ * JUnit test for <tt>com.movielabs.mddflib.avails.xml.CellDecoder</tt>.
+ */
+public class CellDecoderTest {
+
+	private Workbook wrkBook;
+	private Row row;
+	private CellDecoder decoder;
+	private int colCnt = 0;
+
+	@Before
+	public void setUp() throws Exception {
+		wrkBook = new HSSFWorkbook();
+		row = wrkBook.createSheet("Movies").createRow(0);
+		decoder = new CellDecoder(false);
+	}
+
+	private Cell numericCell(double value, String format) {
+		Cell cell = row.createCell(colCnt++);
+		cell.setCellValue(value);
+		if (format != null) {
+			CellStyle style = wrkBook.createCellStyle();
+			style.setDataFormat(wrkBook.createDataFormat().getFormat(format));
+			cell.setCellStyle(style);
+		}
+		return cell;
+	}
+
+	private Cell dateCell(LocalDateTime dateTime, String format) {
+		Cell cell = numericCell(0, format);
+		cell.setCellValue(Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant()));
+		return cell;
+	}
+
+	private Cell textCell(String value) {
+		Cell cell = row.createCell(colCnt++);
+		cell.setCellValue(value);
+		return cell;
+	}
+
+	@Test
+	public void testDateTime() {
+		Cell cell = dateCell(LocalDateTime.of(2018, 3, 1, 0, 0), "m/d/yy");
+		assertTrue(decoder.isDate(cell));
+		assertEquals("3/1/18", decoder.getText(cell));
+		assertEquals("2018-03-01T00:00:00", decoder.decode("xs:dateTime", cell, true));
+		assertEquals("2018-03-01T23:59:59", decoder.decode("xs:dateTime", cell, false));
+		assertEquals("2018-03-01", decoder.decode("xs:date", cell, false));
+		cell = dateCell(LocalDateTime.of(1900, 1, 15, 18, 30), "yyyy-mm-dd hh:mm");
+		assertEquals("1900-01-15T18:30:00", decoder.decode("xs:dateTime", cell, false));
+	}
+
+	@Test
+	public void testDuration() {
+		/* 36 hours, 5 minutes */
+		Cell cell = numericCell(1.5 + (5.0 / (24 * 60)), "[h]:mm");
+		assertEquals("PT36H05M", decoder.decode("xs:duration", cell, false));
+		cell = numericCell(2.0 / 24 + 30.0 / (24 * 60 * 60), "h:mm:ss");
+		assertEquals("PT2H00M30S", decoder.decode("xs:duration", cell, false));
+		/* a plain number is converted using its text */
+		cell = numericCell(48, null);
+		assertFalse(decoder.isDate(cell));
+		assertNull(decoder.decode("xs:duration", cell, false));
+		assertEquals("PT48H", CellDecoder.formatDuration(decoder.getText(cell)));
+	}
+
+	@Test
+	public void testBoolean() {
+		Cell cell = row.createCell(colCnt++);
+		cell.setCellValue(true);
+		assertEquals("true", decoder.decode("xs:boolean", cell, false));
+		assertNull(decoder.decode("xs:boolean", textCell("Yes"), false));
+		assertEquals("true", CellDecoder.formatBoolean("Yes"));
+		assertEquals("false", CellDecoder.formatBoolean("No"));
+		assertNull(CellDecoder.formatBoolean("TRUE"));
+	}
+
+	@Test
+	public void testText() {
+		Cell cell = textCell("2018-03-01");
+		assertFalse(decoder.isDate(cell));
+		assertNull(decoder.decode("xs:dateTime", cell, false));
+		assertEquals("2018-03-01T23:59:59", CellDecoder.formatDateTime(decoder.getText(cell), false));
+		assertEquals("", CellDecoder.formatDateTime("3/1/18", false));
+		assertTrue(CellDecoder.startsWithYear("2018-03-01T10:00:00"));
+		assertFalse(CellDecoder.startsWithYear("Immediate"));
+		assertEquals("a b", CellDecoder.trim(" \t a b\r\n"));
+		assertTrue(decoder.isEmpty(null));
+		assertTrue(decoder.isEmpty(textCell("")));
+		assertFalse(decoder.isEmpty(numericCell(0, null)));
+		assertEquals("PT1H30M00S", CellDecoder.formatDuration("1:30:00"));
+	}
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.tests.avails;
+
+import static org.junit.Assert.*;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.jdom2.Element;
+import org.junit.Test;
+
+import com.movielabs.mddflib.avails.xml.Pedigree;
+import com.movielabs.mddflib.avails.xml.PedigreeMap;
+import com.movielabs.mddflib.logging.CellLocation;
+
+/**
+ * JUnit test for <tt>com.movielabs.mddflib.avails.xml.PedigreeMap</tt>.
+ */
+public class PedigreeMapTest {
+
+	@Test
+	public void testPacking() {
+		long packed = CellLocation.pack(3, 1048575, 16383);
+		assertTrue(packed >= 0);
+		assertEquals(new CellLocation(3, 1048575, 16383), CellLocation.unpack(packed));
+	}
+
+	@Test
+	public void testLocations() throws Exception {
+		HSSFWorkbook wrkBook = new HSSFWorkbook();
+		wrkBook.createSheet("Info");
+		Sheet sheet = wrkBook.createSheet("Avails");
+		int count = 5000;
+		Element[] elements = new Element[count];
+		PedigreeMap pedigreeMap = new PedigreeMap();
+		for (int i = 0; i < count; i++) {
+			Cell cell = sheet.createRow(i).createCell(i % 40);
+			elements[i] = new Element("Item");
+			pedigreeMap.put(elements[i], new Pedigree(cell, "value " + i));
+		}
+		wrkBook.close();
+		/* no location for an empty cell */
+		Element noCell = new Element("Item");
+		pedigreeMap.put(noCell, new Pedigree(null, ""));
+		assertEquals(count + 1, pedigreeMap.size());
+		for (int i = 0; i < count; i++) {
+			CellLocation location = pedigreeMap.getLocation(elements[i]);
+			assertEquals(1, location.getSheetIndex());
+			assertEquals(i, location.getRowIndex());
+			assertEquals(i % 40, location.getColumnIndex());
+		}
+		assertTrue(pedigreeMap.containsKey(noCell));
+		assertNull(pedigreeMap.getLocation(noCell));
+		/* keys are compared by identity */
+		assertNull(pedigreeMap.getLocation(new Element("Item")));
+	}
+}
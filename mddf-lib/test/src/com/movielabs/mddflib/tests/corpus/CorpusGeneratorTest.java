@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.tests.corpus;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.movielabs.mddflib.logging.LogMgmt;
+import com.movielabs.mddflib.manifest.validation.ManifestValidator;
+import com.movielabs.mddflib.testsupport.InstrumentedLogger;
+import com.movielabs.mddflib.testsupport.corpus.CorpusConfig;
+import com.movielabs.mddflib.testsupport.corpus.CorpusGenerator;
+import com.movielabs.mddflib.util.xml.XmlIngester;
+
+/**
+ * JUnit test for the <tt>CorpusGenerator</tt> and the files it produces.
+ *
+ */
+public class CorpusGeneratorTest {
+
+	private File tmpDir;
+
+	@Before
+	public void setUp() throws Exception {
+		tmpDir = Files.createTempDirectory("mddf-corpus").toFile();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		delete(tmpDir);
+	}
+
+	private void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+
+	private File generate(String type, CorpusConfig config, String fileName) throws Exception {
+		File target = new File(tmpDir, fileName);
+		CorpusGenerator.factory(type, config).generate(target);
+		return target;
+	}
+
+	/**
+	 * The same configuration must always produce the same output.
+	 */
+	@Test
+	public void testDeterminism() throws Exception {
+		CorpusConfig config = new CorpusConfig().setSeed(42).setCount(50).setErrorRate(0.2).setIdReuseRate(0.2);
+		byte[] first = Files.readAllBytes(generate(CorpusGenerator.TYPE_AVAILS_XML, config, "a1.xml").toPath());
+		byte[] second = Files.readAllBytes(generate(CorpusGenerator.TYPE_AVAILS_XML, config, "a2.xml").toPath());
+		assertArrayEquals(first, second);
+
+		config.setSeed(43);
+		byte[] third = Files.readAllBytes(generate(CorpusGenerator.TYPE_AVAILS_XML, config, "a3.xml").toPath());
+		assertFalse(java.util.Arrays.equals(first, third));
+	}
+
+	@Test
+	public void testTargetSize() throws Exception {
+		long targetSize = CorpusConfig.parseSize("200KB");
+		assertEquals(204800L, targetSize);
+		CorpusConfig config = new CorpusConfig().setTargetBytes(targetSize);
+		CorpusGenerator generator = CorpusGenerator.factory(CorpusGenerator.TYPE_AVAILS_XML, config);
+		File target = new File(tmpDir, "avails.xml");
+		generator.generate(target);
+		assertTrue(target.length() >= targetSize);
+		assertTrue(target.length() < targetSize + 10000);
+		assertEquals(target.length(), generator.getByteCount());
+
+		File mecDir = new File(tmpDir, "mec");
+		generator = CorpusGenerator.factory(CorpusGenerator.TYPE_MEC, new CorpusConfig().setCount(5));
+		generator.generate(mecDir);
+		assertEquals(5, mecDir.listFiles().length);
+	}
+
+	/**
+	 * A Manifest without injected errors should pass validation while one
+	 * with errors in every title should not.
+	 */
+	@Test
+	public void testManifestErrorInjection() throws Exception {
+		CorpusConfig config = new CorpusConfig().setCount(10).setExperienceDepth(2);
+		File cleanFile = generate(CorpusGenerator.TYPE_MANIFEST, config, "clean.xml");
+		InstrumentedLogger iLog = new InstrumentedLogger();
+		ManifestValidator validator = new ManifestValidator(true, iLog);
+		assertTrue(validator.process(XmlIngester.getAsXml(cleanFile).getRootElement(), cleanFile));
+		assertEquals(0, iLog.getCountForLevel(LogMgmt.LEV_ERR));
+		assertEquals(0, iLog.getCountForLevel(LogMgmt.LEV_WARN));
+
+		config.setErrorRate(1.0);
+		CorpusGenerator generator = CorpusGenerator.factory(CorpusGenerator.TYPE_MANIFEST, config);
+		File badFile = new File(tmpDir, "errors.xml");
+		generator.generate(badFile);
+		assertEquals(10, generator.getDefectCount());
+		iLog.clearLog();
+		validator = new ManifestValidator(true, iLog);
+		assertFalse(validator.process(XmlIngester.getAsXml(badFile).getRootElement(), badFile));
+		assertTrue(iLog.getCountForLevel(LogMgmt.LEV_ERR) >= 10);
+	}
+}
@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.tests.logging;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.movielabs.mddflib.logging.LogEntryFolder;
+import com.movielabs.mddflib.logging.LogEntryNode;
+import com.movielabs.mddflib.logging.LogMgmt;
+
+/**
+ * JUnit test for the incrementally maintained message count and severity
+ * level of a <tt>com.movielabs.mddflib.logging.LogEntryFolder</tt>.
+ */
+public class LogEntryFolderTest {
+
+	private LogEntryFolder root;
+	private LogEntryFolder fileFolder;
+	private LogEntryFolder[] levelFolders;
+	private int seqNum = 0;
+
+	@Before
+	public void setUp() throws Exception {
+		root = new LogEntryFolder("", -1);
+		fileFolder = new LogEntryFolder("Avail_A.xml", -1);
+		fileFolder.setFile(new File("./deliveries/Avail_A.xml"));
+		levelFolders = new LogEntryFolder[LogMgmt.logLevels.length];
+		for (int i = 0; i < levelFolders.length; i++) {
+			levelFolders[i] = new LogEntryFolder(LogMgmt.logLevels[i], i);
+			fileFolder.add(levelFolders[i]);
+		}
+	}
+
+	private LogEntryFolder addTagFolder(int level, int tag) {
+		LogEntryFolder tagNode = new LogEntryFolder(LogMgmt.logTags[tag], level);
+		levelFolders[level].add(tagNode);
+		return tagNode;
+	}
+
+	private void addMsgs(LogEntryFolder tagNode, int level, int count) {
+		for (int i = 0; i < count; i++) {
+			tagNode.addMsg(new LogEntryNode(level, tagNode, "msg " + i, fileFolder, i, "Test", seqNum++, null, null));
+		}
+	}
+
+	@Test
+	public void testCounts() {
+		LogEntryFolder warnings = addTagFolder(LogMgmt.LEV_WARN, LogMgmt.TAG_XSD);
+		addMsgs(warnings, LogMgmt.LEV_WARN, 3);
+		/* messages added before the file's folder is added to the tree */
+		root.add(fileFolder);
+		assertEquals(3, root.getMsgCnt());
+		assertEquals(LogMgmt.LEV_WARN, root.getHighestLevel());
+
+		LogEntryFolder errors = addTagFolder(LogMgmt.LEV_ERR, LogMgmt.TAG_MD);
+		addMsgs(errors, LogMgmt.LEV_ERR, 2);
+		assertEquals(5, root.getMsgCnt());
+		assertEquals(2, levelFolders[LogMgmt.LEV_ERR].getMsgCnt());
+		assertEquals(5, fileFolder.getMsgList().size());
+		assertEquals(LogMgmt.LEV_ERR, fileFolder.getHighestLevel());
+		assertEquals("[2] " + LogMgmt.logLevels[LogMgmt.LEV_ERR], levelFolders[LogMgmt.LEV_ERR].toString());
+
+		errors.removeFromParent();
+		assertEquals(3, root.getMsgCnt());
+		assertEquals(LogMgmt.LEV_WARN, fileFolder.getHighestLevel());
+	}
+
+	@Test
+	public void testDeleteMsgs() {
+		root.add(fileFolder);
+		LogEntryFolder other = new LogEntryFolder("Avail_B.xml", -1);
+		root.add(other);
+		LogEntryFolder otherErrs = new LogEntryFolder(LogMgmt.logTags[LogMgmt.TAG_MD], LogMgmt.LEV_ERR);
+		other.add(otherErrs);
+		addMsgs(otherErrs, LogMgmt.LEV_ERR, 4);
+		addMsgs(addTagFolder(LogMgmt.LEV_FATAL, LogMgmt.TAG_XSD), LogMgmt.LEV_FATAL, 1);
+		assertEquals(5, root.getMsgCnt());
+		assertEquals(LogMgmt.LEV_FATAL, root.getHighestLevel());
+
+		fileFolder.deleteMsgs();
+		assertEquals(0, fileFolder.getMsgCnt());
+		assertEquals(0, levelFolders[LogMgmt.LEV_FATAL].getMsgCnt());
+		assertEquals(-1, fileFolder.getHighestLevel());
+		assertEquals(4, root.getMsgCnt());
+		assertEquals(LogMgmt.LEV_ERR, root.getHighestLevel());
+		assertTrue(fileFolder.getMsgList().isEmpty());
+
+		root.deleteMsgs();
+		assertEquals(0, root.getMsgCnt());
+		assertEquals(0, other.getMsgCnt());
+	}
+
+	@Test
+	public void testMsgView() {
+		root.add(fileFolder);
+		LogEntryFolder warnings = addTagFolder(LogMgmt.LEV_WARN, LogMgmt.TAG_XSD);
+		addMsgs(warnings, LogMgmt.LEV_WARN, 3);
+		LogEntryFolder errors = addTagFolder(LogMgmt.LEV_ERR, LogMgmt.TAG_MD);
+		addMsgs(errors, LogMgmt.LEV_ERR, 2);
+		List<LogEntryNode> view = root.getMsgView();
+		assertEquals(root.getMsgList(), view);
+		assertEquals(LogMgmt.LEV_ERR, view.get(4).getLevel());
+
+		/* the view is not affected by subsequent changes */
+		addMsgs(warnings, LogMgmt.LEV_WARN, 1);
+		fileFolder.deleteMsgs();
+		assertEquals(5, view.size());
+		assertEquals(LogMgmt.LEV_WARN, view.get(2).getLevel());
+		assertTrue(root.getMsgView().isEmpty());
+	}
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.tests.logging;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+
+import org.jdom2.located.LocatedElement;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.movielabs.mddflib.logging.LogMgmt;
+import com.movielabs.mddflib.logging.LogRecorder;
+import com.movielabs.mddflib.testsupport.InstrumentedLogger;
+
+/**
+ * JUnit test for the <tt>com.movielabs.mddflib.logging.LogRecorder</tt>
+ * class.
+ */
+public class LogRecorderTest {
+
+	private File srcFile = new File("./deliveries/Avail_A.xml");
+	private InstrumentedLogger original;
+	private LogRecorder recorder;
+
+	@Before
+	public void setUp() throws Exception {
+		original = new InstrumentedLogger();
+		recorder = new LogRecorder(original, srcFile);
+	}
+
+	@Test
+	public void testReplay() throws IOException {
+		LocatedElement target = new LocatedElement("Foo");
+		target.setLine(12);
+		recorder.setCurrentFile(srcFile);
+		recorder.log(LogMgmt.LEV_INFO, LogMgmt.TAG_N_A, "Validating " + srcFile.getPath(), srcFile, "Test");
+		recorder.logIssue(LogMgmt.TAG_MD, LogMgmt.LEV_ERR, target, "Invalid value", "a detail", null, "Test");
+		recorder.log(LogMgmt.LEV_WARN, LogMgmt.TAG_XSD, "Schema issue", srcFile, 20, "Test", null, null);
+		assertTrue(recorder.isReplayable());
+		assertEquals(4, recorder.size());
+		/* entries were passed through.. */
+		assertEquals(1, original.getCountForLevel(LogMgmt.LEV_ERR));
+
+		LogRecorder restored = LogRecorder.read(roundTrip(recorder));
+		assertEquals(4, restored.size());
+		InstrumentedLogger replayed = new InstrumentedLogger();
+		File otherFile = new File("./archive/Avail_B.xml");
+		restored.replay(replayed, otherFile);
+		for (int level = 0; level < LogMgmt.logLevels.length; level++) {
+			assertEquals(original.getCountForLevel(level), replayed.getCountForLevel(level));
+		}
+		assertEquals("Invalid value; a detail", replayed.getMsg(LogMgmt.LEV_ERR, LogMgmt.TAG_MD, 12));
+		assertEquals("Schema issue", replayed.getMsg(LogMgmt.LEV_WARN, LogMgmt.TAG_XSD, 20));
+		assertEquals("Validating " + otherFile.getPath(), replayed.getMsg(LogMgmt.LEV_INFO, LogMgmt.TAG_N_A, -1));
+	}
+
+	@Test
+	public void testNotReplayable() {
+		recorder.logIssue(LogMgmt.TAG_AVAIL, LogMgmt.LEV_ERR, new Object(), "Invalid cell", null, null, "Test");
+		assertFalse(recorder.isReplayable());
+	}
+
+	@Test(expected = IOException.class)
+	public void testInvalidInput() throws IOException {
+		LogRecorder.read(new DataInputStream(new ByteArrayInputStream("not a recording".getBytes())));
+	}
+
+	@Test(expected = IOException.class)
+	public void testCorruptLength() throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(buffer);
+		out.writeUTF("MDDF-LOG-1");
+		out.writeInt(1);
+		out.write(new byte[8]);
+		/* length of the message is far more than is available */
+		out.writeInt(Integer.MAX_VALUE);
+		out.close();
+		LogRecorder.read(new DataInputStream(new ByteArrayInputStream(buffer.toByteArray())));
+	}
+
+	private DataInputStream roundTrip(LogRecorder recording) throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(buffer);
+		recording.write(out);
+		out.close();
+		return new DataInputStream(new ByteArrayInputStream(buffer.toByteArray()));
+	}
+}
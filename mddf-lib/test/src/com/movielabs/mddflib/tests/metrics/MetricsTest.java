@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.tests.metrics;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.movielabs.mddflib.logging.LogMgmt;
+import com.movielabs.mddflib.metrics.CsvMetricsSink;
+import com.movielabs.mddflib.metrics.Metrics;
+import com.movielabs.mddflib.metrics.MetricsRegistry;
+import com.movielabs.mddflib.metrics.MetricsSink;
+import com.movielabs.mddflib.metrics.PhaseStats;
+import com.movielabs.mddflib.metrics.PhaseTimer;
+
+/**
+ * JUnit test for <tt>com.movielabs.mddflib.metrics.Metrics</tt>.
+ *
+ */
+public class MetricsTest {
+
+	private MetricsSink sink;
+
+	@After
+	public void tearDown() throws Exception {
+		if (sink != null) {
+			Metrics.removeSink(sink);
+			sink.close();
+		}
+	}
+
+	/**
+	 * Without a sink, timers must be inactive.
+	 */
+	@Test
+	public void testDisabled() {
+		assertFalse(Metrics.isEnabled());
+		assertFalse(Metrics.start(Metrics.PHASE_PARSE).isActive());
+	}
+
+	/**
+	 * Measurements are aggregated both per-file and for the entire run.
+	 */
+	@Test
+	public void testRegistry() {
+		MetricsRegistry registry = new MetricsRegistry();
+		sink = registry;
+		Metrics.addSink(registry);
+		assertTrue(Metrics.isEnabled());
+		File file1 = new File("first.xml");
+		File file2 = new File("second.xml");
+		Metrics.beginFile(file1);
+		Metrics.start(Metrics.PHASE_PARSE).stop(10);
+		Metrics.start(Metrics.CHECK_ID).stop(5);
+		Metrics.endFile();
+		Metrics.beginFile(file2);
+		Metrics.start(Metrics.PHASE_PARSE).stop(3);
+		Metrics.endFile();
+
+		PhaseStats parse = registry.getPhaseStats().get(Metrics.PHASE_PARSE);
+		assertEquals(2, parse.getCount());
+		assertEquals(13, parse.getElementCount());
+		assertEquals(2, registry.getPhaseStats().get(Metrics.PHASE_FILE).getCount());
+
+		List<File> files = registry.getFiles();
+		assertEquals(2, files.size());
+		assertEquals(file1, files.get(0));
+		Map<String, PhaseStats> fileStats = registry.getFileStats(file1);
+		assertEquals(10, fileStats.get(Metrics.PHASE_PARSE).getElementCount());
+		assertTrue(fileStats.containsKey(Metrics.CHECK_ID));
+		assertFalse(registry.getFileStats(file2).containsKey(Metrics.CHECK_ID));
+	}
+
+	/**
+	 * Warnings and errors logged while a phase is executing are included in
+	 * the issue counts of the phase and of the file.
+	 */
+	@Test
+	public void testIssueCount() {
+		MetricsRegistry registry = new MetricsRegistry();
+		sink = registry;
+		Metrics.addSink(registry);
+		File file = new File("first.xml");
+		Metrics.beginFile(file);
+		Metrics.setFileFormat("MANIFEST_1_6");
+		Metrics.issueLogged(LogMgmt.LEV_WARN);
+		PhaseTimer timer = Metrics.start(Metrics.CHECK_RATINGS);
+		Metrics.issueLogged(LogMgmt.LEV_ERR);
+		Metrics.issueLogged(LogMgmt.LEV_INFO);
+		Metrics.issueLogged(LogMgmt.LEV_DEBUG);
+		timer.stop();
+		Metrics.endFile();
+
+		assertEquals(1, registry.getFileStats(file).get(Metrics.CHECK_RATINGS).getIssueCount());
+		assertEquals(2, registry.getFileStats(file).get(Metrics.PHASE_FILE).getIssueCount());
+	}
+
+	/**
+	 * The CSV summary has a row for each file and phase followed by the
+	 * totals.
+	 */
+	@Test
+	public void testCsv() throws Exception {
+		File csvFile = File.createTempFile("metrics", ".csv");
+		try {
+			sink = new CsvMetricsSink(csvFile);
+			Metrics.addSink(sink);
+			Metrics.beginFile(new File("first.xml"));
+			Metrics.start(Metrics.PHASE_XSD).stop(7);
+			Metrics.endFile();
+			Metrics.removeSink(sink);
+			sink.close();
+			sink = null;
+
+			List<String> lines = Files.readAllLines(csvFile.toPath(), StandardCharsets.UTF_8);
+			assertEquals("File,Phase,Count,WallMillis,MaxWallMillis,CpuMillis,AllocatedBytes,Elements,Issues", lines.get(0));
+			assertEquals(5, lines.size());
+			assertTrue(lines.get(2).startsWith("first.xml,xsd,1,"));
+			assertTrue(lines.get(2).endsWith(",7,0"));
+			assertTrue(lines.get(4).startsWith("*,xsd,1,"));
+		} finally {
+			csvFile.delete();
+		}
+	}
+}
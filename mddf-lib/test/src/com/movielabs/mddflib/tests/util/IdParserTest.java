@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.tests.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.movielabs.mddflib.util.IdParser;
+import com.movielabs.mddflib.util.IdParser.SsidStatus;
+
+/**
+ * JUnit test for the <tt>com.movielabs.mddflib.util.IdParser</tt> class.
+ */
+public class IdParserTest {
+
+	private static final String SUFFIX = "E6CA-AB58-E298-7BA0-E574-V";
+	private IdParser parser;
+
+	@Before
+	public void setUp() throws Exception {
+		parser = new IdParser();
+	}
+
+	@Test
+	public void testParse() {
+		assertTrue(parser.parse("md:cid:eidr-x:" + SUFFIX + ":mlab-si-02:acq"));
+		assertEquals("md", parser.getNid());
+		assertEquals("cid", parser.getType());
+		assertEquals("eidr-x", parser.getScheme());
+		assertEquals(SUFFIX + ":mlab-si-02:acq", parser.getSsid());
+		assertTrue(parser.typeEquals("cid"));
+		assertFalse(parser.typeEquals("ci"));
+		assertTrue(parser.schemeStartsWith("eidr"));
+		assertEquals(IdParser.SCHEME_EIDR_X, parser.getSchemeType());
+
+		assertTrue(parser.parse("md:cid:org:abc"));
+		assertEquals(IdParser.SCHEME_OTHER, parser.getSchemeType());
+		assertFalse(parser.schemeStartsWith("eidr"));
+
+		assertFalse(parser.parse("md:vidtrackid:eidr-s"));
+		assertFalse(parser.parse("md:audtrackid:eidr-s:E6CA-AB58-E298-7BA0 E574 V"));
+		assertFalse(parser.parse("md::eidr-s:" + SUFFIX));
+		assertFalse(parser.parse("md:cid:eidr-s:"));
+		assertFalse(parser.parse(null));
+		assertFalse(parser.conforms());
+		assertNull(parser.getType());
+	}
+
+	@Test
+	public void testCheckSsid() {
+		assertSsid(SsidStatus.VALID, "md:cid:eidr-s:" + SUFFIX);
+		assertSsid(SsidStatus.VALID, "md:cid:eidr:10.5240/" + SUFFIX);
+		assertSsid(SsidStatus.VALID, "md:cid:eidr-x:" + SUFFIX + ":ext");
+		assertSsid(SsidStatus.VALID, "md:cid:eidr-urn:urn:eidr:10.5240:" + SUFFIX);
+		assertSsid(SsidStatus.UNVERIFIED, "md:cid:org:abc");
+
+		assertSsid(SsidStatus.INVALID_CHECK, "md:cid:eidr-s:E6CA-AB58-E298-7BA0-E574-A");
+		assertSsid(SsidStatus.INVALID_CHECK, "md:cid:eidr-x:E6CA-AB58-E298-7BA0-E574-A:ext");
+
+		assertSsid(SsidStatus.INVALID_SYNTAX, "md:vidtrackid:eidr-s:E6CA-AB58-E298-7B0-E574");
+		assertSsid(SsidStatus.INVALID_SYNTAX, "md:cid:eidr-s:" + SUFFIX + "V");
+		assertSsid(SsidStatus.INVALID_SYNTAX, "md:cid:eidr-s:e6ca-AB58-E298-7BA0-E574-V");
+		assertSsid(SsidStatus.INVALID_SYNTAX, "md:cid:eidr-x:" + SUFFIX);
+		assertSsid(SsidStatus.INVALID_SYNTAX, "md:cid:eidr-x:" + SUFFIX + ":");
+		assertSsid(SsidStatus.INVALID_SYNTAX, "md:cid:eidr:10.524/" + SUFFIX);
+		assertSsid(SsidStatus.INVALID_SYNTAX, "md:cid:eidr-urn:urn:eidr:10.5241:" + SUFFIX);
+	}
+
+	@Test
+	public void testComputeEidrCheck() {
+		assertEquals('V', IdParser.computeEidrCheck("E6CA-AB58-E298-7BA0-E574"));
+		assertEquals(0, IdParser.computeEidrCheck("E6CA-AB58-E298-7BA0-E57?"));
+	}
+
+	private void assertSsid(SsidStatus expected, String id) {
+		assertTrue(id, parser.parse(id));
+		assertEquals(id, expected, parser.checkSsid());
+	}
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.tests.util.xml;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.jdom2.Document;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.movielabs.mddflib.util.xml.DocumentHandle;
+import com.movielabs.mddflib.util.xml.XmlIngester;
+
+/**
+ * JUnit test for the re-loading of a released
+ * <tt>com.movielabs.mddflib.util.xml.DocumentHandle</tt>.
+ */
+public class DocumentHandleTest {
+
+	private static final String XML_A = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<Root><Item id=\"a\"/></Root>\n";
+	private static final String XML_B = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<Root><Item id=\"b\"/></Root>\n";
+
+	private File srcFile;
+
+	@Before
+	public void setUp() throws Exception {
+		srcFile = File.createTempFile("DocumentHandleTest", ".xml");
+		write(XML_A);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		srcFile.delete();
+	}
+
+	private void write(String content) throws IOException {
+		Files.write(srcFile.toPath(), content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testCached() throws Exception {
+		Document doc = XmlIngester.getAsXml(srcFile);
+		DocumentHandle handle = new DocumentHandle(srcFile, doc);
+		assertTrue(handle.isCached());
+		assertSame(doc, handle.getDocument());
+		assertEquals(64, handle.getContentHash().length());
+	}
+
+	@Test
+	public void testReload() throws Exception {
+		DocumentHandle handle = new DocumentHandle(srcFile, XmlIngester.getAsXml(srcFile));
+		handle.release();
+		assertFalse(handle.isCached());
+		Document doc = handle.getDocument();
+		assertEquals("a", doc.getRootElement().getChild("Item").getAttributeValue("id"));
+		assertTrue(handle.isCached());
+	}
+
+	@Test
+	public void testTouched() throws Exception {
+		DocumentHandle handle = new DocumentHandle(srcFile, XmlIngester.getAsXml(srcFile));
+		handle.release();
+		/* new time-stamp but same content */
+		write(XML_A);
+		assertTrue(srcFile.setLastModified(handle.getLastModified() + 5000));
+		assertFalse(handle.isModified());
+		assertNotNull(handle.getDocument());
+	}
+
+	@Test
+	public void testModified() throws Exception {
+		DocumentHandle handle = new DocumentHandle(srcFile, XmlIngester.getAsXml(srcFile));
+		handle.release();
+		write(XML_B);
+		assertTrue(srcFile.setLastModified(handle.getLastModified() + 5000));
+		assertTrue(handle.isModified());
+		try {
+			handle.getDocument();
+			fail("Expected an IOException for a modified file");
+		} catch (IOException e) {
+			// expected
+		}
+	}
+}
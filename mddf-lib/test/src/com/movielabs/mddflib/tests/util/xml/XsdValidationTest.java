@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.tests.util.xml;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.xml.sax.SAXParseException;
+
+import com.movielabs.mddflib.logging.LogMgmt;
+import com.movielabs.mddflib.testsupport.InstrumentedLogger;
+import com.movielabs.mddflib.util.xml.XsdLimits;
+import com.movielabs.mddflib.util.xml.XsdValidation;
+import com.movielabs.mddflib.util.xml.XsdValidation.XsdErrorHandler;
+
+/**
+ * JUnit test for the grouping of schema errors by
+ * <tt>com.movielabs.mddflib.util.xml.XsdValidation.XsdErrorHandler</tt>.
+ */
+public class XsdValidationTest {
+
+	private InstrumentedLogger logger;
+	private XsdLimits limits;
+	private XsdErrorHandler handler;
+
+	@Before
+	public void setUp() {
+		logger = new InstrumentedLogger();
+		limits = new XsdLimits();
+		limits.setTotalLimit(0);
+		XsdValidation xsdHelper = new XsdValidation(logger);
+		xsdHelper.setLimits(limits);
+		handler = xsdHelper.new XsdErrorHandler(new File("test.xml"));
+	}
+
+	/**
+	 * Occurrences that are grouped together must each be logged with their
+	 * own message.
+	 */
+	@Test
+	public void testGroupedMessages() throws Exception {
+		limits.setSampleLimit(2);
+		handler.error(datatypeError("bogusA", "integer", 10));
+		handler.error(datatypeError("bogusB", "integer", 20));
+		handler.error(datatypeError("bogusC", "integer", 30));
+		String msgA = logger.getMsg(LogMgmt.LEV_ERR, LogMgmt.TAG_XSD, 10);
+		String msgB = logger.getMsg(LogMgmt.LEV_ERR, LogMgmt.TAG_XSD, 20);
+		assertTrue(msgA, msgA.contains("bogusA"));
+		assertTrue(msgB, msgB.contains("bogusB"));
+		/* the third occurrence exceeds the sample limit */
+		assertNull(logger.getMsg(LogMgmt.LEV_ERR, LogMgmt.TAG_XSD, 30));
+		assertEquals(2, logger.getCountForLevel(LogMgmt.LEV_ERR));
+	}
+
+	/**
+	 * Datatype errors do not identify an element so must be grouped by the
+	 * datatype.
+	 */
+	@Test
+	public void testDatatypeGroups() throws Exception {
+		limits.setSampleLimit(1);
+		handler.error(datatypeError("bogusA", "integer", 10));
+		handler.error(datatypeError("bogusB", "integer", 20));
+		handler.error(datatypeError("bogusC", "dateTime", 30));
+		handler.error(datatypeError("bogusD", "boolean", 40));
+		assertNotNull(logger.getMsg(LogMgmt.LEV_ERR, LogMgmt.TAG_XSD, 10));
+		assertNull(logger.getMsg(LogMgmt.LEV_ERR, LogMgmt.TAG_XSD, 20));
+		assertNotNull(logger.getMsg(LogMgmt.LEV_ERR, LogMgmt.TAG_XSD, 30));
+		assertNotNull(logger.getMsg(LogMgmt.LEV_ERR, LogMgmt.TAG_XSD, 40));
+	}
+
+	/**
+	 * A limit set for a specific rule applies only to that rule.
+	 */
+	@Test
+	public void testRuleLimits() throws Exception {
+		limits.setSampleLimits("1,cvc-datatype-valid.1.2.1=3");
+		assertEquals(3, limits.getSampleLimit("cvc-datatype-valid.1.2.1"));
+		assertEquals(1, limits.getSampleLimit("cvc-complex-type.2.4.a"));
+		for (int i = 1; i <= 4; i++) {
+			handler.error(datatypeError("bogus" + i, "integer", i * 10));
+			handler.error(new SAXParseException("cvc-complex-type.2.4.a: Invalid content was found starting with "
+					+ "element 'md:Foo'. One of '{\"http://www.movielabs.com/schema/md/v2.6/md\":Bar}' is expected.",
+					null, null, (i * 10) + 1, 5));
+		}
+		assertEquals(4, logger.getCountForLevel(LogMgmt.LEV_ERR));
+		assertNotNull(logger.getMsg(LogMgmt.LEV_ERR, LogMgmt.TAG_XSD, 30));
+		assertNull(logger.getMsg(LogMgmt.LEV_ERR, LogMgmt.TAG_XSD, 40));
+		assertNotNull(logger.getMsg(LogMgmt.LEV_ERR, LogMgmt.TAG_XSD, 11));
+		assertNull(logger.getMsg(LogMgmt.LEV_ERR, LogMgmt.TAG_XSD, 21));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidLimit() {
+		limits.setSampleLimits("cvc-datatype-valid.1.2.1=many");
+	}
+
+	private SAXParseException datatypeError(String value, String datatype, int line) {
+		return new SAXParseException(
+				"cvc-datatype-valid.1.2.1: '" + value + "' is not a valid value for '" + datatype + "'.", null, null,
+				line, 5);
+	}
+}
@@ -30,6 +30,7 @@ import java.util.Map;
 import org.apache.poi.ss.usermodel.Cell;
 import org.jdom2.located.Located;
 
+import com.movielabs.mddflib.logging.CellLocation;
 import com.movielabs.mddflib.logging.DefaultLogging;
 import com.movielabs.mddflib.logging.LogEntryFolder;
 import com.movielabs.mddflib.logging.LogMgmt;
@@ -130,6 +131,8 @@ public class InstrumentedLogger extends DefaultLogging implements LogMgmt {
 				lineNum = ((Located) target).getLine();
 			} else if (target instanceof Cell) {
 				lineNum = ((Cell) target).getRowIndex();
+			} else if (target instanceof CellLocation) {
+				lineNum = ((CellLocation) target).getRowIndex();
 			}
 		}
 		if (explanation != null) {
@@ -0,0 +1,232 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.testsupport.corpus;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import com.movielabs.mddflib.avails.xlsx.XlsxBuilder;
+
+import net.sf.json.JSONObject;
+
+/**
+ * Generates an Avails spreadsheet conforming to either the v1.7 or v1.7.2
+ * template. Movie Avails are added to the 'Movies' sheet and TV Episode
+ * Avails to the 'TV' sheet. The columns are those used by
+ * <tt>XlsxBuilder</tt> when converting XML to XLSX.
+ * <p>
+ * Rows are written using POI's streaming API so that only a small window of
+ * rows is held in memory. As the output is compressed, a target size is
+ * converted to a row count using the size of a sample workbook and the
+ * resulting file will therefore only approximate the target size.
+ * </p>
+ */
+public class AvailsXlsxGenerator extends CorpusGenerator {
+
+	private static final int ROW_WINDOW = 100;
+	private static final int SAMPLE_SIZE = 500;
+	/* per the template, Avails start on the 4th row */
+	private static final int FIRST_DATA_ROW = 3;
+
+	private static JSONObject mappings;
+
+	public AvailsXlsxGenerator(CorpusConfig config) {
+		super(config);
+	}
+
+	public void generate(File target) throws IOException {
+		int rowCnt = estimateRowCount();
+		writeWorkbook(new BufferedOutputStream(new FileOutputStream(target)), rowCnt);
+		for (int i = 0; i < rowCnt; i++) {
+			tally(new SyntheticTitle(config, i));
+		}
+		byteCnt = target.length();
+	}
+
+	private int estimateRowCount() throws IOException {
+		int rowCnt = config.getCount();
+		if (config.getTargetBytes() <= 0) {
+			return (rowCnt > 0) ? rowCnt : 1;
+		}
+		ByteArrayOutputStream sample = new ByteArrayOutputStream();
+		writeWorkbook(sample, SAMPLE_SIZE);
+		long perRow = Math.max(1, sample.size() / SAMPLE_SIZE);
+		long needed = Math.max(1, config.getTargetBytes() / perRow);
+		if ((rowCnt <= 0) || (needed < rowCnt)) {
+			rowCnt = (int) Math.min(Integer.MAX_VALUE, needed);
+		}
+		return rowCnt;
+	}
+
+	private void writeWorkbook(OutputStream stream, int rowCnt) throws IOException {
+		String version = CorpusConfig.TEMPLATE_1_7.equals(config.getTemplate()) ? "V1_7" : "V1_7_2";
+		List<String> movieCols = getColumnIds(version, "Movies");
+		List<String> tvCols = getColumnIds(version, "TV");
+		SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+		try {
+			Sheet movieSheet = workbook.createSheet("Movies");
+			Sheet tvSheet = workbook.createSheet("TV");
+			addHeaderRows(movieSheet, movieCols);
+			addHeaderRows(tvSheet, tvCols);
+			int nextMovieRow = FIRST_DATA_ROW;
+			int nextTvRow = FIRST_DATA_ROW;
+			for (int i = 0; i < rowCnt; i++) {
+				SyntheticTitle title = new SyntheticTitle(config, i);
+				Map<String, String> cellData = getCellData(title);
+				if (title.isEpisode()) {
+					addDataRow(tvSheet.createRow(nextTvRow++), tvCols, cellData);
+				} else {
+					addDataRow(movieSheet.createRow(nextMovieRow++), movieCols, cellData);
+				}
+			}
+			workbook.write(stream);
+		} finally {
+			stream.close();
+			workbook.dispose();
+			workbook.close();
+		}
+	}
+
+	/**
+	 * Returns the IDs of the columns used in the specified version of the
+	 * template. The IDs are those used as keys in <tt>Mappings.json</tt>
+	 * (e.g., <tt>"AvailTrans:Territory"</tt>).
+	 * 
+	 * @param version
+	 * @param sheetName
+	 * @return
+	 * @throws IOException
+	 */
+	private static synchronized List<String> getColumnIds(String version, String sheetName) throws IOException {
+		if (mappings == null) {
+			InputStream inp = XlsxBuilder.class.getResourceAsStream("Mappings.json");
+			if (inp == null) {
+				throw new IOException("Unable to load Mappings.json");
+			}
+			BufferedReader reader = new BufferedReader(new InputStreamReader(inp, "UTF-8"));
+			StringBuilder builder = new StringBuilder();
+			try {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					builder.append(line);
+				}
+			} finally {
+				reader.close();
+			}
+			mappings = JSONObject.fromObject(builder.toString());
+		}
+		JSONObject mappingDefs = mappings.getJSONObject(version).getJSONObject(sheetName);
+		List<String> colIdList = new ArrayList<String>();
+		for (Object key : mappingDefs.keySet()) {
+			colIdList.add((String) key);
+		}
+		return colIdList;
+	}
+
+	private void addHeaderRows(Sheet sheet, List<String> colIdList) {
+		Row row1 = sheet.createRow(0);
+		Row row2 = sheet.createRow(1);
+		Row row3 = sheet.createRow(2);
+		for (int i = 0; i < colIdList.size(); i++) {
+			String[] part = colIdList.get(i).split(":");
+			row1.createCell(i).setCellValue(part[0]);
+			row2.createCell(i).setCellValue(part[1]);
+			row3.createCell(i);
+		}
+	}
+
+	private void addDataRow(Row row, List<String> colIdList, Map<String, String> cellData) {
+		for (int i = 0; i < colIdList.size(); i++) {
+			String cellValue = cellData.get(colIdList.get(i));
+			if (cellValue != null) {
+				row.createCell(i).setCellValue(cellValue);
+			}
+		}
+	}
+
+	/**
+	 * @param title
+	 * @return the value of each populated column, keyed by column ID
+	 */
+	private Map<String, String> getCellData(SyntheticTitle title) {
+		Map<String, String> cellData = new HashMap<String, String>();
+		List<String> languages = title.getLanguages();
+		String[] rating = title.getRatings().get(0);
+		cellData.put("Avail:ALID", title.getId("alid", null));
+		cellData.put("Avail:DisplayName", "Example Studios");
+		cellData.put("Avail:ServiceProvider", "Example Retailer");
+		cellData.put("Disposition:EntryType", "Create");
+		if (title.isEpisode()) {
+			cellData.put("AvailAsset:WorkType", "Episode");
+			cellData.put("AvailAsset:EpisodeContentID", title.getContentId());
+			cellData.put("AvailAsset:SeasonContentID", title.getSeasonId());
+			cellData.put("AvailAsset:SeriesContentID", title.getSeriesId());
+			cellData.put("AvailMetadata:EpisodeTitleDisplayUnlimited", title.getName());
+			cellData.put("AvailMetadata:EpisodeTitleInternalAlias", title.getName());
+			cellData.put("AvailMetadata:EpisodeNumber", Integer.toString(title.getEpisodeNumber()));
+			cellData.put("AvailMetadata:SeasonNumber", Integer.toString(title.getSeasonNumber()));
+			cellData.put("AvailMetadata:SeriesTitleDisplayUnlimited", title.getSeriesName());
+			cellData.put("AvailMetadata:SeriesTitleInternalAlias", title.getSeriesName());
+		} else {
+			cellData.put("AvailAsset:WorkType", "Movie");
+			cellData.put("AvailAsset:ContentID", title.getContentId());
+			cellData.put("AvailMetadata:TitleDisplayUnlimited", title.getName());
+			cellData.put("AvailMetadata:TitleInternalAlias", title.getName());
+		}
+		cellData.put("AvailMetadata:ReleaseYear", Integer.toString(title.getReleaseYear()));
+		cellData.put("AvailMetadata:TotalRunTime",
+				String.format("%02d:%02d", title.getRunMinutes() / 60, title.getRunMinutes() % 60));
+		cellData.put("AvailMetadata:RatingSystem", rating[1]);
+		cellData.put("AvailMetadata:RatingValue", rating[2]);
+		cellData.put("AvailMetadata:CaptionExemption", "1");
+		cellData.put("AvailMetadata:LocalizationType", "sub");
+		cellData.put("AvailTrans:Territory", title.getTerritory());
+		cellData.put("AvailTrans:LicenseType", title.getLicenseType());
+		cellData.put("AvailTrans:LicenseRightsDescription", "New Release");
+		cellData.put("AvailTrans:FormatProfile", title.getFormatProfile());
+		cellData.put("AvailTrans:Start", "2018-07-01");
+		cellData.put("AvailTrans:End", "2028-06-30");
+		cellData.put("AvailTrans:PriceType", "Tier");
+		cellData.put("AvailTrans:PriceValue", "1");
+		cellData.put("AvailTrans:AssetLanguage", languages.get(0));
+		cellData.put("AvailTrans:AllowedLanguages", String.join(",", languages));
+		cellData.put("AvailTrans:ContractID", "C-" + title.getKey());
+		cellData.put("AvailTrans:Description", "Synthetic transaction");
+		return cellData;
+	}
+}
@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.testsupport.corpus;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Generates an Avails XML file (v2.2.2) containing a mix of Movie and TV
+ * Episode Avails. Each Avail is written as soon as it is generated so files
+ * of any size may be produced.
+ */
+public class AvailsXmlGenerator extends CorpusGenerator {
+
+	static final String AVAILS_URI = "http://www.movielabs.com/schema/avails/v2.2.2/avails";
+
+	public AvailsXmlGenerator(CorpusConfig config) {
+		super(config);
+	}
+
+	public void generate(File target) throws IOException {
+		XmlOut out = new XmlOut(new BufferedOutputStream(new FileOutputStream(target)));
+		try {
+			out.declare("avails", AVAILS_URI);
+			out.declare("md", MD_URI);
+			out.start("avails:AvailList");
+			while (config.hasCapacity(unitCnt, out.getByteCount())) {
+				SyntheticTitle title = new SyntheticTitle(config, unitCnt);
+				writeAvail(out, title);
+				tally(title);
+			}
+		} finally {
+			out.close();
+		}
+		byteCnt = target.length();
+	}
+
+	private void writeAvail(XmlOut out, SyntheticTitle title) throws IOException {
+		out.start("avails:Avail");
+		out.leaf("avails:ALID", title.getId("alid", null));
+		out.start("avails:Disposition");
+		out.leaf("avails:EntryType", "Create");
+		out.end();
+		out.start("avails:Licensor");
+		out.leaf("md:DisplayName", "Example Studios");
+		out.end();
+		out.start("avails:ServiceProvider");
+		out.leaf("md:DisplayName", "Example Retailer");
+		out.end();
+		out.leaf("avails:AvailType", title.isEpisode() ? "episode" : "single");
+		out.leaf("avails:ShortDescription", title.getName());
+		out.start("avails:Asset");
+		out.attribute("contentID", title.getContentId());
+		if (title.isEpisode()) {
+			out.leaf("avails:WorkType", "Episode");
+			out.start("avails:EpisodeMetadata");
+			writeMetadata(out, title);
+			out.start("avails:EpisodeNumber");
+			out.leaf("md:Number", Integer.toString(title.getEpisodeNumber()));
+			out.end();
+			out.start("avails:SeasonMetadata");
+			out.leaf("avails:SeasonContentID", title.getSeasonId());
+			out.start("avails:SeasonNumber");
+			out.leaf("md:Number", Integer.toString(title.getSeasonNumber()));
+			out.end();
+			out.start("avails:SeriesMetadata");
+			out.leaf("avails:SeriesContentID", title.getSeriesId());
+			out.leaf("avails:SeriesTitleDisplayUnlimited", title.getSeriesName());
+			out.leaf("avails:SeriesTitleInternalAlias", title.getSeriesName());
+			out.end();
+			out.end();
+			out.end();
+		} else {
+			out.leaf("avails:WorkType", "Movie");
+			out.start("avails:Metadata");
+			writeMetadata(out, title);
+			out.end();
+		}
+		out.end();
+		writeTransaction(out, title);
+		out.leaf("avails:ExceptionFlag", "false");
+		out.end();
+	}
+
+	/**
+	 * Write the content common to all types of <tt>AvailMetadata-type</tt>.
+	 * 
+	 * @param out
+	 * @param title
+	 * @throws IOException
+	 */
+	private void writeMetadata(XmlOut out, SyntheticTitle title) throws IOException {
+		String language = title.getLanguages().get(0);
+		out.start("avails:TitleDisplayUnlimited");
+		out.attribute("language", language);
+		out.text(title.getName());
+		out.end();
+		out.start("avails:TitleInternalAlias");
+		out.attribute("region", title.getTerritory());
+		out.text(title.getName());
+		out.end();
+		out.leaf("avails:ReleaseDate", title.getReleaseYear() + "-06-01");
+		out.leaf("avails:RunLength", "PT" + title.getRunMinutes() + "M");
+		out.start("avails:ReleaseHistory");
+		out.leaf("md:ReleaseType", "Theatrical");
+		out.start("md:DistrTerritory");
+		out.leaf("md:country", title.getTerritory());
+		out.end();
+		out.leaf("md:Date", title.getReleaseYear() + "-06-01");
+		out.end();
+		out.leaf("avails:USACaptionsExemptionReason", "1");
+		out.start("avails:Ratings");
+		for (String[] rating : title.getRatings()) {
+			writeRating(out, rating);
+		}
+		out.end();
+		out.leaf("avails:LocalizationOffering", "sub");
+	}
+
+	private void writeTransaction(XmlOut out, SyntheticTitle title) throws IOException {
+		out.start("avails:Transaction");
+		out.leaf("avails:LicenseType", title.getLicenseType());
+		out.leaf("avails:Description", "Synthetic transaction");
+		out.start("avails:Territory");
+		out.leaf("md:country", title.getTerritory());
+		out.end();
+		out.leaf("avails:Start", "2018-07-01T00:00:00");
+		out.leaf("avails:End", "2028-06-30T00:00:00");
+		List<String> languages = title.getLanguages();
+		for (String language : languages) {
+			out.leaf("avails:AllowedLanguage", language);
+		}
+		out.start("avails:AssetLanguage");
+		out.attribute("asset", "audio");
+		out.text(languages.get(0));
+		out.end();
+		out.leaf("avails:LicenseRightsDescription", "New Release");
+		out.leaf("avails:FormatProfile", title.getFormatProfile());
+		out.leaf("avails:ContractID", "C-" + title.getKey());
+		out.start("avails:Term");
+		out.attribute("termName", "Tier");
+		out.leaf("avails:Text", "1");
+		out.end();
+		out.end();
+	}
+}
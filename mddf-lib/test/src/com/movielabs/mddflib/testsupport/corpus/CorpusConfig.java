@@ -0,0 +1,241 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.testsupport.corpus;
+
+/**
+ * Parameters controlling the content of a synthetic MDDF corpus. Two corpora
+ * generated with identical configurations will be byte-for-byte identical.
+ * <p>
+ * The size of the output may be specified either as a number of
+ * <i>units</i> (i.e., Avails, Manifest titles, or MEC files) or as a target
+ * number of bytes. If both are specified generation stops when either limit
+ * is reached.
+ * </p>
+ */
+public class CorpusConfig {
+
+	public static final String TEMPLATE_1_7 = "1.7";
+	public static final String TEMPLATE_1_7_2 = "1.7.2";
+
+	private long seed = 1;
+	private int count = 0;
+	private long targetBytes = 0;
+	private double errorRate = 0.0;
+	private int languageCount = Integer.MAX_VALUE;
+	private int ratingCount = Integer.MAX_VALUE;
+	private double idReuseRate = 0.0;
+	private double tvRatio = 0.5;
+	private int experienceDepth = 3;
+	private int experienceFanout = 3;
+	private String template = TEMPLATE_1_7_2;
+
+	/**
+	 * Parse a size specification such as <tt>500KB</tt>, <tt>10MB</tt> or
+	 * <tt>2GB</tt>. A value without a suffix is interpreted as bytes.
+	 * 
+	 * @param size
+	 * @return number of bytes
+	 * @throws NumberFormatException
+	 */
+	public static long parseSize(String size) throws NumberFormatException {
+		String value = size.trim().toUpperCase();
+		long multiplier = 1;
+		if (value.endsWith("KB")) {
+			multiplier = 1024L;
+		} else if (value.endsWith("MB")) {
+			multiplier = 1024L * 1024L;
+		} else if (value.endsWith("GB")) {
+			multiplier = 1024L * 1024L * 1024L;
+		}
+		if (multiplier > 1) {
+			value = value.substring(0, value.length() - 2);
+		} else if (value.endsWith("B")) {
+			value = value.substring(0, value.length() - 1);
+		}
+		return (long) (Double.parseDouble(value.trim()) * multiplier);
+	}
+
+	/**
+	 * @return <tt>true</tt> if another unit should be generated given the
+	 *         number already generated and the bytes written so far.
+	 */
+	boolean hasCapacity(int unitCnt, long bytesWritten) {
+		if ((count <= 0) && (targetBytes <= 0)) {
+			// default to a single unit
+			return unitCnt < 1;
+		}
+		if ((count > 0) && (unitCnt >= count)) {
+			return false;
+		}
+		if ((targetBytes > 0) && (bytesWritten >= targetBytes)) {
+			return false;
+		}
+		return true;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public CorpusConfig setSeed(long seed) {
+		this.seed = seed;
+		return this;
+	}
+
+	/**
+	 * @return the maximum number of units (zero if unlimited)
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	public CorpusConfig setCount(int count) {
+		this.count = count;
+		return this;
+	}
+
+	/**
+	 * @return the approximate size of the output in bytes (zero if
+	 *         unlimited)
+	 */
+	public long getTargetBytes() {
+		return targetBytes;
+	}
+
+	public CorpusConfig setTargetBytes(long targetBytes) {
+		this.targetBytes = targetBytes;
+		return this;
+	}
+
+	/**
+	 * @return the fraction (0.0 to 1.0) of units that will contain an error
+	 */
+	public double getErrorRate() {
+		return errorRate;
+	}
+
+	public CorpusConfig setErrorRate(double errorRate) {
+		this.errorRate = clamp(errorRate);
+		return this;
+	}
+
+	/**
+	 * @return the number of distinct languages used
+	 */
+	public int getLanguageCount() {
+		return languageCount;
+	}
+
+	public CorpusConfig setLanguageCount(int languageCount) {
+		this.languageCount = Math.max(1, languageCount);
+		return this;
+	}
+
+	/**
+	 * @return the number of distinct ratings used
+	 */
+	public int getRatingCount() {
+		return ratingCount;
+	}
+
+	public CorpusConfig setRatingCount(int ratingCount) {
+		this.ratingCount = Math.max(1, ratingCount);
+		return this;
+	}
+
+	/**
+	 * @return the fraction (0.0 to 1.0) of units that re-use the identifiers
+	 *         of a previously generated unit
+	 */
+	public double getIdReuseRate() {
+		return idReuseRate;
+	}
+
+	public CorpusConfig setIdReuseRate(double idReuseRate) {
+		this.idReuseRate = clamp(idReuseRate);
+		return this;
+	}
+
+	/**
+	 * @return the fraction (0.0 to 1.0) of Avails that are for TV episodes
+	 *         rather than movies
+	 */
+	public double getTvRatio() {
+		return tvRatio;
+	}
+
+	public CorpusConfig setTvRatio(double tvRatio) {
+		this.tvRatio = clamp(tvRatio);
+		return this;
+	}
+
+	/**
+	 * @return the number of levels in each title's tree of Experiences
+	 */
+	public int getExperienceDepth() {
+		return experienceDepth;
+	}
+
+	public CorpusConfig setExperienceDepth(int experienceDepth) {
+		this.experienceDepth = Math.max(1, experienceDepth);
+		return this;
+	}
+
+	/**
+	 * @return the number of child Experiences of each non-leaf Experience
+	 */
+	public int getExperienceFanout() {
+		return experienceFanout;
+	}
+
+	public CorpusConfig setExperienceFanout(int experienceFanout) {
+		this.experienceFanout = Math.max(1, experienceFanout);
+		return this;
+	}
+
+	/**
+	 * @return the version of the Avails XLSX template
+	 */
+	public String getTemplate() {
+		return template;
+	}
+
+	public CorpusConfig setTemplate(String template) {
+		if (!TEMPLATE_1_7.equals(template) && !TEMPLATE_1_7_2.equals(template)) {
+			throw new IllegalArgumentException("Unsupported Avails template version '" + template + "'");
+		}
+		this.template = template;
+		return this;
+	}
+
+	private static double clamp(double value) {
+		return Math.max(0.0, Math.min(1.0, value));
+	}
+
+	public String toString() {
+		return "seed=" + seed + ", count=" + count + ", targetBytes=" + targetBytes + ", errorRate=" + errorRate
+				+ ", languages=" + languageCount + ", ratings=" + ratingCount + ", idReuse=" + idReuseRate
+				+ ", tvRatio=" + tvRatio + ", depth=" + experienceDepth + ", fanout=" + experienceFanout
+				+ ", template=" + template;
+	}
+}
@@ -0,0 +1,289 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.testsupport.corpus;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Base class for generators of synthetic MDDF files. The generated files are
+ * intended for use by benchmarks and scaling tests that require inputs
+ * ranging from a few KB to several GB. Generation is deterministic: the same
+ * <tt>CorpusConfig</tt> will always produce the same output.
+ * <p>
+ * Usage:
+ * 
+ * <pre>
+ * CorpusGenerator -type {avails-xml|avails-xlsx|manifest|mec} -out {path}
+ *     [-seed N] [-size {bytes|KB|MB|GB}] [-count N] [-errors {0.0-1.0}]
+ *     [-languages N] [-ratings N] [-idReuse {0.0-1.0}] [-tv {0.0-1.0}]
+ *     [-template {1.7|1.7.2}] [-depth N] [-fanout N]
+ * </pre>
+ * </p>
+ */
+public abstract class CorpusGenerator {
+
+	public static final String TYPE_AVAILS_XML = "avails-xml";
+	public static final String TYPE_AVAILS_XLSX = "avails-xlsx";
+	public static final String TYPE_MANIFEST = "manifest";
+	public static final String TYPE_MEC = "mec";
+
+	static final String MD_URI = "http://www.movielabs.com/schema/md/v2.5/md";
+
+	protected CorpusConfig config;
+	protected int unitCnt = 0;
+	protected int defectCnt = 0;
+	protected long byteCnt = 0;
+
+	/**
+	 * Returns a generator for the specified type of MDDF file.
+	 * 
+	 * @param type
+	 * @param config
+	 * @return
+	 * @throws IllegalArgumentException
+	 *             if the <tt>type</tt> is not supported
+	 */
+	public static CorpusGenerator factory(String type, CorpusConfig config) throws IllegalArgumentException {
+		switch (type) {
+		case TYPE_AVAILS_XML:
+			return new AvailsXmlGenerator(config);
+		case TYPE_AVAILS_XLSX:
+			return new AvailsXlsxGenerator(config);
+		case TYPE_MANIFEST:
+			return new ManifestGenerator(config);
+		case TYPE_MEC:
+			return new MecGenerator(config);
+		default:
+			throw new IllegalArgumentException("Unsupported corpus type '" + type + "'");
+		}
+	}
+
+	protected CorpusGenerator(CorpusConfig config) {
+		this.config = config;
+	}
+
+	/**
+	 * Generate the corpus. Depending on the type of generator the
+	 * <tt>target</tt> will be either a file or a directory.
+	 * 
+	 * @param target
+	 * @throws IOException
+	 */
+	public abstract void generate(File target) throws IOException;
+
+	/**
+	 * @return the number of units generated
+	 */
+	public int getUnitCount() {
+		return unitCnt;
+	}
+
+	/**
+	 * @return the number of units that contain an injected error
+	 */
+	public int getDefectCount() {
+		return defectCnt;
+	}
+
+	/**
+	 * @return the number of bytes written
+	 */
+	public long getByteCount() {
+		return byteCnt;
+	}
+
+	/**
+	 * Record the generation of a unit.
+	 * 
+	 * @param title
+	 */
+	protected void tally(SyntheticTitle title) {
+		unitCnt++;
+		if (title.getDefect() != null) {
+			defectCnt++;
+		}
+	}
+
+	/**
+	 * Write an element of type <tt>md:BasicMetadata-type</tt>.
+	 * 
+	 * @param out
+	 * @param qName
+	 *            of the element
+	 * @param title
+	 * @throws IOException
+	 */
+	protected void writeBasicMetadata(XmlOut out, String qName, SyntheticTitle title) throws IOException {
+		out.start(qName);
+		out.attribute("ContentID", title.getContentId());
+		List<String> languages = title.getLanguages();
+		for (int i = 0; i < languages.size(); i++) {
+			out.start("md:LocalizedInfo");
+			out.attribute("language", languages.get(i));
+			if (i == 0) {
+				out.attribute("default", "true");
+			}
+			out.leaf("md:TitleDisplayUnlimited", title.getName());
+			out.leaf("md:TitleSort", title.getName());
+			out.leaf("md:Summary190", "A synthetic title generated for testing purposes.");
+			out.leaf("md:Genre", "Drama");
+			out.end();
+		}
+		out.leaf("md:RunLength", "PT" + title.getRunMinutes() + "M");
+		out.leaf("md:ReleaseYear", Integer.toString(title.getReleaseYear()));
+		out.start("md:ReleaseHistory");
+		out.leaf("md:ReleaseType", "original");
+		out.start("md:DistrTerritory");
+		out.leaf("md:country", title.getTerritory());
+		out.end();
+		out.leaf("md:Date", title.getReleaseYear() + "-06-01");
+		out.end();
+		out.leaf("md:WorkType", "Movie");
+		out.start("md:RatingSet");
+		for (String[] rating : title.getRatings()) {
+			writeRating(out, rating);
+		}
+		out.end();
+		out.start("md:People");
+		out.start("md:Job");
+		out.leaf("md:JobFunction", "Director");
+		out.leaf("md:BillingBlockOrder", "1");
+		out.end();
+		out.start("md:Name");
+		out.leaf("md:DisplayName", "Director " + title.getKey());
+		out.end();
+		out.end();
+		out.leaf("md:PrimarySpokenLanguage", languages.get(0));
+		out.end();
+	}
+
+	/**
+	 * @param out
+	 * @param rating
+	 *            country, system, and value
+	 * @throws IOException
+	 */
+	protected void writeRating(XmlOut out, String[] rating) throws IOException {
+		out.start("md:Rating");
+		out.start("md:Region");
+		out.leaf("md:country", rating[0]);
+		out.end();
+		out.leaf("md:System", rating[1]);
+		out.leaf("md:Value", rating[2]);
+		out.end();
+	}
+
+	private static void usage(String msg) {
+		if (msg != null) {
+			System.err.println(msg);
+		}
+		System.err.println("Usage: CorpusGenerator -type {avails-xml|avails-xlsx|manifest|mec} -out {path}");
+		System.err.println("    [-seed N] [-size {bytes|KB|MB|GB}] [-count N] [-errors {0.0-1.0}]");
+		System.err.println("    [-languages N] [-ratings N] [-idReuse {0.0-1.0}] [-tv {0.0-1.0}]");
+		System.err.println("    [-template {1.7|1.7.2}] [-depth N] [-fanout N]");
+		System.exit(1);
+	}
+
+	public static void main(String[] args) {
+		CorpusConfig config = new CorpusConfig();
+		String type = null;
+		String outPath = null;
+		try {
+			for (int i = 0; i < args.length; i++) {
+				String arg = args[i];
+				if (i + 1 >= args.length) {
+					usage("Missing value for " + arg);
+				}
+				String value = args[++i];
+				switch (arg) {
+				case "-type":
+					type = value;
+					break;
+				case "-out":
+					outPath = value;
+					break;
+				case "-seed":
+					config.setSeed(Long.parseLong(value));
+					break;
+				case "-size":
+					config.setTargetBytes(CorpusConfig.parseSize(value));
+					break;
+				case "-count":
+					config.setCount(Integer.parseInt(value));
+					break;
+				case "-errors":
+					config.setErrorRate(Double.parseDouble(value));
+					break;
+				case "-languages":
+					config.setLanguageCount(Integer.parseInt(value));
+					break;
+				case "-ratings":
+					config.setRatingCount(Integer.parseInt(value));
+					break;
+				case "-idReuse":
+					config.setIdReuseRate(Double.parseDouble(value));
+					break;
+				case "-tv":
+					config.setTvRatio(Double.parseDouble(value));
+					break;
+				case "-template":
+					config.setTemplate(value);
+					break;
+				case "-depth":
+					config.setExperienceDepth(Integer.parseInt(value));
+					break;
+				case "-fanout":
+					config.setExperienceFanout(Integer.parseInt(value));
+					break;
+				default:
+					usage("Unrecognized option " + arg);
+				}
+			}
+		} catch (IllegalArgumentException e) {
+			usage(e.getMessage());
+		}
+		if ((type == null) || (outPath == null)) {
+			usage("Both -type and -out are required");
+		}
+		CorpusGenerator generator = null;
+		try {
+			generator = factory(type, config);
+		} catch (IllegalArgumentException e) {
+			usage(e.getMessage());
+		}
+		File target = new File(outPath);
+		long start = System.currentTimeMillis();
+		try {
+			generator.generate(target);
+		} catch (IOException e) {
+			System.err.println("Generation failed: " + e.getMessage());
+			System.exit(2);
+		}
+		long elapsed = System.currentTimeMillis() - start;
+		System.out.println("Generated " + generator.getUnitCount() + " units (" + generator.getDefectCount()
+				+ " with errors), " + generator.getByteCount() + " bytes in " + elapsed + " ms: "
+				+ target.getAbsolutePath());
+	}
+}
@@ -0,0 +1,218 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.testsupport.corpus;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Generates a Media Manifest (v1.6) describing one or more titles. Each title
+ * has an Inventory (audio, video, and metadata), a Presentation, a tree of
+ * Experiences, and an ALID-to-Experience mapping. The depth and fan-out of
+ * the Experience tree are set via the <tt>CorpusConfig</tt>.
+ * <p>
+ * A Manifest's sections each contain entries for every title so the number
+ * of titles must be known before the first section is written. When a target
+ * size is specified the number of titles is estimated from the size of the
+ * first title and the resulting file will therefore only approximate the
+ * target size.
+ * </p>
+ */
+public class ManifestGenerator extends CorpusGenerator {
+
+	static final String MANIFEST_URI = "http://www.movielabs.com/schema/manifest/v1.6/manifest";
+
+	public ManifestGenerator(CorpusConfig config) {
+		super(config);
+	}
+
+	public void generate(File target) throws IOException {
+		int titleCnt = estimateTitleCount();
+		writeManifest(new BufferedOutputStream(new FileOutputStream(target)), titleCnt);
+		for (int i = 0; i < titleCnt; i++) {
+			tally(new SyntheticTitle(config, i));
+		}
+		byteCnt = target.length();
+	}
+
+	/**
+	 * @return the number of titles required to satisfy the configured limits
+	 * @throws IOException
+	 */
+	private int estimateTitleCount() throws IOException {
+		int titleCnt = config.getCount();
+		if (config.getTargetBytes() <= 0) {
+			return (titleCnt > 0) ? titleCnt : 1;
+		}
+		ByteArrayOutputStream sample = new ByteArrayOutputStream();
+		long overhead = writeManifest(sample, 0);
+		long perTitle = Math.max(1, writeManifest(new ByteArrayOutputStream(), 1) - overhead);
+		long needed = Math.max(1, (config.getTargetBytes() - overhead + perTitle - 1) / perTitle);
+		if ((titleCnt <= 0) || (needed < titleCnt)) {
+			titleCnt = (int) Math.min(Integer.MAX_VALUE, needed);
+		}
+		return titleCnt;
+	}
+
+	/**
+	 * @param stream
+	 * @param titleCnt
+	 * @return the number of bytes written
+	 * @throws IOException
+	 */
+	private long writeManifest(OutputStream stream, int titleCnt) throws IOException {
+		XmlOut out = new XmlOut(stream);
+		try {
+			out.declare("manifest", MANIFEST_URI);
+			out.declare("md", MD_URI);
+			out.start("manifest:MediaManifest");
+			out.attribute("ManifestID", "md:manifestid:" + SyntheticTitle.ID_DOMAIN + ":corpus-" + config.getSeed());
+			out.start("manifest:Compatibility");
+			out.leaf("manifest:SpecVersion", "1.6");
+			out.leaf("manifest:Profile", "none");
+			out.end();
+			/* the XSD requires all Audio, then all Video, then all Metadata */
+			out.start("manifest:Inventory");
+			for (int i = 0; i < titleCnt; i++) {
+				SyntheticTitle title = new SyntheticTitle(config, i);
+				out.start("manifest:Audio");
+				out.attribute("AudioTrackID", title.getId("audtrackid", null));
+				out.leaf("md:Language", title.getLanguages().get(0));
+				writeContainerRef(out, title);
+				out.end();
+			}
+			for (int i = 0; i < titleCnt; i++) {
+				SyntheticTitle title = new SyntheticTitle(config, i);
+				out.start("manifest:Video");
+				out.attribute("VideoTrackID", title.getId("vidtrackid", null));
+				out.start("md:Picture");
+				out.end();
+				writeContainerRef(out, title);
+				out.end();
+			}
+			for (int i = 0; i < titleCnt; i++) {
+				SyntheticTitle title = new SyntheticTitle(config, i);
+				out.start("manifest:Metadata");
+				out.attribute("ContentID", title.getContentId());
+				writeBasicMetadata(out, "manifest:BasicMetadata", title);
+				out.end();
+			}
+			out.end();
+			out.start("manifest:Presentations");
+			for (int i = 0; i < titleCnt; i++) {
+				writePresentation(out, new SyntheticTitle(config, i));
+			}
+			out.end();
+			out.start("manifest:Experiences");
+			for (int i = 0; i < titleCnt; i++) {
+				writeExperience(out, new SyntheticTitle(config, i), "0", 1);
+			}
+			out.end();
+			out.start("manifest:ALIDExperienceMaps");
+			for (int i = 0; i < titleCnt; i++) {
+				SyntheticTitle title = new SyntheticTitle(config, i);
+				out.start("manifest:ALIDExperienceMap");
+				out.leaf("manifest:ALID", title.getId("alid", null));
+				out.start("manifest:ExperienceID");
+				out.attribute("condition", "Acquired");
+				out.text(title.getId("experienceid", "0"));
+				out.end();
+				out.end();
+			}
+			out.end();
+		} finally {
+			out.close();
+		}
+		return out.getByteCount();
+	}
+
+	private void writeContainerRef(XmlOut out, SyntheticTitle title) throws IOException {
+		out.start("manifest:ContainerReference");
+		out.leaf("manifest:ContainerLocation", "https://media.example.com/" + title.getKey() + ".mp4");
+		out.end();
+	}
+
+	private void writePresentation(XmlOut out, SyntheticTitle title) throws IOException {
+		out.start("manifest:Presentation");
+		out.attribute("PresentationID", title.getId("presentationid", null));
+		out.start("manifest:TrackMetadata");
+		out.leaf("manifest:TrackSelectionNumber", "0");
+		out.start("manifest:VideoTrackReference");
+		out.leaf("manifest:VideoTrackID", title.getId("vidtrackid", null));
+		out.end();
+		out.start("manifest:AudioTrackReference");
+		out.leaf("manifest:AudioTrackID", title.getId("audtrackid", null));
+		out.end();
+		out.end();
+		out.end();
+	}
+
+	/**
+	 * Write an Experience followed by all of its descendants. The root of the
+	 * tree is the main feature while all others are bonus material.
+	 * 
+	 * @param out
+	 * @param title
+	 * @param path
+	 *            identifies the Experience's position in the tree
+	 * @param level
+	 *            of the Experience (the root is level 1)
+	 * @throws IOException
+	 */
+	private void writeExperience(XmlOut out, SyntheticTitle title, String path, int level) throws IOException {
+		boolean isRoot = (level == 1);
+		boolean isLeaf = (level >= config.getExperienceDepth());
+		out.start("manifest:Experience");
+		out.attribute("ExperienceID", title.getId("experienceid", path));
+		out.attribute("version", "1.0");
+		if (isRoot) {
+			out.leaf("manifest:ContentID", title.getContentId());
+		}
+		out.start("manifest:Audiovisual");
+		out.attribute("ContentID", title.getContentId());
+		out.leaf("manifest:Type", isRoot ? title.getAudiovisualType() : "Bonus");
+		out.leaf("manifest:PresentationID", title.getId("presentationid", null));
+		out.end();
+		if (!isLeaf) {
+			for (int i = 1; i <= config.getExperienceFanout(); i++) {
+				out.start("manifest:ExperienceChild");
+				out.leaf("manifest:Relationship", "issupplementto");
+				out.start("manifest:SequenceInfo");
+				out.leaf("md:Number", Integer.toString(i));
+				out.end();
+				out.leaf("manifest:ExperienceID", title.getId("experienceid", path + "." + i));
+				out.end();
+			}
+		}
+		out.end();
+		if (!isLeaf) {
+			for (int i = 1; i <= config.getExperienceFanout(); i++) {
+				writeExperience(out, title, path + "." + i, level + 1);
+			}
+		}
+	}
+}
@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.testsupport.corpus;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Generates MEC (i.e., <tt>mdmec:CoreMetadata</tt>) files. Each unit is
+ * written to a separate file in the target directory so the size of the
+ * corpus is the total size of all the files.
+ */
+public class MecGenerator extends CorpusGenerator {
+
+	static final String MEC_URI = "http://www.movielabs.com/schema/mdmec/v2.5";
+
+	public MecGenerator(CorpusConfig config) {
+		super(config);
+	}
+
+	public void generate(File targetDir) throws IOException {
+		if (!targetDir.isDirectory() && !targetDir.mkdirs()) {
+			throw new IOException("Unable to create directory " + targetDir.getAbsolutePath());
+		}
+		while (config.hasCapacity(unitCnt, byteCnt)) {
+			SyntheticTitle title = new SyntheticTitle(config, unitCnt);
+			File target = new File(targetDir, String.format("mec_%06d.xml", unitCnt));
+			XmlOut out = new XmlOut(new BufferedOutputStream(new FileOutputStream(target)));
+			try {
+				out.declare("mdmec", MEC_URI);
+				out.declare("md", MD_URI);
+				out.start("mdmec:CoreMetadata");
+				writeBasicMetadata(out, "mdmec:Basic", title);
+			} finally {
+				out.close();
+			}
+			byteCnt += out.getByteCount();
+			tally(title);
+		}
+	}
+}
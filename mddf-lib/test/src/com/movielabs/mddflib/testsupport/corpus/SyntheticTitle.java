@@ -0,0 +1,319 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.testsupport.corpus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The content of a single synthetic <i>unit</i> (i.e., an Avail, a Manifest
+ * title, or a MEC file). All values are derived from a random number
+ * generator seeded with the corpus seed and the unit's index so that any unit
+ * may be re-created independently of the others. This allows generators that
+ * make several passes over the units (e.g., a Manifest's Inventory,
+ * Presentations, and Experiences) to do so without retaining them in memory.
+ * <p>
+ * Errors are injected by replacing a single value with one that is
+ * schema-valid but will be flagged by the MDDF validators' semantic checks.
+ * </p>
+ */
+public class SyntheticTitle {
+
+	/**
+	 * The types of error that may be injected into a unit.
+	 */
+	public static enum Defect {
+		LANGUAGE, RATING, IDENTIFIER, VOCABULARY
+	}
+
+	static final String ID_DOMAIN = "org:example.com";
+
+	static final String[] LANGUAGES = { "en", "en-US", "fr", "de", "es", "ja", "it", "fr-CA", "pt-BR", "es-419",
+			"ko", "nl", "sv", "pl", "ru", "zh", "hi", "ar", "tr", "en-GB" };
+	static final String[] BAD_LANGUAGES = { "english", "xx", "zz" };
+
+	/** Country, RatingSystem, and Value */
+	static final String[][] RATINGS = { { "US", "MPAA", "PG-13" }, { "DE", "FSK", "12" }, { "GB", "BBFC", "12A" },
+			{ "US", "MPAA", "R" }, { "FR", "CNC", "12" }, { "CA", "CHVRS", "PG" }, { "JP", "EIRIN", "G" },
+			{ "US", "MPAA", "PG" }, { "DE", "FSK", "16" }, { "GB", "BBFC", "15" }, { "BR", "DJCTQ", "12" },
+			{ "ES", "ICAA", "12" }, { "IT", "AGCOM", "T" }, { "US", "MPAA", "G" } };
+
+	static final String[] TERRITORIES = { "US", "CA", "GB", "DE", "FR", "ES", "IT", "JP", "BR", "NL" };
+	static final String[] LICENSE_TYPES = { "EST", "VOD", "SVOD", "POEST" };
+	static final String[] FORMAT_PROFILES = { "SD", "HD", "UHD" };
+
+	private static final String[] ADJECTIVES = { "Silent", "Crimson", "Last", "Hidden", "Broken", "Golden", "Distant",
+			"Frozen", "Electric", "Secret", "Wild", "Midnight" };
+	private static final String[] NOUNS = { "River", "Empire", "Garden", "Signal", "Harbor", "Voyage", "Kingdom",
+			"Machine", "Summer", "Witness", "Frontier", "Orchard" };
+
+	private final int index;
+	private final String key;
+	private final Random rng;
+	private final boolean episode;
+	private final String name;
+	private final int seriesNum;
+	private final int seasonNum;
+	private final int episodeNum;
+	private final List<String> languages;
+	private final List<String[]> ratings;
+	private final String territory;
+	private final String licenseType;
+	private final String formatProfile;
+	private final int releaseYear;
+	private final int runMinutes;
+	private final Defect defect;
+
+	/**
+	 * Returns the index of the unit whose identifiers are used by the
+	 * specified unit. A unit re-using the identifiers of another may itself be
+	 * re-used so the chain is followed to its origin.
+	 * 
+	 * @param config
+	 * @param index
+	 * @return
+	 */
+	static int resolveIdIndex(CorpusConfig config, int index) {
+		int cur = index;
+		while (cur > 0) {
+			Random rng = seed(config, cur);
+			double draw = rng.nextDouble();
+			int earlier = rng.nextInt(cur);
+			if (draw >= config.getIdReuseRate()) {
+				break;
+			}
+			cur = earlier;
+		}
+		return cur;
+	}
+
+	/**
+	 * The first values returned by <tt>java.util.Random</tt> are strongly
+	 * correlated for adjacent seeds so the unit's seed is scrambled (using the
+	 * SplitMix64 finalizer) before use.
+	 * 
+	 * @param config
+	 * @param index
+	 * @return
+	 */
+	private static Random seed(CorpusConfig config, int index) {
+		long z = config.getSeed() * 1000003L + index;
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return new Random(z ^ (z >>> 31));
+	}
+
+	public SyntheticTitle(CorpusConfig config, int index) {
+		this.index = index;
+		rng = seed(config, index);
+		/* same draws as resolveIdIndex() */
+		rng.nextDouble();
+		rng.nextInt(Math.max(1, index));
+		int idIndex = resolveIdIndex(config, index);
+		key = String.format("t%08d", idIndex);
+		episode = rng.nextDouble() < config.getTvRatio();
+		seriesNum = idIndex / 20;
+		seasonNum = (idIndex / 10) % 2 + 1;
+		episodeNum = idIndex % 10 + 1;
+		name = pick(ADJECTIVES) + " " + pick(NOUNS);
+		int langPoolSize = Math.min(config.getLanguageCount(), LANGUAGES.length);
+		int langCnt = 1 + rng.nextInt(Math.min(3, langPoolSize));
+		languages = new ArrayList<String>();
+		while (languages.size() < langCnt) {
+			String lang = LANGUAGES[rng.nextInt(langPoolSize)];
+			if (!languages.contains(lang)) {
+				languages.add(lang);
+			}
+		}
+		int ratingPoolSize = Math.min(config.getRatingCount(), RATINGS.length);
+		int ratingCnt = 1 + rng.nextInt(Math.min(2, ratingPoolSize));
+		ratings = new ArrayList<String[]>();
+		while (ratings.size() < ratingCnt) {
+			String[] rating = RATINGS[rng.nextInt(ratingPoolSize)];
+			if (!ratings.contains(rating)) {
+				ratings.add(rating);
+			}
+		}
+		territory = pick(TERRITORIES);
+		licenseType = pick(LICENSE_TYPES);
+		formatProfile = pick(FORMAT_PROFILES);
+		releaseYear = 1980 + rng.nextInt(40);
+		runMinutes = 80 + rng.nextInt(80);
+		if (rng.nextDouble() < config.getErrorRate()) {
+			Defect[] kinds = Defect.values();
+			defect = kinds[rng.nextInt(kinds.length)];
+		} else {
+			defect = null;
+		}
+	}
+
+	private String pick(String[] values) {
+		return values[rng.nextInt(values.length)];
+	}
+
+	/**
+	 * @return the index of the unit within the corpus
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * @return the key used to construct this unit's identifiers
+	 */
+	public String getKey() {
+		return key;
+	}
+
+	/**
+	 * Returns an identifier of the specified type (e.g., 'cid' or 'alid').
+	 * 
+	 * @param idType
+	 * @param suffix
+	 *            appended to the key. May be <tt>null</tt>.
+	 * @return
+	 */
+	public String getId(String idType, String suffix) {
+		String ssid = key;
+		if (suffix != null) {
+			ssid = ssid + "-" + suffix;
+		}
+		return "md:" + idType + ":" + ID_DOMAIN + ":" + ssid;
+	}
+
+	/**
+	 * Returns this unit's <tt>ContentID</tt>. If an <tt>IDENTIFIER</tt> defect
+	 * has been injected an EIDR scheme with a malformed SSID is used.
+	 * 
+	 * @return
+	 */
+	public String getContentId() {
+		if (defect == Defect.IDENTIFIER) {
+			return "md:cid:eidr-s:" + key;
+		}
+		return getId("cid", null);
+	}
+
+	public String getSeriesId() {
+		return "md:cid:" + ID_DOMAIN + ":" + String.format("series%06d", seriesNum);
+	}
+
+	public String getSeasonId() {
+		return "md:cid:" + ID_DOMAIN + ":" + String.format("series%06d-s%d", seriesNum, seasonNum);
+	}
+
+	public boolean isEpisode() {
+		return episode;
+	}
+
+	public String getName() {
+		return name + " " + key.substring(1);
+	}
+
+	public String getSeriesName() {
+		return "Series " + seriesNum;
+	}
+
+	public int getSeasonNumber() {
+		return seasonNum;
+	}
+
+	public int getEpisodeNumber() {
+		return episodeNum;
+	}
+
+	/**
+	 * @return one or more language codes. If a <tt>LANGUAGE</tt> defect has
+	 *         been injected the first will be invalid.
+	 */
+	public List<String> getLanguages() {
+		if (defect != Defect.LANGUAGE) {
+			return languages;
+		}
+		List<String> defective = new ArrayList<String>(languages);
+		defective.set(0, BAD_LANGUAGES[index % BAD_LANGUAGES.length]);
+		return defective;
+	}
+
+	/**
+	 * @return one or more ratings, each specified as the country, system, and
+	 *         value. If a <tt>RATING</tt> defect has been injected the first
+	 *         will have a value that is not part of its rating system.
+	 */
+	public List<String[]> getRatings() {
+		if (defect != Defect.RATING) {
+			return ratings;
+		}
+		List<String[]> defective = new ArrayList<String[]>(ratings);
+		String[] first = ratings.get(0);
+		defective.set(0, new String[] { first[0], first[1], "NR-" + first[2] + "X" });
+		return defective;
+	}
+
+	public String getTerritory() {
+		return territory;
+	}
+
+	/**
+	 * @return the license type. If a <tt>VOCABULARY</tt> defect has been
+	 *         injected the value will not be part of the controlled vocabulary.
+	 */
+	public String getLicenseType() {
+		if (defect == Defect.VOCABULARY) {
+			return licenseType + "X";
+		}
+		return licenseType;
+	}
+
+	public String getFormatProfile() {
+		return formatProfile;
+	}
+
+	/**
+	 * @return the type of the main Audiovisual. If a <tt>VOCABULARY</tt>
+	 *         defect has been injected the value will not be part of the
+	 *         controlled vocabulary.
+	 */
+	public String getAudiovisualType() {
+		if (defect == Defect.VOCABULARY) {
+			return "Feature";
+		}
+		return "Main";
+	}
+
+	public int getReleaseYear() {
+		return releaseYear;
+	}
+
+	public int getRunMinutes() {
+		return runMinutes;
+	}
+
+	/**
+	 * @return the injected defect or <tt>null</tt> if the unit is error-free
+	 */
+	public Defect getDefect() {
+		return defect;
+	}
+}
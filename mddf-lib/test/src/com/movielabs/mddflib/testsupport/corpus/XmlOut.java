@@ -0,0 +1,197 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.testsupport.corpus;
+
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Thin wrapper around an <tt>XMLStreamWriter</tt> that indents the output and
+ * keeps track of the number of bytes written. Elements are identified by
+ * their qualified name (e.g., <tt>"md:Language"</tt>) using prefixes
+ * registered via <tt>declare()</tt>. Since the XML is streamed, the size of
+ * the generated file is not limited by the available memory.
+ */
+class XmlOut implements Closeable {
+
+	private static XMLOutputFactory factory = XMLOutputFactory.newInstance();
+
+	private CountingStream counter;
+	private XMLStreamWriter writer;
+	private Map<String, String> namespaces = new LinkedHashMap<String, String>();
+	private Deque<Boolean> hasChildren = new ArrayDeque<Boolean>();
+	private boolean closed = false;
+
+	/**
+	 * Counts the bytes passed to the underlying stream.
+	 */
+	private static class CountingStream extends FilterOutputStream {
+		private long count = 0;
+
+		CountingStream(OutputStream out) {
+			super(out);
+		}
+
+		public void write(int b) throws IOException {
+			out.write(b);
+			count++;
+		}
+
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			count += len;
+		}
+	}
+
+	XmlOut(OutputStream out) throws IOException {
+		counter = new CountingStream(out);
+		try {
+			writer = factory.createXMLStreamWriter(counter, "UTF-8");
+			writer.writeStartDocument("UTF-8", "1.0");
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Register a namespace prefix. Declarations are added to the next element
+	 * started.
+	 * 
+	 * @param prefix
+	 * @param uri
+	 */
+	void declare(String prefix, String uri) {
+		namespaces.put(prefix, uri);
+	}
+
+	void start(String qName) throws IOException {
+		try {
+			if (!hasChildren.isEmpty()) {
+				hasChildren.pop();
+				hasChildren.push(Boolean.TRUE);
+			}
+			indent(hasChildren.size());
+			String[] part = qName.split(":");
+			String uri = namespaces.get(part[0]);
+			writer.writeStartElement(part[0], part[1], uri);
+			if (hasChildren.isEmpty()) {
+				for (Map.Entry<String, String> entry : namespaces.entrySet()) {
+					writer.writeNamespace(entry.getKey(), entry.getValue());
+				}
+			}
+			hasChildren.push(Boolean.FALSE);
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		}
+	}
+
+	void attribute(String name, String value) throws IOException {
+		try {
+			writer.writeAttribute(name, value);
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		}
+	}
+
+	void text(String value) throws IOException {
+		try {
+			writer.writeCharacters(value);
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		}
+	}
+
+	void end() throws IOException {
+		try {
+			if (hasChildren.pop()) {
+				indent(hasChildren.size());
+			}
+			writer.writeEndElement();
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Write an element containing only text.
+	 * 
+	 * @param qName
+	 * @param value
+	 * @throws IOException
+	 */
+	void leaf(String qName, String value) throws IOException {
+		start(qName);
+		text(value);
+		end();
+	}
+
+	private void indent(int depth) throws XMLStreamException {
+		StringBuilder sb = new StringBuilder("\n");
+		for (int i = 0; i < depth; i++) {
+			sb.append('\t');
+		}
+		writer.writeCharacters(sb.toString());
+	}
+
+	/**
+	 * @return the number of bytes written so far
+	 * @throws IOException
+	 */
+	long getByteCount() throws IOException {
+		if (closed) {
+			return counter.count;
+		}
+		try {
+			writer.flush();
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		}
+		return counter.count;
+	}
+
+	public void close() throws IOException {
+		try {
+			while (!hasChildren.isEmpty()) {
+				end();
+			}
+			writer.writeCharacters("\n");
+			writer.writeEndDocument();
+			writer.close();
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		} finally {
+			closed = true;
+			counter.close();
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddflib.util.xml;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.TreeMap;
+
+import net.sf.json.JSONObject;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * JUnit test for the saving and re-loading of a
+ * <tt>com.movielabs.mddflib.util.xml.ResourceRegistry</tt> snapshot.
+ */
+public class ResourceRegistryTest {
+
+	private File snapshotFile;
+
+	@Before
+	public void setUp() throws Exception {
+		snapshotFile = File.createTempFile("ResourceRegistryTest", ".snapshot");
+	}
+
+	@After
+	public void tearDown() {
+		snapshotFile.delete();
+		ResourceRegistry.reset();
+	}
+
+	/**
+	 * Resources loaded from a snapshot must be identical to those parsed from
+	 * the original resource and must not be re-loaded when used.
+	 */
+	@Test
+	public void testRoundTrip() throws IOException {
+		ResourceRegistry.warmUp();
+		ResourceRegistry.saveSnapshot(snapshotFile);
+		ResourceRegistry.reset();
+		int count = ResourceRegistry.loadSnapshot(snapshotFile);
+		assertTrue(count > 0);
+		assertEquals(count, ResourceRegistry.getLoadCount());
+		int compared = 0;
+		for (String rsrcPath : ResourceRegistry.listResources(true)) {
+			if (rsrcPath.endsWith(".json")) {
+				JSONObject expected = ResourceRegistry.parseJSON(rsrcPath);
+				assertEquals(rsrcPath, expected.toString(), ResourceRegistry.getJSON(rsrcPath).toString());
+				compared++;
+			}
+		}
+		assertEquals(count, compared);
+		assertEquals(count, ResourceRegistry.getLoadCount());
+	}
+
+	@Test
+	public void testRejectsOtherClasses() throws IOException {
+		ObjectOutputStream objOut = new ObjectOutputStream(new FileOutputStream(snapshotFile));
+		try {
+			objOut.writeUTF("MDDF-RSRC-1");
+			objOut.writeInt(1);
+			objOut.writeUTF("/com/movielabs/mddf/resources/bogus.json");
+			objOut.writeLong(0);
+			objOut.writeObject(new TreeMap<String, String>());
+		} finally {
+			objOut.close();
+		}
+		try {
+			ResourceRegistry.loadSnapshot(snapshotFile);
+			fail("Snapshot containing a java.util.TreeMap was accepted");
+		} catch (IOException e) {
+			// expected
+		}
+	}
+}
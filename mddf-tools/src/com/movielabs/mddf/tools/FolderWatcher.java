@@ -0,0 +1,344 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddf.tools;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.movielabs.mddflib.logging.DefaultLogging;
+import com.movielabs.mddflib.logging.LogEntryNode;
+import com.movielabs.mddflib.logging.LogMgmt;
+
+/**
+ * Monitors a delivery folder and re-validates MDDF files as they are created
+ * or modified. Changes are detected using a <tt>WatchService</tt> so only
+ * files that have actually changed are processed. Because a file is typically
+ * written in several steps (each of which results in an event), a file is
+ * only processed once no further changes have been detected for the
+ * <i>debounce</i> interval.
+ * <p>
+ * Prior to re-validating a file any existing log entries for it are removed.
+ * The same is done when a file is deleted. A one-line summary is displayed
+ * each time a file is processed and, if a log file has been specified, the
+ * log is saved after each group of changes is processed.
+ * </p>
+ */
+public class FolderWatcher {
+
+	public static final long DEFAULT_DEBOUNCE = 1500;
+	private static final SimpleDateFormat timeFmt = new SimpleDateFormat("HH:mm:ss");
+
+	private ValidationController vCtrl;
+	private LogMgmt logMgr;
+	private Path rootDir;
+	private boolean recursive;
+	private long debounce = DEFAULT_DEBOUNCE;
+	private File logFile = null;
+	private Path excludedDir = null;
+	private WatchService watcher;
+	private Map<WatchKey, Path> keyMap = new HashMap<WatchKey, Path>();
+	/* files with pending changes and the time of the most recent event */
+	private Map<Path, Long> pending = new LinkedHashMap<Path, Long>();
+	private Set<Path> deleted = new LinkedHashSet<Path>();
+	private volatile boolean running = false;
+
+	/**
+	 * @param vCtrl
+	 *            used to validate changed files
+	 * @param logMgr
+	 *            the <tt>LogMgmt</tt> used by the <tt>vCtrl</tt>
+	 * @param dir
+	 *            the folder to watch
+	 * @param recursive
+	 *            if <tt>true</tt> sub-folders are also watched
+	 */
+	public FolderWatcher(ValidationController vCtrl, LogMgmt logMgr, File dir, boolean recursive) {
+		this.vCtrl = vCtrl;
+		this.logMgr = logMgr;
+		this.rootDir = dir.getAbsoluteFile().toPath().normalize();
+		this.recursive = recursive;
+	}
+
+	/**
+	 * @param debounce
+	 *            minimum time (in msec) a file must remain unchanged before it
+	 *            is processed
+	 */
+	public void setDebounce(long debounce) {
+		this.debounce = debounce;
+	}
+
+	/**
+	 * @param logFile
+	 *            if not <tt>null</tt>, the log will be saved to this file
+	 *            after each group of changes is processed
+	 */
+	public void setLogFile(File logFile) {
+		this.logFile = logFile;
+	}
+
+	/**
+	 * @param dir
+	 *            if not <tt>null</tt>, changes to files in this directory (or
+	 *            any of its sub-directories) are ignored. This is used to
+	 *            prevent exported files from being re-validated. It is
+	 *            ignored if it contains the watched folder.
+	 */
+	public void setExcludedDir(File dir) {
+		excludedDir = null;
+		if (dir != null) {
+			Path path = dir.getAbsoluteFile().toPath().normalize();
+			if (!rootDir.startsWith(path)) {
+				excludedDir = path;
+			}
+		}
+	}
+
+	/**
+	 * Watch the folder until <tt>stop()</tt> is invoked or the thread is
+	 * interrupted. Note that files already present are not validated.
+	 * 
+	 * @throws IOException
+	 */
+	public void run() throws IOException {
+		watcher = rootDir.getFileSystem().newWatchService();
+		try {
+			register(rootDir);
+			running = true;
+			System.out.println("Watching " + rootDir + " for changes");
+			while (running) {
+				WatchKey key = watcher.poll(pollInterval(), TimeUnit.MILLISECONDS);
+				while (key != null) {
+					handleEvents(key);
+					key = watcher.poll();
+				}
+				processReady();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			watcher.close();
+		}
+	}
+
+	/**
+	 * Stop watching. Any changes not yet processed are discarded.
+	 */
+	public void stop() {
+		running = false;
+	}
+
+	private long pollInterval() {
+		if (pending.isEmpty() && deleted.isEmpty()) {
+			return 1000;
+		}
+		return Math.max(50, debounce / 4);
+	}
+
+	/**
+	 * Register a directory and, if recursive, all of its sub-directories.
+	 * 
+	 * @param dir
+	 * @throws IOException
+	 */
+	private void register(Path dir) throws IOException {
+		if (!recursive) {
+			keyMap.put(dir.register(watcher, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), dir);
+			return;
+		}
+		Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult preVisitDirectory(Path subDir, BasicFileAttributes attrs) throws IOException {
+				keyMap.put(subDir.register(watcher, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), subDir);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	private void handleEvents(WatchKey key) {
+		Path dir = keyMap.get(key);
+		long now = System.currentTimeMillis();
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == OVERFLOW) {
+				/* events were lost so check everything */
+				queueAll(rootDir, now);
+				continue;
+			}
+			Path changed = dir.resolve((Path) event.context());
+			if (event.kind() == ENTRY_DELETE) {
+				if (pending.remove(changed) == null && !isMddfFile(changed)) {
+					continue;
+				}
+				deleted.add(changed);
+			} else if (Files.isDirectory(changed)) {
+				if (recursive && (event.kind() == ENTRY_CREATE)) {
+					try {
+						register(changed);
+					} catch (IOException e) {
+						System.out.println("Unable to watch " + changed + ": " + e.getMessage());
+					}
+					/* files may have been added before it was registered */
+					queueAll(changed, now);
+				}
+			} else if (isMddfFile(changed)) {
+				deleted.remove(changed);
+				pending.put(changed, now);
+			}
+		}
+		if (!key.reset()) {
+			keyMap.remove(key);
+		}
+	}
+
+	private void queueAll(Path dir, final long now) {
+		try {
+			Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+				@Override
+				public FileVisitResult preVisitDirectory(Path subDir, BasicFileAttributes attrs) {
+					if (!recursive && !subDir.equals(rootDir)) {
+						return FileVisitResult.SKIP_SUBTREE;
+					}
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+					if (isMddfFile(file)) {
+						pending.put(file, now);
+					}
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		} catch (IOException e) {
+			// directory removed before it could be checked
+		}
+	}
+
+	private boolean isMddfFile(Path file) {
+		if ((excludedDir != null) && file.startsWith(excludedDir)) {
+			return false;
+		}
+		String name = file.getFileName().toString();
+		if (name.startsWith("~$") || name.startsWith(".")) {
+			/* lock and temp files created by editors */
+			return false;
+		}
+		name = name.toLowerCase();
+		return name.endsWith(".xml") || name.endsWith(".xlsx");
+	}
+
+	/**
+	 * Process all deletions and any changed files that have been stable for
+	 * the debounce interval.
+	 */
+	private void processReady() {
+		List<Path> ready = new ArrayList<Path>();
+		long cutoff = System.currentTimeMillis() - debounce;
+		Iterator<Map.Entry<Path, Long>> pendingIt = pending.entrySet().iterator();
+		while (pendingIt.hasNext()) {
+			Map.Entry<Path, Long> entry = pendingIt.next();
+			if (entry.getValue() <= cutoff) {
+				ready.add(entry.getKey());
+				pendingIt.remove();
+			}
+		}
+		if (ready.isEmpty() && deleted.isEmpty()) {
+			return;
+		}
+		for (Path file : deleted) {
+			int cnt = deleteEntries(file.toFile());
+			report(file, "deleted; " + cnt + " log entries removed");
+		}
+		deleted.clear();
+		for (Path file : ready) {
+			if (!Files.isRegularFile(file)) {
+				deleteEntries(file.toFile());
+				report(file, "deleted");
+				continue;
+			}
+			deleteEntries(file.toFile());
+			try {
+				vCtrl.validate(file.toString(), null, null);
+			} catch (IOException e) {
+				String msg = "Exception while validating: " + e.getMessage();
+				logMgr.log(LogMgmt.LEV_ERR, LogMgmt.TAG_N_A, msg, file.toFile(), ValidationController.MODULE_ID);
+			}
+			report(file, summarize(file.toFile()));
+		}
+		if (logFile != null) {
+			try {
+				logMgr.saveAs(logFile, "csv");
+			} catch (IOException e) {
+				System.out.println("Unable to save log: " + e.getMessage());
+			}
+		}
+	}
+
+	private int deleteEntries(File file) {
+		if (logMgr instanceof DefaultLogging) {
+			return ((DefaultLogging) logMgr).deleteEntries(file);
+		}
+		logMgr.getFileFolder(file).deleteMsgs();
+		return 0;
+	}
+
+	private String summarize(File file) {
+		int[] counts = new int[LogMgmt.logLevels.length];
+		for (LogEntryNode entry : logMgr.getFileFolder(file).getMsgList()) {
+			counts[entry.getLevel()]++;
+		}
+		return "validated; " + counts[LogMgmt.LEV_FATAL] + " fatal, " + counts[LogMgmt.LEV_ERR] + " errors, "
+				+ counts[LogMgmt.LEV_WARN] + " warnings";
+	}
+
+	private void report(Path file, String status) {
+		String time;
+		synchronized (timeFmt) {
+			time = timeFmt.format(new java.util.Date());
+		}
+		System.out.println("[" + time + "] " + rootDir.relativize(file) + ": " + status);
+	}
+}
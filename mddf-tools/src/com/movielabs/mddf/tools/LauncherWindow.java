@@ -0,0 +1,153 @@
+/** 
+ * Copyright Motion Picture Laboratories, Inc. 2017
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of 
+ * this software and associated documentation files (the "Software"), to deal in 
+ * the Software without restriction, including without limitation the rights to use, 
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell copies of 
+ * the Software, and to permit persons to whom the Software is furnished to do so, 
+ * subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all 
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR 
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS 
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR 
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER 
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN 
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddf.tools;
+
+import java.awt.EventQueue;
+import java.awt.GridBagConstraints;
+import java.awt.GridBagLayout;
+import java.awt.Insets;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+
+import javax.swing.JButton;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+
+/**
+ * The GUI used by <tt>ToolLauncher</tt> when running in interactive mode. This
+ * is kept separate from the <tt>ToolLauncher</tt> so that command-line usage
+ * does not incur the cost of loading any Swing or AWT classes.
+ */
+public class LauncherWindow {
+
+	private JFrame frame;
+
+	/**
+	 * Display the launcher's window.
+	 */
+	public static void launch() {
+		EventQueue.invokeLater(new Runnable() {
+			public void run() {
+				try {
+					LauncherWindow window = new LauncherWindow();
+					window.frame.setVisible(true);
+				} catch (Exception e) {
+					e.printStackTrace();
+				}
+			}
+		});
+	}
+
+	/**
+	 * Create the application.
+	 */
+	public LauncherWindow() {
+		initialize();
+	}
+
+	/**
+	 * Initialize the contents of the frame.
+	 */
+	private void initialize() {
+		frame = new JFrame();
+		frame.setBounds(100, 100, 450, 162);
+		frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+		GridBagLayout gridBagLayout = new GridBagLayout();
+		gridBagLayout.columnWidths = new int[] { 46, 0, 0, 0, 0, 0, 0, 0, 0 };
+		gridBagLayout.rowHeights = new int[] { 34, 34, 0, 0, 0 };
+		gridBagLayout.columnWeights = new double[] { 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, Double.MIN_VALUE };
+		gridBagLayout.rowWeights = new double[] { 0.0, 0.0, 0.0, 0.0, Double.MIN_VALUE };
+		frame.getContentPane().setLayout(gridBagLayout);
+
+		JLabel lblNewLabel = new JLabel("MDDF tool launcher");
+		GridBagConstraints gbc_lblNewLabel = new GridBagConstraints();
+		gbc_lblNewLabel.gridwidth = 4;
+		gbc_lblNewLabel.insets = new Insets(0, 0, 5, 5);
+		gbc_lblNewLabel.gridx = 1;
+		gbc_lblNewLabel.gridy = 1;
+		frame.getContentPane().add(lblNewLabel, gbc_lblNewLabel);
+
+		JButton btnAvails = new JButton("Avails");
+		btnAvails.addMouseListener(new MouseAdapter() {
+
+			@Override
+			public void mouseClicked(MouseEvent e) {
+				frame.setVisible(false);
+				EventQueue.invokeLater(new Runnable() {
+					public void run() {
+						try {
+							ValidatorTool.tool = new AvailsTool();
+							ValidatorTool.tool.frame.setVisible(true);
+						} catch (Exception e) {
+							e.printStackTrace();
+						}
+					}
+				});
+
+			}
+		});
+
+		btnAvails.setToolTipText("launch Avail Validator");
+		GridBagConstraints gbc_btnAvails = new GridBagConstraints();
+		gbc_btnAvails.fill = GridBagConstraints.BOTH;
+		gbc_btnAvails.insets = new Insets(0, 0, 0, 5);
+		gbc_btnAvails.gridx = 1;
+		gbc_btnAvails.gridy = 3;
+		frame.getContentPane().add(btnAvails, gbc_btnAvails);
+
+		JButton btnManifest = new JButton("Manifest");
+		btnManifest.addMouseListener(new MouseAdapter() {
+			@Override
+			public void mouseClicked(MouseEvent e) {
+				frame.setVisible(false);
+				EventQueue.invokeLater(new Runnable() {
+					public void run() {
+						try {
+							ValidatorTool.tool = new ManifestTool();
+							ValidatorTool.tool.frame.setVisible(true);
+						} catch (Exception e) {
+							e.printStackTrace();
+						}
+					}
+				});
+			}
+		});
+		GridBagConstraints gbc_btnManifest = new GridBagConstraints();
+		gbc_btnManifest.insets = new Insets(0, 0, 0, 5);
+		gbc_btnManifest.fill = GridBagConstraints.BOTH;
+		gbc_btnManifest.gridx = 4;
+		gbc_btnManifest.gridy = 3;
+		frame.getContentPane().add(btnManifest, gbc_btnManifest);
+
+		JButton btnCancel = new JButton("Cancel");
+		btnCancel.addMouseListener(new MouseAdapter() {
+			@Override
+			public void mouseClicked(MouseEvent e) {
+				System.exit(0);
+			}
+		});
+		GridBagConstraints gbc_btnCancel = new GridBagConstraints();
+		gbc_btnCancel.gridx = 7;
+		gbc_btnCancel.gridy = 3;
+		frame.getContentPane().add(btnCancel, gbc_btnCancel);
+	}
+
+}
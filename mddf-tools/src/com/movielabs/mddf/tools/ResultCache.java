@@ -0,0 +1,447 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddf.tools;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.movielabs.mddflib.logging.LogMgmt;
+import com.movielabs.mddflib.logging.LogRecorder;
+import com.movielabs.mddflib.util.LocationCache;
+import com.movielabs.mddflib.util.xml.ResourceRegistry;
+
+/**
+ * An on-disk cache of validation results. Each entry is keyed by a hash of
+ * <ul>
+ * <li>the content of the validated file,</li>
+ * <li>the mddf-lib version,</li>
+ * <li>the version of the MDDF resources (see
+ * <tt>ResourceRegistry.getFingerprint()</tt>), and</li>
+ * <li>the validation options (e.g., profile, constraint and best-practice
+ * checks).</li>
+ * </ul>
+ * An entry contains a <tt>LogRecorder</tt> recording of the log entries that
+ * were generated when the file was validated. On a cache <i>hit</i> the entries
+ * are replayed instead of repeating the validation.
+ * <p>
+ * Validation of a Manifest may include checking that referenced local files
+ * exist. The results of those checks are saved with the entry (as paths
+ * relative to the validated file) and are verified before an entry is used.
+ * If any differ the entry is treated as a <i>miss</i>.
+ * </p>
+ * <p>
+ * The cache may be shared by concurrent processes. Entries are written to a
+ * temporary file that is then atomically renamed, so readers will only ever
+ * see a complete entry. A hit updates the entry's modification time, which is
+ * used to evict the least-recently-used entries when the total size exceeds
+ * the limit.
+ * </p>
+ * <p>
+ * The total size of the cache is recorded in a lock file and is updated, while
+ * holding a lock on that file, by every process that adds an entry. Once the
+ * limit is exceeded the directory is re-measured (including any partial
+ * entries left behind by a process that failed while writing) before entries
+ * are evicted, so the limit applies to the combined output of all processes
+ * using the cache.
+ * </p>
+ * <p>
+ * <b>NOTE:</b> when running a development build (i.e., one without a
+ * <tt>build.properties</tt>), changes to the code will not invalidate
+ * entries and the cache should be cleared manually.
+ * </p>
+ */
+public class ResultCache {
+
+	public static final long DEFAULT_MAX_BYTES = 256L * 1024 * 1024;
+	private static final String ENTRY_SUFFIX = ".rc";
+	private static final String PART_SUFFIX = ".part";
+	private static final String LOCK_FILE = ".lock";
+	private static final String MAGIC = "MDDF-RC-1";
+	/*
+	 * a partial entry that has not been modified for this long was abandoned
+	 * by the process writing it.
+	 */
+	private static final long STALE_PART_MILLIS = 10L * 60 * 1000;
+	/*
+	 * FileChannel locks are held on behalf of the entire JVM so access by
+	 * threads within this JVM must also be serialized.
+	 */
+	private static final Object JVM_LOCK = new Object();
+
+	private Path cacheDir;
+	private long maxBytes;
+	private String envKey;
+	private AtomicInteger hitCnt = new AtomicInteger();
+	private AtomicInteger missCnt = new AtomicInteger();
+
+	/**
+	 * @param cacheDir
+	 *            directory containing the cache. It will be created if
+	 *            necessary.
+	 * @param maxBytes
+	 *            approximate upper bound on the size of the cache
+	 * @throws IOException
+	 */
+	public ResultCache(File cacheDir, long maxBytes) throws IOException {
+		this.cacheDir = cacheDir.toPath();
+		this.maxBytes = maxBytes;
+		Files.createDirectories(this.cacheDir);
+		updateSize(0, true);
+		Properties buildProps = ResourceRegistry.getProperties("/com/movielabs/mddflib/build.properties");
+		String libVersion = "dev";
+		if (buildProps != null) {
+			libVersion = buildProps.getProperty("version", "") + "/" + buildProps.getProperty("buildDate", "") + "/"
+					+ buildProps.getProperty("buildTime", "");
+		}
+		envKey = libVersion + "|" + ResourceRegistry.getFingerprint();
+	}
+
+	/**
+	 * Return the key for the result of validating the <tt>srcFile</tt> with
+	 * the specified <tt>options</tt>.
+	 * 
+	 * @param srcFile
+	 * @param options
+	 *            text identifying all options that may affect the result
+	 * @return
+	 * @throws IOException
+	 */
+	public String getKey(File srcFile, String options) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+		InputStream in = new BufferedInputStream(Files.newInputStream(srcFile.toPath()));
+		try {
+			byte[] chunk = new byte[64 * 1024];
+			int cnt;
+			while ((cnt = in.read(chunk)) > 0) {
+				digest.update(chunk, 0, cnt);
+			}
+		} finally {
+			in.close();
+		}
+		digest.update((envKey + "|" + options).getBytes(StandardCharsets.UTF_8));
+		StringBuilder key = new StringBuilder();
+		for (byte b : digest.digest()) {
+			key.append(String.format("%02x", b));
+		}
+		return key.toString();
+	}
+
+	/**
+	 * If an entry for the <tt>key</tt> exists and is still applicable to the
+	 * <tt>srcFile</tt>, replay its log entries.
+	 * 
+	 * @param key
+	 * @param srcFile
+	 * @param logMgr
+	 * @return <tt>true</tt> if the entry was found and replayed
+	 */
+	public boolean replay(String key, File srcFile, LogMgmt logMgr) {
+		Path entryPath = getEntryPath(key);
+		LogRecorder recording;
+		try {
+			DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(entryPath)));
+			try {
+				if (!in.readUTF().equals(MAGIC) || !in.readUTF().equals(key)) {
+					throw new IOException("Invalid cache entry");
+				}
+				int locCnt = in.readInt();
+				Map<String, Boolean> locations = new LinkedHashMap<String, Boolean>();
+				for (int i = 0; i < locCnt; i++) {
+					String relPath = in.readUTF();
+					locations.put(relPath, in.readBoolean());
+				}
+				if (!locations.isEmpty()
+						&& !LocationCache.checkExistence(srcFile, locations.keySet()).equals(locations)) {
+					missCnt.incrementAndGet();
+					return false;
+				}
+				recording = LogRecorder.read(in);
+			} finally {
+				in.close();
+			}
+		} catch (NoSuchFileException e) {
+			missCnt.incrementAndGet();
+			return false;
+		} catch (IOException | IllegalArgumentException e) {
+			// corrupt or evicted while being read
+			delete(entryPath);
+			missCnt.incrementAndGet();
+			return false;
+		}
+		try {
+			Files.setLastModifiedTime(entryPath, FileTime.fromMillis(System.currentTimeMillis()));
+		} catch (IOException e) {
+			// evicted by another process. Not a problem.
+		}
+		recording.replay(logMgr, srcFile);
+		hitCnt.incrementAndGet();
+		return true;
+	}
+
+	/**
+	 * Save the <tt>recording</tt> of the validation of the <tt>srcFile</tt>.
+	 * 
+	 * @param key
+	 * @param srcFile
+	 * @param recording
+	 * @param locations
+	 *            results of all checks for the existence of referenced files
+	 *            (see <tt>LocationCache.stopRecording()</tt>)
+	 */
+	public void store(String key, File srcFile, LogRecorder recording, Map<Path, Boolean> locations) {
+		if (!recording.isReplayable()) {
+			return;
+		}
+		Path baseDir = srcFile.getAbsoluteFile().toPath().normalize().getParent();
+		Path entryPath = getEntryPath(key);
+		Path tmpPath = null;
+		try {
+			Files.createDirectories(entryPath.getParent());
+			tmpPath = Files.createTempFile(entryPath.getParent(), "tmp", PART_SUFFIX);
+			OutputStream fileOut = Files.newOutputStream(tmpPath);
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut));
+			try {
+				out.writeUTF(MAGIC);
+				out.writeUTF(key);
+				out.writeInt(locations.size());
+				for (Map.Entry<Path, Boolean> entry : locations.entrySet()) {
+					out.writeUTF(baseDir.relativize(entry.getKey()).toString());
+					out.writeBoolean(entry.getValue());
+				}
+				recording.write(out);
+			} finally {
+				out.close();
+			}
+			long size = Files.size(tmpPath);
+			try {
+				Files.move(tmpPath, entryPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tmpPath, entryPath, StandardCopyOption.REPLACE_EXISTING);
+			}
+			tmpPath = null;
+			updateSize(size, false);
+		} catch (IOException | IllegalArgumentException e) {
+			// caching is an optimization so failure is not an error
+		} finally {
+			if (tmpPath != null) {
+				delete(tmpPath);
+			}
+		}
+	}
+
+	/**
+	 * Add <tt>added</tt> bytes to the total size recorded in the lock file
+	 * and, if the limit is now exceeded, evict entries. Failure to obtain the
+	 * lock is ignored as the next update will correct the total.
+	 * 
+	 * @param added
+	 * @param remeasure
+	 *            if <tt>true</tt>, the recorded total is replaced by the
+	 *            current size of the directory
+	 */
+	private void updateSize(long added, boolean remeasure) {
+		synchronized (JVM_LOCK) {
+			try (FileChannel channel = FileChannel.open(cacheDir.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+					StandardOpenOption.READ, StandardOpenOption.WRITE); FileLock lock = channel.lock()) {
+				long total = readSize(channel);
+				if (remeasure || (total < 0)) {
+					total = measure(listEntries());
+				} else {
+					total += added;
+				}
+				if (total > maxBytes) {
+					total = evict();
+				}
+				writeSize(channel, total);
+			} catch (IOException e) {
+				// caching is an optimization so failure is not an error
+			}
+		}
+	}
+
+	/**
+	 * Remove any abandoned partial entries and then the least-recently-used
+	 * entries until the total size is no more than 80% of the limit. Callers
+	 * must hold the lock.
+	 * 
+	 * @return the size of the remaining entries
+	 */
+	private long evict() {
+		final Map<Path, BasicFileAttributes> entries = listEntries();
+		long total = measure(entries);
+		List<Path> byAge = new ArrayList<Path>();
+		long staleTime = System.currentTimeMillis() - STALE_PART_MILLIS;
+		for (Map.Entry<Path, BasicFileAttributes> next : entries.entrySet()) {
+			Path path = next.getKey();
+			if (!isPart(path)) {
+				byAge.add(path);
+			} else if ((next.getValue().lastModifiedTime().toMillis() < staleTime) && delete(path)) {
+				total -= next.getValue().size();
+			}
+		}
+		Collections.sort(byAge, new Comparator<Path>() {
+			public int compare(Path p1, Path p2) {
+				return entries.get(p1).lastModifiedTime().compareTo(entries.get(p2).lastModifiedTime());
+			}
+		});
+		long target = (maxBytes / 10) * 8;
+		for (int i = 0; (i < byAge.size()) && (total > target); i++) {
+			Path next = byAge.get(i);
+			if (delete(next)) {
+				total -= entries.get(next).size();
+			}
+		}
+		return total;
+	}
+
+	/*
+	 * The size is recorded in the lock file as a long. An empty file indicates
+	 * the size is unknown.
+	 */
+	private static long readSize(FileChannel channel) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(8);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, buffer.position()) < 0) {
+				return -1;
+			}
+		}
+		return buffer.getLong(0);
+	}
+
+	private static void writeSize(FileChannel channel, long size) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(8);
+		buffer.putLong(0, size);
+		while (buffer.hasRemaining()) {
+			channel.write(buffer, buffer.position());
+		}
+	}
+
+	/**
+	 * Remove all entries.
+	 */
+	public void clear() {
+		for (Path next : listEntries().keySet()) {
+			if (!isPart(next)) {
+				delete(next);
+			}
+		}
+		updateSize(0, true);
+	}
+
+	public int getHitCount() {
+		return hitCnt.get();
+	}
+
+	public int getMissCount() {
+		return missCnt.get();
+	}
+
+	/*
+	 * Entries are distributed across 256 sub-directories to keep directory
+	 * sizes reasonable.
+	 */
+	private Path getEntryPath(String key) {
+		return cacheDir.resolve(key.substring(0, 2)).resolve(key + ENTRY_SUFFIX);
+	}
+
+	private static long measure(Map<Path, BasicFileAttributes> entries) {
+		long total = 0;
+		for (BasicFileAttributes attrs : entries.values()) {
+			total += attrs.size();
+		}
+		return total;
+	}
+
+	private static boolean isPart(Path path) {
+		return path.getFileName().toString().endsWith(PART_SUFFIX);
+	}
+
+	/*
+	 * Returns both complete and partial entries.
+	 */
+	private Map<Path, BasicFileAttributes> listEntries() {
+		Map<Path, BasicFileAttributes> entries = new LinkedHashMap<Path, BasicFileAttributes>();
+		try (DirectoryStream<Path> subDirs = Files.newDirectoryStream(cacheDir)) {
+			for (Path subDir : subDirs) {
+				if (!Files.isDirectory(subDir)) {
+					continue;
+				}
+				try (DirectoryStream<Path> stream = Files.newDirectoryStream(subDir,
+						"*{" + ENTRY_SUFFIX + "," + PART_SUFFIX + "}")) {
+					for (Path entry : stream) {
+						try {
+							entries.put(entry, Files.readAttributes(entry, BasicFileAttributes.class));
+						} catch (IOException e) {
+							// deleted by another process
+						}
+					}
+				}
+			}
+		} catch (IOException e) {
+			// treat as empty
+		}
+		return entries;
+	}
+
+	private static boolean delete(Path path) {
+		try {
+			return Files.deleteIfExists(path);
+		} catch (IOException e) {
+			return false;
+		}
+	}
+}
@@ -20,15 +20,6 @@
  */
 package com.movielabs.mddf.tools;
 
-import java.awt.EventQueue;
-
-import javax.swing.JFrame;
-import javax.swing.JButton;
-import java.awt.GridBagLayout;
-import java.awt.GridBagConstraints;
-import java.awt.Insets;
-import javax.swing.JLabel;
-
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
@@ -40,17 +31,26 @@ import org.apache.commons.cli.ParseException;
 import com.movielabs.mddf.MddfContext.FILE_FMT;
 import com.movielabs.mddflib.logging.DefaultLogging;
 import com.movielabs.mddflib.logging.LogMgmt;
+import com.movielabs.mddflib.metrics.CsvMetricsSink;
+import com.movielabs.mddflib.metrics.JmxMetricsSink;
+import com.movielabs.mddflib.metrics.Metrics;
+import com.movielabs.mddflib.metrics.MetricsRegistry;
+import com.movielabs.mddflib.metrics.MetricsSink;
 import com.movielabs.mddflib.util.Translator;
+import com.movielabs.mddflib.util.xml.ResourceRegistry;
+import com.movielabs.mddflib.util.xml.XsdLimits;
 
-import java.awt.event.MouseAdapter;
-import java.awt.event.MouseEvent;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 /**
@@ -58,22 +58,31 @@ import java.util.Properties;
  * on the <tt>args</tt> passed to either <tt>ToolLauncher.main()</tt> or
  * <tt>ToolLauncher.execute()</tt>, usage may be either via a GUI or via the
  * command line arguments.
+ * <p>
+ * When used via the command line, no GUI classes are loaded and MDDF resources
+ * (e.g., controlled vocabularies) are only loaded when first needed for the
+ * type of MDDF file being processed. If the <tt>-v</tt> option is used, the
+ * time spent in each start-up phase is displayed once processing completes.
+ * </p>
  * 
  * @author L. Levin, Critical Architectures LLC
  *
  */
 public class ToolLauncher {
 
-	private JFrame frame;
 	private static Options options = null;
 	public static final String TOOL_RSRC_PATH = "/com/movielabs/mddf/tools/resources/";
 
 	private static HelpFormatter formatter = new HelpFormatter();
 
+	private static long mainStart = 0;
+	private static Map<String, Long> phaseTimes = new LinkedHashMap<String, Long>();
+
 	/**
 	 * Main entry point for executable jar.
 	 */
 	public static void main(String[] args) {
+		mainStart = System.nanoTime();
 		DefaultLogging logger = new DefaultLogging();
 		execute(args, logger);
 
@@ -98,6 +107,26 @@ public class ToolLauncher {
 				"[T/F] processing of a directory will be recursive (Default is 'T').");
 		options.addOption("v", "verbose", false, "Display log-file entries in terminal window during execution.");
 		options.addOption("V", "version", false, "Display software version and build date.");
+		options.addOption("server", true, "Run as a persistent validation server listening on the specified local port"
+				+ " (Default is " + ValidationServer.DEFAULT_PORT + "). All other arguments are ignored.");
+		options.getOption("server").setOptionalArg(true);
+		options.addOption("serverOutput", true, "Directory in which a validation server may write translated or"
+				+ " obfuscated files. Requests specifying any other location will be rejected.");
+		options.addOption("cache", true, "Directory used to cache validation results. Files that have not changed"
+				+ " since they were last validated with the same options will not be re-validated.");
+		options.addOption("xsdLimit", true, "Maximum number of times any one type of schema error is logged for a"
+				+ " file (Default is " + XsdLimits.DEFAULT_SAMPLE_LIMIT + "). Limits for specific rules may be given"
+				+ " as a comma-separated list of 'cvcCode=limit' (e.g., '50,cvc-datatype-valid.1.2.1=10').");
+		options.addOption("xsdTotalLimit", true, "Maximum number of schema errors logged for a file (Default is "
+				+ XsdLimits.DEFAULT_TOTAL_LIMIT + "). A value of 0 removes the limit.");
+		options.addOption("w", "watch", false, "After processing the directory specified via '-d', continue to"
+				+ " monitor it and re-validate any MDDF file that is added or modified.");
+		options.addOption("metrics", true, "Summarize the time, CPU, memory allocation and element counts for each"
+				+ " processing phase when validation is complete. Measurements are also published as JMX MBeans"
+				+ " and, if a file is specified, saved in CSV format.");
+		options.getOption("metrics").setOptionalArg(true);
+		options.addOption("jfr", false, "Emit Java Flight Recorder events identifying the file, MDDF format, and"
+				+ " phase of processing while a flight recording is running.");
 
 		options.addOption("X", "exportAll", false, "export valid files in all applicable formats.");
 		Option xOption = new Option("x",
@@ -132,24 +161,60 @@ public class ToolLauncher {
 			printHelp();
 			System.exit(0);
 		}
+		if (cmdLine.hasOption("jfr") && !Metrics.enableFlightRecorder()) {
+			System.out.println("Java Flight Recorder is not supported by this JVM; the 'jfr' option is ignored");
+		}
 		if (cmdLine.hasOption("i")) {
 			// Launch in interactive mode
-			EventQueue.invokeLater(new Runnable() {
-				public void run() {
-					try {
-						ToolLauncher window = new ToolLauncher();
-						window.frame.setVisible(true);
-					} catch (Exception e) {
-						e.printStackTrace();
-					}
-				}
-			});
+			/*
+			 * Load validation resources while the user is still selecting a
+			 * file rather than in the middle of the first validation.
+			 */
+			ResourceRegistry.warmUpAsync();
+			LauncherWindow.launch();
+		} else if (cmdLine.hasOption("server")) {
+			runServer(cmdLine);
 		} else {
 			runNonInteractive(cmdLine, logger);
 		}
 	}
 
+	/**
+	 * Start a <tt>ValidationServer</tt>. The server runs until a
+	 * <tt>shutdown</tt> request is received or the JVM is terminated.
+	 * 
+	 * @param cmdLine
+	 */
+	private static void runServer(CommandLine cmdLine) {
+		int port = ValidationServer.DEFAULT_PORT;
+		String portArg = cmdLine.getOptionValue("server");
+		if (portArg != null) {
+			try {
+				port = Integer.parseInt(portArg);
+			} catch (NumberFormatException e) {
+				printUsage("Invalid port '" + portArg + "'");
+				System.exit(0);
+			}
+		}
+		try {
+			ValidationServer server = new ValidationServer(port);
+			server.setResultCache(getResultCache(cmdLine));
+			server.setXsdLimits(getXsdLimits(cmdLine));
+			if (cmdLine.hasOption("serverOutput")) {
+				server.setOutputDir(new File(cmdLine.getOptionValue("serverOutput")));
+			}
+			server.start();
+		} catch (IOException e) {
+			System.out.println("Unable to start server: " + e.getMessage());
+			System.exit(1);
+		}
+	}
+
 	private static void runNonInteractive(CommandLine cmdLine, LogMgmt logger) {
+		long phaseStart = System.nanoTime();
+		if (mainStart > 0) {
+			addPhase("parse arguments", mainStart, phaseStart);
+		}
 		configureLogOptions(cmdLine, logger);
 		if (cmdLine.hasOption("s")) {
 
@@ -159,7 +224,12 @@ public class ToolLauncher {
 			 * Pre-Validation set-up and prep.........
 			 */
 			// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+			List<MetricsSink> metricSinks = getMetricSinks(cmdLine);
 			ValidationController vCtrl = new ValidationController(logger);
+			ResultCache resultCache = getResultCache(cmdLine);
+			vCtrl.setResultCache(resultCache);
+			vCtrl.setXsdLimits(getXsdLimits(cmdLine));
+			phaseStart = addPhase("initialize", phaseStart, System.nanoTime());
 			EnumSet<FILE_FMT> selections = EnumSet.noneOf(FILE_FMT.class);
 			String[] xlatFmts = cmdLine.getOptionValues("x");
 			if (xlatFmts == null || (xlatFmts.length == 0)) { 
@@ -206,6 +276,7 @@ public class ToolLauncher {
 					e.printStackTrace();
 				}
 			}
+			phaseStart = addPhase("validate", phaseStart, System.nanoTime());
 			// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 			/*
 			 * POST-Validation actions.........
@@ -219,11 +290,144 @@ public class ToolLauncher {
 				} catch (IOException e) {
 					e.printStackTrace();
 				}
+				addPhase("save log", phaseStart, System.nanoTime());
+			}
+			if (metricSinks != null) {
+				reportMetrics(metricSinks);
+			}
+			if (cmdLine.hasOption("v")) {
+				printPhaseTimes();
+				if (resultCache != null) {
+					System.out.println("Result cache: " + resultCache.getHitCount() + " hits, "
+							+ resultCache.getMissCount() + " misses");
+				}
+			}
+			if (cmdLine.hasOption("w")) {
+				runWatcher(cmdLine, vCtrl, logger);
 			}
 		}
 
 	}
 
+	/**
+	 * Monitor the directory specified via the <tt>-d</tt> argument until the
+	 * JVM is terminated.
+	 * 
+	 * @param cmdLine
+	 * @param vCtrl
+	 * @param logger
+	 */
+	private static void runWatcher(CommandLine cmdLine, ValidationController vCtrl, LogMgmt logger) {
+		String dir = cmdLine.getOptionValue("d");
+		if (dir == null || !(new File(dir)).isDirectory()) {
+			printUsage("The 'watch' option requires a directory be specified via '-d'");
+			System.exit(0);
+		}
+		boolean recursive = !cmdLine.getOptionValue("r", "T").equalsIgnoreCase("F");
+		FolderWatcher watcher = new FolderWatcher(vCtrl, logger, new File(dir), recursive);
+		String logFile = cmdLine.getOptionValue("l");
+		if (logFile != null) {
+			watcher.setLogFile(new File(logFile));
+		}
+		if (cmdLine.hasOption("x")) {
+			/* exported files must not trigger another validation */
+			watcher.setExcludedDir(new File(cmdLine.getOptionValue("xDir", ".")));
+		}
+		try {
+			watcher.run();
+		} catch (IOException e) {
+			System.out.println("Unable to watch " + dir + ": " + e.getMessage());
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Register the <tt>MetricsSink</tt> instances requested via the
+	 * <tt>-metrics</tt> argument. The first sink in the returned list is always
+	 * a <tt>MetricsRegistry</tt>.
+	 * 
+	 * @param cmdLine
+	 * @return the registered sinks or <tt>null</tt> if metrics were not
+	 *         requested
+	 */
+	private static List<MetricsSink> getMetricSinks(CommandLine cmdLine) {
+		if (!cmdLine.hasOption("metrics")) {
+			return null;
+		}
+		List<MetricsSink> sinks = new ArrayList<MetricsSink>();
+		sinks.add(new MetricsRegistry());
+		sinks.add(new JmxMetricsSink());
+		String csvFile = cmdLine.getOptionValue("metrics");
+		if (csvFile != null) {
+			sinks.add(new CsvMetricsSink(new File(csvFile)));
+		}
+		for (MetricsSink sink : sinks) {
+			Metrics.addSink(sink);
+		}
+		return sinks;
+	}
+
+	/**
+	 * Print the summary of the metrics recorded during validation and then
+	 * de-register and close all the sinks.
+	 * 
+	 * @param sinks
+	 */
+	private static void reportMetrics(List<MetricsSink> sinks) {
+		MetricsRegistry registry = (MetricsRegistry) sinks.get(0);
+		System.out.println(registry.getSummary());
+		for (MetricsSink sink : sinks) {
+			Metrics.removeSink(sink);
+			try {
+				sink.close();
+			} catch (IOException e) {
+				System.out.println("Unable to save metrics: " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * @param cmdLine
+	 * @return the <tt>ResultCache</tt> specified via the <tt>-cache</tt>
+	 *         argument or <tt>null</tt> if none was specified
+	 */
+	private static ResultCache getResultCache(CommandLine cmdLine) {
+		String cacheDir = cmdLine.getOptionValue("cache");
+		if (cacheDir == null) {
+			return null;
+		}
+		try {
+			return new ResultCache(new File(cacheDir), ResultCache.DEFAULT_MAX_BYTES);
+		} catch (IOException e) {
+			System.out.println("Unable to use result cache: " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Return the limits on the number of schema errors logged per file as
+	 * specified via the <tt>-xsdLimit</tt> and <tt>-xsdTotalLimit</tt>
+	 * arguments.
+	 * 
+	 * @param cmdLine
+	 * @return
+	 */
+	private static XsdLimits getXsdLimits(CommandLine cmdLine) {
+		XsdLimits limits = new XsdLimits();
+		try {
+			if (cmdLine.hasOption("xsdLimit")) {
+				limits.setSampleLimits(cmdLine.getOptionValue("xsdLimit"));
+			}
+			if (cmdLine.hasOption("xsdTotalLimit")) {
+				limits.setTotalLimit(Integer.parseInt(cmdLine.getOptionValue("xsdTotalLimit")));
+			}
+		} catch (IllegalArgumentException e) {
+			printUsage(e.getMessage());
+			System.exit(0);
+		}
+		return limits;
+	}
+
 	/**
 	 * Parse and return command-line arguments.
 	 * 
@@ -296,106 +500,64 @@ public class ToolLauncher {
 		((DefaultLogging) logger).setPrintToConsole(cmdLine.hasOption("v"));
 	}
 
-	private static void printVersion() {
-		Properties mddfToolProps = ValidatorTool.loadProperties("/com/movielabs/mddflib/build.properties");
-		String libVersion = mddfToolProps.getProperty("version", "Not Specified");
-		String buildDate = mddfToolProps.getProperty("buildDate") + "; " + mddfToolProps.getProperty("buildTime");
-		System.out.println("mddf-lib version " + libVersion);
-		System.out.println("mddf-lib build date " + buildDate);
-	}
-
 	/**
-	 * Create the application.
+	 * Record the time used by a processing phase.
+	 * 
+	 * @param phase
+	 * @param start
+	 * @param end
+	 * @return the <tt>end</tt> time
 	 */
-	public ToolLauncher() {
-		initialize();
+	private static long addPhase(String phase, long start, long end) {
+		phaseTimes.put(phase, end - start);
+		return end;
 	}
 
 	/**
-	 * Initialize the contents of the frame.
+	 * Display the time used by each processing phase. The first phase is the
+	 * time between the JVM starting and the invocation of <tt>main()</tt>.
+	 * Time spent loading MDDF resources is included in the <i>validate</i>
+	 * phase and is also reported separately.
 	 */
-	private void initialize() {
-		frame = new JFrame();
-		frame.setBounds(100, 100, 450, 162);
-		frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-		GridBagLayout gridBagLayout = new GridBagLayout();
-		gridBagLayout.columnWidths = new int[] { 46, 0, 0, 0, 0, 0, 0, 0, 0 };
-		gridBagLayout.rowHeights = new int[] { 34, 34, 0, 0, 0 };
-		gridBagLayout.columnWeights = new double[] { 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, Double.MIN_VALUE };
-		gridBagLayout.rowWeights = new double[] { 0.0, 0.0, 0.0, 0.0, Double.MIN_VALUE };
-		frame.getContentPane().setLayout(gridBagLayout);
-
-		JLabel lblNewLabel = new JLabel("MDDF tool launcher");
-		GridBagConstraints gbc_lblNewLabel = new GridBagConstraints();
-		gbc_lblNewLabel.gridwidth = 4;
-		gbc_lblNewLabel.insets = new Insets(0, 0, 5, 5);
-		gbc_lblNewLabel.gridx = 1;
-		gbc_lblNewLabel.gridy = 1;
-		frame.getContentPane().add(lblNewLabel, gbc_lblNewLabel);
-
-		JButton btnAvails = new JButton("Avails");
-		btnAvails.addMouseListener(new MouseAdapter() {
-
-			@Override
-			public void mouseClicked(MouseEvent e) {
-				frame.setVisible(false);
-				EventQueue.invokeLater(new Runnable() {
-					public void run() {
-						try {
-							ValidatorTool.tool = new AvailsTool();
-							ValidatorTool.tool.frame.setVisible(true);
-						} catch (Exception e) {
-							e.printStackTrace();
-						}
-					}
-				});
+	private static void printPhaseTimes() {
+		System.out.println("\nStart-up and processing times (msec):");
+		if (mainStart > 0) {
+			long jvmUptime = ManagementFactory.getRuntimeMXBean().getUptime();
+			long sinceMain = (System.nanoTime() - mainStart) / 1000000;
+			System.out.println(String.format("   %-20s %8d", "JVM start", Math.max(0, jvmUptime - sinceMain)));
+		}
+		for (Map.Entry<String, Long> entry : phaseTimes.entrySet()) {
+			System.out.println(String.format("   %-20s %8d", entry.getKey(), entry.getValue() / 1000000));
+		}
+		System.out.println(String.format("   %-20s %8d  (%d resources)", "load resources",
+				ResourceRegistry.getLoadTime() / 1000000, ResourceRegistry.getLoadCount()));
+	}
 
-			}
-		});
-
-		btnAvails.setToolTipText("launch Avail Validator");
-		GridBagConstraints gbc_btnAvails = new GridBagConstraints();
-		gbc_btnAvails.fill = GridBagConstraints.BOTH;
-		gbc_btnAvails.insets = new Insets(0, 0, 0, 5);
-		gbc_btnAvails.gridx = 1;
-		gbc_btnAvails.gridy = 3;
-		frame.getContentPane().add(btnAvails, gbc_btnAvails);
-
-		JButton btnManifest = new JButton("Manifest");
-		btnManifest.addMouseListener(new MouseAdapter() {
-			@Override
-			public void mouseClicked(MouseEvent e) {
-				frame.setVisible(false);
-				EventQueue.invokeLater(new Runnable() {
-					public void run() {
-						try {
-							ValidatorTool.tool = new ManifestTool();
-							ValidatorTool.tool.frame.setVisible(true);
-						} catch (Exception e) {
-							e.printStackTrace();
-						}
-					}
-				});
-			}
-		});
-		GridBagConstraints gbc_btnManifest = new GridBagConstraints();
-		gbc_btnManifest.insets = new Insets(0, 0, 0, 5);
-		gbc_btnManifest.fill = GridBagConstraints.BOTH;
-		gbc_btnManifest.gridx = 4;
-		gbc_btnManifest.gridy = 3;
-		frame.getContentPane().add(btnManifest, gbc_btnManifest);
-
-		JButton btnCancel = new JButton("Cancel");
-		btnCancel.addMouseListener(new MouseAdapter() {
-			@Override
-			public void mouseClicked(MouseEvent e) {
-				System.exit(0);
-			}
-		});
-		GridBagConstraints gbc_btnCancel = new GridBagConstraints();
-		gbc_btnCancel.gridx = 7;
-		gbc_btnCancel.gridy = 3;
-		frame.getContentPane().add(btnCancel, gbc_btnCancel);
+	private static Properties loadProperties(String rsrcPath) {
+		Properties props = new Properties();
+		InputStream inStream = ToolLauncher.class.getResourceAsStream(rsrcPath);
+		if (inStream == null) {
+			return null;
+		}
+		try {
+			props.load(inStream);
+		} catch (IOException e) {
+			e.printStackTrace();
+			return null;
+		}
+		return props;
+	}
+
+	private static void printVersion() {
+		Properties mddfToolProps = loadProperties("/com/movielabs/mddflib/build.properties");
+		if (mddfToolProps == null) {
+			System.out.println("mddf-lib version Not Specified");
+			return;
+		}
+		String libVersion = mddfToolProps.getProperty("version", "Not Specified");
+		String buildDate = mddfToolProps.getProperty("buildDate") + "; " + mddfToolProps.getProperty("buildTime");
+		System.out.println("mddf-lib version " + libVersion);
+		System.out.println("mddf-lib build date " + buildDate);
 	}
 
 }
@@ -29,7 +29,11 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.xml.stream.XMLStreamException;
 
 import org.apache.poi.POIXMLException;
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
@@ -42,24 +46,29 @@ import com.movielabs.mddf.MddfContext;
 import com.movielabs.mddf.MddfContext.FILE_FMT;
 import com.movielabs.mddf.MddfContext.MDDF_TYPE;
 import com.movielabs.mddf.tools.ValidationController.MddfFileFilter;
-import com.movielabs.mddf.tools.util.logging.AdvLogPanel;
 import com.movielabs.mddf.tools.util.logging.LogNavPanel;
 import com.movielabs.mddflib.Obfuscator;
 import com.movielabs.mddflib.Obfuscator.Target;
 import com.movielabs.mddflib.avails.validation.AvailValidator;
 import com.movielabs.mddflib.avails.xml.AvailsSheet;
 import com.movielabs.mddflib.avails.xml.AvailsWrkBook;
-import com.movielabs.mddflib.avails.xml.Pedigree;
+import com.movielabs.mddflib.avails.xml.PedigreeMap;
 import com.movielabs.mddflib.avails.xml.XmlBuilder;
 import com.movielabs.mddflib.avails.xml.AvailsSheet.Version;
+import com.movielabs.mddflib.logging.DefaultLogging;
 import com.movielabs.mddflib.logging.LogMgmt;
+import com.movielabs.mddflib.logging.LogRecorder;
 import com.movielabs.mddflib.manifest.validation.CpeValidator;
 import com.movielabs.mddflib.manifest.validation.ManifestValidator;
 import com.movielabs.mddflib.manifest.validation.MecValidator;
 import com.movielabs.mddflib.manifest.validation.profiles.MMCoreValidator;
 import com.movielabs.mddflib.manifest.validation.profiles.ProfileValidator;
+import com.movielabs.mddflib.metrics.Metrics;
+import com.movielabs.mddflib.util.LocationCache;
 import com.movielabs.mddflib.util.Translator;
+import com.movielabs.mddflib.util.xml.DocumentHandle;
 import com.movielabs.mddflib.util.xml.XmlIngester;
+import com.movielabs.mddflib.util.xml.XsdLimits;
 
 import net.sf.json.JSONObject;
 
@@ -111,6 +120,8 @@ public class ValidationController {
 	private LogNavPanel logNav = null;
 	private EnumSet<FILE_FMT> xportFmts = null;
 	private File exportDir = null;
+	private ResultCache resultCache = null;
+	private XsdLimits xsdLimits = new XsdLimits();
 
 	static {
 		supportedProfileKeys = new HashSet<String>();
@@ -136,23 +147,28 @@ public class ValidationController {
 	}
 
 	/**
-	 * Construct new <tt>PreProcessor</tt> for use in the indicated
-	 * <i>context</i>.
+	 * Construct new <tt>ValidationController</tt> for use in a non-interactive
+	 * (i.e., command line or scripted) context. No GUI classes will be loaded.
 	 * 
-	 * @param context
+	 * @param logMgr
 	 */
 	public ValidationController(LogMgmt logMgr) {
+		this(logMgr, null);
+	}
+
+	/**
+	 * Construct new <tt>ValidationController</tt> for use in the indicated
+	 * <i>context</i>. When running in an interactive mode via a GUI there is a
+	 * need at various stages to provide the logging UI with additional status
+	 * updates. In that case the <tt>logNav</tt> should be provided, otherwise
+	 * it should be <tt>null</tt>.
+	 * 
+	 * @param logMgr
+	 * @param logNav
+	 */
+	public ValidationController(LogMgmt logMgr, LogNavPanel logNav) {
 		this.logMgr = logMgr;
-		/*
-		 * Determine if we are running in an interactive mode via a GUI. If so,
-		 * there is a need at various stages to provide the logging UI with
-		 * additional status updates.
-		 */
-		if (logMgr instanceof AdvLogPanel) {
-			logNav = ((AdvLogPanel) logMgr).getLogNavPanel();
-		} else {
-			logNav = null;
-		}
+		this.logNav = logNav;
 		logMgr.log(LogMgmt.LEV_DEBUG, LogMgmt.TAG_ACTION, "Initializing Validator", null, MODULE_ID);
 	}
 
@@ -262,6 +278,29 @@ public class ValidationController {
 		}
 	}
 
+	/**
+	 * Use the <tt>resultCache</tt> to avoid re-validating files that have
+	 * already been validated with the same options. A cache is only used in a
+	 * non-interactive context (i.e., when there is no <tt>LogNavPanel</tt>) and
+	 * when translations have not been requested.
+	 * 
+	 * @param resultCache
+	 *            the cache or <tt>null</tt> to disable caching
+	 */
+	public void setResultCache(ResultCache resultCache) {
+		this.resultCache = resultCache;
+	}
+
+	/**
+	 * Set the limits on the number of schema errors that are individually
+	 * logged for each file.
+	 * 
+	 * @param xsdLimits
+	 */
+	public void setXsdLimits(XsdLimits xsdLimits) {
+		this.xsdLimits = xsdLimits;
+	}
+
 	public void setTranslations(EnumSet<FILE_FMT> xportFmts, File exportDir) {
 		this.xportFmts = xportFmts;
 		this.exportDir = exportDir;
@@ -306,6 +345,23 @@ public class ValidationController {
 	 * @throws JDOMException
 	 */
 	public void validate(String srcPath, String uxProfile, List<String> useCases) throws IOException {
+		/*
+		 * Each run starts with a clean cache of referenced locations so that
+		 * any changes since the last run will be detected.
+		 */
+		LocationCache.clear();
+		validateTree(srcPath, uxProfile, useCases);
+	}
+
+	/**
+	 * Recursively validate a file or directory as part of a single run.
+	 * 
+	 * @param srcPath
+	 * @param uxProfile
+	 * @param useCases
+	 * @throws IOException
+	 */
+	private void validateTree(String srcPath, String uxProfile, List<String> useCases) throws IOException {
 		File srcFile = new File(srcPath);
 		if (srcFile.isDirectory()) {
 			File[] inputFiles = srcFile.listFiles(new MddfFileFilter());
@@ -329,7 +385,7 @@ public class ValidationController {
 					boolean isDir = aFile.isDirectory();
 					if (isDir && isRecursive) {
 						// recursively descend directory tree...
-						validate(aFile.getCanonicalPath(), uxProfile, useCases);
+						validateTree(aFile.getCanonicalPath(), uxProfile, useCases);
 					}
 				}
 			}
@@ -352,6 +408,48 @@ public class ValidationController {
 
 	protected void validateFile(File srcFile, String uxProfile, List<String> useCases)
 			throws IOException, JDOMException {
+		Metrics.beginFile(srcFile);
+		try {
+			boolean useCache = (resultCache != null) && (logNav == null) && ((exportDir == null) || (xportFmts == null))
+					&& srcFile.isFile();
+			if (!useCache) {
+				processFile(srcFile, uxProfile, useCases);
+				return;
+			}
+			String options = "S=" + validateS + ";C=" + validateC + ";BP=" + validateBP + ";profile=" + uxProfile
+					+ ";useCases=" + useCases + ";xsdLimits=" + xsdLimits;
+			String key = resultCache.getKey(srcFile, options);
+			if (resultCache.replay(key, srcFile, logMgr)) {
+				return;
+			}
+			LogMgmt actualLogMgr = logMgr;
+			LogRecorder recorder = new LogRecorder(actualLogMgr, srcFile);
+			logMgr = recorder;
+			LocationCache.startRecording();
+			Map<Path, Boolean> locations;
+			try {
+				processFile(srcFile, uxProfile, useCases);
+			} finally {
+				logMgr = actualLogMgr;
+				locations = LocationCache.stopRecording();
+			}
+			resultCache.store(key, srcFile, recorder, locations);
+		} finally {
+			Metrics.endFile();
+		}
+	}
+
+	/**
+	 * Validate a single file without use of any <tt>ResultCache</tt>.
+	 * 
+	 * @param srcFile
+	 * @param uxProfile
+	 * @param useCases
+	 * @throws IOException
+	 * @throws JDOMException
+	 */
+	private void processFile(File srcFile, String uxProfile, List<String> useCases)
+			throws IOException, JDOMException {
 		String fileType = extractFileType(srcFile.getAbsolutePath());
 		fileType = fileType.toLowerCase();
 		if (!(fileType.equals("xml") || fileType.equals("xlsx"))) {
@@ -379,7 +477,7 @@ public class ValidationController {
 		logMgr.setCurrentFile(srcFile);
 		logMgr.log(LogMgmt.LEV_INFO, LogMgmt.TAG_N_A, "Validating " + srcFile.getPath(), srcFile, MODULE_ID);
 
-		Map<Object, Pedigree> pedigreeMap = null;
+		PedigreeMap pedigreeMap = null;
 		FILE_FMT srcMddfFmt = null;
 		Document xmlDoc = null;
 		if (fileType.equals("xlsx")) {
@@ -391,7 +489,7 @@ public class ValidationController {
 				return;
 			} else {
 				srcFile = (File) results.get("xlsx");
-				pedigreeMap = (Map<Object, Pedigree>) results.get("pedigree");
+				pedigreeMap = (PedigreeMap) results.get("pedigree");
 				xmlDoc = (Document) results.get("xml");
 				srcMddfFmt = (FILE_FMT) results.get("srcFmt");
 			}
@@ -410,6 +508,9 @@ public class ValidationController {
 				return;
 			}
 			srcMddfFmt = MddfContext.identifyMddfFormat(xmlDoc.getRootElement());
+			if (srcMddfFmt != null) {
+				Metrics.setFileFormat(srcMddfFmt.name());
+			}
 			if (logNav != null) {
 				logNav.setMddfFormat(srcFile, srcMddfFmt);
 			}
@@ -453,7 +554,7 @@ public class ValidationController {
 		}
 		if (logNav != null) {
 			logNav.setFileMddfType(srcFile, mddfType);
-			logNav.setXml(srcFile, xmlDoc);
+			setXmlHandle(srcFile, xmlDoc, fileType.equals("xlsx"));
 		}
 		logMgr.log(LogMgmt.LEV_INFO, logTag, "Validating file as a " + schemaType, srcFile, MODULE_ID);
 		switch (mddfType) {
@@ -507,6 +608,41 @@ public class ValidationController {
 		return extension.toLowerCase();
 	}
 
+	/**
+	 * Provide the <tt>LogNavPanel</tt> with a handle to the XML obtained from
+	 * the <tt>srcFile</tt>. The <tt>Document</tt> is only softly referenced
+	 * and, if reclaimed, will be re-created from the file when next needed.
+	 * With a spreadsheet this requires repeating the conversion, in which case
+	 * any issues are logged to a separate <tt>LogMgmt</tt> so as not to
+	 * duplicate the entries from the original validation.
+	 * 
+	 * @param srcFile
+	 * @param xmlDoc
+	 * @param isXlsx
+	 */
+	private void setXmlHandle(File srcFile, Document xmlDoc, boolean isXlsx) {
+		DocumentHandle handle;
+		try {
+			if (isXlsx) {
+				handle = new DocumentHandle(srcFile, xmlDoc, new DocumentHandle.Loader() {
+					public Document load(File xlsxFile) throws Exception {
+						DefaultLogging quietLog = new DefaultLogging();
+						quietLog.setPrintToConsole(false);
+						Map<String, Object> results = convertSpreadsheet(xlsxFile, quietLog);
+						return (results == null) ? null : (Document) results.get("xml");
+					}
+				}, false);
+			} else {
+				handle = new DocumentHandle(srcFile, xmlDoc);
+			}
+		} catch (IOException e) {
+			logMgr.log(LogMgmt.LEV_DEBUG, LogMgmt.TAG_N_A, "Unable to create handle for XML: " + e.getMessage(),
+					srcFile, MODULE_ID);
+			return;
+		}
+		logNav.setXml(srcFile, handle);
+	}
+
 	/**
 	 * Convert an AVAIL file in spreadsheet (i.e., xlsx) format to an XML file.
 	 * The result <tt>Map</tt> that is returned will contain:
@@ -514,7 +650,7 @@ public class ValidationController {
 	 * <li>
 	 * <tt>xlsx<tt>: the xlsx File that was passed as the input argument</li>
 	 * <li><tt>xml<tt>: the JDOM2 Document that was created from the xlsx</li>
-	 * <li><tt>pedigree<tt>: the <tt>Pedigree</tt> map that was created by the
+	 * <li><tt>pedigree<tt>: the <tt>PedigreeMap</tt> that was created by the
 	 * <tt>XmlBuilder</tt> during the conversion process.</li>
 	 * </ul>
 	 * 
@@ -522,20 +658,32 @@ public class ValidationController {
 	 * @return
 	 */
 	private Map<String, Object> convertSpreadsheet(File xslxFile) {
+		return convertSpreadsheet(xslxFile, logMgr);
+	}
+
+	/**
+	 * Convert an AVAIL file in spreadsheet format, logging any issues to the
+	 * specified <tt>LogMgmt</tt>.
+	 * 
+	 * @param xslxFile
+	 * @param log
+	 * @return
+	 */
+	private Map<String, Object> convertSpreadsheet(File xslxFile, LogMgmt log) {
 		boolean autoCorrect = false;
 		boolean exitOnError = false;
 		AvailsWrkBook ss;
 		try {
-			ss = new AvailsWrkBook(xslxFile, logMgr, exitOnError, autoCorrect);
+			ss = new AvailsWrkBook(xslxFile, log, exitOnError, autoCorrect);
 		} catch (FileNotFoundException e1) {
-			logMgr.log(LogMgmt.LEV_FATAL, LogMgmt.TAG_AVAIL, "File not found", xslxFile, MODULE_ID);
+			log.log(LogMgmt.LEV_FATAL, LogMgmt.TAG_AVAIL, "File not found", xslxFile, MODULE_ID);
 			return null;
 		} catch (POIXMLException e1) {
-			logMgr.log(LogMgmt.LEV_FATAL, LogMgmt.TAG_AVAIL,
+			log.log(LogMgmt.LEV_FATAL, LogMgmt.TAG_AVAIL,
 					"Unable to parse XLSX. Check for comments or embedded objects.", xslxFile, MODULE_ID);
 			return null;
 		} catch (IOException e1) {
-			logMgr.log(LogMgmt.LEV_FATAL, LogMgmt.TAG_AVAIL, "IO Exception when accessing file", xslxFile, MODULE_ID);
+			log.log(LogMgmt.LEV_FATAL, LogMgmt.TAG_AVAIL, "IO Exception when accessing file", xslxFile, MODULE_ID);
 			return null;
 		} catch (InvalidFormatException e) {
 			// POI issue probably due to a missing file
@@ -554,10 +702,11 @@ public class ValidationController {
 		}
 		Version templateVersion = as.getVersion();
 		FILE_FMT srcMddfFmt = null;
-		XmlBuilder xBuilder = new XmlBuilder(logMgr, templateVersion);
+		XmlBuilder xBuilder = new XmlBuilder(log, templateVersion);
 		switch (templateVersion) {
 		case V1_7_2:
 			srcMddfFmt = FILE_FMT.AVAILS_1_7_2;
+			Metrics.setFileFormat(srcMddfFmt.name());
 			if (logNav != null) {
 				logNav.setMddfFormat(xslxFile, srcMddfFmt);
 			}
@@ -565,25 +714,26 @@ public class ValidationController {
 			break;
 		case V1_7:
 			srcMddfFmt = FILE_FMT.AVAILS_1_7;
+			Metrics.setFileFormat(srcMddfFmt.name());
 			if (logNav != null) {
 				logNav.setMddfFormat(xslxFile, srcMddfFmt);
 			}
 			xBuilder.setVersion("2.2");
 			break;
 		case V1_6:
-			logMgr.log(LogMgmt.LEV_FATAL, LogMgmt.TAG_AVAIL,
+			log.log(LogMgmt.LEV_FATAL, LogMgmt.TAG_AVAIL,
 					"Version " + templateVersion + " has been deprecated and is no longer supported", xslxFile,
 					MODULE_ID);
 			return null;
 		case UNK:
-			logMgr.log(LogMgmt.LEV_FATAL, LogMgmt.TAG_AVAIL, "Unable to identify XLSX format ", xslxFile, MODULE_ID);
+			log.log(LogMgmt.LEV_FATAL, LogMgmt.TAG_AVAIL, "Unable to identify XLSX format ", xslxFile, MODULE_ID);
 			break;
 		default:
-			logMgr.log(LogMgmt.LEV_FATAL, LogMgmt.TAG_AVAIL, "Unsupported template version " + templateVersion,
+			log.log(LogMgmt.LEV_FATAL, LogMgmt.TAG_AVAIL, "Unsupported template version " + templateVersion,
 					xslxFile, MODULE_ID);
 			return null;
 		}
-		logMgr.log(LogMgmt.LEV_INFO, LogMgmt.TAG_AVAIL, "Ingesting XLSX in " + templateVersion + " format", xslxFile,
+		log.log(LogMgmt.LEV_INFO, LogMgmt.TAG_AVAIL, "Ingesting XLSX in " + templateVersion + " format", xslxFile,
 				MODULE_ID);
 		String inFileName = xslxFile.getName();
 		String timeStamp = new SimpleDateFormat("yyyy.MM.dd.HH.mm.ss").format(new java.util.Date());
@@ -594,7 +744,7 @@ public class ValidationController {
 				// Ingest failed
 				return null;
 			}
-			Map<Object, Pedigree> pedigreeMap = xBuilder.getPedigreeMap();
+			PedigreeMap pedigreeMap = xBuilder.getPedigreeMap();
 			Map<String, Object> results = new HashMap<String, Object>();
 			results.put("xlsx", xslxFile);
 			results.put("xml", xmlJDomDoc);
@@ -625,10 +775,11 @@ public class ValidationController {
 	 * @throws IOException
 	 * @throws JDOMException
 	 */
-	protected boolean validateAvail(Element docRootEl, Map<Object, Pedigree> pedigreeMap, File srcFile)
+	protected boolean validateAvail(Element docRootEl, PedigreeMap pedigreeMap, File srcFile)
 			throws IOException, JDOMException {
 		boolean isValid = true;
 		AvailValidator tool1 = new AvailValidator(validateC, logMgr);
+		tool1.setXsdLimits(xsdLimits);
 		isValid = tool1.process(docRootEl, pedigreeMap, srcFile);
 		if (!isValid) {
 			String msg = "Validation FAILED; Terminating processing of file";
@@ -642,10 +793,26 @@ public class ValidationController {
 		return isValid;
 	}
 
+	/**
+	 * Generate a copy of an Avails in which the values of the specified
+	 * <tt>Target</tt>s have been replaced. An XML file is streamed directly to
+	 * the <tt>outFile</tt> without being parsed into a <tt>Document</tt>. An
+	 * XLSX file is first converted to XML. If the <tt>inFile</tt> is a
+	 * directory, the <tt>outFile</tt> is treated as a directory and every
+	 * Avails in the <tt>inFile</tt> is processed, with XML files being
+	 * processed in parallel.
+	 * 
+	 * @param inFile
+	 * @param outFile
+	 * @param replacementMap
+	 */
 	public void obfuscateAvail(File inFile, File outFile, Map<Target, String> replacementMap) {
 		System.out.println("Obfuscate " + inFile.getName());
 		System.out.println("Output to " + outFile.getName());
-		Document xmlDoc;
+		if (inFile.isDirectory()) {
+			obfuscateDirectory(inFile, outFile, replacementMap);
+			return;
+		}
 		String fileType = extractFileType(inFile.getAbsolutePath());
 		if (fileType.equals("xlsx")) {
 			Map<String, Object> results = convertSpreadsheet(inFile);
@@ -654,21 +821,18 @@ public class ValidationController {
 				logMgr.log(LogMgmt.LEV_ERR, LogMgmt.TAG_AVAIL, msg, inFile, -1, MODULE_ID, null, null);
 				return;
 			}
-			xmlDoc = (Document) results.get("xml");
+			Document xmlDoc = (Document) results.get("xml");
+			Document changedDoc = Obfuscator.process(xmlDoc, replacementMap, logMgr);
+			XmlIngester.writeXml(outFile, changedDoc);
 		} else if (fileType.equals("xml")) {
 			try {
-				xmlDoc = XmlIngester.getAsXml(inFile);
-			} catch (SAXParseException e) {
-				int ln = e.getLineNumber();
-				String errMsg = "Processing terminate due to invalid XML on or before line " + e.getLineNumber();
-				String supplemental = e.getMessage();
-				logMgr.log(LogMgmt.LEV_ERR, LogMgmt.TAG_N_A, errMsg, inFile, ln, MODULE_ID, supplemental, null);
+				Obfuscator.process(inFile, outFile, replacementMap);
+			} catch (XMLStreamException e) {
+				Obfuscator.logFailure(inFile, e, logMgr);
 				return;
 			} catch (IOException e) {
 				e.printStackTrace();
-				String errMsg = "Processing terminate due to invalid XML file";
-				String supplemental = e.getMessage();
-				logMgr.log(LogMgmt.LEV_ERR, LogMgmt.TAG_N_A, errMsg, inFile, -1, MODULE_ID, supplemental, null);
+				Obfuscator.logFailure(inFile, e, logMgr);
 				return;
 			}
 		} else {
@@ -676,17 +840,74 @@ public class ValidationController {
 			logMgr.log(LogMgmt.LEV_ERR, LogMgmt.TAG_N_A, errMsg, inFile, -1, MODULE_ID, null, null);
 			return;
 		}
-		Document changedDoc = Obfuscator.process(xmlDoc, replacementMap, logMgr);
-		XmlIngester.writeXml(outFile, changedDoc);
 
 		String msg = "Obfuscated output in " + outFile.getAbsolutePath();
 		logMgr.log(LogMgmt.LEV_INFO, LogMgmt.TAG_AVAIL, msg, inFile, -1, MODULE_ID, null, null);
 
 	}
 
+	/**
+	 * @param srcDir
+	 * @param outDir
+	 * @param replacementMap
+	 */
+	private void obfuscateDirectory(File srcDir, File outDir, Map<Target, String> replacementMap) {
+		try {
+			Obfuscator.processDirectory(srcDir, outDir, replacementMap, logMgr);
+		} catch (IOException e) {
+			logMgr.log(LogMgmt.LEV_ERR, LogMgmt.TAG_N_A, "Obfuscation failed: " + e.getMessage(), srcDir, -1,
+					MODULE_ID, null, null);
+			return;
+		}
+		/* spreadsheets must be converted so are processed one at a time */
+		outDir.mkdirs();
+		File[] fileList = srcDir.listFiles();
+		Arrays.sort(fileList);
+		/* names already used for the output of the XML files */
+		Set<String> outNames = new HashSet<String>();
+		for (File next : fileList) {
+			if (next.isFile() && next.getName().toLowerCase().endsWith(".xml")) {
+				outNames.add(next.getName().toLowerCase());
+			}
+		}
+		for (File next : fileList) {
+			if (next.isFile() && extractFileType(next.getName()).equals("xlsx")) {
+				String outName = getOutputName(next.getName(), outNames);
+				if (!outName.equalsIgnoreCase(next.getName().replaceFirst("\\.[^.]*$", ".xml"))) {
+					String msg = "Obfuscated output renamed to " + outName
+							+ " to avoid overwriting the output of another file";
+					logMgr.log(LogMgmt.LEV_WARN, LogMgmt.TAG_AVAIL, msg, next, -1, MODULE_ID, null, null);
+				}
+				obfuscateAvail(next, new File(outDir, outName), replacementMap);
+			}
+		}
+	}
+
+	/**
+	 * Returns the name of the XML file an obfuscated spreadsheet is written to.
+	 * This is normally the spreadsheet's name with an <tt>.xml</tt> extension.
+	 * If that has already been used (e.g., for an XML file with the same base
+	 * name) a numeric suffix is added. The selected name is added to the
+	 * <tt>outNames</tt>.
+	 * 
+	 * @param xlsxName
+	 * @param outNames
+	 *            lower-case names that have already been used
+	 * @return
+	 */
+	static String getOutputName(String xlsxName, Set<String> outNames) {
+		String baseName = xlsxName.replaceFirst("\\.[^.]*$", "");
+		String outName = baseName + ".xml";
+		for (int i = 1; !outNames.add(outName.toLowerCase()); i++) {
+			outName = baseName + "_xlsx" + ((i > 1) ? Integer.toString(i) : "") + ".xml";
+		}
+		return outName;
+	}
+
 	protected boolean validateMEC(Element docRootEl, File srcFile) throws IOException, JDOMException {
 		boolean isValid = true;
 		MecValidator tool1 = new MecValidator(validateC, logMgr);
+		tool1.setXsdLimits(xsdLimits);
 		isValid = tool1.process(srcFile, docRootEl);
 		if (!isValid) {
 			String msg = "Validation FAILED; Terminating processing of file";
@@ -720,6 +941,7 @@ public class ValidationController {
 		List<String> profileNameList = identifyProfiles(docRootEl, srcFile, uxProfile);
 		if (profileNameList.isEmpty() || profileNameList.contains("none")) {
 			ManifestValidator tool1 = new ManifestValidator(validateC, logMgr);
+			tool1.setXsdLimits(xsdLimits);
 			isValid = tool1.process(docRootEl, srcFile);
 		} else {
 			for (int i = 0; i < profileNameList.size(); i++) {
@@ -738,10 +960,14 @@ public class ValidationController {
 					case "IP-0":
 					case "IP-01":
 					case "IP-1":
-						pValidator = new CpeValidator(logMgr);
+						CpeValidator cpeValidator = new CpeValidator(logMgr);
+						cpeValidator.setXsdLimits(xsdLimits);
+						pValidator = cpeValidator;
 						break;
 					case "MMC-1":
-						pValidator = new MMCoreValidator(logMgr);
+						MMCoreValidator mmcValidator = new MMCoreValidator(logMgr);
+						mmcValidator.setXsdLimits(xsdLimits);
+						pValidator = mmcValidator;
 						break;
 					}
 					isValid = pValidator.process(docRootEl, srcFile, profile, useCases) && isValid;
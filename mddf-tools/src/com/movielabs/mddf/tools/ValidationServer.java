@@ -0,0 +1,534 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddf.tools;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.movielabs.mddf.MddfContext.FILE_FMT;
+import com.movielabs.mddflib.Obfuscator.Target;
+import com.movielabs.mddflib.logging.DefaultLogging;
+import com.movielabs.mddflib.logging.LogMgmt;
+import com.movielabs.mddflib.logging.LogReference;
+import com.movielabs.mddflib.util.xml.ResourceRegistry;
+import com.movielabs.mddflib.util.xml.XsdLimits;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import net.sf.json.JSONArray;
+import net.sf.json.JSONException;
+import net.sf.json.JSONObject;
+
+/**
+ * A long-lived, headless server that accepts requests to validate, translate,
+ * or obfuscate MDDF files. Requests are submitted as HTTP <tt>POST</tt>s with a
+ * JSON body to a port on the loopback interface (i.e., the server is not
+ * accessible from other hosts). Because the JVM and all MDDF resources (e.g.,
+ * compiled schemas, controlled vocabularies, and rating systems) remain loaded
+ * between requests, the cost of processing a file is only that of the
+ * validation itself.
+ * <p>
+ * Supported requests are:
+ * <ul>
+ * <li><tt>/validate</tt>: <tt>{"file": path, "profile": name, "constraints":
+ * boolean, "bestPrac": boolean, "recursive": boolean, "logLevel": level}</tt>
+ * </li>
+ * <li><tt>/translate</tt>: as with <tt>/validate</tt> plus <tt>{"formats":
+ * [FILE_FMT, ...], "exportDir": path}</tt></li>
+ * <li><tt>/obfuscate</tt>: <tt>{"file": path, "output": path,
+ * "replacements": {Target: value, ...}}</tt></li>
+ * <li><tt>/status</tt>: returns request counts and uptime</li>
+ * <li><tt>/shutdown</tt>: stops the server</li>
+ * </ul>
+ * Only <tt>file</tt> (and, for obfuscation, <tt>output</tt>) is required.
+ * Paths are resolved by the server so relative paths are relative to the
+ * server's working directory. The response is a JSON object containing the
+ * log entries generated while processing the request along with a count for
+ * each severity level.
+ * </p>
+ * <p>
+ * Being bound to the loopback interface does not prevent a web page open in a
+ * local browser from submitting requests. The server therefore requires that:
+ * <ul>
+ * <li>every request includes the access token generated when the server is
+ * started (and printed to the console) in an <tt>X-MDDF-Token</tt>
+ * header,</li>
+ * <li>any <tt>Origin</tt> header identifies the server itself, and</li>
+ * <li>the body of a <tt>POST</tt> has a <tt>Content-Type</tt> of
+ * <tt>application/json</tt>.</li>
+ * </ul>
+ * In addition, obfuscation will not overwrite an existing file and, if an
+ * output directory has been set, all output (i.e., <tt>output</tt> and
+ * <tt>exportDir</tt>) must be located within it.
+ * </p>
+ * <p>
+ * <b>NOTE:</b> Requests are accepted and parsed concurrently but the actual
+ * processing is serialized. The validation classes track the schema version
+ * of the file being processed via static state in <tt>XmlIngester</tt> and
+ * may therefore not be used concurrently. The resource caches themselves are
+ * thread-safe and are shared by all requests.
+ * </p>
+ */
+public class ValidationServer {
+
+	public static final String MODULE_ID = "ValidationServer";
+	public static final int DEFAULT_PORT = 8187;
+	public static final String TOKEN_HEADER = "X-MDDF-Token";
+	private static final int HANDLER_THREADS = 4;
+
+	private HttpServer httpServer;
+	private ExecutorService executor;
+	private final Object processLock = new Object();
+	private AtomicInteger requestCnt = new AtomicInteger();
+	private AtomicInteger failureCnt = new AtomicInteger();
+	private long startTime;
+	private ResultCache resultCache = null;
+	private XsdLimits xsdLimits = new XsdLimits();
+	private final String accessToken;
+	private File outputDir = null;
+
+	/**
+	 * Collects the log entries generated while processing a single request.
+	 * Entries are not retained in a log tree nor printed to the console.
+	 */
+	private static class RequestLog extends DefaultLogging {
+		private JSONArray entries = new JSONArray();
+		private int[] counts = new int[LogMgmt.logLevels.length];
+
+		@Override
+		protected void append(int level, int tag, String msg, File xmlFile, int line, String moduleID,
+				String details, LogReference srcRef) {
+			if (level < minLevel) {
+				return;
+			}
+			JSONObject entry = new JSONObject();
+			entry.put("level", LogMgmt.logLevels[level]);
+			entry.put("tag", LogMgmt.logTags[tag]);
+			entry.put("summary", msg);
+			if (xmlFile != null) {
+				entry.put("file", xmlFile.getPath());
+			}
+			entry.put("line", line);
+			entry.put("module", moduleID);
+			if (details != null) {
+				entry.put("details", details);
+			}
+			if (srcRef != null) {
+				entry.put("reference", srcRef.getLabel());
+			}
+			entries.add(entry);
+			counts[level]++;
+		}
+
+		void addTo(JSONObject response) {
+			JSONObject countObj = new JSONObject();
+			for (int i = 0; i < counts.length; i++) {
+				countObj.put(LogMgmt.logLevels[i], counts[i]);
+			}
+			response.put("counts", countObj);
+			response.put("entries", entries);
+		}
+	}
+
+	/**
+	 * Create a server that will listen on the specified port of the loopback
+	 * interface. The server does not accept requests until <tt>start()</tt> is
+	 * invoked.
+	 * 
+	 * @param port
+	 * @throws IOException
+	 *             if the port is not available
+	 */
+	public ValidationServer(int port) throws IOException {
+		InetSocketAddress addr = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+		httpServer = HttpServer.create(addr, 0);
+		String[] actions = { "validate", "translate", "obfuscate", "status", "shutdown" };
+		for (final String action : actions) {
+			httpServer.createContext("/" + action, new HttpHandler() {
+				public void handle(HttpExchange exchange) throws IOException {
+					handleRequest(action, exchange);
+				}
+			});
+		}
+		executor = Executors.newFixedThreadPool(HANDLER_THREADS);
+		httpServer.setExecutor(executor);
+		byte[] tokenBytes = new byte[16];
+		new SecureRandom().nextBytes(tokenBytes);
+		StringBuilder tokenBldr = new StringBuilder();
+		for (byte b : tokenBytes) {
+			tokenBldr.append(String.format("%02x", b & 0xff));
+		}
+		accessToken = tokenBldr.toString();
+	}
+
+	/**
+	 * Start accepting requests. MDDF resources are pre-loaded in the
+	 * background so that the first request does not incur the cost.
+	 */
+	public void start() {
+		ResourceRegistry.warmUpAsync();
+		startTime = System.currentTimeMillis();
+		httpServer.start();
+		System.out.println(MODULE_ID + " listening on " + httpServer.getAddress());
+		System.out.println("Requests must include the header '" + TOKEN_HEADER + ": " + accessToken + "'");
+	}
+
+	/**
+	 * Stop accepting requests. Any request currently being processed is
+	 * allowed to complete.
+	 */
+	public void stop() {
+		httpServer.stop(1);
+		executor.shutdown();
+	}
+
+	/**
+	 * @param resultCache
+	 *            cache used to avoid re-validating unchanged files or
+	 *            <tt>null</tt> to disable caching
+	 */
+	public void setResultCache(ResultCache resultCache) {
+		this.resultCache = resultCache;
+	}
+
+	/**
+	 * @param xsdLimits
+	 *            limits on the number of schema errors logged for each file
+	 */
+	public void setXsdLimits(XsdLimits xsdLimits) {
+		this.xsdLimits = xsdLimits;
+	}
+
+	/**
+	 * Restrict the location of any files written by the server (i.e.,
+	 * translations and obfuscated Avails) to a directory and its
+	 * sub-directories.
+	 * 
+	 * @param outputDir
+	 *            the permitted location or <tt>null</tt> if output may be
+	 *            written anywhere
+	 * @throws IOException
+	 */
+	public void setOutputDir(File outputDir) throws IOException {
+		this.outputDir = (outputDir == null) ? null : outputDir.getCanonicalFile();
+	}
+
+	/**
+	 * @return the token that must be included with every request
+	 */
+	public String getAccessToken() {
+		return accessToken;
+	}
+
+	/**
+	 * @return the port the server is listening on
+	 */
+	public int getPort() {
+		return httpServer.getAddress().getPort();
+	}
+
+	/**
+	 * @param action
+	 * @param exchange
+	 * @throws IOException
+	 */
+	private void handleRequest(String action, HttpExchange exchange) throws IOException {
+		JSONObject response = new JSONObject();
+		response.put("request", action);
+		int httpStatus = 200;
+		try {
+			if (!isPermitted(exchange)) {
+				failureCnt.incrementAndGet();
+				httpStatus = 403;
+				response.put("status", "error");
+				response.put("message", "Missing or invalid " + TOKEN_HEADER + ", or request from a foreign Origin");
+			} else if (action.equals("status")) {
+				response.putAll(getStatus());
+			} else if (!exchange.getRequestMethod().equals("POST")) {
+				httpStatus = 405;
+				response.put("status", "error");
+				response.put("message", "Requests must use POST");
+			} else if (!isJson(exchange)) {
+				httpStatus = 415;
+				response.put("status", "error");
+				response.put("message", "Requests must have a Content-Type of application/json");
+			} else if (action.equals("shutdown")) {
+				response.put("status", "ok");
+				send(exchange, httpStatus, response);
+				stop();
+				return;
+			} else {
+				requestCnt.incrementAndGet();
+				JSONObject request = readRequest(exchange);
+				long start = System.currentTimeMillis();
+				process(action, request, response);
+				response.put("elapsedMsec", System.currentTimeMillis() - start);
+			}
+		} catch (IllegalArgumentException | JSONException e) {
+			failureCnt.incrementAndGet();
+			httpStatus = 400;
+			response.put("status", "error");
+			response.put("message", e.getMessage());
+		} catch (Exception e) {
+			failureCnt.incrementAndGet();
+			httpStatus = 500;
+			response.put("status", "error");
+			response.put("message", e.toString());
+		}
+		send(exchange, httpStatus, response);
+	}
+
+	/**
+	 * A request is only permitted if it includes the access token and, if it
+	 * identifies an <tt>Origin</tt> (as a browser will), that is the server
+	 * itself.
+	 * 
+	 * @param exchange
+	 * @return
+	 */
+	private boolean isPermitted(HttpExchange exchange) {
+		String token = exchange.getRequestHeaders().getFirst(TOKEN_HEADER);
+		if ((token == null) || !MessageDigest.isEqual(token.trim().getBytes(StandardCharsets.UTF_8),
+				accessToken.getBytes(StandardCharsets.UTF_8))) {
+			return false;
+		}
+		String origin = exchange.getRequestHeaders().getFirst("Origin");
+		if (origin == null) {
+			return true;
+		}
+		int port = getPort();
+		return origin.equals("http://127.0.0.1:" + port) || origin.equals("http://localhost:" + port);
+	}
+
+	/**
+	 * @param exchange
+	 * @return <tt>true</tt> if the body of the request is identified as JSON
+	 */
+	private boolean isJson(HttpExchange exchange) {
+		String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+		if (contentType == null) {
+			return false;
+		}
+		return contentType.split(";")[0].trim().equalsIgnoreCase("application/json");
+	}
+
+	/**
+	 * Resolve the location of a file or directory to be written by the server.
+	 * 
+	 * @param path
+	 * @return
+	 * @throws IOException
+	 * @throws IllegalArgumentException
+	 *             if an output directory has been set and the location is not
+	 *             within it
+	 */
+	private File getOutputLocation(String path) throws IOException {
+		File location = new File(path).getCanonicalFile();
+		if (outputDir != null) {
+			for (File parent = location; !parent.equals(outputDir); parent = parent.getParentFile()) {
+				if (parent.getParentFile() == null) {
+					throw new IllegalArgumentException("Output must be located in " + outputDir.getPath());
+				}
+			}
+		}
+		return location;
+	}
+
+	/**
+	 * @param action
+	 * @param request
+	 * @param response
+	 * @throws IOException
+	 */
+	private void process(String action, JSONObject request, JSONObject response) throws IOException {
+		String path = request.optString("file", "");
+		if (path.isEmpty()) {
+			throw new IllegalArgumentException("A 'file' must be specified");
+		}
+		File srcFile = new File(path);
+		if (!srcFile.exists()) {
+			throw new IllegalArgumentException("File not found: " + path);
+		}
+		response.put("file", srcFile.getPath());
+		RequestLog logger = new RequestLog();
+		logger.setMinLevel(getLogLevel(request.optString("logLevel", "warn")));
+		ValidationController vCtrl = new ValidationController(logger);
+		vCtrl.setResultCache(resultCache);
+		vCtrl.setXsdLimits(xsdLimits);
+		switch (action) {
+		case "validate":
+		case "translate":
+			vCtrl.setValidation(true, request.optBoolean("constraints", true), request.optBoolean("bestPrac", false));
+			vCtrl.setRecursive(request.optBoolean("recursive", true));
+			if (action.equals("translate")) {
+				vCtrl.setTranslations(getFormats(request.optJSONArray("formats")),
+						getOutputLocation(request.optString("exportDir", ".")));
+			} else {
+				vCtrl.setTranslations(null, null);
+			}
+			String profile = request.optString("profile", "none");
+			synchronized (processLock) {
+				vCtrl.validate(srcFile.getPath(), profile, null);
+			}
+			break;
+		case "obfuscate":
+			String outPath = request.optString("output", "");
+			if (outPath.isEmpty()) {
+				throw new IllegalArgumentException("An 'output' file must be specified");
+			}
+			File outFile = getOutputLocation(outPath);
+			if (outFile.exists()) {
+				throw new IllegalArgumentException("Output location already exists: " + outPath);
+			}
+			Map<Target, String> replacementMap = getReplacements(request.optJSONObject("replacements"));
+			synchronized (processLock) {
+				vCtrl.obfuscateAvail(srcFile, outFile, replacementMap);
+			}
+			break;
+		}
+		response.put("status", "ok");
+		logger.addTo(response);
+	}
+
+	/**
+	 * @param fmtList
+	 * @return
+	 */
+	private EnumSet<FILE_FMT> getFormats(JSONArray fmtList) {
+		if ((fmtList == null) || fmtList.isEmpty()) {
+			throw new IllegalArgumentException("At least one translation format must be specified");
+		}
+		EnumSet<FILE_FMT> selections = EnumSet.noneOf(FILE_FMT.class);
+		for (int i = 0; i < fmtList.size(); i++) {
+			String fmt = fmtList.getString(i);
+			try {
+				selections.add(FILE_FMT.valueOf(fmt));
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException("Unrecognized Translation format '" + fmt + "'");
+			}
+		}
+		return selections;
+	}
+
+	/**
+	 * @param replacements
+	 * @return
+	 */
+	private Map<Target, String> getReplacements(JSONObject replacements) {
+		Map<Target, String> replacementMap = new HashMap<Target, String>();
+		if (replacements == null) {
+			return replacementMap;
+		}
+		Iterator<?> keyIt = replacements.keys();
+		while (keyIt.hasNext()) {
+			String key = (String) keyIt.next();
+			try {
+				replacementMap.put(Target.valueOf(key), replacements.getString(key));
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException("Unrecognized obfuscation target '" + key + "'");
+			}
+		}
+		return replacementMap;
+	}
+
+	/**
+	 * Convert a log level as used with the command line (e.g., 'warn') to the
+	 * corresponding <tt>LogMgmt</tt> level.
+	 * 
+	 * @param llValue
+	 * @return
+	 */
+	static int getLogLevel(String llValue) {
+		switch (llValue) {
+		case "debug":
+			return LogMgmt.LEV_DEBUG;
+		case "verbose":
+			return LogMgmt.LEV_NOTICE;
+		case "warn":
+			return LogMgmt.LEV_WARN;
+		case "error":
+			return LogMgmt.LEV_ERR;
+		case "info":
+			return LogMgmt.LEV_INFO;
+		default:
+			throw new IllegalArgumentException("Unrecognized log level '" + llValue + "'");
+		}
+	}
+
+	private JSONObject getStatus() {
+		JSONObject status = new JSONObject();
+		status.put("status", "ok");
+		status.put("uptimeMsec", System.currentTimeMillis() - startTime);
+		status.put("requests", requestCnt.get());
+		status.put("failures", failureCnt.get());
+		status.put("resourcesLoaded", ResourceRegistry.getLoadCount());
+		if (resultCache != null) {
+			status.put("cacheHits", resultCache.getHitCount());
+			status.put("cacheMisses", resultCache.getMissCount());
+		}
+		status.put("heapUsed", ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+		return status;
+	}
+
+	private JSONObject readRequest(HttpExchange exchange) throws IOException {
+		InputStream in = exchange.getRequestBody();
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		byte[] chunk = new byte[4096];
+		int cnt;
+		while ((cnt = in.read(chunk)) > 0) {
+			buffer.write(chunk, 0, cnt);
+		}
+		in.close();
+		String body = buffer.toString("UTF-8").trim();
+		if (body.isEmpty()) {
+			return new JSONObject();
+		}
+		return JSONObject.fromObject(body);
+	}
+
+	private void send(HttpExchange exchange, int httpStatus, JSONObject response) throws IOException {
+		byte[] bytes = response.toString().getBytes("UTF-8");
+		exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+		exchange.sendResponseHeaders(httpStatus, bytes.length);
+		OutputStream out = exchange.getResponseBody();
+		out.write(bytes);
+		out.close();
+	}
+}
@@ -1163,7 +1163,11 @@ public abstract class ValidatorTool extends GenericTool implements TreeSelection
 	 */
 	public ValidationController getController() {
 		if (controller == null) {
-			controller = new ValidationController(consoleLogger);
+			LogNavPanel logNav = null;
+			if (consoleLogger instanceof AdvLogPanel) {
+				logNav = ((AdvLogPanel) consoleLogger).getLogNavPanel();
+			}
+			controller = new ValidationController(consoleLogger, logNav);
 		}
 		return controller;
 	}
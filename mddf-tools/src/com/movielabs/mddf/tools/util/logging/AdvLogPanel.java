@@ -32,7 +32,6 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
 import javax.swing.JMenu;
@@ -43,6 +42,7 @@ import javax.swing.JPopupMenu;
 import javax.swing.JSeparator;
 import javax.swing.JSplitPane;
 import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
 import javax.swing.event.TreeSelectionEvent;
 import javax.swing.event.TreeSelectionListener;
 
@@ -51,10 +51,12 @@ import org.jdom2.located.Located;
 
 import com.movielabs.mddf.tools.util.xml.EditorMgr;
 import com.movielabs.mddf.tools.util.xml.SimpleXmlEditor;
+import com.movielabs.mddflib.logging.CellLocation;
 import com.movielabs.mddflib.logging.LogEntryFolder;
 import com.movielabs.mddflib.logging.LogEntryNode;
 import com.movielabs.mddflib.logging.LogMgmt;
 import com.movielabs.mddflib.logging.LogReference;
+import com.movielabs.mddflib.metrics.Metrics;
 
 /**
  * A composite UI component that provides the user with the ability to filter,
@@ -201,9 +203,14 @@ public class AdvLogPanel extends JPanel implements LoggerWidget, TreeSelectionLi
 	@Override
 	public void clearLog() {
 		treeView.clearLog();
-		tableView.clearLog();
-		this.invalidate();
-		this.repaint();
+		treeView.invokeAfterUpdates(new Runnable() {
+			@Override
+			public void run() {
+				tableView.clearLog();
+				invalidate();
+				repaint();
+			}
+		});
 	}
 
 	/*
@@ -220,8 +227,7 @@ public class AdvLogPanel extends JPanel implements LoggerWidget, TreeSelectionLi
 			// nothing selected
 			return;
 		}
-		tableView.clearLog();
-		tableView.append(msgList);
+		tableView.setEntries(msgList);
 
 		setSize(getWidth(), getHeight());
 	}
@@ -345,7 +351,12 @@ public class AdvLogPanel extends JPanel implements LoggerWidget, TreeSelectionLi
 	public void setCurrentFile(File targetFile) {
 		this.curInputFile = targetFile;
 		treeView.setCurrentFileId(targetFile, true);
-		valueChanged(null);
+		treeView.invokeAfterUpdates(new Runnable() {
+			@Override
+			public void run() {
+				valueChanged(null);
+			}
+		});
 	}
 
 	/*
@@ -375,14 +386,22 @@ public class AdvLogPanel extends JPanel implements LoggerWidget, TreeSelectionLi
 		if (target != null) {
 			if (target instanceof Located) {
 				lineNum = ((Located) target).getLine();
-			} else if (target instanceof Cell) {
+			} else if ((target instanceof Cell) || (target instanceof CellLocation)) {
+				int rowNum;
+				int colNum;
+				if (target instanceof Cell) {
+					rowNum = ((Cell) target).getRowIndex();
+					colNum = ((Cell) target).getColumnIndex();
+				} else {
+					rowNum = ((CellLocation) target).getRowIndex();
+					colNum = ((CellLocation) target).getColumnIndex();
+				}
 				/*
 				 * Add 1 to line number for display purposes. Code is zero-based
 				 * index but Excel spreadsheet displays using 1 as the 1st row.
 				 */
-				lineNum = ((Cell) target).getRowIndex() + 1;
+				lineNum = rowNum + 1;
 				/* Prefix an 'explanation' with column ID (e.g., 'X', 'AA') */
-				int colNum = ((Cell) target).getColumnIndex();
 				String prefix = "Column " + mapColNum(colNum);
 				if ((explanation == null) || (explanation.isEmpty())) {
 					explanation = prefix;
@@ -433,22 +452,34 @@ public class AdvLogPanel extends JPanel implements LoggerWidget, TreeSelectionLi
 
 	protected void append(int level, int tag, String msg, File xmlFile, int line, String moduleID, String tooltip,
 			LogReference srcRef) {
-
+		Metrics.issueLogged(level);
 		if (level < minLevel) {
 			return;
 		}
 		if (level == LogMgmt.LEV_INFO) {
 			if (statusTextField != null) {
-				statusTextField.setText(msg);
+				SwingUtilities.invokeLater(new Runnable() {
+					@Override
+					public void run() {
+						statusTextField.setText(msg);
+					}
+				});
 			}
 			if (!infoIncluded) {
 				return;
 			}
 		}
+		/* The entry is displayed when the LogNavPanel's next batch is applied */
+		treeView.append(level, tag, msg, xmlFile, line, moduleID, tooltip, srcRef);
+	}
 
-		List<LogEntryNode> entryList = new ArrayList<LogEntryNode>();
-		LogEntryNode entry = treeView.append(level, tag, msg, xmlFile, line, moduleID, tooltip, srcRef);
-		entryList.add(entry);
+	/**
+	 * Invoked on the EDT by the <tt>LogNavPanel</tt> each time a batch of new
+	 * entries has been added to the tree.
+	 * 
+	 * @param entryList
+	 */
+	void entriesAdded(List<LogEntryNode> entryList) {
 		tableView.append(entryList);
 		setSize(getWidth(), getHeight());
 	}
@@ -461,6 +492,7 @@ public class AdvLogPanel extends JPanel implements LoggerWidget, TreeSelectionLi
 	@Override
 	public void setMinLevel(int level) {
 		minLevel = level;
+		updateLevelFilter();
 	}
 
 	/*
@@ -486,6 +518,23 @@ public class AdvLogPanel extends JPanel implements LoggerWidget, TreeSelectionLi
 	 */
 	public void setInfoIncluded(boolean infoIncluded) {
 		this.infoIncluded = infoIncluded;
+		updateLevelFilter();
+	}
+
+	/**
+	 * Apply the current filter settings to entries that have already been
+	 * logged as well as to any new entries.
+	 */
+	private void updateLevelFilter() {
+		final int level = minLevel;
+		final boolean withInfo = infoIncluded;
+		treeView.invokeAfterUpdates(new Runnable() {
+			@Override
+			public void run() {
+				tableView.setLevelFilter(level, withInfo);
+				setSize(getWidth(), getHeight());
+			}
+		});
 	}
 
 	/**
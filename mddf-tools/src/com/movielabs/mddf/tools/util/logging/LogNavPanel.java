@@ -30,24 +30,33 @@ import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.BorderFactory;
 import javax.swing.Icon;
 import javax.swing.ImageIcon;
 import javax.swing.JMenuItem;
+import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JPopupMenu;
 import javax.swing.JScrollPane;
 import javax.swing.JSeparator;
 import javax.swing.JTree;
 import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import javax.swing.UIManager;
 import javax.swing.event.TreeSelectionListener;
-import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.DefaultTreeCellRenderer;
 import javax.swing.tree.DefaultTreeModel;
 import javax.swing.tree.TreeNode;
@@ -67,6 +76,7 @@ import com.movielabs.mddflib.logging.LogEntryFolder;
 import com.movielabs.mddflib.logging.LogEntryNode;
 import com.movielabs.mddflib.logging.LogMgmt;
 import com.movielabs.mddflib.logging.LogReference;
+import com.movielabs.mddflib.util.xml.DocumentHandle;
 
 /**
  * A <tt>JPanel</tt> that displays a <tt>JTree</tt> containing all log entries
@@ -75,6 +85,14 @@ import com.movielabs.mddflib.logging.LogReference;
  * context-sensitive pop-up menu that is displayed when user right-clicks on a
  * tree node provides a mechanism for performing various operations on a file
  * (e.g., re-validation, editing, translation).
+ * <p>
+ * Log entries may be generated by any thread (e.g., a
+ * <tt>ValidationWorker</tt>) but the <tt>JTree</tt>'s model may only be
+ * modified on the Event Dispatch Thread. Changes are therefore queued and
+ * then applied on the EDT in batches. Each batch is limited to
+ * <tt>MAX_BATCH_MILLIS</tt> so that the UI remains responsive while large
+ * numbers of entries are being generated.
+ * </p>
  * 
  * @author L. Levin, Critical Architectures LLC
  *
@@ -161,7 +179,6 @@ public class LogNavPanel extends JPanel {
 					@Override
 					public void actionPerformed(ActionEvent e) {
 						TranslatorDialog xlateDialog = TranslatorDialog.getDialog();
-						Document doc = fileFolder.getXml();
 						FILE_FMT curFmt = fileFolder.getMddfFormat();
 						File srcFile = fileFolder.getFile();
 						xlateDialog.setContext(curFmt, srcFile);
@@ -170,6 +187,14 @@ public class LogNavPanel extends JPanel {
 						xlateDialog.setVisible(true);
 						EnumSet<FILE_FMT> selections = xlateDialog.getSelections();
 						if (!selections.isEmpty()) {
+							Document doc;
+							try {
+								doc = fileFolder.getXml();
+							} catch (IOException e1) {
+								JOptionPane.showMessageDialog(tree, e1.getMessage() + ". Please re-validate the file.",
+										"Translation Failed", JOptionPane.ERROR_MESSAGE);
+								return;
+							}
 							ValidatorTool.getTool().runTranslation(doc, selections, xlateDialog.getOutputDir(),
 									xlateDialog.getOutputFilePrefix(), xlateDialog.addVersion());
 						}
@@ -233,8 +258,6 @@ public class LogNavPanel extends JPanel {
 					@Override
 					public void actionPerformed(ActionEvent e) {
 						MaskerDialog xlateDialog = MaskerDialog.getDialog();
-						Document doc = fileFolder.getXml();
-						FILE_FMT curFmt = fileFolder.getMddfFormat();
 						File srcFile = fileFolder.getFile();
 						xlateDialog.setContext(srcFile);
 						xlateDialog.setVisible(true);
@@ -368,11 +391,52 @@ public class LogNavPanel extends JPanel {
 	// public static final Color backgroundHdrPanel = new Color(20, 52, 103);
 	// public static final Color disabledTextColor = new Color(200, 10, 10);
 
+	/**
+	 * Delay (in milliseconds) between the first change being queued and the
+	 * batch being applied. This allows changes to be coalesced.
+	 */
+	private static final int UPDATE_DELAY = 100;
+	private static final long MAX_BATCH_MILLIS = 30;
+
 	private JTree tree;
 	private DefaultTreeModel treeModel;
 	private LogEntryFolder rootLogNode = new LogEntryFolder("", -1);
+
+	/*
+	 * The following are used to determine (on whatever thread is logging)
+	 * which folder an entry belongs in. Access is synchronized on the
+	 * modelLock.
+	 */
+	private final Object modelLock = new Object();
 	private Map<File, LogEntryFolder> fileFolderMap = new HashMap<File, LogEntryFolder>();
+	private Map<LogEntryFolder, LogEntryFolder[]> levelFolders = new HashMap<LogEntryFolder, LogEntryFolder[]>();
+	private Map<LogEntryFolder, LogEntryFolder[]> tagFolders = new HashMap<LogEntryFolder, LogEntryFolder[]>();
+	private Set<String> folderLabels = new HashSet<String>();
 	private int masterSeqNum = 0;
+
+	/* Changes waiting to be applied on the EDT. */
+	private final Queue<Runnable> pendingUpdates = new ConcurrentLinkedQueue<Runnable>();
+	private final AtomicBoolean updateScheduled = new AtomicBoolean(false);
+	private final Runnable updater = new Runnable() {
+		@Override
+		public void run() {
+			applyUpdates(true);
+			if (!pendingUpdates.isEmpty()) {
+				// remainder will be handled after any other pending UI events
+				SwingUtilities.invokeLater(this);
+				return;
+			}
+			updateScheduled.set(false);
+			if (!pendingUpdates.isEmpty() && updateScheduled.compareAndSet(false, true)) {
+				SwingUtilities.invokeLater(this);
+			}
+		}
+	};
+	private Timer updateTimer;
+
+	/* Results of the current batch. Only accessed on the EDT */
+	private Set<LogEntryFolder> changedFolders = new LinkedHashSet<LogEntryFolder>();
+	private List<LogEntryNode> addedEntries = new ArrayList<LogEntryNode>();
 	private String currentManifestId = "Default";
 
 	private LogEntryFolder previousSelectedNode;
@@ -418,9 +482,35 @@ public class LogNavPanel extends JPanel {
 		initializeGui();
 	}
 
+	/**
+	 * Return the folder containing all log entries for a file. If invoked on
+	 * the EDT, any queued changes are applied first so that the folder is
+	 * up-to-date.
+	 * 
+	 * @param targetFile
+	 * @return
+	 */
 	LogEntryFolder getFileFolder(File targetFile) {
-		LogEntryFolder fileFolder = fileFolderMap.get(targetFile);
-		if (fileFolder == null) {
+		LogEntryFolder fileFolder = resolveFileFolder(targetFile);
+		if (SwingUtilities.isEventDispatchThread()) {
+			applyUpdates(false);
+		}
+		return fileFolder;
+	}
+
+	/**
+	 * Return the folder for a file, creating it if necessary. A new folder is
+	 * fully constructed before a request to add it to the tree is queued.
+	 * 
+	 * @param targetFile
+	 * @return
+	 */
+	private LogEntryFolder resolveFileFolder(File targetFile) {
+		synchronized (modelLock) {
+			LogEntryFolder fileFolder = fileFolderMap.get(targetFile);
+			if (fileFolder != null) {
+				return fileFolder;
+			}
 			/*
 			 * Deal with possibility of multiple files with the same name being
 			 * processed (i.e. /foo/myFile.xml vs /bar/myFile.xml).
@@ -433,24 +523,144 @@ public class LogNavPanel extends JPanel {
 				label = "Validator";
 			}
 			String qualifiedName = label;
-			fileFolder = (LogEntryFolder) rootLogNode.getChild(label);
-			while (fileFolder != null) {
+			while (folderLabels.contains(qualifiedName)) {
 				suffix++;
 				qualifiedName = label + " (" + suffix + ")";
-				fileFolder = (LogEntryFolder) rootLogNode.getChild(qualifiedName);
 			}
+			folderLabels.add(qualifiedName);
 			fileFolder = new LogEntryFolder(qualifiedName, -1);
 			fileFolderMap.put(targetFile, fileFolder);
-			rootLogNode.add(fileFolder);
+			LogEntryFolder[] levelSet = new LogEntryFolder[LogMgmt.logLevels.length];
 			for (int i = 0; i < LogMgmt.logLevels.length; i++) {
 				LogEntryFolder levelTNode = new LogEntryFolder(LogMgmt.logLevels[i], i);
 				fileFolder.add(levelTNode);
+				levelSet[i] = levelTNode;
+				tagFolders.put(levelTNode, new LogEntryFolder[LogMgmt.logTags.length]);
 			}
-			treeModel.nodeChanged(rootLogNode);
-			treeModel.reload();
+			levelFolders.put(fileFolder, levelSet);
+			final LogEntryFolder newFolder = fileFolder;
+			enqueue(new Runnable() {
+				@Override
+				public void run() {
+					treeModel.insertNodeInto(newFolder, rootLogNode, rootLogNode.getChildCount());
+					changedFolders.add(rootLogNode);
+				}
+			});
+			return fileFolder;
+		}
+	}
 
+	/**
+	 * Queue a change to the tree model to be applied on the EDT.
+	 * 
+	 * @param update
+	 */
+	private void enqueue(Runnable update) {
+		pendingUpdates.add(update);
+		if (updateScheduled.compareAndSet(false, true)) {
+			getUpdateTimer().restart();
+		}
+	}
+
+	private Timer getUpdateTimer() {
+		synchronized (pendingUpdates) {
+			if (updateTimer == null) {
+				updateTimer = new Timer(UPDATE_DELAY, new ActionListener() {
+					@Override
+					public void actionPerformed(ActionEvent e) {
+						updater.run();
+					}
+				});
+				updateTimer.setRepeats(false);
+			}
+			return updateTimer;
+		}
+	}
+
+	/**
+	 * Apply queued changes to the tree model. The folders whose contents
+	 * changed are then updated once and the new entries are passed to the
+	 * parent <tt>AdvLogPanel</tt>. This must be invoked on the EDT.
+	 * 
+	 * @param timeSliced
+	 *            if <tt>true</tt>, stop after <tt>MAX_BATCH_MILLIS</tt> even
+	 *            if changes remain in the queue
+	 */
+	private void applyUpdates(boolean timeSliced) {
+		long deadline = System.currentTimeMillis() + MAX_BATCH_MILLIS;
+		Runnable next = pendingUpdates.poll();
+		while (next != null) {
+			next.run();
+			if (timeSliced && (System.currentTimeMillis() > deadline)) {
+				break;
+			}
+			next = pendingUpdates.poll();
+		}
+		for (LogEntryFolder folder : changedFolders) {
+			treeModel.nodeChanged(folder);
+		}
+		changedFolders.clear();
+		flushEntries();
+	}
+
+	private void flushEntries() {
+		if (!addedEntries.isEmpty()) {
+			List<LogEntryNode> batch = addedEntries;
+			addedEntries = new ArrayList<LogEntryNode>();
+			parentLogger.entriesAdded(batch);
+		}
+	}
+
+	/**
+	 * Run a task on the EDT once all changes queued before it have been
+	 * applied.
+	 * 
+	 * @param task
+	 */
+	void invokeAfterUpdates(final Runnable task) {
+		enqueue(new Runnable() {
+			@Override
+			public void run() {
+				flushEntries();
+				task.run();
+			}
+		});
+		if (SwingUtilities.isEventDispatchThread()) {
+			applyUpdates(false);
+		}
+	}
+
+	/**
+	 * Mark a folder, and all the folders containing it, as needing to be
+	 * re-rendered at the end of the current batch.
+	 * 
+	 * @param folder
+	 */
+	private void folderChanged(LogEntryFolder folder) {
+		TreeNode next = folder;
+		while ((next != null) && changedFolders.add((LogEntryFolder) next)) {
+			next = next.getParent();
 		}
-		return fileFolder;
+	}
+
+	/**
+	 * Add a tag-specific node to a previously unused folder (i.e., we use
+	 * lazy-constructor design pattern). To keep order consistent it is
+	 * inserted following the node for the closest preceding tag.
+	 * 
+	 * @param tagNode
+	 * @param byLevel
+	 * @param tag
+	 */
+	private void insertTagNode(LogEntryFolder tagNode, LogEntryFolder byLevel, int tag) {
+		int j = -1;
+		for (int i = tag - 1; (i >= 0) && (j < 0); i--) {
+			TreeNode priorNode = byLevel.getChild(LogMgmt.logTags[i]);
+			if (priorNode != null) {
+				j = byLevel.getIndex(priorNode);
+			}
+		}
+		treeModel.insertNodeInto(tagNode, byLevel, j + 1);
 	}
 
 	/**
@@ -491,11 +701,16 @@ public class LogNavPanel extends JPanel {
 	 */
 	public void setCurrentFileId(File targetFile, boolean clear) {
 		currentManifestId = targetFile.getName();
-		LogEntryFolder fileFolder = getFileFolder(targetFile);
+		final LogEntryFolder fileFolder = resolveFileFolder(targetFile);
 		if (clear) {
-			fileFolder.deleteMsgs();
-			treeModel.nodeChanged(fileFolder);
-			treeModel.reload();
+			enqueue(new Runnable() {
+				@Override
+				public void run() {
+					fileFolder.deleteMsgs();
+					treeModel.nodeStructureChanged(fileFolder);
+					folderChanged(fileFolder);
+				}
+			});
 		}
 	}
 
@@ -506,7 +721,7 @@ public class LogNavPanel extends JPanel {
 	 * @param logTag
 	 */
 	public void setFileMddfType(File targetFile, MDDF_TYPE type) {
-		LogEntryFolder fileFolder = getFileFolder(targetFile);
+		LogEntryFolder fileFolder = resolveFileFolder(targetFile);
 		if (fileFolder != null) {
 			fileFolder.setMddfType(type);
 		}
@@ -514,16 +729,16 @@ public class LogNavPanel extends JPanel {
 	}
 
 	public void setMddfFormat(File targetFile, FILE_FMT format) {
-		LogEntryFolder fileFolder = getFileFolder(targetFile);
+		LogEntryFolder fileFolder = resolveFileFolder(targetFile);
 		if (fileFolder != null) {
 			fileFolder.setMddfFormat(format);
 		}
 	}
 
-	public void setXml(File targetFile, Document docRootEl) {
-		LogEntryFolder fileFolder = getFileFolder(targetFile);
+	public void setXml(File targetFile, DocumentHandle xmlHandle) {
+		LogEntryFolder fileFolder = resolveFileFolder(targetFile);
 		if (fileFolder != null) {
-			fileFolder.setXml(docRootEl);
+			fileFolder.setXml(xmlHandle);
 		}
 	}
 
@@ -531,11 +746,21 @@ public class LogNavPanel extends JPanel {
 	 * 
 	 */
 	public void clearLog() {
-		rootLogNode.deleteMsgs();
-		rootLogNode.removeAllChildren();
-		fileFolderMap = new HashMap<File, LogEntryFolder>();
-		masterSeqNum = 0;
-		treeModel.reload();
+		synchronized (modelLock) {
+			fileFolderMap = new HashMap<File, LogEntryFolder>();
+			levelFolders = new HashMap<LogEntryFolder, LogEntryFolder[]>();
+			tagFolders = new HashMap<LogEntryFolder, LogEntryFolder[]>();
+			folderLabels = new HashSet<String>();
+			masterSeqNum = 0;
+		}
+		enqueue(new Runnable() {
+			@Override
+			public void run() {
+				rootLogNode.deleteMsgs();
+				rootLogNode.removeAllChildren();
+				treeModel.reload();
+			}
+		});
 	}
 
 	/**
@@ -548,46 +773,43 @@ public class LogNavPanel extends JPanel {
 	 * @param srcRef
 	 * @return
 	 */
-	public LogEntryNode append(int level, int tag, String msg, File xmlFile, int line, String moduleID, String tooltip,
-			LogReference srcRef) {
+	public LogEntryNode append(int level, final int tag, String msg, File xmlFile, int line, String moduleID,
+			String tooltip, LogReference srcRef) {
 		String tagAsText = LogMgmt.logTags[tag];
-		// First get correct 'folder'
-		LogEntryFolder byTargetFile = getFileFolder(xmlFile);
-		if (byTargetFile.getFile() == null) {
-			byTargetFile.setFile(xmlFile);
+		final LogEntryFolder byLevel;
+		final LogEntryFolder tagNode;
+		final LogEntryNode entryNode;
+		synchronized (modelLock) {
+			// First get correct 'folder'
+			LogEntryFolder byTargetFile = resolveFileFolder(xmlFile);
+			if ((xmlFile != null) && (byTargetFile.getFile() == null)) {
+				byTargetFile.setFile(xmlFile);
+			}
+			byLevel = levelFolders.get(byTargetFile)[level];
+			LogEntryFolder[] tagSet = tagFolders.get(byLevel);
+			if (tagSet[tag] == null) {
+				/*
+				 * Tag-specific folder will be added to the tree when the entry
+				 * is.
+				 */
+				tagSet[tag] = new LogEntryFolder(tagAsText, level);
+			}
+			tagNode = tagSet[tag];
+			/* now create a new LogEntryNode to be added to the folder. */
+			entryNode = new LogEntryNode(level, tagNode, msg, byTargetFile, line, moduleID, masterSeqNum++, tooltip,
+					srcRef);
 		}
-		LogEntryFolder byLevel = (LogEntryFolder) byTargetFile.getChild(LogMgmt.logLevels[level]);
-		LogEntryFolder tagNode = (LogEntryFolder) byLevel.getChild(tagAsText);
-		if (tagNode == null) {
-			/*
-			 * Add tag-specific node for previously unused folder (i.e., we use
-			 * lazy-constructor design pattern)
-			 */
-			tagNode = new LogEntryFolder(tagAsText, level);
-			/*
-			 * need to keep order consistent so figure where to insert. Allow
-			 * for situation where it is the first node or the child set is
-			 * empty
-			 */
-			if (tag == 0) {
-				treeModel.insertNodeInto(tagNode, byLevel, 0);
-			} else {
-				int j = -1;
-				for (int i = tag - 1; i >= 0; i--) {
-					DefaultMutableTreeNode priorNode = byLevel.getChild(LogMgmt.logTags[i]);
-					if (priorNode != null) {
-						j = byLevel.getIndex(priorNode);
-					}
+		enqueue(new Runnable() {
+			@Override
+			public void run() {
+				if (tagNode.getParent() == null) {
+					insertTagNode(tagNode, byLevel, tag);
 				}
-				treeModel.insertNodeInto(tagNode, byLevel, j + 1);
+				tagNode.addMsg(entryNode);
+				folderChanged(tagNode);
+				addedEntries.add(entryNode);
 			}
-			byLevel.add(tagNode);
-		}
-		/* now create a new LogEntryNode and add it to folder. */
-		LogEntryNode entryNode = new LogEntryNode(level, tagNode, msg, byTargetFile, line, moduleID, masterSeqNum++,
-				tooltip, srcRef);
-		tagNode.addMsg(entryNode);
-		treeModel.nodeChanged(tagNode);
+		});
 		return entryNode;
 	}
 
@@ -599,8 +821,10 @@ public class LogNavPanel extends JPanel {
 	}
 
 	/**
-	 * @return
+	 * Return the messages in the currently selected folder. The returned list
+	 * is a read-only view (i.e., the messages are not copied).
 	 * 
+	 * @return
 	 */
 	public List<LogEntryNode> getSelectedMsgSet() {
 		LogEntryFolder node = (LogEntryFolder) tree.getLastSelectedPathComponent();
@@ -612,8 +836,7 @@ public class LogNavPanel extends JPanel {
 			node = previousSelectedNode;
 		}
 		if (node != null) {
-			List<LogEntryNode> msgList = node.getMsgList();
-			return msgList;
+			return node.getMsgView();
 		} else {
 			return null;
 		}
@@ -32,21 +32,15 @@ import javax.swing.event.ChangeEvent;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.TableColumnModelEvent;
 import javax.swing.event.TableColumnModelListener;
-import javax.swing.event.TableModelEvent;
 import javax.swing.filechooser.FileFilter;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableCellRenderer;
 import javax.swing.table.TableColumn;
 import javax.swing.table.TableColumnModel;
-import javax.swing.table.TableRowSorter;
 
 import com.movielabs.mddf.tools.util.FileChooserDialog;
-import com.movielabs.mddflib.logging.LogEntryComparator;
-import com.movielabs.mddflib.logging.LogEntryFolder;
 import com.movielabs.mddflib.logging.LogEntryNode;
-import com.movielabs.mddflib.logging.LogEntryNode.Field;
 import com.movielabs.mddflib.logging.LogMgmt;
 
 import java.awt.Color;
@@ -59,9 +53,7 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Vector;
 
 /**
  * @author L. Levin, Critical Architectures LLC
@@ -69,73 +61,8 @@ import java.util.Vector;
  */
 public class LogPanel extends JPanel {
 
-	/**
-	 * Extends <tt>TableRowSorter</tt> to provide the ability to sort table rows
-	 * in which all columns contain <tt>LogEntryNode</tt> instances. This
-	 * requires the usage of custom comparators (i.e.,
-	 * <tt>LogEntryComparator</tt> instances).
-	 * 
-	 * @author L. Levin, Critical Architectures LLC
-	 *
-	 */
-	public class LogSorter<T> extends TableRowSorter<DefaultTableModel> {
-
-		/**
-		 * @param model
-		 */
-		public LogSorter(DefaultTableModel model) {
-			super(model);
-		}
-
-		/*
-		 * (non-Javadoc)
-		 * 
-		 * @see javax.swing.table.TableRowSorter#getComparator(int)
-		 */
-		@Override
-		public Comparator<?> getComparator(int column) {
-			switch (column) {
-			case 0:
-				return new LogEntryComparator(Field.Num);
-			case 1:
-				return new LogEntryComparator(Field.Level);
-			case 2:
-				return new LogEntryComparator(Field.Tag);
-			case 3:
-				return new LogEntryComparator(Field.Details);
-			case 4:
-				return new LogEntryComparator(Field.Line);
-			case 5:
-				return new LogEntryComparator(Field.File);
-			case 6:
-				return new LogEntryComparator(Field.Reference);
-			}
-			return super.getComparator(column);
-		}
-
-		/**
-		 * Override parent implementation to return <tt>false</tt> in all cases.
-		 * This is necessary to ensure that the column-specific custom
-		 * comparators are correctly applied.
-		 * <p>
-		 * Note that <tt>TableRowSorter#useToString(int)</tt> has what appears
-		 * to be a bug in that it explicitly invokes
-		 * {@link DefaultRowSorter#getComparator(int)}. This will prevent
-		 * {@link LogSorter#getComparator(int)} from correctly being invoked.
-		 * That, in turn, results in a <tt>useToString()</tt> always returning
-		 * <tt>true</tt>. Overriding <tt>useToString()</tt> in
-		 * <tt>LogSorter</tt> bypasses this bug.
-		 * </p>
-		 * 
-		 * @see javax.swing.table.TableRowSorter#useToString(int)
-		 */
-		protected boolean useToString(int column) {
-			return false;
-		}
-	}
-
 	private JTable logTable;
-	private DefaultTableModel model;
+	private LogTableModel model;
 	private JScrollPane scPane;
 
 	private final String columnNames[] = {"Num", "Level", "Type", "Details", "Line", "File", "Reference" };
@@ -143,7 +70,7 @@ public class LogPanel extends JPanel {
 	private float[] colWidthBASE = {0.06f,  0.07f, 0.07f, 0.50f, 0.07f, 0.19f, 0.12f };
 	private float[] colWidthSaved = colWidthBASE;
 	private boolean firstResize = true;
-	private TableRowSorter<DefaultTableModel> sorter;
+	private LogRowSorter sorter;
 	private AdvLogPanel advLogPanel;
 
 	/**
@@ -153,15 +80,14 @@ public class LogPanel extends JPanel {
 	 */
 	public LogPanel() {
 		setBackground(UIManager.getColor("OptionPane.warningDialog.titlePane.background"));
-		final Object testData[][] = {};
-		model = new DefaultTableModel(testData, columnNames);
+		model = new LogTableModel(columnNames);
 		logTable = new JTable(model);
 		logTable.setRowSelectionAllowed(false);
 		logTable.setShowHorizontalLines(false);
 		logTable.setBorder(new LineBorder(new Color(0, 0, 0)));
 		logTable.setDefaultRenderer(Object.class, new LogTableRenderer());
 
-		sorter = new LogSorter<DefaultTableModel>(model);
+		sorter = new LogRowSorter(model);
 		logTable.setRowSorter(sorter);
 
 		scPane = new JScrollPane(logTable);
@@ -256,36 +182,37 @@ public class LogPanel extends JPanel {
 	}
 
 	/**
-	 * @param entry
+	 * Add entries to those already displayed.
+	 * 
+	 * @param msgList
 	 */
-	private void append(LogEntryNode entry) {
-		/*
-		 * The design is to have the LogTableRenderer figure out what attribute
-		 * of the entry to display based on the column number passed to it. That
-		 * means regardless of which column, the same LogEntryNode instance is
-		 * going to be used as the column data for a given row.
-		 */
-		Object[] rowData = new LogEntryNode[columnNames.length];
-		for (int i = 0; i < rowData.length; i++) {
-			rowData[i] = entry;
-		}
-		model.addRow(rowData);
+	public void append(List<LogEntryNode> msgList) {
+		model.append(msgList);
+		firstResize = true;
 	}
 
 	/**
+	 * Display the specified entries, replacing any currently displayed. Only
+	 * the rows that are visible are rendered so the list may be a view (e.g.,
+	 * <tt>LogEntryFolder.getMsgView()</tt>) of a very large log.
+	 * 
 	 * @param msgList
 	 */
-	public void append(List<LogEntryNode> msgList) {
-		int firstRow = model.getRowCount() - 1;
-		for (int i = 0; i < msgList.size(); i++) {
-			LogEntryNode entry = msgList.get(i);
-			append(entry);
-		}
+	public void setEntries(List<LogEntryNode> msgList) {
+		model.setEntries(msgList);
 		firstResize = true;
-		int lastRow = model.getRowCount() - 1;
-		TableModelEvent evt = new TableModelEvent(model, firstRow, lastRow, TableModelEvent.ALL_COLUMNS,
-				TableModelEvent.INSERT);
-		model.fireTableChanged(evt);
+	}
+
+	/**
+	 * Only display entries with a severity of at least <tt>minLevel</tt>.
+	 * 
+	 * @param minLevel
+	 * @param infoIncluded
+	 *            if <tt>true</tt> entries with a level of
+	 *            <tt>LogMgmt.LEV_INFO</tt> are also displayed
+	 */
+	public void setLevelFilter(int minLevel, boolean infoIncluded) {
+		sorter.setLevelFilter(minLevel, infoIncluded);
 	}
 
 	/*
@@ -294,7 +221,7 @@ public class LogPanel extends JPanel {
 	 * @see com.movielabs.mddf.util.Logger#clearLog()
 	 */
 	public void clearLog() {
-		model.setRowCount(0);
+		model.clear();
 	}
 
 	/**
@@ -344,10 +271,8 @@ public class LogPanel extends JPanel {
 		headerRow = headerRow + colSep + "File Path";
 		writer.write(headerRow + "\n");
 		/* add data rows */
-		Vector dVecTable = model.getDataVector();
-		for (int i = 0; i < dVecTable.size(); i++) {
-			Vector rowVec = (Vector) dVecTable.get(i);
-			LogEntryNode entry = (LogEntryNode) rowVec.get(0);
+		for (int i = 0; i < model.getRowCount(); i++) {
+			LogEntryNode entry = model.getEntry(i);
 			String trimedRow = entry.toCSV();
 			writer.write(trimedRow + "\n");
 		}
@@ -455,7 +380,7 @@ public class LogPanel extends JPanel {
 		 * Can use any column to retrieve entry since append() uses the LogEntry
 		 * as the data for every column in the row.
 		 */
-		LogEntryNode entry = (LogEntryNode) model.getValueAt(entryIndex, 1);
+		LogEntryNode entry = model.getEntry(entryIndex);
 		return entry;
 	}
 
@@ -0,0 +1,384 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddf.tools.util.logging;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+
+import com.movielabs.mddflib.logging.LogEntryComparator;
+import com.movielabs.mddflib.logging.LogEntryNode;
+import com.movielabs.mddflib.logging.LogEntryNode.Field;
+import com.movielabs.mddflib.logging.LogMgmt;
+
+/**
+ * <tt>RowSorter</tt> for a <tt>LogTableModel</tt>. Sorting and filtering (by
+ * severity level) are done on an array of row indices. Unlike a
+ * <tt>TableRowSorter</tt>, no per-row objects are created so the cost of
+ * sorting a large log is limited to the comparisons. If the rows are neither
+ * sorted nor filtered, no index is maintained at all.
+ * <p>
+ * When rows are appended to the model, the new rows are sorted and merged
+ * into the existing order rather than the entire table being re-sorted.
+ * Sorting is stable so rows that compare as equal remain in model order.
+ * </p>
+ */
+public class LogRowSorter extends RowSorter<LogTableModel> {
+
+	private static final int INSERTION_SORT_THRESHOLD = 16;
+
+	private LogTableModel model;
+	private List<SortKey> sortKeys = Collections.emptyList();
+	private Comparator<LogEntryNode> comparator = null;
+	private int minLevel = LogMgmt.LEV_DEBUG;
+	private boolean infoIncluded = true;
+	private int modelRowCount;
+	/* null if the rows are neither sorted nor filtered */
+	private int[] viewToModel = null;
+	/* derived from viewToModel when first needed */
+	private int[] modelToView = null;
+	/* entries being compared during a sort, indexed by model row */
+	private LogEntryNode[] sortEntries = null;
+
+	/**
+	 * @param model
+	 */
+	public LogRowSorter(LogTableModel model) {
+		this.model = model;
+		modelRowCount = model.getRowCount();
+	}
+
+	/**
+	 * Return the <tt>Comparator</tt> for a column. Note the mapping is based
+	 * on the column names used by <tt>LogPanel</tt>.
+	 * 
+	 * @param column
+	 * @return
+	 */
+	protected Comparator<LogEntryNode> getComparator(int column) {
+		switch (column) {
+		case 0:
+			return new LogEntryComparator(Field.Num);
+		case 1:
+			return new LogEntryComparator(Field.Level);
+		case 2:
+			return new LogEntryComparator(Field.Tag);
+		case 3:
+			return new LogEntryComparator(Field.Details);
+		case 4:
+			return new LogEntryComparator(Field.Line);
+		case 5:
+			return new LogEntryComparator(Field.File);
+		case 6:
+			return new LogEntryComparator(Field.Reference);
+		}
+		return new LogEntryComparator(Field.Num);
+	}
+
+	/**
+	 * Only display entries with a severity of at least <tt>minLevel</tt>.
+	 * Entries with a level of <tt>LogMgmt.LEV_INFO</tt> are displayed if, and
+	 * only if, <tt>infoIncluded</tt> is <tt>true</tt>.
+	 * 
+	 * @param minLevel
+	 * @param infoIncluded
+	 */
+	public void setLevelFilter(int minLevel, boolean infoIncluded) {
+		if ((this.minLevel == minLevel) && (this.infoIncluded == infoIncluded)) {
+			return;
+		}
+		this.minLevel = minLevel;
+		this.infoIncluded = infoIncluded;
+		sort();
+	}
+
+	private boolean isFiltered() {
+		return (minLevel > LogMgmt.LEV_DEBUG) || !infoIncluded;
+	}
+
+	private boolean include(LogEntryNode entry) {
+		int level = entry.getLevel();
+		if (level == LogMgmt.LEV_INFO) {
+			return infoIncluded;
+		}
+		return level >= minLevel;
+	}
+
+	@Override
+	public LogTableModel getModel() {
+		return model;
+	}
+
+	@Override
+	public void toggleSortOrder(int column) {
+		SortOrder order = SortOrder.ASCENDING;
+		if (!sortKeys.isEmpty() && (sortKeys.get(0).getColumn() == column)
+				&& (sortKeys.get(0).getSortOrder() == SortOrder.ASCENDING)) {
+			order = SortOrder.DESCENDING;
+		}
+		setSortKeys(Collections.singletonList(new SortKey(column, order)));
+	}
+
+	@Override
+	public void setSortKeys(List<? extends SortKey> keys) {
+		List<SortKey> newKeys = new ArrayList<SortKey>();
+		if (keys != null) {
+			for (SortKey key : keys) {
+				if (key.getSortOrder() != SortOrder.UNSORTED) {
+					newKeys.add(key);
+				}
+			}
+		}
+		sortKeys = Collections.unmodifiableList(newKeys);
+		comparator = null;
+		if (!sortKeys.isEmpty()) {
+			/* secondary keys are not supported; ties remain in model order */
+			SortKey primary = sortKeys.get(0);
+			comparator = getComparator(primary.getColumn());
+			if (primary.getSortOrder() == SortOrder.DESCENDING) {
+				comparator = Collections.reverseOrder(comparator);
+			}
+		}
+		fireSortOrderChanged();
+		sort();
+	}
+
+	@Override
+	public List<? extends SortKey> getSortKeys() {
+		return sortKeys;
+	}
+
+	/**
+	 * Rebuild the mapping of view to model rows.
+	 */
+	private void sort() {
+		int[] previous = viewToModel;
+		modelRowCount = model.getRowCount();
+		modelToView = null;
+		if ((comparator == null) && !isFiltered()) {
+			viewToModel = null;
+		} else {
+			int[] rows = select(0, modelRowCount);
+			if (comparator != null) {
+				sortRows(rows);
+			}
+			viewToModel = rows;
+		}
+		fireRowSorterChanged(previous);
+	}
+
+	/**
+	 * Return the indices of the rows in the range [<tt>first</tt>,
+	 * <tt>end</tt>) that pass the filter.
+	 * 
+	 * @param first
+	 * @param end
+	 * @return
+	 */
+	private int[] select(int first, int end) {
+		int[] rows = new int[end - first];
+		int cnt = 0;
+		boolean filtered = isFiltered();
+		for (int i = first; i < end; i++) {
+			if (!filtered || include(model.getEntry(i))) {
+				rows[cnt++] = i;
+			}
+		}
+		if (cnt < rows.length) {
+			int[] selected = new int[cnt];
+			System.arraycopy(rows, 0, selected, 0, cnt);
+			return selected;
+		}
+		return rows;
+	}
+
+	private int compareRows(int row1, int row2) {
+		return comparator.compare(sortEntries[row1], sortEntries[row2]);
+	}
+
+	/**
+	 * Stable merge sort of an array of row indices. The entries are retrieved
+	 * from the model once, rather than for every comparison.
+	 * 
+	 * @param rows
+	 */
+	private void sortRows(int[] rows) {
+		sortEntries = new LogEntryNode[modelRowCount];
+		for (int i = 0; i < rows.length; i++) {
+			sortEntries[rows[i]] = model.getEntry(rows[i]);
+		}
+		try {
+			int[] work = rows.clone();
+			mergeSort(work, rows, 0, rows.length);
+		} finally {
+			sortEntries = null;
+		}
+	}
+
+	/*
+	 * Sort src[low..high) into dest[low..high). On entry both arrays contain
+	 * the same values.
+	 */
+	private void mergeSort(int[] src, int[] dest, int low, int high) {
+		int length = high - low;
+		if (length < INSERTION_SORT_THRESHOLD) {
+			for (int i = low + 1; i < high; i++) {
+				int row = dest[i];
+				int j = i - 1;
+				while ((j >= low) && (compareRows(dest[j], row) > 0)) {
+					dest[j + 1] = dest[j];
+					j--;
+				}
+				dest[j + 1] = row;
+			}
+			return;
+		}
+		int mid = (low + high) >>> 1;
+		mergeSort(dest, src, low, mid);
+		mergeSort(dest, src, mid, high);
+		if (compareRows(src[mid - 1], src[mid]) <= 0) {
+			System.arraycopy(src, low, dest, low, length);
+			return;
+		}
+		for (int i = low, p = low, q = mid; i < high; i++) {
+			if ((q >= high) || ((p < mid) && (compareRows(src[p], src[q]) <= 0))) {
+				dest[i] = src[p++];
+			} else {
+				dest[i] = src[q++];
+			}
+		}
+	}
+
+	@Override
+	public int convertRowIndexToModel(int index) {
+		if (viewToModel == null) {
+			if ((index < 0) || (index >= model.getRowCount())) {
+				throw new IndexOutOfBoundsException("Invalid index");
+			}
+			return index;
+		}
+		return viewToModel[index];
+	}
+
+	@Override
+	public int convertRowIndexToView(int index) {
+		if (viewToModel == null) {
+			if ((index < 0) || (index >= model.getRowCount())) {
+				throw new IndexOutOfBoundsException("Invalid index");
+			}
+			return index;
+		}
+		if (modelToView == null) {
+			modelToView = new int[modelRowCount];
+			Arrays.fill(modelToView, -1);
+			for (int i = 0; i < viewToModel.length; i++) {
+				modelToView[viewToModel[i]] = i;
+			}
+		}
+		return modelToView[index];
+	}
+
+	@Override
+	public int getViewRowCount() {
+		if (viewToModel == null) {
+			return model.getRowCount();
+		}
+		return viewToModel.length;
+	}
+
+	@Override
+	public int getModelRowCount() {
+		return model.getRowCount();
+	}
+
+	@Override
+	public void modelStructureChanged() {
+		sort();
+	}
+
+	@Override
+	public void allRowsChanged() {
+		sort();
+	}
+
+	/**
+	 * Rows appended to the model are filtered, sorted, and then merged into
+	 * the existing order. Any other insertion results in a full sort.
+	 * 
+	 * @see javax.swing.RowSorter#rowsInserted(int, int)
+	 */
+	@Override
+	public void rowsInserted(int firstRow, int endRow) {
+		if (viewToModel == null) {
+			// identity mapping remains valid
+			modelRowCount = model.getRowCount();
+			return;
+		}
+		if (firstRow != modelRowCount) {
+			sort();
+			return;
+		}
+		int[] previous = viewToModel;
+		modelRowCount = model.getRowCount();
+		modelToView = null;
+		int[] added = select(firstRow, endRow + 1);
+		int[] merged = new int[previous.length + added.length];
+		if (comparator == null) {
+			System.arraycopy(previous, 0, merged, 0, previous.length);
+			System.arraycopy(added, 0, merged, previous.length, added.length);
+		} else {
+			sortRows(added);
+			/* on a tie the existing row precedes the new one */
+			for (int i = 0, p = 0, q = 0; i < merged.length; i++) {
+				if ((q >= added.length) || ((p < previous.length)
+						&& (comparator.compare(model.getEntry(previous[p]), model.getEntry(added[q])) <= 0))) {
+					merged[i] = previous[p++];
+				} else {
+					merged[i] = added[q++];
+				}
+			}
+		}
+		viewToModel = merged;
+		fireRowSorterChanged(previous);
+	}
+
+	@Override
+	public void rowsDeleted(int firstRow, int endRow) {
+		sort();
+	}
+
+	@Override
+	public void rowsUpdated(int firstRow, int endRow) {
+		sort();
+	}
+
+	@Override
+	public void rowsUpdated(int firstRow, int endRow, int column) {
+		sort();
+	}
+}
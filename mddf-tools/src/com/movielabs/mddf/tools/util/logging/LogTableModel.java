@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddf.tools.util.logging;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.swing.table.AbstractTableModel;
+
+import com.movielabs.mddflib.logging.LogEntryNode;
+
+/**
+ * <tt>TableModel</tt> for a list of log entries. Rather than copying the
+ * entries into a row-based data structure, the model is a view of an existing
+ * list (e.g., <tt>LogEntryFolder.getMsgView()</tt>) followed by any entries
+ * that have been appended since. Since each row displays attributes of the
+ * same <tt>LogEntryNode</tt>, the value of every column is the entry itself
+ * and it is left to the renderer to determine which attribute to display.
+ */
+public class LogTableModel extends AbstractTableModel {
+
+	private static final long serialVersionUID = 1L;
+	private String[] columnNames;
+	private List<LogEntryNode> entries = Collections.emptyList();
+	private List<LogEntryNode> appended = new ArrayList<LogEntryNode>();
+
+	/**
+	 * @param columnNames
+	 */
+	public LogTableModel(String[] columnNames) {
+		this.columnNames = columnNames;
+	}
+
+	/**
+	 * Display the specified entries, replacing any currently displayed. The
+	 * list must not subsequently change in size.
+	 * 
+	 * @param entryList
+	 */
+	public void setEntries(List<LogEntryNode> entryList) {
+		entries = entryList;
+		appended = new ArrayList<LogEntryNode>();
+		fireTableDataChanged();
+	}
+
+	/**
+	 * Add entries following those already displayed.
+	 * 
+	 * @param entryList
+	 */
+	public void append(List<LogEntryNode> entryList) {
+		if (entryList.isEmpty()) {
+			return;
+		}
+		int firstRow = getRowCount();
+		appended.addAll(entryList);
+		fireTableRowsInserted(firstRow, getRowCount() - 1);
+	}
+
+	public void clear() {
+		setEntries(Collections.<LogEntryNode> emptyList());
+	}
+
+	/**
+	 * @param row
+	 *            index of row in the model
+	 * @return
+	 */
+	public LogEntryNode getEntry(int row) {
+		int baseCnt = entries.size();
+		if (row < baseCnt) {
+			return entries.get(row);
+		}
+		return appended.get(row - baseCnt);
+	}
+
+	@Override
+	public int getRowCount() {
+		return entries.size() + appended.size();
+	}
+
+	@Override
+	public int getColumnCount() {
+		return columnNames.length;
+	}
+
+	@Override
+	public String getColumnName(int column) {
+		return columnNames[column];
+	}
+
+	@Override
+	public Object getValueAt(int rowIndex, int columnIndex) {
+		return getEntry(rowIndex);
+	}
+}
@@ -0,0 +1,259 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddf.tools.util.xml;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Segment;
+
+import org.apache.batik.util.gui.xmleditor.XMLDocument;
+
+/**
+ * Search (and replace) operations on the entire text of an
+ * <tt>XMLDocument</tt>. The search criteria are compiled once into a
+ * <tt>Pattern</tt> (i.e., any case-folding is done when the instance is
+ * created rather than when each line is searched) and applied to the
+ * document's <tt>Segment</tt>-based snapshot so the text is neither split
+ * into lines nor copied into <tt>String</tt> instances.
+ * <p>
+ * A replace-all is applied as a single change to the document spanning the
+ * first to last match. Listeners (e.g., an <tt>UndoManager</tt>) therefore
+ * see a single edit regardless of the number of matches.
+ * </p>
+ */
+public class DocumentSearch {
+
+	private final String target;
+	private final boolean caseSensitive;
+	private final boolean regex;
+	private final boolean wholeWord;
+	private final Pattern pattern;
+
+	/**
+	 * @param target
+	 *            text (or regular expression) to search for
+	 * @param caseSensitive
+	 * @param regex
+	 *            if <tt>true</tt> the <tt>target</tt> is a regular expression
+	 * @param wholeWord
+	 *            if <tt>true</tt> matches must not be preceded or followed
+	 *            by a word character
+	 * @throws PatternSyntaxException
+	 *             if <tt>regex</tt> is <tt>true</tt> and the <tt>target</tt>
+	 *             is not a valid regular expression
+	 */
+	public DocumentSearch(String target, boolean caseSensitive, boolean regex, boolean wholeWord)
+			throws PatternSyntaxException {
+		this.target = target;
+		this.caseSensitive = caseSensitive;
+		this.regex = regex;
+		this.wholeWord = wholeWord;
+		String expression = regex ? target : Pattern.quote(target);
+		if (wholeWord) {
+			expression = "(?<!\\w)(?:" + expression + ")(?!\\w)";
+		}
+		int flags = Pattern.MULTILINE;
+		if (!caseSensitive) {
+			flags = flags | Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+		}
+		pattern = Pattern.compile(expression, flags);
+	}
+
+	/**
+	 * @return <tt>true</tt> if this instance implements the specified
+	 *         criteria
+	 */
+	public boolean matches(String target, boolean caseSensitive, boolean regex, boolean wholeWord) {
+		return this.target.equals(target) && (this.caseSensitive == caseSensitive) && (this.regex == regex)
+				&& (this.wholeWord == wholeWord);
+	}
+
+	/**
+	 * Find the first match starting at or after <tt>fromIndex</tt>.
+	 * 
+	 * @param doc
+	 * @param fromIndex
+	 * @return the start and end offsets of the match or <tt>null</tt> if
+	 *         there is none
+	 * @throws BadLocationException
+	 */
+	public int[] findNext(XMLDocument doc, int fromIndex) throws BadLocationException {
+		Segment text = doc.getSnapshot();
+		if (fromIndex > text.length()) {
+			return null;
+		}
+		Matcher matcher = pattern.matcher(text);
+		if (matcher.find(fromIndex)) {
+			return new int[] { matcher.start(), matcher.end() };
+		}
+		return null;
+	}
+
+	/**
+	 * Find the last match that starts before <tt>beforeIndex</tt>.
+	 * 
+	 * @param doc
+	 * @param beforeIndex
+	 * @return the start and end offsets of the match or <tt>null</tt> if
+	 *         there is none
+	 * @throws BadLocationException
+	 */
+	public int[] findPrevious(XMLDocument doc, int beforeIndex) throws BadLocationException {
+		Segment text = doc.getSnapshot();
+		Matcher matcher = pattern.matcher(text);
+		int[] found = null;
+		while (matcher.find() && (matcher.start() < beforeIndex)) {
+			found = new int[] { matcher.start(), matcher.end() };
+		}
+		return found;
+	}
+
+	/**
+	 * Return the text that should replace a match. Unless the search is for
+	 * a regular expression this is the <tt>replacement</tt> itself. With a
+	 * regular expression, the <tt>replacement</tt> may include references
+	 * (e.g., <tt>$1</tt>) to groups in the match. The match is re-evaluated
+	 * in the context of the entire document so that anchors and look-around
+	 * constructs behave exactly as they did when the match was found.
+	 * 
+	 * @param doc
+	 * @param start
+	 *            start offset of the match
+	 * @param end
+	 *            end offset of the match
+	 * @param replacement
+	 * @return
+	 * @throws BadLocationException
+	 */
+	public String getReplacement(XMLDocument doc, int start, int end, String replacement)
+			throws BadLocationException {
+		if (!regex) {
+			return replacement;
+		}
+		Segment text = doc.getSnapshot();
+		if (start > text.length()) {
+			return replacement;
+		}
+		Matcher matcher = pattern.matcher(text);
+		if (!matcher.find(start) || (matcher.start() != start) || (matcher.end() != end)) {
+			return replacement;
+		}
+		return expand(matcher, replacement);
+	}
+
+	/**
+	 * Replace every match in the document.
+	 * 
+	 * @param doc
+	 * @param replacement
+	 * @return the number of matches replaced
+	 * @throws BadLocationException
+	 */
+	public int replaceAll(XMLDocument doc, String replacement) throws BadLocationException {
+		Segment text = doc.getSnapshot();
+		Matcher matcher = pattern.matcher(text);
+		if (!matcher.find()) {
+			return 0;
+		}
+		int first = matcher.start();
+		int last = first;
+		int count = 0;
+		StringBuilder buffer = new StringBuilder();
+		do {
+			buffer.append(text, last, matcher.start());
+			buffer.append(regex ? expand(matcher, replacement) : replacement);
+			last = matcher.end();
+			count++;
+		} while (matcher.find());
+		doc.replaceAsSingleEdit(first, last - first, buffer.toString());
+		return count;
+	}
+
+	/**
+	 * Return the <tt>replacement</tt> for the current match with any group
+	 * references (i.e., <tt>$n</tt> or <tt>${name}</tt>) replaced by the
+	 * matching text and any escaped characters (e.g., <tt>\$</tt>) unescaped.
+	 * The syntax is that used by <tt>Matcher.appendReplacement()</tt>, which
+	 * is not used as it would also copy the text preceding the match.
+	 * 
+	 * @param matcher
+	 * @param replacement
+	 * @return
+	 * @throws IllegalArgumentException
+	 *             if the <tt>replacement</tt> is not valid
+	 * @throws IndexOutOfBoundsException
+	 *             if the <tt>replacement</tt> refers to a group that does not
+	 *             exist
+	 */
+	private static String expand(Matcher matcher, String replacement) {
+		StringBuilder result = new StringBuilder();
+		int cursor = 0;
+		while (cursor < replacement.length()) {
+			char next = replacement.charAt(cursor++);
+			if (next == '\\') {
+				if (cursor == replacement.length()) {
+					throw new IllegalArgumentException("character to be escaped is missing");
+				}
+				result.append(replacement.charAt(cursor++));
+			} else if (next == '$') {
+				if (cursor == replacement.length()) {
+					throw new IllegalArgumentException("Illegal group reference: group index is missing");
+				}
+				String group;
+				if (replacement.charAt(cursor) == '{') {
+					int close = replacement.indexOf('}', cursor);
+					if (close < 0) {
+						throw new IllegalArgumentException("named capturing group is missing trailing '}'");
+					}
+					group = matcher.group(replacement.substring(cursor + 1, close));
+					cursor = close + 1;
+				} else {
+					int refNum = Character.digit(replacement.charAt(cursor), 10);
+					if (refNum < 0) {
+						throw new IllegalArgumentException("Illegal group reference");
+					}
+					cursor++;
+					/* use as many digits as form a valid group number */
+					while (cursor < replacement.length()) {
+						int digit = Character.digit(replacement.charAt(cursor), 10);
+						if ((digit < 0) || (((refNum * 10) + digit) > matcher.groupCount())) {
+							break;
+						}
+						refNum = (refNum * 10) + digit;
+						cursor++;
+					}
+					group = matcher.group(refNum);
+				}
+				if (group != null) {
+					result.append(group);
+				}
+			} else {
+				result.append(next);
+			}
+		}
+		return result.toString();
+	}
+}
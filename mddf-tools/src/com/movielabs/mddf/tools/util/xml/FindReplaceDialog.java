@@ -301,8 +301,6 @@ public class FindReplaceDialog extends JFrame {
 		if (wordChkBox == null) {
 			wordChkBox = new JCheckBox("Match whole word only");
 			wordChkBox.setFont(ctrlFont);
-			wordChkBox.setEnabled(false);
-			wordChkBox.setToolTipText("This capability is not yet implemented");
 		}
 		return wordChkBox;
 	}
@@ -319,8 +317,6 @@ public class FindReplaceDialog extends JFrame {
 		if (regexChkBox == null) {
 			regexChkBox = new JCheckBox("regular expression");
 			regexChkBox.setFont(ctrlFont);
-			regexChkBox.setEnabled(false);
-			regexChkBox.setToolTipText("This capability is not yet implemented");
 
 		}
 		return regexChkBox;
@@ -360,7 +356,7 @@ public class FindReplaceDialog extends JFrame {
 	 * @param targetText
 	 */
 	public void setFindText(String targetText) {
-		getReplaceTextField().setText(targetText);
+		getFindTextField().setText(targetText);
 
 	}
 }
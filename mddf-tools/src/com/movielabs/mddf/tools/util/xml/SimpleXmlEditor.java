@@ -38,6 +38,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.regex.PatternSyntaxException;
 
 import javax.swing.JFrame;
 import javax.swing.JPanel;
@@ -491,6 +492,9 @@ public class SimpleXmlEditor {
 		static final String AC_SAVE = "s";
 		static final String AC_SAVE_AS = "s_all";
 
+		private DocumentSearch search = null;
+		private int lastEmptyMatch = -1;
+
 		EditActionListener() {
 		}
 
@@ -540,11 +544,11 @@ public class SimpleXmlEditor {
 				doFindPrevious();
 				break;
 			case AC_REP:
-				xmlEditorPane.replaceSelection(findReplDialog.getReplaceText());
+				doReplace();
 				break;
 			case AC_REP_F:
 				// Replace currently selected text, then find next match
-				xmlEditorPane.replaceSelection(findReplDialog.getReplaceText());
+				doReplace();
 				doFindNext();
 				break;
 			case AC_REP_ALL:
@@ -562,106 +566,139 @@ public class SimpleXmlEditor {
 		}
 
 		/**
+		 * Return a <tt>DocumentSearch</tt> implementing the criteria currently
+		 * specified via the <tt>FindReplaceDialog</tt>. If the 'find' text has
+		 * not been entered, the currently selected text is used.
 		 * 
+		 * @return the <tt>DocumentSearch</tt> or <tt>null</tt> if the criteria
+		 *         are incomplete or invalid
 		 */
-		private void doReplaceAll() {
+		private DocumentSearch getSearch() {
 			String targetText = findReplDialog.getFindText();
 			if (targetText.isEmpty()) {
-				findReplDialog.setStatusMsg("Text to be replaced has not be entered.");
-				return;
+				targetText = xmlEditorPane.getSelectedText();
+				if (targetText == null || targetText.isEmpty()) {
+					findReplDialog.setStatusMsg("Text to be found has not be entered.");
+					return null;
+				}
+				findReplDialog.setFindText(targetText);
+			}
+			boolean caseSensitive = findReplDialog.getCaseChkBox().isSelected();
+			boolean regex = findReplDialog.getRegexBox().isSelected();
+			boolean wholeWord = findReplDialog.getWordChkBox().isSelected();
+			if (search == null || !search.matches(targetText, caseSensitive, regex, wholeWord)) {
+				try {
+					search = new DocumentSearch(targetText, caseSensitive, regex, wholeWord);
+				} catch (PatternSyntaxException e) {
+					search = null;
+					findReplDialog.setStatusMsg("Invalid regular expression: " + e.getDescription());
+				}
 			}
-			/* Replace all matching text */
-			boolean working = true;
-			int count = 0;
-			/*
-			 * There may or may not be currently selected text. If there is, it
-			 * may or may not match the search criteria.
-			 */
+			return search;
+		}
+
+		/**
+		 * Replace the currently selected text.
+		 */
+		private void doReplace() {
+			String replacement = findReplDialog.getReplaceText();
 			String curSelText = xmlEditorPane.getSelectedText();
-			boolean selectionMatches;
 			if (curSelText != null && !curSelText.isEmpty()) {
-				if (findReplDialog.getCaseChkBox().isSelected()) {
-					selectionMatches = curSelText.equals(targetText);
-				} else {
-					selectionMatches = curSelText.equalsIgnoreCase(targetText);
+				DocumentSearch curSearch = getSearch();
+				if (curSearch != null) {
+					XMLDocument xmlDoc = (XMLDocument) xmlEditorPane.getDocument();
+					try {
+						replacement = curSearch.getReplacement(xmlDoc, xmlEditorPane.getSelectionStart(),
+								xmlEditorPane.getSelectionEnd(), replacement);
+					} catch (BadLocationException e) {
+						findReplDialog.setStatusMsg("BadLocationException");
+						return;
+					}
 				}
-			} else {
-				selectionMatches = false;
 			}
-			if (!selectionMatches) {
-				working = doFindNext();
+			xmlEditorPane.replaceSelection(replacement);
+		}
+
+		/**
+		 * Replace all matching text in the document.
+		 */
+		private void doReplaceAll() {
+			if (findReplDialog.getFindText().isEmpty()) {
+				findReplDialog.setStatusMsg("Text to be replaced has not be entered.");
+				return;
 			}
-			while (working) {
-				xmlEditorPane.replaceSelection(findReplDialog.getReplaceText());
-				count++;
-				working = doFindNext();
+			DocumentSearch curSearch = getSearch();
+			if (curSearch == null) {
+				return;
+			}
+			XMLDocument xmlDoc = (XMLDocument) xmlEditorPane.getDocument();
+			int count;
+			try {
+				count = curSearch.replaceAll(xmlDoc, findReplDialog.getReplaceText());
+			} catch (BadLocationException e1) {
+				findReplDialog.setStatusMsg("BadLocationException");
+				return;
 			}
 			findReplDialog.setStatusMsg("Replaced " + count + " occurances.");
 		}
 
 		private boolean doFindNext() {
-			String targetText = findReplDialog.getFindText();
-			if (targetText.isEmpty()) {
-				targetText = xmlEditorPane.getSelectedText();
-				findReplDialog.setFindText(targetText);
+			DocumentSearch curSearch = getSearch();
+			if (curSearch == null) {
+				return false;
 			}
 			int fromIndex = xmlEditorPane.getSelectionEnd();
+			if (xmlEditorPane.getSelectionStart() == fromIndex && fromIndex == lastEmptyMatch) {
+				// don't keep finding the same zero-length match
+				fromIndex++;
+			}
 			// Find Next match
 			XMLDocument xmlDoc = (XMLDocument) xmlEditorPane.getDocument();
-			boolean caseSensitive = findReplDialog.getCaseChkBox().isSelected();
-			int nextStart;
+			int[] match;
 			try {
-				nextStart = xmlDoc.find(targetText, fromIndex, caseSensitive);
+				match = curSearch.findNext(xmlDoc, fromIndex);
 			} catch (BadLocationException e1) {
 				findReplDialog.setStatusMsg("BadLocationException");
 				return false;
 			}
-			if (nextStart < 0) {
+			if (match == null) {
 				findReplDialog.setStatusMsg("String not found");
 				return false;
-			} else {
-				xmlEditorPane.setSelectionStart(nextStart);
-				xmlEditorPane.setSelectionEnd(nextStart + targetText.length());
 			}
+			select(match);
 			return true;
 		}
 
 		private boolean doFindPrevious() {
-			String targetText = findReplDialog.getFindText();
-			if (targetText.isEmpty()) {
-				targetText = xmlEditorPane.getSelectedText();
-				findReplDialog.setFindText(targetText);
+			DocumentSearch curSearch = getSearch();
+			if (curSearch == null) {
+				return false;
 			}
-			int fromIndex = 0;
 			int cutOffIndex = xmlEditorPane.getSelectionStart();
-
 			XMLDocument xmlDoc = (XMLDocument) xmlEditorPane.getDocument();
-			boolean caseSensitive = findReplDialog.getCaseChkBox().isSelected();
-			int nextStart = 0;
-			int previousStart = -1;
-			while (nextStart != -1) {
-				try {
-					nextStart = xmlDoc.find(targetText, fromIndex, caseSensitive);
-				} catch (BadLocationException e1) {
-					findReplDialog.setStatusMsg("BadLocationException");
-					return false;
-				}
-				if (nextStart < 0) {
-					findReplDialog.setStatusMsg("String not found");
-					return false;
-				} else if ((nextStart >= cutOffIndex) && (previousStart != -1)) {
-					xmlEditorPane.setSelectionStart(previousStart);
-					xmlEditorPane.setSelectionEnd(previousStart + targetText.length());
-					return true;
-				} else if (nextStart >= cutOffIndex) {
-					findReplDialog.setStatusMsg("String not found");
-					return false;
-				} else {
-					fromIndex = nextStart + 1;
-					previousStart = nextStart;
-				}
+			int[] match;
+			try {
+				match = curSearch.findPrevious(xmlDoc, cutOffIndex);
+			} catch (BadLocationException e1) {
+				findReplDialog.setStatusMsg("BadLocationException");
+				return false;
+			}
+			if (match == null) {
+				findReplDialog.setStatusMsg("String not found");
+				return false;
+			}
+			select(match);
+			return true;
+		}
+
+		private void select(int[] match) {
+			xmlEditorPane.setSelectionStart(match[0]);
+			xmlEditorPane.setSelectionEnd(match[1]);
+			if (match[0] == match[1]) {
+				lastEmptyMatch = match[0];
+			} else {
+				lastEmptyMatch = -1;
 			}
-			return false;
 		}
 
 		/**
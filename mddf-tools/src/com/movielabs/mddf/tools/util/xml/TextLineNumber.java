@@ -79,10 +79,21 @@ public class TextLineNumber extends JPanel
 		 * @param textLineNumber
 		 */
 		public LineListener(Rectangle region, LogEntryNode logEntry, JPanel lnPanel) {
+			setRegion(region, logEntry);
+			lnPanel.addMouseListener(this);
+		}
+
+		/**
+		 * Update the region and log entry. This allows a listener to be reused
+		 * each time the gutter is repainted.
+		 * 
+		 * @param region
+		 * @param logEntry
+		 */
+		void setRegion(Rectangle region, LogEntryNode logEntry) {
 			this.logEntry = logEntry;
 			minY = region.getY();
 			maxY = minY + region.getHeight();
-			lnPanel.addMouseListener(this);
 		}
 
 		/*
@@ -183,6 +194,20 @@ public class TextLineNumber extends JPanel
 	private int lastDigits;
 	private int lastHeight;
 	private int lastLine;
+	private int lineCount;
+
+	/*
+	 * Row metrics used when each line of text is displayed as a single row of
+	 * fixed height (i.e., the text component uses a PlainView). These are
+	 * determined once and then reused until the font changes so that the
+	 * position of a row can be computed from its line number rather than via
+	 * modelToView().
+	 */
+	private boolean metricsValid = false;
+	private boolean fixedRows = false;
+	private int rowOrigin;
+	private int rowHeight;
+	private int rowBaseline;
 
 	private HashMap<String, FontMetrics> fonts;
 	private int currentLine = -1;
@@ -191,6 +216,7 @@ public class TextLineNumber extends JPanel
 	// private int[] markerIndexArray;
 
 	private Map<String, List> markerHash = new HashMap();
+	private Map<Integer, LineListener> lineListeners = new HashMap<Integer, LineListener>();
 
 	private BufferedImage[] markerImage = new BufferedImage[LogMgmt.logLevels.length];
 	private SimpleXmlEditor editor;
@@ -225,11 +251,13 @@ public class TextLineNumber extends JPanel
 		setBorderGap(DEFAULT_BORDER_GAP);
 		setCurrentLineForeground(Color.RED);
 		setDigitAlignment(RIGHT);
+		lineCount = component.getDocument().getDefaultRootElement().getElementCount();
 		setMinimumDisplayDigits(minimumDisplayDigits);
 
 		component.getDocument().addDocumentListener(this);
 		component.addCaretListener(this);
 		component.addPropertyChangeListener("font", this);
+		component.addPropertyChangeListener("document", this);
 
 		markerImage[LogMgmt.LEV_DEBUG] = null;
 		markerImage[LogMgmt.LEV_WARN] = createIcon("images/warning-icon.png");
@@ -349,12 +377,12 @@ public class TextLineNumber extends JPanel
 	}
 
 	/**
-	 * Calculate the width needed to display the maximum line number
+	 * Calculate the width needed to display the maximum line number. The
+	 * number of lines is tracked as the document is edited so the document
+	 * does not need to be examined.
 	 */
 	private void setPreferredWidth() {
-		Element root = component.getDocument().getDefaultRootElement();
-		int lines = root.getElementCount();
-		int digits = Math.max(String.valueOf(lines).length(), minimumDisplayDigits);
+		int digits = Math.max(digitCount(lineCount), minimumDisplayDigits);
 
 		// Update sizes when number of digits in the line number changes
 
@@ -372,6 +400,56 @@ public class TextLineNumber extends JPanel
 		}
 	}
 
+	private static int digitCount(int value) {
+		int digits = 1;
+		while (value >= 10) {
+			value = value / 10;
+			digits++;
+		}
+		return digits;
+	}
+
+	/**
+	 * Determine the row metrics if the text component displays each line as a
+	 * single row.
+	 * 
+	 * @param fontMetrics
+	 * @return <tt>true</tt> if the metrics are valid
+	 */
+	private boolean updateRowMetrics(FontMetrics fontMetrics) {
+		if (metricsValid) {
+			return fixedRows;
+		}
+		try {
+			View rootView = component.getUI().getRootView(component);
+			Rectangle r = component.modelToView(0);
+			if (r == null || rootView.getViewCount() == 0) {
+				// not yet laid out
+				return false;
+			}
+			fixedRows = (rootView.getView(0) instanceof PlainView) && (r.height > 0);
+			rowOrigin = r.y;
+			rowHeight = r.height;
+			rowBaseline = getOffsetY(0, fontMetrics) - r.y;
+		} catch (BadLocationException e) {
+			return false;
+		}
+		metricsValid = true;
+		return fixedRows;
+	}
+
+	/**
+	 * Return the region of the gutter occupied by a line. This is only valid
+	 * when each line is displayed as a single row.
+	 * 
+	 * @param lineIdx
+	 *            zero-based index of the line
+	 * @return
+	 */
+	private Rectangle getRowBounds(int lineIdx) {
+		return new Rectangle(0, rowOrigin + (lineIdx * rowHeight), getWidth(), rowHeight);
+	}
+
 	/**
 	 * Draw the line numbers and markers.
 	 */
@@ -383,62 +461,45 @@ public class TextLineNumber extends JPanel
 		FontMetrics fontMetrics = component.getFontMetrics(component.getFont());
 		Insets insets = getInsets();
 		int availableWidth = getSize().width - insets.left - insets.right;
+		Font plainFont = g.getFont().deriveFont(Font.PLAIN);
+		Font boldFont = g.getFont().deriveFont(Font.BOLD);
+		Element root = component.getDocument().getDefaultRootElement();
+		int caretLine = root.getElementIndex(component.getCaretPosition());
 
 		// Determine the rows to draw within the clipped bounds.
 
 		Rectangle clip = g.getClipBounds();
+		if (updateRowMetrics(fontMetrics)) {
+			/*
+			 * Each line is a single row so there is no need to ask the text
+			 * component where each is located.
+			 */
+			int firstLine = Math.max(0, (clip.y - rowOrigin) / rowHeight);
+			int lastLine = Math.min(root.getElementCount() - 1, (clip.y + clip.height - rowOrigin) / rowHeight);
+			for (int lineIdx = firstLine; lineIdx <= lastLine; lineIdx++) {
+				Rectangle r = getRowBounds(lineIdx);
+				paintLabel(g, String.valueOf(lineIdx + 1), r.y + rowBaseline, lineIdx == caretLine, fontMetrics,
+						availableWidth, insets, plainFont, boldFont);
+				paintMarker(g, lineIdx + 1, r);
+			}
+			return;
+		}
 		int rowStartOffset = component.viewToModel(new Point(0, clip.y));
 		int endOffset = component.viewToModel(new Point(0, clip.y + clip.height));
-		int markerCnt = 0;
 		while (rowStartOffset <= endOffset) {
-			boolean curLine = isCurrentLine(rowStartOffset);
 			try {
-				if (curLine) {
-					g.setColor(getCurrentLineForeground());
-					Font boldFont = g.getFont().deriveFont(Font.BOLD);
-					g.setFont(boldFont);
-				} else {
-					g.setColor(getForeground());
-					Font plainFont = g.getFont().deriveFont(Font.PLAIN);
-					g.setFont(plainFont);
-				}
-
 				// Get the line number as a string and then determine the
 				// "X" and "Y" offsets for drawing the string.
 
-				String lineLabel = getTextLineNumber(rowStartOffset);
-				int stringWidth = fontMetrics.stringWidth(lineLabel);
-				int x = getOffsetX(availableWidth, stringWidth) + insets.left;
+				int lineIdx = root.getElementIndex(rowStartOffset);
+				String lineLabel = "";
+				if (root.getElement(lineIdx).getStartOffset() == rowStartOffset) {
+					lineLabel = String.valueOf(lineIdx + 1);
+				}
 				int y = getOffsetY(rowStartOffset, fontMetrics);
-				g.drawString(lineLabel, x, y);
-
-				int lineNum = getLineNumber(rowStartOffset);
-				// are there any markers for this line?
-				String key = Integer.toString(lineNum);
-				List<LogEntryNode> nextList = markerHash.get(key);
-				if (nextList != null && !nextList.isEmpty()) {
-					/*
-					 * if there are multiple log entries we need the one with
-					 * the highest severity
-					 */
-					LogEntryNode lineMarker = null;
-					for (LogEntryNode nextMarker : nextList){
-						if((lineMarker == null) || (nextMarker.getLevel() > lineMarker.getLevel())){
-							lineMarker = nextMarker;
-						}
-					}
-					// now set the graphic based on most sever entry found
-					BufferedImage myImage = markerImage[lineMarker.getLevel()];
-					markerCnt++;
-					if (myImage != null) {
-						int imgX = 0;
-						Rectangle r = component.modelToView(rowStartOffset);
-						int imgY = r.y;
-						Graphics2D g2 = (Graphics2D) g;
-						g2.drawImage(myImage, imgX, imgY, null);
-						new LineListener(r, lineMarker, this);
-					}
-				} 
+				paintLabel(g, lineLabel, y, lineIdx == caretLine, fontMetrics, availableWidth, insets, plainFont,
+						boldFont);
+				paintMarker(g, lineIdx + 1, component.modelToView(rowStartOffset));
 				// Move to the next row
 				rowStartOffset = Utilities.getRowEnd(component, rowStartOffset) + 1;
 			} catch (Exception e) {
@@ -447,6 +508,59 @@ public class TextLineNumber extends JPanel
 		}
 	}
 
+	private void paintLabel(Graphics g, String lineLabel, int y, boolean curLine, FontMetrics fontMetrics,
+			int availableWidth, Insets insets, Font plainFont, Font boldFont) {
+		if (curLine) {
+			g.setColor(getCurrentLineForeground());
+			g.setFont(boldFont);
+		} else {
+			g.setColor(getForeground());
+			g.setFont(plainFont);
+		}
+		int stringWidth = fontMetrics.stringWidth(lineLabel);
+		int x = getOffsetX(availableWidth, stringWidth) + insets.left;
+		g.drawString(lineLabel, x, y);
+	}
+
+	/**
+	 * Draw the marker (if any) for a line.
+	 * 
+	 * @param g
+	 * @param lineNum
+	 * @param r
+	 *            region occupied by the line
+	 */
+	private void paintMarker(Graphics g, int lineNum, Rectangle r) {
+		// are there any markers for this line?
+		String key = Integer.toString(lineNum);
+		List<LogEntryNode> nextList = markerHash.get(key);
+		if (nextList == null || nextList.isEmpty()) {
+			return;
+		}
+		/*
+		 * if there are multiple log entries we need the one with the highest
+		 * severity
+		 */
+		LogEntryNode lineMarker = null;
+		for (LogEntryNode nextMarker : nextList) {
+			if ((lineMarker == null) || (nextMarker.getLevel() > lineMarker.getLevel())) {
+				lineMarker = nextMarker;
+			}
+		}
+		// now set the graphic based on most sever entry found
+		BufferedImage myImage = markerImage[lineMarker.getLevel()];
+		if (myImage != null) {
+			Graphics2D g2 = (Graphics2D) g;
+			g2.drawImage(myImage, 0, r.y, null);
+			LineListener listener = lineListeners.get(lineNum);
+			if (listener == null) {
+				lineListeners.put(lineNum, new LineListener(r, lineMarker, this));
+			} else {
+				listener.setRegion(r, lineMarker);
+			}
+		}
+	}
+
 	/**
 	 * Returns an Image, or null if the path was invalid.
 	 * 
@@ -480,6 +594,10 @@ public class TextLineNumber extends JPanel
 		// markerIndexArray[i] = next.getLine();
 		// }
 		markerHash = new HashMap();
+		for (LineListener listener : lineListeners.values()) {
+			removeMouseListener(listener);
+		}
+		lineListeners.clear();
 		for (LogEntryNode nextEntry : markerList) {
 			String key = Integer.toString(nextEntry.getLine());
 			List<LogEntryNode> nextList = markerHash.get(key);
@@ -491,19 +609,6 @@ public class TextLineNumber extends JPanel
 		}
 	}
 
-	private boolean isCurrentLine(int rowStartOffset) {
-		/*
-		 * Is the caret positioned on the line about to be painted?
-		 */
-		int caretPosition = component.getCaretPosition();
-		Element root = component.getDocument().getDefaultRootElement();
-
-		if (root.getElementIndex(rowStartOffset) == root.getElementIndex(caretPosition))
-			return true;
-		else
-			return false;
-	}
-
 	/**
 	 * Get the line number to be drawn. The empty string will be returned when a
 	 * line of text has wrapped.
@@ -609,31 +714,63 @@ public class TextLineNumber extends JPanel
 		// repaint so the correct line number can be highlighted
 
 		if (lastLine != currentLine) {
-			repaint();
+			if (metricsValid && fixedRows) {
+				// only the previous and new current lines have changed
+				repaint(getRowBounds(lastLine));
+				repaint(getRowBounds(currentLine));
+			} else {
+				repaint();
+			}
 			lastLine = currentLine;
 		}
 	}
 
 	@Override
 	public void changedUpdate(DocumentEvent e) {
-		documentChanged();
+		documentChanged(e);
 	}
 
 	@Override
 	public void insertUpdate(DocumentEvent e) {
-		documentChanged();
+		documentChanged(e);
 	}
 
 	@Override
 	public void removeUpdate(DocumentEvent e) {
-		documentChanged();
+		documentChanged(e);
 	}
 
 	/*
 	 * A document change may affect the number of displayed lines of text.
 	 * Therefore the lines numbers will also change.
 	 */
-	private void documentChanged() {
+	private void documentChanged(DocumentEvent e) {
+		Element root = component.getDocument().getDefaultRootElement();
+		DocumentEvent.ElementChange change = e.getChange(root);
+		if (change != null) {
+			lineCount = lineCount + change.getChildrenAdded().length - change.getChildrenRemoved().length;
+		}
+		if (metricsValid && fixedRows) {
+			if (change == null) {
+				// edit was within a single line
+				return;
+			}
+			/*
+			 * Only the rows following the first modified line need to be
+			 * repainted.
+			 */
+			final int firstLine = change.getIndex();
+			SwingUtilities.invokeLater(new Runnable() {
+				@Override
+				public void run() {
+					setPreferredWidth();
+					Rectangle dirty = getRowBounds(firstLine);
+					dirty.height = Math.max(0, getHeight() - dirty.y);
+					repaint(dirty);
+				}
+			});
+			return;
+		}
 		// View of the component has not been updated at the time
 		// the DocumentEvent is fired
 
@@ -663,7 +800,20 @@ public class TextLineNumber extends JPanel
 	 */
 	@Override
 	public void propertyChange(PropertyChangeEvent evt) {
+		if (evt.getNewValue() instanceof Document) {
+			if (evt.getOldValue() instanceof Document) {
+				((Document) evt.getOldValue()).removeDocumentListener(this);
+			}
+			Document doc = (Document) evt.getNewValue();
+			doc.addDocumentListener(this);
+			lineCount = doc.getDefaultRootElement().getElementCount();
+			metricsValid = false;
+			setPreferredWidth();
+			repaint();
+			return;
+		}
 		if (evt.getNewValue() instanceof Font) {
+			metricsValid = false;
 			if (updateFont) {
 				Font newFont = (Font) evt.getNewValue();
 				setFont(newFont);
@@ -18,10 +18,13 @@
  */
 package org.apache.batik.util.gui.xmleditor;
 
-import javax.swing.text.AttributeSet;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.UndoableEditEvent;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.Element;
 import javax.swing.text.PlainDocument;
+import javax.swing.text.Segment;
+import javax.swing.undo.CompoundEdit;
 
 /**
  * A document that can be marked up using XML style.
@@ -36,6 +39,43 @@ public class XMLDocument extends PlainDocument {
     
     protected XMLToken cacheToken = null;
     
+    /** Number of lines between lexer checkpoints */
+    public static final int CHECKPOINT_LINES = 50;
+    
+    /** Maximum number of characters lexed at one time while indexing */
+    protected static final int CHUNK_SIZE = 64 * 1024;
+    
+    /**
+     * Number of characters the scanner may read beyond the end of a
+     * token (e.g., when checking for <code>&lt;![CDATA[</code>). A token
+     * boundary is therefore affected by edits that occur shortly after it.
+     */
+    protected static final int LOOKAHEAD = 10;
+    
+    /**
+     * Sparse index of lexer state. Each checkpoint is the first token
+     * boundary in a block of <code>CHECKPOINT_LINES</code> lines and the
+     * scanner context at that boundary. The index is built lazily as far as
+     * the highest position requested and is truncated at the point of any
+     * edit.
+     */
+    protected int[] checkpointOffsets = new int[64];
+    protected int[] checkpointContexts = new int[64];
+    protected int checkpointCount = 0;
+    
+    /** Token boundary (and context) at which indexing will resume */
+    protected int indexedOffset;
+    protected int indexedContext;
+    
+    /** Offset at which the next checkpoint should be recorded */
+    protected int nextCheckpoint;
+    
+    /** Text of the entire document, discarded when the document changes */
+    protected Segment snapshot = null;
+    
+    /** Collects the edits made by <code>replaceAsSingleEdit()</code> */
+    protected CompoundEdit batchEdit = null;
+    
     public XMLDocument() {
         this(new XMLContext());
     }
@@ -47,6 +87,7 @@ public class XMLDocument extends PlainDocument {
         //super(context);
         this.context = context;
         lexer = new XMLScanner();
+        truncateCheckpoints(0);
     }
     
     /** Return XMLToken
@@ -54,29 +95,25 @@ public class XMLDocument extends PlainDocument {
      * @return XMLToken
      */
     public XMLToken getScannerStart(int pos) throws BadLocationException {
-        int ctx = XMLScanner.CHARACTER_DATA_CONTEXT;
-        int offset = 0;
-        int tokenOffset = 0;
-        
+        Element element = getDefaultRootElement();
         if (cacheToken != null) {
             if (cacheToken.getStartOffset() > pos) {
                 cacheToken = null;
             } else {
-                ctx = cacheToken.getContext();
-                offset = cacheToken.getStartOffset();
-                tokenOffset = offset;
-                
-                Element element = getDefaultRootElement();
                 int line1 = element.getElementIndex(pos);
-                int line2 = element.getElementIndex(offset);
-                
-                //if (pos - offset <= 1800 ) {
-                if (line1 - line2 < 50) {
+                int line2 = element.getElementIndex(cacheToken.getStartOffset());
+                if (line1 - line2 < CHECKPOINT_LINES) {
                     return cacheToken;
                 }
             }
         }
         
+        // resume from the closest checkpoint
+        int i = findCheckpoint(pos);
+        int ctx = checkpointContexts[i];
+        int offset = checkpointOffsets[i];
+        int tokenOffset = offset;
+        
         String str = getText(offset, pos - offset);
         lexer.setString(str);
         lexer.reset();
@@ -95,31 +132,190 @@ public class XMLDocument extends PlainDocument {
         return cacheToken;
     }
     
-    /** {@inheritDoc} */
-    public void insertString(int offset, String str, AttributeSet a)
-            throws BadLocationException {
-
-        super.insertString(offset, str, a);
-        
-        if (cacheToken != null) {
-            if (cacheToken.getStartOffset() >= offset) {
-                cacheToken = null;
+    /**
+     * Return the index of the last checkpoint at or before the specified
+     * position, extending the index if required.
+     * @param pos position
+     * @return index of the checkpoint
+     */
+    protected int findCheckpoint(int pos) throws BadLocationException {
+        if (indexedOffset < pos) {
+            extendCheckpoints(pos);
+        }
+        int low = 0;
+        int high = checkpointCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (checkpointOffsets[mid] <= pos) {
+                low = mid;
+            } else {
+                high = mid - 1;
             }
         }
-        
+        return low;
     }
     
-    /** {@inheritDoc} */
-    public void remove(int offs, int len) throws BadLocationException {
-        super.remove(offs, len);
-        
+    /**
+     * Lex forward from the last indexed token boundary until the
+     * specified position is reached, recording a checkpoint each time a
+     * new block of lines is entered. Text is lexed in chunks and a token
+     * that reaches the end of a chunk is re-lexed as part of the next one.
+     * @param pos position
+     */
+    protected void extendCheckpoints(int pos) throws BadLocationException {
+        int length = getLength();
+        int chunkSize = CHUNK_SIZE;
+        while (indexedOffset < pos && indexedOffset < length) {
+            int base = indexedOffset;
+            int end = Math.min(length, base + chunkSize);
+            lexer.setString(getText(base, end - base));
+            lexer.reset();
+            int offset = base;
+            int ctx = indexedContext;
+            while (offset < end) {
+                int next = lexer.scan(ctx) + base;
+                if (next >= end && end < length) {
+                    // token may be incomplete
+                    break;
+                }
+                offset = next;
+                ctx = lexer.getScanValue();
+                if (offset >= nextCheckpoint) {
+                    addCheckpoint(offset, ctx);
+                    nextCheckpoint = getNextBlockStart(offset);
+                }
+            }
+            if (offset == base) {
+                // single token larger than the chunk
+                chunkSize = chunkSize * 2;
+            } else {
+                indexedOffset = offset;
+                indexedContext = ctx;
+            }
+        }
+    }
+    
+    /**
+     * @param offset position
+     * @return the offset of the first line in the block of lines
+     *         following the one containing the specified position
+     */
+    protected int getNextBlockStart(int offset) {
+        Element element = getDefaultRootElement();
+        int line = element.getElementIndex(offset);
+        int nextLine = (line / CHECKPOINT_LINES + 1) * CHECKPOINT_LINES;
+        if (nextLine < element.getElementCount()) {
+            return element.getElement(nextLine).getStartOffset();
+        }
+        return Integer.MAX_VALUE;
+    }
+    
+    protected void addCheckpoint(int offset, int ctx) {
+        if (checkpointCount == checkpointOffsets.length) {
+            int[] offsets = new int[checkpointCount * 2];
+            int[] contexts = new int[checkpointCount * 2];
+            System.arraycopy(checkpointOffsets, 0, offsets, 0, checkpointCount);
+            System.arraycopy(checkpointContexts, 0, contexts, 0, checkpointCount);
+            checkpointOffsets = offsets;
+            checkpointContexts = contexts;
+        }
+        checkpointOffsets[checkpointCount] = offset;
+        checkpointContexts[checkpointCount] = ctx;
+        checkpointCount++;
+    }
+    
+    /**
+     * Discard all lexer state that may be affected by an edit at the
+     * specified offset. The checkpoint at the start of the document is
+     * always retained.
+     * @param offset position of the edit
+     */
+    protected void truncateCheckpoints(int offset) {
+        int limit = offset - LOOKAHEAD;
+        if (checkpointCount == 0) {
+            addCheckpoint(0, XMLScanner.CHARACTER_DATA_CONTEXT);
+        }
+        while (checkpointCount > 1 && checkpointOffsets[checkpointCount - 1] > limit) {
+            checkpointCount--;
+        }
+        indexedOffset = checkpointOffsets[checkpointCount - 1];
+        indexedContext = checkpointContexts[checkpointCount - 1];
+        nextCheckpoint = getNextBlockStart(indexedOffset);
         if (cacheToken != null) {
-            if (cacheToken.getStartOffset() >= offs) {
+            if (cacheToken.getStartOffset() > limit) {
                 cacheToken = null;
             }
         }
     }
     
+    /**
+     * Discard the snapshot and the checkpoints following an insertion before
+     * any listener (e.g., the view repainting the changed lines) is notified.
+     */
+    protected void fireInsertUpdate(DocumentEvent e) {
+        snapshot = null;
+        truncateCheckpoints(e.getOffset());
+        super.fireInsertUpdate(e);
+    }
+    
+    /**
+     * Discard the snapshot and the checkpoints following a removal before
+     * any listener is notified.
+     */
+    protected void fireRemoveUpdate(DocumentEvent e) {
+        snapshot = null;
+        truncateCheckpoints(e.getOffset());
+        super.fireRemoveUpdate(e);
+    }
+    
+    /**
+     * Return the text of the entire document. The same instance is
+     * returned until the document is modified and it may share the
+     * document's storage so the caller must not alter it.
+     * @return Segment containing the text of the document
+     */
+    public Segment getSnapshot() throws BadLocationException {
+        if (snapshot == null) {
+            Segment text = new Segment();
+            getText(0, getLength(), text);
+            snapshot = text;
+        }
+        return snapshot;
+    }
+    
+    /**
+     * Replace a region of the document with the specified text. Listeners
+     * are notified of a single undoable edit rather than of the separate
+     * removal and insertion.
+     * @param offset start of the region
+     * @param length length of the region
+     * @param text replacement text
+     * @throws BadLocationException if the region is not within the document
+     */
+    public void replaceAsSingleEdit(int offset, int length, String text)
+            throws BadLocationException {
+        CompoundEdit edit = new CompoundEdit();
+        batchEdit = edit;
+        try {
+            replace(offset, length, text, null);
+        } finally {
+            batchEdit = null;
+            edit.end();
+            if (edit.isSignificant()) {
+                super.fireUndoableEditUpdate(new UndoableEditEvent(this, edit));
+            }
+        }
+    }
+    
+    /** {@inheritDoc} */
+    protected void fireUndoableEditUpdate(UndoableEditEvent e) {
+        if (batchEdit != null) {
+            batchEdit.addEdit(e.getEdit());
+        } else {
+            super.fireUndoableEditUpdate(e);
+        }
+    }
+    
     /**
      * Find the first occurrence of the specified String starting at the specified index.
      * @param str String to find
@@ -131,44 +327,42 @@ public class XMLDocument extends PlainDocument {
     public int find(String str, int fromIndex, boolean caseSensitive)
             throws BadLocationException {
 
-        int offset = -1;
-        int startOffset = -1;
-        int len = 0;
-        int charIndex = 0;
-        
-        Element rootElement = getDefaultRootElement();
-        
-        int elementIndex = rootElement.getElementIndex(fromIndex);
-        if (elementIndex < 0) { return offset; }
-        
-        // set the initial charIndex
-        charIndex = fromIndex -
-            rootElement.getElement(elementIndex).getStartOffset();
+        Segment text = getSnapshot();
+        if (fromIndex < 0 || fromIndex > text.count) {
+            throw new BadLocationException("Invalid start position", fromIndex);
+        }
         
-        for (int i = elementIndex; i < rootElement.getElementCount(); i++) {
-            Element element = rootElement.getElement(i);
-            startOffset = element.getStartOffset();
-            if (element.getEndOffset() > getLength()) {
-               len = getLength() - startOffset;
-            } else {
-                len = element.getEndOffset() - startOffset;
+        // fold the search string once rather than for each position
+        char[] target = str.toCharArray();
+        if (!caseSensitive) {
+            for (int i = 0; i < target.length; i++) {
+                target[i] = foldCase(target[i]);
             }
-            
-            String text = getText(startOffset, len);
-            
-            if (!caseSensitive) {
-                text = text.toLowerCase();
-                str = str.toLowerCase();
+        }
+        
+        int last = text.offset + text.count - target.length;
+        for (int i = text.offset + fromIndex; i <= last; i++) {
+            int j = 0;
+            while (j < target.length) {
+                char c = text.array[i + j];
+                if (c != target[j]
+                        && (caseSensitive || foldCase(c) != target[j])) {
+                    break;
+                }
+                j++;
             }
-            
-            charIndex = text.indexOf(str, charIndex);
-            if (charIndex != -1) {
-                offset = startOffset + charIndex;
-                break;
+            if (j == target.length) {
+                return i - text.offset;
             }
-            charIndex = 0;  // reset the charIndex
         }
-        
-        return offset;
+        return -1;
+    }
+    
+    /**
+     * Case folding consistent with
+     * <code>String.equalsIgnoreCase()</code>.
+     */
+    protected static char foldCase(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
     }
 }
@@ -0,0 +1,55 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddf.tools;
+
+import static org.junit.Assert.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * JUnit test for the naming of obfuscated spreadsheet output by
+ * <tt>com.movielabs.mddf.tools.ValidationController</tt>.
+ *
+ */
+public class ObfuscateOutputNameTest {
+
+	@Test
+	public void testNoCollision() {
+		Set<String> outNames = new HashSet<String>();
+		outNames.add("other.xml");
+		assertEquals("avails.xml", ValidationController.getOutputName("avails.xlsx", outNames));
+		assertTrue(outNames.contains("avails.xml"));
+	}
+
+	@Test
+	public void testCollision() {
+		Set<String> outNames = new HashSet<String>();
+		outNames.add("avails.xml");
+		assertEquals("Avails_xlsx.xml", ValidationController.getOutputName("Avails.xlsx", outNames));
+		assertEquals("Avails_xlsx2.xml", ValidationController.getOutputName("Avails.XLSX", outNames));
+		assertEquals(3, outNames.size());
+	}
+}
@@ -0,0 +1,204 @@
+/**
+ * Copyright (c) 2026 MovieLabs
+
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.movielabs.mddf.tools;
+
+import static org.junit.Assert.*;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.movielabs.mddflib.logging.LogMgmt;
+import com.movielabs.mddflib.logging.LogRecorder;
+import com.movielabs.mddflib.testsupport.InstrumentedLogger;
+import com.movielabs.mddflib.util.LocationCache;
+
+/**
+ * JUnit test for the <tt>com.movielabs.mddf.tools.ResultCache</tt> class.
+ *
+ */
+public class ResultCacheTest {
+
+	private static final String OPTIONS = "test";
+	private Path tmpDir;
+	private File cacheDir;
+	private File srcFile;
+
+	@Before
+	public void setUp() throws IOException {
+		tmpDir = Files.createTempDirectory("rctest");
+		cacheDir = tmpDir.resolve("cache").toFile();
+		srcFile = createSrcFile("Avail_A.xml", "<Avails/>");
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		List<Path> paths = new ArrayList<Path>();
+		collect(tmpDir, paths);
+		Collections.reverse(paths);
+		for (Path next : paths) {
+			Files.deleteIfExists(next);
+		}
+	}
+
+	@Test
+	public void testHitAndMiss() throws IOException {
+		ResultCache cache = new ResultCache(cacheDir, ResultCache.DEFAULT_MAX_BYTES);
+		String key = cache.getKey(srcFile, OPTIONS);
+		assertFalse(cache.replay(key, srcFile, new InstrumentedLogger()));
+		assertEquals(1, cache.getMissCount());
+
+		cache.store(key, srcFile, record(srcFile), new HashMap<Path, Boolean>());
+		InstrumentedLogger replayed = new InstrumentedLogger();
+		assertTrue(cache.replay(key, srcFile, replayed));
+		assertEquals(1, cache.getHitCount());
+		assertEquals("Invalid value", replayed.getMsg(LogMgmt.LEV_ERR, LogMgmt.TAG_XSD, 12));
+
+		/* different content or options result in a different key */
+		File otherFile = createSrcFile("Avail_B.xml", "<Avails></Avails>");
+		assertFalse(key.equals(cache.getKey(otherFile, OPTIONS)));
+		assertFalse(key.equals(cache.getKey(srcFile, OPTIONS + "|profile")));
+	}
+
+	@Test
+	public void testLocationChanged() throws IOException {
+		ResultCache cache = new ResultCache(cacheDir, ResultCache.DEFAULT_MAX_BYTES);
+		File container = createSrcFile("trailer.mp4", "");
+		Map<Path, Boolean> locations = new HashMap<Path, Boolean>();
+		locations.put(container.getAbsoluteFile().toPath(), true);
+		String key = cache.getKey(srcFile, OPTIONS);
+		cache.store(key, srcFile, record(srcFile), locations);
+		assertTrue(cache.replay(key, srcFile, new InstrumentedLogger()));
+
+		assertTrue(container.delete());
+		LocationCache.clear();
+		assertFalse(cache.replay(key, srcFile, new InstrumentedLogger()));
+	}
+
+	@Test
+	public void testEviction() throws IOException {
+		ResultCache cache = new ResultCache(cacheDir, ResultCache.DEFAULT_MAX_BYTES);
+		String keyA = cache.getKey(srcFile, OPTIONS);
+		cache.store(keyA, srcFile, record(srcFile), new HashMap<Path, Boolean>());
+		List<Path> entries = listFiles(".rc");
+		assertEquals(1, entries.size());
+		long entrySize = Files.size(entries.get(0));
+		Files.setLastModifiedTime(entries.get(0), FileTime.fromMillis(System.currentTimeMillis() - 60000));
+
+		/* room for one entry but not two */
+		cache = new ResultCache(cacheDir, entrySize + (entrySize / 2));
+		File otherFile = createSrcFile("Avail_B.xml", "<Avails></Avails>");
+		String keyB = cache.getKey(otherFile, OPTIONS);
+		cache.store(keyB, otherFile, record(otherFile), new HashMap<Path, Boolean>());
+		assertFalse(cache.replay(keyA, srcFile, new InstrumentedLogger()));
+		assertTrue(cache.replay(keyB, otherFile, new InstrumentedLogger()));
+	}
+
+	@Test
+	public void testStalePartialEntry() throws IOException {
+		Path subDir = cacheDir.toPath().resolve("00");
+		Files.createDirectories(subDir);
+		Path part = subDir.resolve("tmp123.part");
+		Files.write(part, new byte[1024 * 1024]);
+		Files.setLastModifiedTime(part, FileTime.fromMillis(System.currentTimeMillis() - (60L * 60 * 1000)));
+
+		/* the abandoned entry counts towards the limit and is removed */
+		ResultCache cache = new ResultCache(cacheDir, 1024 * 1024);
+		String key = cache.getKey(srcFile, OPTIONS);
+		cache.store(key, srcFile, record(srcFile), new HashMap<Path, Boolean>());
+		assertFalse(Files.exists(part));
+		assertTrue(cache.replay(key, srcFile, new InstrumentedLogger()));
+	}
+
+	@Test
+	public void testCorruptEntry() throws IOException {
+		ResultCache cache = new ResultCache(cacheDir, ResultCache.DEFAULT_MAX_BYTES);
+		String key = cache.getKey(srcFile, OPTIONS);
+		cache.store(key, srcFile, record(srcFile), new HashMap<Path, Boolean>());
+		Path entry = listFiles(".rc").get(0);
+		DataOutputStream out = new DataOutputStream(Files.newOutputStream(entry));
+		try {
+			out.writeUTF("MDDF-RC-1");
+			out.writeUTF(key);
+			out.writeInt(0);
+			out.writeUTF("MDDF-LOG-1");
+			out.writeInt(1);
+			out.write(new byte[8]);
+			out.writeInt(Integer.MAX_VALUE);
+		} finally {
+			out.close();
+		}
+		assertFalse(cache.replay(key, srcFile, new InstrumentedLogger()));
+		assertFalse(Files.exists(entry));
+		assertEquals(1, cache.getMissCount());
+	}
+
+	private LogRecorder record(File file) {
+		LogRecorder recorder = new LogRecorder(new InstrumentedLogger(), file);
+		recorder.log(LogMgmt.LEV_ERR, LogMgmt.TAG_XSD, "Invalid value", file, 12, "Test", null, null);
+		return recorder;
+	}
+
+	private File createSrcFile(String name, String content) throws IOException {
+		Path path = tmpDir.resolve(name);
+		Files.write(path, content.getBytes("UTF-8"));
+		return path.toFile();
+	}
+
+	private List<Path> listFiles(String suffix) throws IOException {
+		List<Path> paths = new ArrayList<Path>();
+		collect(cacheDir.toPath(), paths);
+		List<Path> matches = new ArrayList<Path>();
+		for (Path next : paths) {
+			if (next.getFileName().toString().endsWith(suffix)) {
+				matches.add(next);
+			}
+		}
+		return matches;
+	}
+
+	private static void collect(Path dir, List<Path> paths) throws IOException {
+		paths.add(dir);
+		if (!Files.isDirectory(dir)) {
+			return;
+		}
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+			for (Path next : stream) {
+				collect(next, paths);
+			}
+		}
+	}
+}